@@ -1832,6 +1832,38 @@ public class AMD64Assembler extends AMD64BaseAssembler {
         emitInt(0); // 32-bits offset (4 bytes)
     }
 
+    public final void aesdec(Register dst, Register src) {
+        assert supports(CPUFeature.AES);
+        assert inRC(XMM, dst) && inRC(XMM, src);
+        simdPrefix(dst, dst, src, PD, P_0F38, false);
+        emitByte(0xDE);
+        emitModRM(dst, src);
+    }
+
+    public final void aesdeclast(Register dst, Register src) {
+        assert supports(CPUFeature.AES);
+        assert inRC(XMM, dst) && inRC(XMM, src);
+        simdPrefix(dst, dst, src, PD, P_0F38, false);
+        emitByte(0xDF);
+        emitModRM(dst, src);
+    }
+
+    public final void aesenc(Register dst, Register src) {
+        assert supports(CPUFeature.AES);
+        assert inRC(XMM, dst) && inRC(XMM, src);
+        simdPrefix(dst, dst, src, PD, P_0F38, false);
+        emitByte(0xDC);
+        emitModRM(dst, src);
+    }
+
+    public final void aesenclast(Register dst, Register src) {
+        assert supports(CPUFeature.AES);
+        assert inRC(XMM, dst) && inRC(XMM, src);
+        simdPrefix(dst, dst, src, PD, P_0F38, false);
+        emitByte(0xDD);
+        emitModRM(dst, src);
+    }
+
     public final void andl(Register dst, int imm32) {
         AND.getMIOpcode(DWORD, isByte(imm32)).emit(this, DWORD, dst, imm32);
     }
@@ -1947,6 +1979,35 @@ public class AMD64Assembler extends AMD64BaseAssembler {
         emitOperandHelper(reg, adr, 0);
     }
 
+    /**
+     * Accumulates the CRC32C (Castagnoli) checksum of the byte at {@code src} into {@code crc}.
+     */
+    public final void crc32b(Register crc, AMD64Address src) {
+        assert supports(CPUFeature.SSE4_2);
+        assert inRC(CPU, crc);
+        emitByte(0xF2);
+        prefix(src, crc);
+        emitByte(0x0F);
+        emitByte(0x38);
+        emitByte(0xF0);
+        emitOperandHelper(crc, src, 0);
+    }
+
+    /**
+     * Accumulates the CRC32C (Castagnoli) checksum of the quadword at {@code src} into
+     * {@code crc}.
+     */
+    public final void crc32q(Register crc, AMD64Address src) {
+        assert supports(CPUFeature.SSE4_2);
+        assert inRC(CPU, crc);
+        emitByte(0xF2);
+        prefixq(src, crc);
+        emitByte(0x0F);
+        emitByte(0x38);
+        emitByte(0xF1);
+        emitOperandHelper(crc, src, 0);
+    }
+
     public final void cvtsi2sdl(Register dst, Register src) {
         SSEOp.CVTSI2SD.emit(this, DWORD, dst, src);
     }
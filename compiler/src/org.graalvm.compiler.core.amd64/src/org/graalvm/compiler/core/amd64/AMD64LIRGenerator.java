@@ -67,6 +67,7 @@ import org.graalvm.compiler.lir.StandardOp.JumpOp;
 import org.graalvm.compiler.lir.StandardOp.ZapRegistersOp;
 import org.graalvm.compiler.lir.SwitchStrategy;
 import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.amd64.AMD64AESCryptOp;
 import org.graalvm.compiler.lir.amd64.AMD64AddressValue;
 import org.graalvm.compiler.lir.amd64.AMD64ArithmeticLIRGeneratorTool;
 import org.graalvm.compiler.lir.amd64.AMD64ArrayCompareToOp;
@@ -75,6 +76,7 @@ import org.graalvm.compiler.lir.amd64.AMD64ArrayIndexOfOp;
 import org.graalvm.compiler.lir.amd64.AMD64Binary;
 import org.graalvm.compiler.lir.amd64.AMD64BinaryConsumer;
 import org.graalvm.compiler.lir.amd64.AMD64ByteSwapOp;
+import org.graalvm.compiler.lir.amd64.AMD64CRC32CUpdateBytesOp;
 import org.graalvm.compiler.lir.amd64.AMD64Call;
 import org.graalvm.compiler.lir.amd64.AMD64ControlFlow;
 import org.graalvm.compiler.lir.amd64.AMD64ControlFlow.BranchOp;
@@ -626,6 +628,21 @@ public abstract class AMD64LIRGenerator extends LIRGenerator {
         return result;
     }
 
+    @Override
+    public void emitAESCrypt(Value in, Value inOffset, Value out, Value outOffset, Value key, Value keyLength, boolean encrypt) {
+        append(new AMD64AESCryptOp(this, asAllocatable(in), asAllocatable(getArithmetic().emitSignExtend(inOffset, 32, 64)), asAllocatable(out),
+                        asAllocatable(getArithmetic().emitSignExtend(outOffset, 32, 64)), asAllocatable(key), asAllocatable(keyLength), encrypt));
+    }
+
+    @Override
+    public Variable emitCRC32CUpdateBytes(Value crc, Value buf, Value offset, Value length) {
+        Variable result = newVariable(LIRKind.value(AMD64Kind.DWORD));
+        int baseOffset = LIRKind.isValue(buf) ? 0 : getMetaAccess().getArrayBaseOffset(JavaKind.Byte);
+        append(new AMD64CRC32CUpdateBytesOp(this, result, asAllocatable(crc), asAllocatable(buf), asAllocatable(getArithmetic().emitSignExtend(offset, 32, 64)), asAllocatable(length),
+                        baseOffset));
+        return result;
+    }
+
     @Override
     public void emitStringLatin1Inflate(Value src, Value dst, Value len) {
         RegisterValue rsrc = AMD64.rsi.asValue(src.getValueKind());
@@ -87,6 +87,13 @@ public final class GraalOptions {
     @Option(help = "The maximum length of an array that will be escape analyzed.", type = OptionType.Expert)
     public static final OptionKey<Integer> MaximumEscapeAnalysisArrayLength = new OptionKey<>(128);
 
+    @Option(help = "Pass a materialized copy of a virtual object to a non-inlined call whose parameter escape summary " +
+                    "shows that the callee neither modifies nor captures it, keeping the original virtual.", type = OptionType.Expert)
+    public static final OptionKey<Boolean> PartialEscapeAnalysisCallSummaries = new OptionKey<>(false);
+
+    @Option(help = "The maximum bytecode size of a method for which a parameter escape summary is computed.", type = OptionType.Expert)
+    public static final OptionKey<Integer> EscapeSummaryMaxBytecodeSize = new OptionKey<>(300);
+
     @Option(help = "", type = OptionType.Expert)
     public static final OptionKey<Integer> DeoptsToDisableOptimisticOptimization = new OptionKey<>(40);
 
@@ -105,6 +112,15 @@ public final class GraalOptions {
     @Option(help = "", type = OptionType.Debug)
     public static final OptionKey<Boolean> PartialUnroll = new OptionKey<>(true);
 
+    @Option(help = "", type = OptionType.Debug)
+    public static final OptionKey<Boolean> LoopPredication = new OptionKey<>(true);
+
+    @Option(help = "", type = OptionType.Debug)
+    public static final OptionKey<Boolean> LoopStripMining = new OptionKey<>(true);
+
+    @Option(help = "Maximum number of iterations a strip mined loop executes between safepoint polls.", type = OptionType.Expert)
+    public static final OptionKey<Integer> LoopStripMiningIterations = new OptionKey<>(4096);
+
     @Option(help = "", type = OptionType.Expert)
     public static final OptionKey<Float> MinimumPeelFrequency = new OptionKey<>(0.35f);
 
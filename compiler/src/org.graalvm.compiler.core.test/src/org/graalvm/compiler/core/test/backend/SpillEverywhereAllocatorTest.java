@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.core.test.backend;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.DebugOptions;
+import org.graalvm.compiler.lir.alloc.spill.SpillEverywhereAllocationPhase;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Compiles code that exercises phi cycles, calls, floating point values, references held across
+ * safepoints, local copies and conditional moves with the {@link SpillEverywhereAllocationPhase spill-everywhere allocator} and
+ * checks that the allocator handled each compilation without falling back to linear scan.
+ */
+public class SpillEverywhereAllocatorTest extends GraalCompilerTest {
+
+    private OptionValues spillEverywhere() {
+        return new OptionValues(getInitialOptions(), SpillEverywhereAllocationPhase.Options.LIRSpillEverywhereAllocator, true, DebugOptions.Counters, "");
+    }
+
+    /**
+     * Checks that {@code name} is allocated by the spill-everywhere allocator without falling back
+     * to linear scan and that the compiled code computes the expected results.
+     */
+    private void testSpillEverywhere(String name, Object[]... argumentLists) {
+        OptionValues options = spillEverywhere();
+        ResolvedJavaMethod method = getResolvedJavaMethod(name);
+        StructuredGraph graph = parseForCompile(method, options);
+        DebugContext debug = graph.getDebug();
+        long allocations = SpillEverywhereAllocationPhase.ALLOCATIONS.getCurrentValue(debug);
+        long fallbacks = SpillEverywhereAllocationPhase.FALLBACKS.getCurrentValue(debug);
+        compile(method, graph, options);
+        assertDeepEquals("expected an allocation by the spill-everywhere allocator", allocations + 1, SpillEverywhereAllocationPhase.ALLOCATIONS.getCurrentValue(debug));
+        assertDeepEquals("unexpected fallback to linear scan", fallbacks, SpillEverywhereAllocationPhase.FALLBACKS.getCurrentValue(debug));
+        for (Object[] args : argumentLists) {
+            test(options, name, args);
+        }
+    }
+
+    public static int swapSnippet(int n) {
+        int a = 1;
+        int b = 2;
+        int c = 3;
+        for (int i = 0; i < n; i++) {
+            int t = a;
+            a = b;
+            b = c;
+            c = t + i;
+        }
+        return a * 100 + b * 10 + c;
+    }
+
+    public static double floatSnippet(double[] values, float scale) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v * scale;
+            if (sum > 1000) {
+                sum = Math.sqrt(sum);
+            }
+        }
+        return sum;
+    }
+
+    static long callee(long a, long b, int c) {
+        return a * b + c;
+    }
+
+    public static long callSnippet(long x, long y) {
+        long r = 0;
+        for (int i = 0; i < 10; i++) {
+            r += callee(x + i, y - i, i) ^ callee(y, x, -i);
+        }
+        return r;
+    }
+
+    public static String referenceSnippet(int n) {
+        Object[] objects = new Object[n];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            objects[i] = Integer.valueOf(i * 7000);
+            sb.append(objects[i]).append(',');
+        }
+        return sb.toString() + objects.length;
+    }
+
+    public static int exceptionSnippet(int[] a, int i) {
+        try {
+            return a[i] + a[i + 1];
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return -i;
+        }
+    }
+
+    public static long copySnippet(long x, int y) {
+        long a = x;
+        long b = a;
+        int c = y;
+        int d = c;
+        return callee(a, b, c) + callee(b, a, d) + b * d;
+    }
+
+    public static int conditionalMoveSnippet(int a, int b, int x, int y) {
+        int min = a < b ? x : y;
+        long wide = a > b ? (long) x : (long) y;
+        return min + (int) (wide >>> 1);
+    }
+
+    @Test
+    public void testSwap() {
+        testSpillEverywhere("swapSnippet", new Object[]{0}, new Object[]{17});
+    }
+
+    @Test
+    public void testFloat() {
+        testSpillEverywhere("floatSnippet", new Object[]{new double[]{1.5, 2.25, 1000, -3}, 2.5f});
+    }
+
+    @Test
+    public void testCall() {
+        testSpillEverywhere("callSnippet", new Object[]{13L, -7L});
+    }
+
+    @Test
+    public void testReferences() {
+        testSpillEverywhere("referenceSnippet", new Object[]{100});
+    }
+
+    @Test
+    public void testCopy() {
+        testSpillEverywhere("copySnippet", new Object[]{5L, 3}, new Object[]{-1L, Integer.MIN_VALUE});
+    }
+
+    @Test
+    public void testConditionalMove() {
+        testSpillEverywhere("conditionalMoveSnippet", new Object[]{1, 2, 10, 20}, new Object[]{2, 1, 10, -20}, new Object[]{3, 3, 7, 8});
+    }
+
+    @Test
+    public void testException() {
+        testSpillEverywhere("exceptionSnippet", new Object[]{new int[]{1, 2, 3}, 1}, new Object[]{new int[]{1, 2, 3}, 2});
+    }
+}
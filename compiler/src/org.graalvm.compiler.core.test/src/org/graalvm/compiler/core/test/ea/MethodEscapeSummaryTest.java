@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.core.test.ea;
+
+import org.graalvm.compiler.core.common.GraalOptions;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InlineInvokePlugin;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.virtual.CommitAllocationNode;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+import org.graalvm.compiler.virtual.phases.ea.MethodEscapeSummary;
+import org.graalvm.compiler.virtual.phases.ea.MethodEscapeSummary.EscapeState;
+import org.graalvm.compiler.virtual.phases.ea.PartialEscapePhase;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+public class MethodEscapeSummaryTest extends EATestBase {
+
+    static Object staticField;
+
+    @Override
+    protected InlineInvokePlugin.InlineInfo bytecodeParserShouldInlineInvoke(GraphBuilderContext b, ResolvedJavaMethod method, ValueNode[] args) {
+        return method.isConstructor() ? InlineInvokePlugin.InlineInfo.createStandardInlineInfo(method) : null;
+    }
+
+    @BytecodeParserNeverInline
+    static int readOnly(TestClassInt o) {
+        return o.x + o.y;
+    }
+
+    @BytecodeParserNeverInline
+    static void write(TestClassInt o) {
+        o.x = 1;
+    }
+
+    static Object identity(Object o) {
+        return o;
+    }
+
+    static void store(Object o) {
+        staticField = o;
+    }
+
+    static void lock(Object o) {
+        synchronized (o) {
+            staticField = null;
+        }
+    }
+
+    static int nested(TestClassInt o) {
+        return readOnly(o) + readOnly(o);
+    }
+
+    static Object select(Object a, Object b, boolean c) {
+        Object result = c ? a : b;
+        return result;
+    }
+
+    static void storeInHandler(Object o) {
+        Object local = o;
+        try {
+            notInlineable();
+        } catch (RuntimeException e) {
+            staticField = local;
+        }
+    }
+
+    static int storeInLoop(Object[] objects, Object o) {
+        Object current = null;
+        for (int i = 0; i < objects.length; i++) {
+            if (current != null) {
+                staticField = current;
+            }
+            current = o;
+        }
+        return objects.length;
+    }
+
+    private MethodEscapeSummary summary(String name) {
+        return new MethodEscapeSummary.Cache(getInitialOptions(), getDebugContext()).getSummary(getResolvedJavaMethod(name));
+    }
+
+    @Test
+    public void testSummaries() {
+        MethodEscapeSummary readOnly = summary("readOnly");
+        Assert.assertEquals(EscapeState.NO_ESCAPE, readOnly.getEscapeState(0));
+        Assert.assertTrue(readOnly.canPassCopy(0));
+
+        MethodEscapeSummary write = summary("write");
+        Assert.assertEquals(EscapeState.NO_ESCAPE, write.getEscapeState(0));
+        Assert.assertTrue(write.isModified(0));
+        Assert.assertFalse(write.canPassCopy(0));
+
+        Assert.assertEquals(EscapeState.ARG_ESCAPE, summary("identity").getEscapeState(0));
+        Assert.assertEquals(EscapeState.GLOBAL_ESCAPE, summary("store").getEscapeState(0));
+        Assert.assertEquals(EscapeState.GLOBAL_ESCAPE, summary("lock").getEscapeState(0));
+        Assert.assertTrue(summary("nested").canPassCopy(0));
+
+        MethodEscapeSummary select = summary("select");
+        Assert.assertEquals(EscapeState.ARG_ESCAPE, select.getEscapeState(0));
+        Assert.assertEquals(EscapeState.ARG_ESCAPE, select.getEscapeState(1));
+
+        Assert.assertEquals(EscapeState.GLOBAL_ESCAPE, summary("storeInHandler").getEscapeState(0));
+
+        MethodEscapeSummary storeInLoop = summary("storeInLoop");
+        Assert.assertEquals(EscapeState.NO_ESCAPE, storeInLoop.getEscapeState(0));
+        Assert.assertEquals(EscapeState.GLOBAL_ESCAPE, storeInLoop.getEscapeState(1));
+    }
+
+    public static int readAfterCallSnippet(int a, int b) {
+        TestClassInt obj = new TestClassInt(a, b);
+        int result = readOnly(obj);
+        return result + obj.x;
+    }
+
+    public static int writeAfterCallSnippet(int a, int b) {
+        TestClassInt obj = new TestClassInt(a, b);
+        write(obj);
+        return obj.x;
+    }
+
+    private StructuredGraph processMethod(String snippet, boolean callSummaries) {
+        OptionValues options = new OptionValues(getInitialOptions(), GraalOptions.PartialEscapeAnalysisCallSummaries, callSummaries);
+        StructuredGraph g = parseEager(snippet, AllowAssumptions.NO, options);
+        HighTierContext highTierContext = getDefaultHighTierContext();
+        new PartialEscapePhase(false, createCanonicalizerPhase(), options).apply(g, highTierContext);
+        return g;
+    }
+
+    @Test
+    public void testReadAfterCall() {
+        StructuredGraph withoutSummaries = processMethod("readAfterCallSnippet", false);
+        Assert.assertEquals(1, withoutSummaries.getNodes().filter(LoadFieldNode.class).count());
+
+        StructuredGraph withSummaries = processMethod("readAfterCallSnippet", true);
+        Assert.assertEquals(0, withSummaries.getNodes().filter(LoadFieldNode.class).count());
+        Assert.assertEquals(1, withSummaries.getNodes().filter(CommitAllocationNode.class).count());
+
+        OptionValues options = new OptionValues(getInitialOptions(), GraalOptions.PartialEscapeAnalysisCallSummaries, true);
+        test(options, "readAfterCallSnippet", 3, 4);
+    }
+
+    @Test
+    public void testWriteAfterCall() {
+        StructuredGraph withSummaries = processMethod("writeAfterCallSnippet", true);
+        Assert.assertEquals(1, withSummaries.getNodes().filter(LoadFieldNode.class).count());
+
+        OptionValues options = new OptionValues(getInitialOptions(), GraalOptions.PartialEscapeAnalysisCallSummaries, true);
+        test(options, "writeAfterCallSnippet", 3, 4);
+    }
+}
@@ -82,7 +82,8 @@ public class AMD64HotSpotLoweringProvider extends DefaultHotSpotLoweringProvider
     public void lower(Node n, LoweringTool tool) {
         if (n instanceof FloatConvertNode) {
             convertSnippets.lower((FloatConvertNode) n, tool);
-        } else if (profileSnippets != null && n instanceof ProfileNode) {
+        } else if (profileSnippets != null && n instanceof ProfileNode && ((ProfileNode) n).getRandom() != null) {
+            // profile nodes without a random source use the non-probabilistic snippets
             profileSnippets.lower((ProfileNode) n, tool);
         } else if (n instanceof UnaryMathIntrinsicNode) {
             lowerUnaryMath((UnaryMathIntrinsicNode) n, tool);
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.test;
+
+import org.graalvm.compiler.core.phases.CommunityCompilerConfiguration;
+import org.graalvm.compiler.core.phases.EconomyCompilerConfiguration;
+import org.graalvm.compiler.core.phases.EconomyHighTier;
+import org.graalvm.compiler.core.phases.HighTier;
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.hotspot.TieredCompilerConfigurationFactory;
+import org.graalvm.compiler.hotspot.TieredCompilerConfigurationFactory.TieredCompilerConfiguration;
+import org.graalvm.compiler.hotspot.meta.HotSpotEconomyTierProfilingPlugin;
+import org.graalvm.compiler.hotspot.nodes.profiling.ProfileBranchNode;
+import org.graalvm.compiler.hotspot.nodes.profiling.ProfileInvokeNode;
+import org.graalvm.compiler.hotspot.nodes.profiling.ProfileNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.serviceprovider.JavaVersionUtil;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EconomyTierProfilingTest extends GraalCompilerTest {
+
+    @Override
+    protected Plugins getDefaultGraphBuilderPlugins() {
+        Plugins plugins = super.getDefaultGraphBuilderPlugins();
+        plugins.setProfilingPlugin(new HotSpotEconomyTierProfilingPlugin());
+        return plugins;
+    }
+
+    @Before
+    public void checkJavaVersion() {
+        Assume.assumeTrue("profile counters require JDK 9 or later", JavaVersionUtil.JAVA_SPEC > 8);
+    }
+
+    private OptionValues economyTierOptions() {
+        return new OptionValues(getInitialOptions(), TieredCompilerConfigurationFactory.Options.EconomyTier, true);
+    }
+
+    public static int sumSnippet(int n) {
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Test
+    public void testSelectsConfiguration() {
+        TieredCompilerConfiguration configuration = new TieredCompilerConfiguration(new CommunityCompilerConfiguration(), new EconomyCompilerConfiguration());
+        Assert.assertTrue(configuration.createHighTier(economyTierOptions()) instanceof EconomyHighTier);
+        Assert.assertTrue(configuration.createHighTier(getInitialOptions()) instanceof HighTier);
+    }
+
+    @Test
+    public void testProfileNodes() {
+        StructuredGraph graph = parseEager("sumSnippet", AllowAssumptions.YES, economyTierOptions());
+        Assert.assertEquals(1, graph.getNodes().filter(ProfileInvokeNode.class).count());
+        Assert.assertEquals(1, graph.getNodes().filter(ProfileBranchNode.class).count());
+
+        graph = parseEager("sumSnippet", AllowAssumptions.YES, getInitialOptions());
+        Assert.assertEquals(0, ProfileNode.getProfileNodes(graph).count());
+    }
+
+    @Test
+    public void testNotification() {
+        // notify on every invocation and backedge so that the code deoptimizes immediately
+        OptionValues options = new OptionValues(economyTierOptions(),
+                        HotSpotEconomyTierProfilingPlugin.Options.EconomyTierInvokeNotifyFreqLog, 0,
+                        HotSpotEconomyTierProfilingPlugin.Options.EconomyTierBackedgeNotifyFreqLog, 0);
+        test(options, "sumSnippet", 100);
+    }
+
+    @Test
+    public void testCounting() {
+        test(economyTierOptions(), "sumSnippet", 100);
+    }
+}
@@ -82,6 +82,7 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
     private final HotSpotGraalRuntimeProvider graalRuntime;
     private final CompilationCounters compilationCounters;
     private final BootstrapWatchDog bootstrapWatchDog;
+    private final boolean tieredCompilation;
     private List<DebugHandlersFactory> factories;
 
     HotSpotGraalCompiler(HotSpotJVMCIRuntime jvmciRuntime, HotSpotGraalRuntimeProvider graalRuntime, OptionValues options) {
@@ -90,6 +91,7 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
         // It is sufficient to have one compilation counter object per compiler object.
         this.compilationCounters = Options.CompilationCountLimit.getValue(options) > 0 ? new CompilationCounters(options) : null;
         this.bootstrapWatchDog = graalRuntime.isBootstrapping() && !DebugOptions.BootstrapInitializeOnly.getValue(options) ? BootstrapWatchDog.maybeCreate(graalRuntime) : null;
+        this.tieredCompilation = HotSpotGraalCompilerFactory.useTieredCompilation(options);
     }
 
     public List<DebugHandlersFactory> getDebugHandlersFactories() {
@@ -132,6 +134,9 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
             HotSpotCompilationRequest hsRequest = (HotSpotCompilationRequest) request;
             CompilationTask task = new CompilationTask(jvmciRuntime, this, hsRequest, true, shouldRetainLocalVariables(hsRequest.getJvmciEnv()), installAsDefault);
             OptionValues options = task.filterOptions(initialOptions);
+            if (tieredCompilation && TieredCompilerConfigurationFactory.shouldCompileAtEconomyTier(method, hsRequest.getEntryBCI())) {
+                options = new OptionValues(options, TieredCompilerConfigurationFactory.Options.EconomyTier, true);
+            }
             try (CompilationWatchDog w1 = CompilationWatchDog.watch(method, hsRequest.getId(), options);
                             BootstrapWatchDog.Watch w2 = bootstrapWatchDog == null ? null : bootstrapWatchDog.watch(request);
                             CompilationAlarm alarm = CompilationAlarm.trackCompilationPeriod(options);) {
@@ -246,6 +251,10 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
     }
 
     protected OptimisticOptimizations getOptimisticOpts(ProfilingInfo profilingInfo, OptionValues options) {
+        if (TieredCompilerConfigurationFactory.isEconomyTier(options)) {
+            // The profile is not mature yet so speculating on it would only cause deoptimizations
+            return OptimisticOptimizations.NONE;
+        }
         return new OptimisticOptimizations(profilingInfo, options);
     }
 
@@ -40,6 +40,7 @@ import org.graalvm.compiler.options.OptionType;
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.options.OptionsParser;
 import org.graalvm.compiler.phases.tiers.CompilerConfiguration;
+import org.graalvm.compiler.serviceprovider.JavaVersionUtil;
 
 import jdk.vm.ci.common.InitTimer;
 import jdk.vm.ci.hotspot.HotSpotJVMCICompilerFactory;
@@ -121,6 +122,11 @@ public final class HotSpotGraalCompilerFactory extends HotSpotJVMCICompilerFacto
                        "A method not matching the filter is redirected to a lower tier compiler. " +
                        "The filter format is the same as for the MethodFilter option.", type = OptionType.Expert)
         public static final OptionKey<String> GraalCompileOnly = new OptionKey<>(null);
+
+        @Option(help = "Compile methods whose profile is not yet mature with the economy compiler configuration " +
+                       "and counters that hand hot methods back to the interpreter, so that they are recompiled " +
+                       "with the selected compiler configuration once their profile has matured.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> GraalTieredCompilation = new OptionKey<>(false);
         // @formatter:on
 
     }
@@ -147,17 +153,31 @@ public final class HotSpotGraalCompilerFactory extends HotSpotJVMCICompilerFacto
      *            name} of the {@linkplain HotSpotGraalCompiler#getGraalRuntime() runtime} created
      *            by this method
      * @param runtime the JVMCI runtime on which the {@link HotSpotGraalRuntime} is built
-     * @param compilerConfigurationFactory factory for the {@link CompilerConfiguration}
+     * @param compilerConfigurationFactory factory for the {@link CompilerConfiguration}. If
+     *            {@linkplain #useTieredCompilation tiered compilation} is enabled, it is wrapped in a
+     *            {@link TieredCompilerConfigurationFactory}.
      */
     @SuppressWarnings("try")
     public static HotSpotGraalCompiler createCompiler(String runtimeNameQualifier, JVMCIRuntime runtime, OptionValues options, CompilerConfigurationFactory compilerConfigurationFactory) {
         HotSpotJVMCIRuntime jvmciRuntime = (HotSpotJVMCIRuntime) runtime;
+        CompilerConfigurationFactory factory = compilerConfigurationFactory;
+        if (useTieredCompilation(options)) {
+            factory = new TieredCompilerConfigurationFactory(factory);
+        }
         try (InitTimer t = timer("HotSpotGraalRuntime.<init>")) {
-            HotSpotGraalRuntime graalRuntime = new HotSpotGraalRuntime(runtimeNameQualifier, jvmciRuntime, compilerConfigurationFactory, options);
+            HotSpotGraalRuntime graalRuntime = new HotSpotGraalRuntime(runtimeNameQualifier, jvmciRuntime, factory, options);
             return new HotSpotGraalCompiler(jvmciRuntime, graalRuntime, graalRuntime.getOptions());
         }
     }
 
+    /**
+     * Determines if {@link Options#GraalTieredCompilation} is enabled. It is ignored on JDK 8 where
+     * profile counters are not supported.
+     */
+    static boolean useTieredCompilation(OptionValues options) {
+        return Options.GraalTieredCompilation.getValue(options) && JavaVersionUtil.JAVA_SPEC > 8;
+    }
+
     @Override
     public CompilationLevelAdjustment getCompilationLevelAdjustment() {
         return isGraalPredicate != null ? isGraalPredicate.getCompilationLevelAdjustment() : None;
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot;
+
+import org.graalvm.compiler.core.phases.EconomyCompilerConfiguration;
+import org.graalvm.compiler.lir.phases.AllocationPhase.AllocationContext;
+import org.graalvm.compiler.lir.phases.LIRPhaseSuite;
+import org.graalvm.compiler.lir.phases.PostAllocationOptimizationPhase.PostAllocationOptimizationContext;
+import org.graalvm.compiler.lir.phases.PreAllocationOptimizationPhase.PreAllocationOptimizationContext;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.PhaseSuite;
+import org.graalvm.compiler.phases.tiers.CompilerConfiguration;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+import org.graalvm.compiler.phases.tiers.LowTierContext;
+import org.graalvm.compiler.phases.tiers.MidTierContext;
+
+import jdk.vm.ci.meta.DeoptimizationReason;
+import jdk.vm.ci.meta.ProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.runtime.JVMCICompiler;
+
+/**
+ * Wraps another {@link CompilerConfigurationFactory} to add an economy tier in front of the
+ * configuration it creates. A compilation runs at the economy tier if
+ * {@link Options#EconomyTier} is set in its options, in which case the phases of the
+ * {@link EconomyCompilerConfiguration} are used and the graph builder emits invocation and backedge
+ * counters that deoptimize the code once the method becomes hot. The interpreter then continues to
+ * collect branch and type profiles for the method until the VM requests another compilation, which
+ * is performed with the wrapped configuration.
+ *
+ * @see HotSpotGraalCompilerFactory.Options#GraalTieredCompilation
+ */
+public final class TieredCompilerConfigurationFactory extends CompilerConfigurationFactory {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Compile with the economy tier of the tiered compiler configuration. " +
+                       "This is set by the compiler for individual compilations.", type = OptionType.Debug)
+        public static final OptionKey<Boolean> EconomyTier = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private final CompilerConfigurationFactory topTier;
+
+    /**
+     * @param topTier factory for the configuration used once the profile of a method has matured
+     */
+    public TieredCompilerConfigurationFactory(CompilerConfigurationFactory topTier) {
+        // never auto-selected, so the priority is irrelevant
+        super(topTier.getName(), 0);
+        this.topTier = topTier;
+    }
+
+    @Override
+    public CompilerConfiguration createCompilerConfiguration() {
+        return new TieredCompilerConfiguration(topTier.createCompilerConfiguration(), new EconomyCompilerConfiguration());
+    }
+
+    @Override
+    public BackendMap createBackendMap() {
+        return topTier.createBackendMap();
+    }
+
+    public static boolean isEconomyTier(OptionValues options) {
+        return Options.EconomyTier.getValue(options);
+    }
+
+    /**
+     * Determines if a compilation of {@code method} should be performed at the economy tier. This
+     * is the case for a standard compilation of a method whose profile is not yet mature and which
+     * has not already been handed back to the interpreter by economy tier code.
+     */
+    public static boolean shouldCompileAtEconomyTier(ResolvedJavaMethod method, int entryBCI) {
+        if (entryBCI != JVMCICompiler.INVOCATION_ENTRY_BCI) {
+            return false;
+        }
+        ProfilingInfo profilingInfo = method.getProfilingInfo();
+        return !profilingInfo.isMature() && profilingInfo.getDeoptimizationCount(DeoptimizationReason.TransferToInterpreter) == 0;
+    }
+
+    /**
+     * Creates the phases of the economy or the top tier configuration, depending on
+     * {@link Options#EconomyTier}.
+     */
+    public static final class TieredCompilerConfiguration implements CompilerConfiguration {
+
+        private final CompilerConfiguration topTier;
+        private final CompilerConfiguration economyTier;
+
+        public TieredCompilerConfiguration(CompilerConfiguration topTier, CompilerConfiguration economyTier) {
+            this.topTier = topTier;
+            this.economyTier = economyTier;
+        }
+
+        private CompilerConfiguration select(OptionValues options) {
+            return isEconomyTier(options) ? economyTier : topTier;
+        }
+
+        @Override
+        public PhaseSuite<HighTierContext> createHighTier(OptionValues options) {
+            return select(options).createHighTier(options);
+        }
+
+        @Override
+        public PhaseSuite<MidTierContext> createMidTier(OptionValues options) {
+            return select(options).createMidTier(options);
+        }
+
+        @Override
+        public PhaseSuite<LowTierContext> createLowTier(OptionValues options) {
+            return select(options).createLowTier(options);
+        }
+
+        @Override
+        public LIRPhaseSuite<PreAllocationOptimizationContext> createPreAllocationOptimizationStage(OptionValues options) {
+            return select(options).createPreAllocationOptimizationStage(options);
+        }
+
+        @Override
+        public LIRPhaseSuite<AllocationContext> createAllocationStage(OptionValues options) {
+            return select(options).createAllocationStage(options);
+        }
+
+        @Override
+        public LIRPhaseSuite<PostAllocationOptimizationContext> createPostAllocationOptimizationStage(OptionValues options) {
+            return select(options).createPostAllocationOptimizationStage(options);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.meta;
+
+import org.graalvm.compiler.hotspot.TieredCompilerConfigurationFactory;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Profiles invocations and backedges of the root method of an
+ * {@linkplain TieredCompilerConfigurationFactory economy tier} compilation. Once a counter reaches
+ * its notification frequency, the compiled code deoptimizes so that the interpreter completes the
+ * profile of the method before it is recompiled at the top tier.
+ */
+public class HotSpotEconomyTierProfilingPlugin extends HotSpotProfilingPlugin {
+    public static class Options {
+        @Option(help = "Invocation notification frequency of economy tier code", type = OptionType.Expert)//
+        public static final OptionKey<Integer> EconomyTierInvokeNotifyFreqLog = new OptionKey<>(12);
+        @Option(help = "Backedge notification frequency of economy tier code", type = OptionType.Expert)//
+        public static final OptionKey<Integer> EconomyTierBackedgeNotifyFreqLog = new OptionKey<>(16);
+    }
+
+    @Override
+    public boolean shouldProfile(GraphBuilderContext builder, ResolvedJavaMethod method) {
+        return super.shouldProfile(builder, method) && TieredCompilerConfigurationFactory.isEconomyTier(builder.getOptions()) && method.equals(builder.getGraph().method());
+    }
+
+    @Override
+    public int invokeNotifyFreqLog(OptionValues options) {
+        return Options.EconomyTierInvokeNotifyFreqLog.getValue(options);
+    }
+
+    @Override
+    public int invokeInlineeNotifyFreqLog(OptionValues options) {
+        // only the root method is profiled
+        return -1;
+    }
+
+    @Override
+    public int invokeProfilePobabilityLog(OptionValues options) {
+        // every invocation is counted
+        return 0;
+    }
+
+    @Override
+    public int backedgeNotifyFreqLog(OptionValues options) {
+        return Options.EconomyTierBackedgeNotifyFreqLog.getValue(options);
+    }
+
+    @Override
+    public int backedgeProfilePobabilityLog(OptionValues options) {
+        // every backedge is counted
+        return 0;
+    }
+}
@@ -50,6 +50,7 @@ import org.graalvm.compiler.core.common.type.TypeReference;
 import org.graalvm.compiler.debug.GraalError;
 import org.graalvm.compiler.hotspot.GraalHotSpotVMConfig;
 import org.graalvm.compiler.hotspot.HotSpotGraalRuntimeProvider;
+import org.graalvm.compiler.hotspot.TieredCompilerConfigurationFactory.TieredCompilerConfiguration;
 import org.graalvm.compiler.hotspot.nodes.CurrentJavaThreadNode;
 import org.graalvm.compiler.hotspot.replacements.AESCryptSubstitutions;
 import org.graalvm.compiler.hotspot.replacements.ArraysSupportSubstitutions;
@@ -176,6 +177,9 @@ public class HotSpotGraphBuilderPlugins {
             if (config.instanceKlassInitThreadOffset != -1) {
                 plugins.setClassInitializationPlugin(new HotSpotJITClassInitializationPlugin());
             }
+            if (compilerConfiguration instanceof TieredCompilerConfiguration) {
+                plugins.setProfilingPlugin(new HotSpotEconomyTierProfilingPlugin());
+            }
         }
 
         invocationPlugins.defer(new Runnable() {
@@ -409,6 +409,11 @@ public class HotSpotReplacementsUtil {
         return config.invocationCounterIncrement;
     }
 
+    @Fold
+    public static int methodCountersOffset(@InjectedParameter GraalHotSpotVMConfig config) {
+        return config.methodCountersOffset;
+    }
+
     @Fold
     public static int invocationCounterOffset(@InjectedParameter GraalHotSpotVMConfig config) {
         return config.invocationCounterOffset;
@@ -24,11 +24,13 @@
  */
 package org.graalvm.compiler.hotspot.replacements.profiling;
 
+import static org.graalvm.compiler.core.common.GraalOptions.GeneratePIC;
 import static org.graalvm.compiler.hotspot.GraalHotSpotVMConfig.INJECTED_VMCONFIG;
 import static org.graalvm.compiler.hotspot.replacements.HotSpotReplacementsUtil.backedgeCounterOffset;
 import static org.graalvm.compiler.hotspot.replacements.HotSpotReplacementsUtil.invocationCounterIncrement;
 import static org.graalvm.compiler.hotspot.replacements.HotSpotReplacementsUtil.invocationCounterOffset;
 import static org.graalvm.compiler.hotspot.replacements.HotSpotReplacementsUtil.invocationCounterShift;
+import static org.graalvm.compiler.hotspot.replacements.HotSpotReplacementsUtil.methodCountersOffset;
 import static org.graalvm.compiler.nodes.extended.BranchProbabilityNode.SLOW_PATH_PROBABILITY;
 import static org.graalvm.compiler.nodes.extended.BranchProbabilityNode.probability;
 import static org.graalvm.compiler.replacements.SnippetTemplate.DEFAULT_REPLACER;
@@ -46,9 +48,13 @@ import org.graalvm.compiler.hotspot.nodes.aot.LoadMethodCountersNode;
 import org.graalvm.compiler.hotspot.nodes.profiling.ProfileBranchNode;
 import org.graalvm.compiler.hotspot.nodes.profiling.ProfileInvokeNode;
 import org.graalvm.compiler.hotspot.nodes.profiling.ProfileNode;
+import org.graalvm.compiler.hotspot.nodes.type.MethodPointerStamp;
 import org.graalvm.compiler.hotspot.word.MethodCountersPointer;
+import org.graalvm.compiler.hotspot.word.MethodPointer;
 import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.DeoptimizeNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.extended.ForeignCallNode;
 import org.graalvm.compiler.nodes.spi.LoweringTool;
 import org.graalvm.compiler.nodes.util.GraphUtil;
@@ -58,9 +64,13 @@ import org.graalvm.compiler.replacements.SnippetTemplate.AbstractTemplates;
 import org.graalvm.compiler.replacements.SnippetTemplate.Arguments;
 import org.graalvm.compiler.replacements.SnippetTemplate.SnippetInfo;
 import org.graalvm.compiler.replacements.Snippets;
+import org.graalvm.compiler.word.Word;
 
 import jdk.vm.ci.code.CodeUtil;
 import jdk.vm.ci.code.TargetDescription;
+import jdk.vm.ci.hotspot.HotSpotResolvedJavaMethod;
+import jdk.vm.ci.meta.DeoptimizationAction;
+import jdk.vm.ci.meta.DeoptimizationReason;
 
 public class ProfileSnippets implements Snippets {
     @NodeIntrinsic(ForeignCallNode.class)
@@ -105,10 +115,56 @@ public class ProfileSnippets implements Snippets {
         }
     }
 
+    /*
+     * The VM does not provide the invocation and backedge event entry points to JIT compiled code.
+     * Instead, the JIT variants below invalidate the code once a notification is due so that the
+     * interpreter takes over profiling and the VM eventually requests a new compilation.
+     */
+
+    @Snippet
+    public static void profileMethodEntryWithDeopt(MethodPointer method, int step, int stepLog, @ConstantParameter int freqLog) {
+        Word counters = method.readWord(methodCountersOffset(INJECTED_VMCONFIG));
+        if (probability(SLOW_PATH_PROBABILITY, counters.isNull())) {
+            return;
+        }
+        int counterValue = counters.readInt(invocationCounterOffset(INJECTED_VMCONFIG)) + invocationCounterIncrement(INJECTED_VMCONFIG) * step;
+        counters.writeInt(invocationCounterOffset(INJECTED_VMCONFIG), counterValue);
+        if (freqLog >= 0) {
+            final int mask = notificationMask(freqLog, stepLog);
+            if (probability(SLOW_PATH_PROBABILITY, (counterValue & (mask << invocationCounterShift(INJECTED_VMCONFIG))) == 0)) {
+                DeoptimizeNode.deopt(DeoptimizationAction.InvalidateReprofile, DeoptimizationReason.TransferToInterpreter);
+            }
+        }
+    }
+
+    @Snippet
+    public static void profileBackedgeWithDeopt(MethodPointer method, int step, int stepLog, @ConstantParameter int freqLog) {
+        Word counters = method.readWord(methodCountersOffset(INJECTED_VMCONFIG));
+        if (probability(SLOW_PATH_PROBABILITY, counters.isNull())) {
+            return;
+        }
+        int counterValue = counters.readInt(backedgeCounterOffset(INJECTED_VMCONFIG)) + invocationCounterIncrement(INJECTED_VMCONFIG) * step;
+        counters.writeInt(backedgeCounterOffset(INJECTED_VMCONFIG), counterValue);
+        final int mask = notificationMask(freqLog, stepLog);
+        if (probability(SLOW_PATH_PROBABILITY, (counterValue & (mask << invocationCounterShift(INJECTED_VMCONFIG))) == 0)) {
+            DeoptimizeNode.deopt(DeoptimizationAction.InvalidateReprofile, DeoptimizationReason.TransferToInterpreter);
+        }
+    }
+
+    @Snippet
+    public static void profileConditionalBackedgeWithDeopt(MethodPointer method, int step, int stepLog, @ConstantParameter int freqLog, boolean branchCondition) {
+        if (branchCondition) {
+            profileBackedgeWithDeopt(method, step, stepLog, freqLog);
+        }
+    }
+
     public static class Templates extends AbstractTemplates {
         private final SnippetInfo profileMethodEntry = snippet(ProfileSnippets.class, "profileMethodEntry");
         private final SnippetInfo profileBackedge = snippet(ProfileSnippets.class, "profileBackedge");
         private final SnippetInfo profileConditionalBackedge = snippet(ProfileSnippets.class, "profileConditionalBackedge");
+        private final SnippetInfo profileMethodEntryWithDeopt = snippet(ProfileSnippets.class, "profileMethodEntryWithDeopt");
+        private final SnippetInfo profileBackedgeWithDeopt = snippet(ProfileSnippets.class, "profileBackedgeWithDeopt");
+        private final SnippetInfo profileConditionalBackedgeWithDeopt = snippet(ProfileSnippets.class, "profileConditionalBackedgeWithDeopt");
 
         public Templates(OptionValues options, Iterable<DebugHandlersFactory> factories, HotSpotProviders providers, TargetDescription target) {
             super(options, factories, providers, providers.getSnippetReflection(), target);
@@ -116,6 +172,10 @@ public class ProfileSnippets implements Snippets {
 
         public void lower(ProfileNode profileNode, LoweringTool tool) {
             StructuredGraph graph = profileNode.graph();
+            if (!GeneratePIC.getValue(graph.getOptions())) {
+                lowerWithDeopt(profileNode, tool);
+                return;
+            }
             LoadMethodCountersNode counters = graph.unique(new LoadMethodCountersNode(profileNode.getProfiledMethod()));
             ConstantNode step = ConstantNode.forInt(profileNode.getStep(), graph);
             ConstantNode stepLog = ConstantNode.forInt(CodeUtil.log2(profileNode.getStep()), graph);
@@ -158,5 +218,42 @@ public class ProfileSnippets implements Snippets {
                 GraphUtil.killWithUnusedFloatingInputs(profileNode);
             }
         }
+
+        private void lowerWithDeopt(ProfileNode profileNode, LoweringTool tool) {
+            StructuredGraph graph = profileNode.graph();
+            HotSpotResolvedJavaMethod profiledMethod = (HotSpotResolvedJavaMethod) profileNode.getProfiledMethod();
+            ValueNode method = ConstantNode.forConstant(MethodPointerStamp.methodNonNull(), profiledMethod.getEncoding(), tool.getMetaAccess(), graph);
+            ConstantNode step = ConstantNode.forInt(profileNode.getStep(), graph);
+            ConstantNode stepLog = ConstantNode.forInt(CodeUtil.log2(profileNode.getStep()), graph);
+
+            Arguments args;
+            if (profileNode instanceof ProfileBranchNode) {
+                ProfileBranchNode profileBranchNode = (ProfileBranchNode) profileNode;
+                args = new Arguments(profileBranchNode.hasCondition() ? profileConditionalBackedgeWithDeopt : profileBackedgeWithDeopt, graph.getGuardsStage(), tool.getLoweringStage());
+                args.add("method", method);
+                args.add("step", step);
+                args.add("stepLog", stepLog);
+                args.addConst("freqLog", profileBranchNode.getNotificationFreqLog());
+                if (profileBranchNode.hasCondition()) {
+                    args.add("branchCondition", profileBranchNode.branchCondition());
+                }
+            } else if (profileNode instanceof ProfileInvokeNode) {
+                ProfileInvokeNode profileInvokeNode = (ProfileInvokeNode) profileNode;
+                args = new Arguments(profileMethodEntryWithDeopt, graph.getGuardsStage(), tool.getLoweringStage());
+                args.add("method", method);
+                args.add("step", step);
+                args.add("stepLog", stepLog);
+                args.addConst("freqLog", profileInvokeNode.getNotificationFreqLog());
+            } else {
+                throw new GraalError("Unsupported profile node type: " + profileNode);
+            }
+            SnippetTemplate template = template(profileNode, args);
+            template.instantiate(providers.getMetaAccess(), profileNode, DEFAULT_REPLACER, args);
+
+            assert profileNode.hasNoUsages();
+            if (!profileNode.isDeleted()) {
+                GraphUtil.killWithUnusedFloatingInputs(profileNode);
+            }
+        }
     }
 }
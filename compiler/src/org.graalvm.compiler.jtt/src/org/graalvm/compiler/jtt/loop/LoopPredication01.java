@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+// Checkstyle: stop
+package org.graalvm.compiler.jtt.loop;
+
+import org.junit.Test;
+
+import org.graalvm.compiler.jtt.JTTTest;
+
+/*
+ * Counted loops whose null checks and array bounds checks can be predicated before the loop.
+ */
+public class LoopPredication01 extends JTTTest {
+
+    private static final int[] ARRAY = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    public static int sum(int[] array, int n) {
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            result += array[i];
+        }
+        return result;
+    }
+
+    public static int sumOffset(int[] array, int n) {
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            result += array[i + 1];
+        }
+        return result;
+    }
+
+    public static int sumScaled(int[] array, int n) {
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            result += array[2 * i];
+        }
+        return result;
+    }
+
+    public static int sumDown(int[] array, int n) {
+        int result = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            result += array[i];
+        }
+        return result;
+    }
+
+    public static int sumStride(int[] array, int from, int stride) {
+        int result = 0;
+        for (int i = from; i < array.length; i += stride) {
+            result += array[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void runSum() throws Throwable {
+        runTest("sum", ARRAY, 10);
+        runTest("sum", ARRAY, 3);
+        runTest("sum", ARRAY, 0);
+        runTest("sum", ARRAY, -5);
+        runTest("sum", new int[0], 0);
+    }
+
+    @Test
+    public void runSumOutOfBounds() throws Throwable {
+        runTest("sum", ARRAY, 11);
+        runTest("sum", new int[0], 1);
+    }
+
+    @Test
+    public void runSumNull() throws Throwable {
+        runTest("sum", null, 0);
+        runTest("sum", null, 1);
+    }
+
+    @Test
+    public void runSumOffset() throws Throwable {
+        runTest("sumOffset", ARRAY, 9);
+        runTest("sumOffset", ARRAY, 10);
+        runTest("sumOffset", ARRAY, 0);
+    }
+
+    @Test
+    public void runSumScaled() throws Throwable {
+        runTest("sumScaled", ARRAY, 5);
+        runTest("sumScaled", ARRAY, 6);
+        runTest("sumScaled", ARRAY, 0);
+        runTest("sumScaled", ARRAY, 0x40000001);
+    }
+
+    @Test
+    public void runSumDown() throws Throwable {
+        runTest("sumDown", ARRAY, 10);
+        runTest("sumDown", ARRAY, 11);
+        runTest("sumDown", ARRAY, 0);
+    }
+
+    @Test
+    public void runSumStride() throws Throwable {
+        runTest("sumStride", ARRAY, 0, 3);
+        runTest("sumStride", ARRAY, 1, 4);
+        runTest("sumStride", ARRAY, -1, 4);
+        runTest("sumStride", ARRAY, 10, 1);
+        runTest("sumStride", ARRAY, Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+// Checkstyle: stop
+package org.graalvm.compiler.jtt.loop;
+
+import org.junit.Test;
+
+import org.graalvm.compiler.jtt.JTTTest;
+
+/*
+ * Counted loops with additional exits, where a predicate over the maximal trip count fails
+ * although no check in the loop body would.
+ */
+public class LoopPredication02 extends JTTTest {
+
+    private static final int[] ARRAY = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    public static int indexOf(int[] array, int n, int value) {
+        for (int i = 0; i < n; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int copy(int[] src, int[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = src[i];
+        }
+        return dst[0];
+    }
+
+    public static int nested(int[] array, int n, int m) {
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                result += array[i + j];
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void runIndexOf() throws Throwable {
+        runTest("indexOf", ARRAY, 10, 5);
+        runTest("indexOf", ARRAY, 100, 5);
+        runTest("indexOf", ARRAY, 100, 42);
+        runTest("indexOf", ARRAY, 0, 1);
+    }
+
+    @Test
+    public void runCopy() throws Throwable {
+        runTest("copy", ARRAY, new int[10], 10);
+        runTest("copy", ARRAY, new int[5], 10);
+        runTest("copy", ARRAY, null, 10);
+        runTest("copy", new int[1], new int[1], 0);
+    }
+
+    @Test
+    public void runNested() throws Throwable {
+        runTest("nested", ARRAY, 5, 5);
+        runTest("nested", ARRAY, 6, 5);
+        runTest("nested", ARRAY, 5, 0);
+    }
+}
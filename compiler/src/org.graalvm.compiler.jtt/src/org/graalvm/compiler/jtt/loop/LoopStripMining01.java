@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+// Checkstyle: stop
+package org.graalvm.compiler.jtt.loop;
+
+import static org.graalvm.compiler.core.common.GraalOptions.LoopStripMiningIterations;
+
+import org.junit.Test;
+
+import org.graalvm.compiler.jtt.JTTTest;
+import org.graalvm.compiler.options.OptionValues;
+
+/*
+ * Counted loops that are split into strips with a safepoint poll in between. A small strip length
+ * makes every test cross several strip boundaries.
+ */
+public class LoopStripMining01 extends JTTTest {
+
+    private static final int[] ARRAY = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17};
+
+    public static int sumUp(int start, int end, int stride) {
+        int result = 0;
+        for (int i = start; i < end; i += stride) {
+            result += i;
+        }
+        return result;
+    }
+
+    public static int sumUpInclusive(int start, int end) {
+        int result = 0;
+        for (int i = start; i <= end; i++) {
+            result += i;
+        }
+        return result;
+    }
+
+    public static int sumDown(int start, int end) {
+        int result = 0;
+        for (int i = start; i > end; i -= 2) {
+            result += i;
+        }
+        return result;
+    }
+
+    public static long sumLong(long start, long end) {
+        long result = 0;
+        for (long i = start; i < end; i++) {
+            result += i;
+        }
+        return result;
+    }
+
+    public static int indexOf(int[] array, int value) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private OptionValues getOptions() {
+        return new OptionValues(getInitialOptions(), LoopStripMiningIterations, 4);
+    }
+
+    @Test
+    public void runSumUp() throws Throwable {
+        runTest(getOptions(), "sumUp", 0, 100, 1);
+        runTest(getOptions(), "sumUp", 0, 100, 3);
+        runTest(getOptions(), "sumUp", -7, 9, 2);
+        runTest(getOptions(), "sumUp", 5, 5, 1);
+        runTest(getOptions(), "sumUp", 10, 0, 1);
+        runTest(getOptions(), "sumUp", Integer.MAX_VALUE - 20, Integer.MAX_VALUE, 1);
+        runTest(getOptions(), "sumUp", Integer.MIN_VALUE, Integer.MIN_VALUE + 20, 1);
+    }
+
+    @Test
+    public void runSumUpInclusive() throws Throwable {
+        runTest(getOptions(), "sumUpInclusive", 0, 100);
+        runTest(getOptions(), "sumUpInclusive", 3, 3);
+        runTest(getOptions(), "sumUpInclusive", 4, 3);
+        runTest(getOptions(), "sumUpInclusive", Integer.MAX_VALUE - 20, Integer.MAX_VALUE - 1);
+    }
+
+    @Test
+    public void runSumDown() throws Throwable {
+        runTest(getOptions(), "sumDown", 100, 0);
+        runTest(getOptions(), "sumDown", 9, -9);
+        runTest(getOptions(), "sumDown", 0, 10);
+        runTest(getOptions(), "sumDown", Integer.MIN_VALUE + 20, Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void runSumLong() throws Throwable {
+        runTest(getOptions(), "sumLong", 0L, 100L);
+        runTest(getOptions(), "sumLong", Long.MAX_VALUE - 20, Long.MAX_VALUE);
+        runTest(getOptions(), "sumLong", 10L, 0L);
+    }
+
+    @Test
+    public void runIndexOf() throws Throwable {
+        runTest(getOptions(), "indexOf", ARRAY, 1);
+        runTest(getOptions(), "indexOf", ARRAY, 6);
+        runTest(getOptions(), "indexOf", ARRAY, 17);
+        runTest(getOptions(), "indexOf", ARRAY, 42);
+        runTest(getOptions(), "indexOf", new int[0], 42);
+    }
+
+    @Test
+    public void runDefault() throws Throwable {
+        runTest("sumUp", 0, 100000, 1);
+        runTest("sumLong", 0L, 100000L);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.amd64;
+
+import static jdk.vm.ci.code.ValueUtil.asRegister;
+import static org.graalvm.compiler.lir.LIRInstruction.OperandFlag.REG;
+import static org.graalvm.compiler.lir.amd64.AMD64HotSpotHelper.pointerConstant;
+import static org.graalvm.compiler.lir.amd64.AMD64HotSpotHelper.recordExternalAddress;
+
+import org.graalvm.compiler.asm.Label;
+import org.graalvm.compiler.asm.amd64.AMD64Address;
+import org.graalvm.compiler.asm.amd64.AMD64Address.Scale;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.ConditionFlag;
+import org.graalvm.compiler.asm.amd64.AMD64MacroAssembler;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.lir.LIRInstructionClass;
+import org.graalvm.compiler.lir.Opcode;
+import org.graalvm.compiler.lir.asm.ArrayDataPointerConstant;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+
+import jdk.vm.ci.amd64.AMD64Kind;
+import jdk.vm.ci.code.Register;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Encrypts or decrypts a single 16 byte block with AES-NI, using the expanded session key of
+ * {@code com.sun.crypto.provider.AESCrypt}. The round keys are stored as big-endian {@code int}s
+ * and are byte swapped with {@code pshufb} before use. The number of rounds (10, 12 or 14) is
+ * derived from the length of the expanded key (44, 52 or 60 ints).
+ *
+ * For decryption, the session key holds the round keys in the order expected by {@code aesdec},
+ * except that the key for the final {@code aesdeclast} round is stored first.
+ */
+@Opcode("AES_CRYPT")
+public final class AMD64AESCryptOp extends AMD64LIRInstruction {
+    public static final LIRInstructionClass<AMD64AESCryptOp> TYPE = LIRInstructionClass.create(AMD64AESCryptOp.class);
+
+    private final boolean encrypt;
+    private final int byteArrayBaseOffset;
+    private final int intArrayBaseOffset;
+
+    @Use({REG}) private Value inValue;
+    @Use({REG}) private Value inOffsetValue;
+    @Use({REG}) private Value outValue;
+    @Use({REG}) private Value outOffsetValue;
+    @Use({REG}) private Value keyValue;
+    @Use({REG}) private Value keyLengthValue;
+
+    @Temp({REG}) private Value resultTemp;
+    @Temp({REG}) private Value maskTemp;
+    @Temp({REG}) private Value keyTemp1;
+    @Temp({REG}) private Value keyTemp2;
+    @Temp({REG}) private Value keyTemp3;
+
+    private ArrayDataPointerConstant keyShuffleMask = pointerConstant(16, new int[]{
+            // @formatter:off
+            0x00010203, 0x04050607, 0x08090a0b, 0x0c0d0e0f
+            // @formatter:on
+    });
+
+    public AMD64AESCryptOp(LIRGeneratorTool tool, Value in, Value inOffset, Value out, Value outOffset, Value key, Value keyLength, boolean encrypt) {
+        super(TYPE);
+        this.encrypt = encrypt;
+        this.byteArrayBaseOffset = tool.getProviders().getMetaAccess().getArrayBaseOffset(JavaKind.Byte);
+        this.intArrayBaseOffset = tool.getProviders().getMetaAccess().getArrayBaseOffset(JavaKind.Int);
+
+        this.inValue = in;
+        this.inOffsetValue = inOffset;
+        this.outValue = out;
+        this.outOffsetValue = outOffset;
+        this.keyValue = key;
+        this.keyLengthValue = keyLength;
+
+        LIRKind vectorKind = LIRKind.value(AMD64Kind.V128_BYTE);
+        this.resultTemp = tool.newVariable(vectorKind);
+        this.maskTemp = tool.newVariable(vectorKind);
+        this.keyTemp1 = tool.newVariable(vectorKind);
+        this.keyTemp2 = tool.newVariable(vectorKind);
+        this.keyTemp3 = tool.newVariable(vectorKind);
+    }
+
+    @Override
+    public void emitCode(CompilationResultBuilder crb, AMD64MacroAssembler masm) {
+        Register result = asRegister(resultTemp);
+        Register mask = asRegister(maskTemp);
+        Register key = asRegister(keyValue);
+        Register keyLength = asRegister(keyLengthValue);
+        Register temp1 = asRegister(keyTemp1);
+        Register temp2 = asRegister(keyTemp2);
+        Register temp3 = asRegister(keyTemp3);
+        Label doLast = new Label();
+
+        masm.movdqu(mask, recordExternalAddress(crb, keyShuffleMask));
+        masm.movdqu(result, new AMD64Address(asRegister(inValue), asRegister(inOffsetValue), Scale.Times1, byteArrayBaseOffset));
+
+        if (encrypt) {
+            loadKey(masm, temp1, key, 0x00, mask);
+            masm.pxor(result, temp1);
+            for (int offset = 0x10; offset <= 0x80; offset += 0x10) {
+                loadKey(masm, temp1, key, offset, mask);
+                masm.aesenc(result, temp1);
+            }
+
+            // 128-bit key: 10 rounds
+            loadKey(masm, temp1, key, 0x90, mask);
+            loadKey(masm, temp2, key, 0xa0, mask);
+            masm.cmpl(keyLength, 44);
+            masm.jccb(ConditionFlag.Equal, doLast);
+
+            // 192-bit key: 12 rounds
+            masm.aesenc(result, temp1);
+            masm.aesenc(result, temp2);
+            loadKey(masm, temp1, key, 0xb0, mask);
+            loadKey(masm, temp2, key, 0xc0, mask);
+            masm.cmpl(keyLength, 52);
+            masm.jccb(ConditionFlag.Equal, doLast);
+
+            // 256-bit key: 14 rounds
+            masm.aesenc(result, temp1);
+            masm.aesenc(result, temp2);
+            loadKey(masm, temp1, key, 0xd0, mask);
+            loadKey(masm, temp2, key, 0xe0, mask);
+
+            masm.bind(doLast);
+            masm.aesenc(result, temp1);
+            masm.aesenclast(result, temp2);
+        } else {
+            loadKey(masm, temp1, key, 0x10, mask);
+            masm.pxor(result, temp1);
+            for (int offset = 0x20; offset <= 0x80; offset += 0x10) {
+                loadKey(masm, temp1, key, offset, mask);
+                masm.aesdec(result, temp1);
+            }
+
+            // the key for the last round is stored first
+            loadKey(masm, temp3, key, 0x00, mask);
+
+            // 128-bit key: 10 rounds
+            loadKey(masm, temp1, key, 0x90, mask);
+            loadKey(masm, temp2, key, 0xa0, mask);
+            masm.cmpl(keyLength, 44);
+            masm.jccb(ConditionFlag.Equal, doLast);
+
+            // 192-bit key: 12 rounds
+            masm.aesdec(result, temp1);
+            masm.aesdec(result, temp2);
+            loadKey(masm, temp1, key, 0xb0, mask);
+            loadKey(masm, temp2, key, 0xc0, mask);
+            masm.cmpl(keyLength, 52);
+            masm.jccb(ConditionFlag.Equal, doLast);
+
+            // 256-bit key: 14 rounds
+            masm.aesdec(result, temp1);
+            masm.aesdec(result, temp2);
+            loadKey(masm, temp1, key, 0xd0, mask);
+            loadKey(masm, temp2, key, 0xe0, mask);
+
+            masm.bind(doLast);
+            masm.aesdec(result, temp1);
+            masm.aesdec(result, temp2);
+            masm.aesdeclast(result, temp3);
+        }
+
+        masm.movdqu(new AMD64Address(asRegister(outValue), asRegister(outOffsetValue), Scale.Times1, byteArrayBaseOffset), result);
+    }
+
+    private void loadKey(AMD64MacroAssembler masm, Register dst, Register key, int offset, Register mask) {
+        masm.movdqu(dst, new AMD64Address(key, intArrayBaseOffset + offset));
+        masm.pshufb(dst, mask);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.amd64;
+
+import static jdk.vm.ci.code.ValueUtil.asRegister;
+import static org.graalvm.compiler.lir.LIRInstruction.OperandFlag.REG;
+
+import org.graalvm.compiler.asm.Label;
+import org.graalvm.compiler.asm.amd64.AMD64Address;
+import org.graalvm.compiler.asm.amd64.AMD64Address.Scale;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.ConditionFlag;
+import org.graalvm.compiler.asm.amd64.AMD64MacroAssembler;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.lir.LIRInstructionClass;
+import org.graalvm.compiler.lir.Opcode;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+
+import jdk.vm.ci.amd64.AMD64Kind;
+import jdk.vm.ci.code.Register;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Updates a CRC32C (Castagnoli) checksum with the bytes of a buffer using the SSE4.2
+ * {@code crc32} instruction. The buffer is either a {@code byte[]} or an off-heap address, in
+ * which case {@code baseOffset} is 0. The bulk of the buffer is processed 8 bytes at a time and
+ * the remaining bytes one at a time.
+ */
+@Opcode("CRC32C_UPDATE_BYTES")
+public final class AMD64CRC32CUpdateBytesOp extends AMD64LIRInstruction {
+    public static final LIRInstructionClass<AMD64CRC32CUpdateBytesOp> TYPE = LIRInstructionClass.create(AMD64CRC32CUpdateBytesOp.class);
+
+    private final int baseOffset;
+
+    @Def({REG}) private Value resultValue;
+    @Alive({REG}) private Value crcValue;
+    @Alive({REG}) private Value bufValue;
+    @Alive({REG}) private Value offsetValue;
+    @Alive({REG}) private Value lengthValue;
+
+    @Temp({REG}) private Value bufTemp;
+    @Temp({REG}) private Value lengthTemp;
+
+    public AMD64CRC32CUpdateBytesOp(LIRGeneratorTool tool, Value result, Value crc, Value buf, Value offset, Value length, int baseOffset) {
+        super(TYPE);
+        this.baseOffset = baseOffset;
+
+        this.resultValue = result;
+        this.crcValue = crc;
+        this.bufValue = buf;
+        this.offsetValue = offset;
+        this.lengthValue = length;
+
+        this.bufTemp = tool.newVariable(LIRKind.unknownReference(AMD64Kind.QWORD));
+        this.lengthTemp = tool.newVariable(LIRKind.value(AMD64Kind.DWORD));
+    }
+
+    @Override
+    public void emitCode(CompilationResultBuilder crb, AMD64MacroAssembler masm) {
+        Register result = asRegister(resultValue);
+        Register buf = asRegister(bufTemp);
+        Register length = asRegister(lengthTemp);
+        Label byteLoop = new Label();
+        Label tail = new Label();
+        Label wordLoop = new Label();
+        Label done = new Label();
+
+        masm.leaq(buf, new AMD64Address(asRegister(bufValue), asRegister(offsetValue), Scale.Times1, baseOffset));
+        masm.movl(length, asRegister(lengthValue));
+        masm.movl(result, asRegister(crcValue));
+
+        masm.bind(wordLoop);
+        masm.cmpl(length, 8);
+        masm.jccb(ConditionFlag.Less, tail);
+        masm.crc32q(result, new AMD64Address(buf));
+        masm.addq(buf, 8);
+        masm.subl(length, 8);
+        masm.jmpb(wordLoop);
+
+        masm.bind(tail);
+        masm.testl(length, length);
+        masm.jccb(ConditionFlag.LessEqual, done);
+        masm.bind(byteLoop);
+        masm.crc32b(result, new AMD64Address(buf));
+        masm.incq(buf);
+        masm.decl(length);
+        masm.jccb(ConditionFlag.NotZero, byteLoop);
+
+        masm.bind(done);
+    }
+}
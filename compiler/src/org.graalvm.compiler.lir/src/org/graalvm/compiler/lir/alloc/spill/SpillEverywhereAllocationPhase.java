@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.alloc.spill;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.lir.alloc.RegisterAllocationPhase;
+import org.graalvm.compiler.lir.alloc.lsra.LinearScanPhase;
+import org.graalvm.compiler.lir.gen.LIRGenerationResult;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+
+import jdk.vm.ci.code.TargetDescription;
+
+/**
+ * A register allocator that trades code quality for allocation speed. Every variable lives in its
+ * own stack slot and registers are only used locally, to satisfy the operand constraints of a
+ * single instruction. There is no liveness analysis of variables and no interval building, so the
+ * allocator is a single linear pass over the LIR. It is intended for first-tier compilations where
+ * backend time matters more than the quality of the generated code.
+ *
+ * If an instruction needs more registers than are available, the allocation falls back to
+ * {@link LinearScanPhase}.
+ */
+public final class SpillEverywhereAllocationPhase extends RegisterAllocationPhase {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Use the spill-everywhere register allocator for economy compilations.", type = OptionType.Debug)
+        public static final OptionKey<Boolean> LIREconomySpillEverywhereAllocator = new OptionKey<>(true);
+        @Option(help = "Use the spill-everywhere register allocator for all compilations.", type = OptionType.Debug)
+        public static final OptionKey<Boolean> LIRSpillEverywhereAllocator = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    /** Number of compilations allocated by the spill-everywhere allocator. */
+    public static final CounterKey ALLOCATIONS = DebugContext.counter("SpillEverywhere[allocations]");
+    /** Number of compilations that fell back to {@link LinearScanPhase}. */
+    public static final CounterKey FALLBACKS = DebugContext.counter("SpillEverywhere[fallbacks]");
+
+    @Override
+    protected void run(TargetDescription target, LIRGenerationResult lirGenRes, AllocationContext context) {
+        SpillEverywhereAllocator allocator = new SpillEverywhereAllocator(target, lirGenRes, context.spillMoveFactory, context.registerAllocationConfig);
+        DebugContext debug = lirGenRes.getLIR().getDebug();
+        if (allocator.allocate()) {
+            ALLOCATIONS.increment(debug);
+        } else {
+            FALLBACKS.increment(debug);
+            LinearScanPhase fallback = new LinearScanPhase();
+            fallback.setNeverSpillConstants(getNeverSpillConstants());
+            fallback.apply(target, lirGenRes, context);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.alloc.spill;
+
+import static jdk.vm.ci.code.ValueUtil.asRegister;
+import static jdk.vm.ci.code.ValueUtil.isRegister;
+import static org.graalvm.compiler.lir.LIRValueUtil.asConstant;
+import static org.graalvm.compiler.lir.LIRValueUtil.asVariable;
+import static org.graalvm.compiler.lir.LIRValueUtil.isConstantValue;
+import static org.graalvm.compiler.lir.LIRValueUtil.isVariable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.compiler.core.common.alloc.RegisterAllocationConfig;
+import org.graalvm.compiler.core.common.cfg.AbstractBlockBase;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.Indent;
+import org.graalvm.compiler.lir.InstructionValueConsumer;
+import org.graalvm.compiler.lir.InstructionValueProcedure;
+import org.graalvm.compiler.lir.LIR;
+import org.graalvm.compiler.lir.LIRInstruction;
+import org.graalvm.compiler.lir.LIRInstruction.OperandFlag;
+import org.graalvm.compiler.lir.LIRInstruction.OperandMode;
+import org.graalvm.compiler.lir.StandardOp.JumpOp;
+import org.graalvm.compiler.lir.StandardOp.LabelOp;
+import org.graalvm.compiler.lir.StandardOp.ValueMoveOp;
+import org.graalvm.compiler.lir.Variable;
+import org.graalvm.compiler.lir.framemap.FrameMapBuilder;
+import org.graalvm.compiler.lir.gen.LIRGenerationResult;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool.MoveFactory;
+import org.graalvm.compiler.lir.ssa.SSAUtil;
+
+import jdk.vm.ci.code.Register;
+import jdk.vm.ci.code.RegisterValue;
+import jdk.vm.ci.code.TargetDescription;
+import jdk.vm.ci.meta.AllocatableValue;
+import jdk.vm.ci.meta.PlatformKind;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Assigns every {@link Variable} its own stack slot. Operands that must be in a register are
+ * loaded into a scratch register before the instruction and stored back to their slot after it.
+ * The result of a {@link ValueMoveOp} also gets a scratch register unless its input is in a
+ * register, because moves cannot copy from one stack slot to another.
+ * Scratch registers are only live within a single instruction, so the only register liveness that
+ * has to be tracked is that of fixed registers, which is local to a block.
+ *
+ * Blocks are processed backwards so that the fixed registers live after an instruction are known
+ * when its scratch registers are chosen. The allocation runs in two passes: the first one only
+ * checks that every instruction can be given enough scratch registers, the second one rewrites
+ * the LIR. Nothing is modified if the first pass fails.
+ */
+final class SpillEverywhereAllocator {
+
+    private static final CounterKey numLoads = DebugContext.counter("SpillEverywhere[loads]");
+    private static final CounterKey numStores = DebugContext.counter("SpillEverywhere[stores]");
+    private static final CounterKey numPhiMoves = DebugContext.counter("SpillEverywhere[phi moves]");
+
+    private final LIR lir;
+    private final DebugContext debug;
+    private final FrameMapBuilder frameMapBuilder;
+    private final MoveFactory moveFactory;
+    private final RegisterAllocationConfig registerAllocationConfig;
+
+    /**
+     * The stack slot of each variable, indexed by {@link Variable#index}.
+     */
+    private final AllocatableValue[] slots;
+
+    /**
+     * Fixed registers that are live after the current instruction.
+     */
+    private final BitSet live;
+
+    /**
+     * Registers that cannot be used as scratch registers for the current instruction.
+     */
+    private final BitSet blocked;
+
+    /**
+     * Scratch registers assigned to the variables of the current instruction.
+     */
+    private final EconomicMap<Variable, RegisterValue> scratch;
+    private final ArrayList<Variable> loads;
+    private final ArrayList<Variable> stores;
+    private boolean outOfRegisters;
+
+    private final InstructionValueConsumer blockFixedDef = this::blockFixedDef;
+    private final InstructionValueConsumer blockFixedUse = this::blockFixedUse;
+    private final InstructionValueConsumer assignScratch = this::assignScratch;
+    private final InstructionValueProcedure assignLocation = this::assignLocation;
+    private final InstructionValueProcedure assignStackSlot = this::assignStackSlot;
+
+    SpillEverywhereAllocator(TargetDescription target, LIRGenerationResult lirGenRes, MoveFactory moveFactory, RegisterAllocationConfig registerAllocationConfig) {
+        this.lir = lirGenRes.getLIR();
+        this.debug = lir.getDebug();
+        this.frameMapBuilder = lirGenRes.getFrameMapBuilder();
+        this.moveFactory = moveFactory;
+        this.registerAllocationConfig = registerAllocationConfig;
+        this.slots = new AllocatableValue[lir.numVariables()];
+        int numRegisters = target.arch.getRegisters().size();
+        this.live = new BitSet(numRegisters);
+        this.blocked = new BitSet(numRegisters);
+        this.scratch = EconomicMap.create();
+        this.loads = new ArrayList<>();
+        this.stores = new ArrayList<>();
+    }
+
+    /**
+     * @return {@code false} if some instruction needs more registers than are available, in which
+     *         case the LIR is left unchanged
+     */
+    @SuppressWarnings("try")
+    boolean allocate() {
+        AbstractBlockBase<?>[] blocks = lir.linearScanOrder();
+        try (Indent indent = debug.logAndIndent("SpillEverywhere allocate")) {
+            for (AbstractBlockBase<?> block : blocks) {
+                if (!processBlock(block, false)) {
+                    debug.log("out of scratch registers in %s", block);
+                    return false;
+                }
+            }
+            for (AbstractBlockBase<?> block : blocks) {
+                processBlock(block, true);
+            }
+            for (AbstractBlockBase<?> block : blocks) {
+                if (block.getPredecessorCount() > 1) {
+                    SSAUtil.removePhiIn(lir, block);
+                }
+            }
+            numberInstructions(blocks);
+        }
+        return true;
+    }
+
+    private boolean processBlock(AbstractBlockBase<?> block, boolean rewrite) {
+        ArrayList<LIRInstruction> instructions = lir.getLIRforBlock(block);
+        ArrayList<LIRInstruction> reversed = rewrite ? new ArrayList<>(instructions.size() * 2) : null;
+        ArrayList<LIRInstruction> sequence = rewrite ? new ArrayList<>() : null;
+        live.clear();
+        for (int i = instructions.size() - 1; i >= 0; i--) {
+            LIRInstruction op = instructions.get(i);
+            blocked.clear();
+            blocked.or(live);
+            op.visitEachTemp(blockFixedDef);
+            op.visitEachOutput(blockFixedDef);
+            op.visitEachInput(blockFixedUse);
+            op.visitEachAlive(blockFixedUse);
+
+            if (op instanceof LabelOp && ((LabelOp) op).isPhiIn()) {
+                // the incoming values are written by the predecessors
+                if (rewrite) {
+                    reversed.add(op);
+                }
+                continue;
+            }
+            if (!assignScratchRegisters(op)) {
+                return false;
+            }
+            if (rewrite) {
+                sequence.clear();
+                for (Variable variable : loads) {
+                    sequence.add(moveFactory.createMove(scratch.get(variable), slot(variable)));
+                    numLoads.increment(debug);
+                }
+                if (op instanceof JumpOp && ((JumpOp) op).getPhiSize() > 0) {
+                    resolvePhis(block, (JumpOp) op, sequence);
+                }
+                op.forEachInput(assignLocation);
+                op.forEachAlive(assignLocation);
+                op.forEachTemp(assignLocation);
+                op.forEachOutput(assignLocation);
+                op.forEachState(assignStackSlot);
+                sequence.add(op);
+                for (Variable variable : stores) {
+                    sequence.add(moveFactory.createMove(slot(variable), scratch.get(variable)));
+                    numStores.increment(debug);
+                }
+                for (int j = sequence.size() - 1; j >= 0; j--) {
+                    reversed.add(sequence.get(j));
+                }
+            } else if (op instanceof JumpOp && ((JumpOp) op).getPhiSize() > 0 && !canResolvePhis(block)) {
+                return false;
+            }
+        }
+        if (rewrite) {
+            instructions.clear();
+            for (int i = reversed.size() - 1; i >= 0; i--) {
+                instructions.add(reversed.get(i));
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unused")
+    private void blockFixedDef(LIRInstruction op, Value value, OperandMode mode, EnumSet<OperandFlag> flags) {
+        if (isRegister(value)) {
+            int number = asRegister(value).number;
+            blocked.set(number);
+            live.clear(number);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void blockFixedUse(LIRInstruction op, Value value, OperandMode mode, EnumSet<OperandFlag> flags) {
+        if (isRegister(value)) {
+            int number = asRegister(value).number;
+            blocked.set(number);
+            live.set(number);
+        }
+    }
+
+    private boolean assignScratchRegisters(LIRInstruction op) {
+        scratch.clear();
+        loads.clear();
+        stores.clear();
+        outOfRegisters = false;
+        op.visitEachInput(assignScratch);
+        op.visitEachAlive(assignScratch);
+        op.visitEachTemp(assignScratch);
+        op.visitEachOutput(assignScratch);
+        return !outOfRegisters;
+    }
+
+    @SuppressWarnings("unused")
+    private void assignScratch(LIRInstruction op, Value value, OperandMode mode, EnumSet<OperandFlag> flags) {
+        if (isVariable(value) && (!flags.contains(OperandFlag.STACK) || (mode == OperandMode.DEF && isMoveFromStack(op)))) {
+            Variable variable = asVariable(value);
+            if (scratch.containsKey(variable)) {
+                return;
+            }
+            Register register = findFreeRegister(variable.getPlatformKind());
+            if (register == null) {
+                outOfRegisters = true;
+                return;
+            }
+            // scratch registers must be distinct within an instruction
+            blocked.set(register.number);
+            scratch.put(variable, register.asValue(variable.getValueKind()));
+            if (mode == OperandMode.USE || mode == OperandMode.ALIVE) {
+                loads.add(variable);
+            } else if (mode == OperandMode.DEF) {
+                stores.add(variable);
+            }
+        }
+    }
+
+    /**
+     * Determines if {@code op} is a move whose input is in a stack slot. Inputs are visited before
+     * outputs, so the scratch registers of the input are already known.
+     */
+    private boolean isMoveFromStack(LIRInstruction op) {
+        if (!ValueMoveOp.isValueMoveOp(op)) {
+            return false;
+        }
+        AllocatableValue input = ValueMoveOp.asValueMoveOp(op).getInput();
+        if (isVariable(input)) {
+            return !scratch.containsKey(asVariable(input));
+        }
+        return !isRegister(input);
+    }
+
+    @SuppressWarnings("unused")
+    private Value assignLocation(LIRInstruction op, Value value, OperandMode mode, EnumSet<OperandFlag> flags) {
+        if (isVariable(value)) {
+            Variable variable = asVariable(value);
+            RegisterValue register = scratch.get(variable);
+            return register != null ? register : slot(variable);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unused")
+    private Value assignStackSlot(LIRInstruction op, Value value, OperandMode mode, EnumSet<OperandFlag> flags) {
+        return isVariable(value) ? slot(asVariable(value)) : value;
+    }
+
+    private Register findFreeRegister(PlatformKind kind) {
+        for (Register register : registerAllocationConfig.getAllocatableRegisters(kind).allocatableRegisters) {
+            if (!blocked.get(register.number)) {
+                return register;
+            }
+        }
+        return null;
+    }
+
+    private AllocatableValue slot(Variable variable) {
+        AllocatableValue slot = slots[variable.index];
+        if (slot == null) {
+            slot = frameMapBuilder.allocateSpillSlot(variable.getValueKind());
+            slots[variable.index] = slot;
+        }
+        return slot;
+    }
+
+    private boolean canResolvePhis(AbstractBlockBase<?> block) {
+        LabelOp label = SSAUtil.phiIn(lir, block.getSuccessors()[0]);
+        for (int i = 0; i < label.getPhiSize(); i++) {
+            if (findFreeRegister(label.getIncomingValue(i).getPlatformKind()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the phi values of {@code jump} with moves between the stack slots of the outgoing
+     * and the incoming values. The moves form a parallel copy, so a move may only be emitted once
+     * no other pending move reads its destination. Cycles are broken by saving one destination to
+     * a fresh stack slot.
+     */
+    private void resolvePhis(AbstractBlockBase<?> block, JumpOp jump, ArrayList<LIRInstruction> sequence) {
+        LabelOp label = SSAUtil.phiIn(lir, block.getSuccessors()[0]);
+        assert label.getPhiSize() == jump.getPhiSize() : "phi size mismatch: " + label + " " + jump;
+        ArrayList<AllocatableValue> destinations = new ArrayList<>(jump.getPhiSize());
+        ArrayList<Value> sources = new ArrayList<>(jump.getPhiSize());
+        for (int i = 0; i < jump.getPhiSize(); i++) {
+            AllocatableValue destination = slot(asVariable(label.getIncomingValue(i)));
+            Value outgoing = jump.getOutgoingValue(i);
+            Value source = isVariable(outgoing) ? slot(asVariable(outgoing)) : outgoing;
+            if (!destination.equals(source)) {
+                destinations.add(destination);
+                sources.add(source);
+            }
+        }
+        jump.clearOutgoingValues();
+
+        while (!destinations.isEmpty()) {
+            int index = -1;
+            for (int i = 0; i < destinations.size(); i++) {
+                if (!sources.contains(destinations.get(i))) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index == -1) {
+                AllocatableValue blocker = destinations.get(0);
+                AllocatableValue copy = frameMapBuilder.allocateSpillSlot(blocker.getValueKind());
+                emitPhiMove(copy, blocker, sequence);
+                for (int i = 0; i < sources.size(); i++) {
+                    if (sources.get(i).equals(blocker)) {
+                        sources.set(i, copy);
+                    }
+                }
+                continue;
+            }
+            emitPhiMove(destinations.remove(index), sources.remove(index), sequence);
+        }
+    }
+
+    private void emitPhiMove(AllocatableValue destination, Value source, ArrayList<LIRInstruction> sequence) {
+        RegisterValue register = findFreeRegister(destination.getPlatformKind()).asValue(destination.getValueKind());
+        if (isConstantValue(source)) {
+            sequence.add(moveFactory.createLoad(register, asConstant(source)));
+        } else {
+            sequence.add(moveFactory.createMove(register, source));
+        }
+        sequence.add(moveFactory.createMove(destination, register));
+        numPhiMoves.increment(debug);
+    }
+
+    /**
+     * Numbers the instructions the same way the linear scan allocator does, for the benefit of the
+     * phases that follow.
+     */
+    private void numberInstructions(AbstractBlockBase<?>[] blocks) {
+        int opId = 0;
+        for (AbstractBlockBase<?> block : blocks) {
+            for (LIRInstruction op : lir.getLIRforBlock(block)) {
+                op.setId(opId);
+                opId += 2;
+            }
+        }
+    }
+}
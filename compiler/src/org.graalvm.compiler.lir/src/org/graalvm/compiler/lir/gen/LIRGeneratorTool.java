@@ -267,6 +267,24 @@ public interface LIRGeneratorTool extends DiagnosticLIRGeneratorTool, ValueKindF
         throw GraalError.unimplemented("StringUTF16.compress substitution is not implemented on this architecture");
     }
 
+    /**
+     * Encrypts or decrypts the 16 byte block at {@code in[inOffset]} into {@code out[outOffset]}
+     * using the expanded AES session key {@code key} of length {@code keyLength}.
+     */
+    @SuppressWarnings("unused")
+    default void emitAESCrypt(Value in, Value inOffset, Value out, Value outOffset, Value key, Value keyLength, boolean encrypt) {
+        throw GraalError.unimplemented("AESCrypt substitution is not implemented on this architecture");
+    }
+
+    /**
+     * Updates the CRC32C checksum {@code crc} with {@code length} bytes starting at
+     * {@code offset} in {@code buf}, which is either a {@code byte[]} or a raw address.
+     */
+    @SuppressWarnings("unused")
+    default Variable emitCRC32CUpdateBytes(Value crc, Value buf, Value offset, Value length) {
+        throw GraalError.unimplemented("CRC32C substitution is not implemented on this architecture");
+    }
+
     void emitBlackhole(Value operand);
 
     LIRKind getLIRKind(Stamp stamp);
@@ -25,6 +25,7 @@
 package org.graalvm.compiler.lir.phases;
 
 import org.graalvm.compiler.lir.alloc.lsra.LinearScanPhase;
+import org.graalvm.compiler.lir.alloc.spill.SpillEverywhereAllocationPhase;
 import org.graalvm.compiler.lir.dfa.LocationMarkerPhase;
 import org.graalvm.compiler.lir.dfa.MarkBasePointersPhase;
 import org.graalvm.compiler.lir.phases.AllocationPhase.AllocationContext;
@@ -32,10 +33,15 @@ import org.graalvm.compiler.lir.stackslotalloc.SimpleStackSlotAllocator;
 import org.graalvm.compiler.options.OptionValues;
 
 public class EconomyAllocationStage extends LIRPhaseSuite<AllocationContext> {
-    public EconomyAllocationStage(@SuppressWarnings("unused") OptionValues options) {
+    public EconomyAllocationStage(OptionValues options) {
         appendPhase(new MarkBasePointersPhase());
 
-        appendPhase(new LinearScanPhase());
+        if (SpillEverywhereAllocationPhase.Options.LIREconomySpillEverywhereAllocator.getValue(options) ||
+                        SpillEverywhereAllocationPhase.Options.LIRSpillEverywhereAllocator.getValue(options)) {
+            appendPhase(new SpillEverywhereAllocationPhase());
+        } else {
+            appendPhase(new LinearScanPhase());
+        }
 
         // build frame map
         appendPhase(new SimpleStackSlotAllocator());
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.compiler.core.common.cfg.AbstractControlFlowGraph;
+import org.graalvm.compiler.core.common.type.IntegerStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.loop.BasicInductionVariable;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.DerivedOffsetInductionVariable;
+import org.graalvm.compiler.loop.DerivedScaledInductionVariable;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.loop.MathUtil;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.GuardNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.IntegerBelowNode;
+import org.graalvm.compiler.nodes.calc.IntegerEqualsNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.cfg.ControlFlowGraph;
+import org.graalvm.compiler.nodes.extended.AnchoringNode;
+import org.graalvm.compiler.nodes.extended.BranchProbabilityNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.tiers.MidTierContext;
+import org.graalvm.compiler.serviceprovider.SpeculationReasonGroup;
+
+import jdk.vm.ci.meta.DeoptimizationAction;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.SpeculationLog;
+import jdk.vm.ci.meta.SpeculationLog.Speculation;
+import jdk.vm.ci.meta.SpeculationLog.SpeculationReason;
+
+/**
+ * Hoists guards out of counted loops by replacing them with speculative predicates evaluated once
+ * before the loop is entered.
+ *
+ * Two kinds of floating guards that execute on every iteration of a counted loop body are
+ * handled:
+ * <ul>
+ * <li>Guards with a loop invariant condition, such as the null check of an array accessed in the
+ * loop. They are moved in front of the loop unchanged.</li>
+ * <li>Range checks of the form {@code |iv| < length} where {@code iv} is a linear induction
+ * variable of the loop and {@code length} is loop invariant. Since the induction variable is
+ * monotone, checking its first and last value against {@code length} covers all iterations.</li>
+ * </ul>
+ *
+ * The predicates are computed from the maximal trip count of the loop, which is only an upper
+ * bound if the loop has additional exits. A predicate may therefore fail although the original
+ * guards would not have. All new guards are tied to a speculation for the loop, so such a failure
+ * disables predication of that loop in the next compilation.
+ */
+public class LoopPredicationPhase extends BasePhase<MidTierContext> {
+
+    private static final SpeculationReasonGroup LOOP_PREDICATION = new SpeculationReasonGroup("LoopPredication", ResolvedJavaMethod.class, int.class);
+
+    private static final CounterKey PREDICATED_INVARIANT_GUARDS = DebugContext.counter("LoopPredicationInvariantGuards");
+    private static final CounterKey PREDICATED_RANGE_CHECKS = DebugContext.counter("LoopPredicationRangeChecks");
+
+    @Override
+    public boolean checkContract() {
+        return false;
+    }
+
+    @Override
+    protected void run(StructuredGraph graph, MidTierContext context) {
+        if (!graph.hasLoops() || !graph.getGuardsStage().allowsFloatingGuards() || graph.getSpeculationLog() == null) {
+            return;
+        }
+        EconomicMap<LoopBeginNode, Speculation> speculations = EconomicMap.create();
+        boolean changed;
+        do {
+            changed = false;
+            LoopsData loops = new LoopsData(graph);
+            loops.detectedCountedLoops();
+            List<LoopEx> all = loops.loops();
+            // Process inner loops first so that their hoisted guards can move further outwards.
+            for (int i = all.size() - 1; i >= 0 && !changed; i--) {
+                LoopEx loop = all.get(i);
+                if (loop.isCounted()) {
+                    changed = predicate(graph, context, loops.getCFG(), loop, speculations);
+                }
+            }
+            loops.deleteUnusedNodes();
+        } while (changed);
+    }
+
+    private static boolean predicate(StructuredGraph graph, MidTierContext context, ControlFlowGraph cfg, LoopEx loop, EconomicMap<LoopBeginNode, Speculation> speculations) {
+        CountedLoopInfo counted = loop.counted();
+        if (counted.getStamp().getBits() != 32) {
+            return false;
+        }
+        List<GuardNode> invariantGuards = new ArrayList<>();
+        List<GuardNode> rangeChecks = new ArrayList<>();
+        for (GuardNode guard : loop.whole().nodes().filter(GuardNode.class)) {
+            if (!guard.getSpeculation().equals(SpeculationLog.NO_SPECULATION) || !isExecutedEveryIteration(cfg, loop, guard.getAnchor())) {
+                continue;
+            }
+            if (loop.isOutsideLoop(guard.getCondition())) {
+                invariantGuards.add(guard);
+            } else if (isPredicableRangeCheck(loop, guard)) {
+                rangeChecks.add(guard);
+            }
+        }
+        if (invariantGuards.isEmpty() && rangeChecks.isEmpty()) {
+            return false;
+        }
+        Speculation speculation = speculate(graph, loop.loopBegin(), speculations);
+        if (speculation == null) {
+            return false;
+        }
+        if (!counted.counterNeverOverflows()) {
+            if (!context.getOptimisticOptimizations().useLoopLimitChecks(graph.getOptions())) {
+                return false;
+            }
+            counted.createOverFlowGuard();
+        }
+
+        DebugContext debug = graph.getDebug();
+        AnchoringNode anchor = AbstractBeginNode.prevBegin(loop.entryPoint());
+        ValueNode tripCount = counted.maxTripCountNode();
+        LogicNode noEntry = graph.addOrUniqueWithInputs(IntegerEqualsNode.create(tripCount, ConstantNode.forIntegerStamp(tripCount.stamp(NodeView.DEFAULT), 0, graph), NodeView.DEFAULT));
+        for (GuardNode guard : invariantGuards) {
+            LogicNode condition = LogicNode.or(noEntry, false, guard.getCondition(), guard.isNegated(), BranchProbabilityNode.NOT_FREQUENT_PROBABILITY);
+            replaceGuard(graph, guard, condition, anchor, speculation);
+            PREDICATED_INVARIANT_GUARDS.increment(debug);
+        }
+        for (GuardNode guard : rangeChecks) {
+            IntegerBelowNode check = (IntegerBelowNode) guard.getCondition();
+            InductionVariable iv = loop.getInductionVariables().get(check.getX());
+            LogicNode condition = createRangePredicate(graph, iv, tripCount, check.getY());
+            replaceGuard(graph, guard, LogicNode.or(noEntry, condition, BranchProbabilityNode.NOT_FREQUENT_PROBABILITY), anchor, speculation);
+            PREDICATED_RANGE_CHECKS.increment(debug);
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a guard anchored at {@code anchor} is evaluated in every iteration of the
+     * counted loop that passes the limit test, i.e., whether its block is part of the loop but not
+     * of a nested loop, follows the limit test and dominates all back edges.
+     */
+    private static boolean isExecutedEveryIteration(ControlFlowGraph cfg, LoopEx loop, AnchoringNode anchor) {
+        if (anchor == null) {
+            return false;
+        }
+        Block anchorBlock = cfg.blockFor(anchor.asNode());
+        if (anchorBlock == null || anchorBlock.getLoop() != loop.loop()) {
+            return false;
+        }
+        if (!AbstractControlFlowGraph.dominates(cfg.blockFor(loop.counted().getBody()), anchorBlock)) {
+            return false;
+        }
+        for (LoopEndNode loopEnd : loop.loopBegin().loopEnds()) {
+            if (!AbstractControlFlowGraph.dominates(anchorBlock, cfg.blockFor(loopEnd))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPredicableRangeCheck(LoopEx loop, GuardNode guard) {
+        if (guard.isNegated() || !(guard.getCondition() instanceof IntegerBelowNode)) {
+            return false;
+        }
+        IntegerBelowNode check = (IntegerBelowNode) guard.getCondition();
+        if (!loop.isOutsideLoop(check.getY()) || !is32BitInteger(check.getY()) || !is32BitInteger(check.getX())) {
+            return false;
+        }
+        InductionVariable iv = loop.getInductionVariables().get(check.getX());
+        return iv != null && isLinear(iv);
+    }
+
+    private static boolean is32BitInteger(ValueNode value) {
+        Stamp stamp = value.stamp(NodeView.DEFAULT);
+        return stamp instanceof IntegerStamp && ((IntegerStamp) stamp).getBits() == 32;
+    }
+
+    /**
+     * Only induction variables of the form {@code init + k * stride} in the 32 bit domain are
+     * supported. Conversions could break the monotonicity the predicate relies on.
+     */
+    private static boolean isLinear(InductionVariable iv) {
+        if (iv instanceof BasicInductionVariable) {
+            return true;
+        } else if (iv instanceof DerivedOffsetInductionVariable) {
+            return isLinear(((DerivedOffsetInductionVariable) iv).getBase());
+        } else if (iv instanceof DerivedScaledInductionVariable) {
+            return isLinear(((DerivedScaledInductionVariable) iv).getBase());
+        }
+        return false;
+    }
+
+    /**
+     * Creates {@code |init| < length && |init + (tripCount - 1) * stride| < length}. The values are
+     * computed with 64 bit arithmetic, which cannot overflow for 32 bit inputs and an unsigned 32
+     * bit trip count. If both bounds are within {@code [0, length)}, so are all values in between
+     * and no 32 bit value of the induction variable wrapped around.
+     */
+    private static LogicNode createRangePredicate(StructuredGraph graph, InductionVariable iv, ValueNode tripCount, ValueNode length) {
+        NodeView view = NodeView.DEFAULT;
+        ValueNode init = graph.addOrUniqueWithInputs(SignExtendNode.create(iv.initNode(), 64, view));
+        ValueNode stride = graph.addOrUniqueWithInputs(SignExtendNode.create(iv.strideNode(), 64, view));
+        ValueNode trips = graph.addOrUniqueWithInputs(ZeroExtendNode.create(tripCount, 64, view));
+        ValueNode lastIteration = MathUtil.sub(graph, trips, ConstantNode.forLong(1, graph));
+        ValueNode last = MathUtil.add(graph, init, MathUtil.mul(graph, lastIteration, stride));
+        ValueNode length64 = graph.addOrUniqueWithInputs(ZeroExtendNode.create(length, 64, view));
+        LogicNode initInBounds = graph.addOrUniqueWithInputs(IntegerBelowNode.create(init, length64, view));
+        LogicNode lastInBounds = graph.addOrUniqueWithInputs(IntegerBelowNode.create(last, length64, view));
+        return LogicNode.and(initInBounds, lastInBounds, BranchProbabilityNode.FREQUENT_PROBABILITY);
+    }
+
+    private static void replaceGuard(StructuredGraph graph, GuardNode guard, LogicNode condition, AnchoringNode anchor, Speculation speculation) {
+        LogicNode oldCondition = guard.getCondition();
+        GuardNode predicate = graph.unique(new GuardNode(condition, anchor, guard.getReason(), DeoptimizationAction.InvalidateRecompile, false, speculation, guard.getNoDeoptSuccessorPosition()));
+        guard.replaceAtUsagesAndDelete(predicate);
+        if (oldCondition.hasNoUsages()) {
+            GraphUtil.killWithUnusedFloatingInputs(oldCondition);
+        }
+    }
+
+    private static Speculation speculate(StructuredGraph graph, LoopBeginNode loopBegin, EconomicMap<LoopBeginNode, Speculation> speculations) {
+        Speculation speculation = speculations.get(loopBegin);
+        if (speculation != null) {
+            return speculation;
+        }
+        FrameState state = loopBegin.stateAfter();
+        if (state == null || state.getMethod() == null) {
+            return null;
+        }
+        SpeculationReason reason = LOOP_PREDICATION.createSpeculationReason(state.getMethod(), state.bci);
+        SpeculationLog speculationLog = graph.getSpeculationLog();
+        if (!speculationLog.maySpeculate(reason)) {
+            return null;
+        }
+        speculation = speculationLog.speculate(reason);
+        speculations.put(loopBegin, speculation);
+        return speculation;
+    }
+}
@@ -24,6 +24,9 @@
  */
 package org.graalvm.compiler.loop.phases;
 
+import static org.graalvm.compiler.core.common.GraalOptions.LoopStripMining;
+import static org.graalvm.compiler.core.common.GraalOptions.LoopStripMiningIterations;
+
 import org.graalvm.compiler.loop.LoopEx;
 import org.graalvm.compiler.loop.LoopsData;
 import org.graalvm.compiler.nodes.FixedNode;
@@ -39,6 +42,8 @@ public class LoopSafepointEliminationPhase extends BasePhase<MidTierContext> {
 
     @Override
     protected void run(StructuredGraph graph, MidTierContext context) {
+        boolean stripMining = LoopStripMining.getValue(graph.getOptions());
+        int stripLength = LoopStripMiningIterations.getValue(graph.getOptions());
         LoopsData loops = new LoopsData(graph);
         loops.detectedCountedLoops();
         for (LoopEx loop : loops.countedLoops()) {
@@ -57,6 +62,11 @@ public class LoopSafepointEliminationPhase extends BasePhase<MidTierContext> {
                             continue;
                         }
                     }
+                    if (stripMining && LoopTransformations.shouldStripMine(loop, stripLength)) {
+                        // LoopStripMiningPhase moves the safepoint to an outer loop or disables it.
+                        loop.loopBegin().deferSafepointToStripMining();
+                        continue;
+                    }
                     loop.loopBegin().disableSafepoint();
                 }
             }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import static org.graalvm.compiler.core.common.GraalOptions.GenLoopSafepoints;
+import static org.graalvm.compiler.core.common.GraalOptions.LoopStripMiningIterations;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.phases.Phase;
+
+/**
+ * {@linkplain LoopTransformations#stripMine Strip mines} counted loops that still poll for
+ * safepoints on every iteration, so that the poll is only executed once every
+ * {@link org.graalvm.compiler.core.common.GraalOptions#LoopStripMiningIterations} iterations while
+ * the time to safepoint stays bounded. Loops whose safepoint was only kept by
+ * {@link LoopSafepointEliminationPhase} to be strip mined have their safepoint disabled if they
+ * cannot be strip mined anymore.
+ */
+public class LoopStripMiningPhase extends Phase {
+
+    private static final CounterKey STRIP_MINED_LOOPS = DebugContext.counter("StripMinedLoops");
+    private static final CounterKey DEFERRED_SAFEPOINTS_DISABLED = DebugContext.counter("StripMiningDeferredSafepointsDisabled");
+
+    @Override
+    public boolean checkContract() {
+        return false;
+    }
+
+    @Override
+    protected void run(StructuredGraph graph) {
+        if (!graph.hasLoops()) {
+            return;
+        }
+        if (GenLoopSafepoints.getValue(graph.getOptions())) {
+            int stripLength = LoopStripMiningIterations.getValue(graph.getOptions());
+            LoopsData loops = new LoopsData(graph);
+            loops.detectedCountedLoops();
+            for (LoopEx loop : loops.countedLoops()) {
+                if (hasSafepoint(loop.loopBegin()) && LoopTransformations.shouldStripMine(loop, stripLength)) {
+                    LoopTransformations.stripMine(loop, stripLength);
+                    STRIP_MINED_LOOPS.increment(graph.getDebug());
+                }
+            }
+            loops.deleteUnusedNodes();
+        }
+        for (LoopBeginNode loopBegin : graph.getNodes(LoopBeginNode.TYPE)) {
+            if (loopBegin.isSafepointDeferredToStripMining() && hasSafepoint(loopBegin)) {
+                /*
+                 * The loop changed since LoopSafepointEliminationPhase kept its safepoint and can
+                 * no longer be strip mined. Disable the safepoint as that phase would have done.
+                 */
+                loopBegin.disableSafepoint();
+                DEFERRED_SAFEPOINTS_DISABLED.increment(graph.getDebug());
+            }
+        }
+    }
+
+    private static boolean hasSafepoint(LoopBeginNode loopBegin) {
+        for (LoopEndNode loopEnd : loopBegin.loopEnds()) {
+            if (loopEnd.canSafepoint()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
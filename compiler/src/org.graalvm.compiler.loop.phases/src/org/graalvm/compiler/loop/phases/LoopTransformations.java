@@ -34,41 +34,55 @@ import org.graalvm.collections.EconomicMap;
 import org.graalvm.compiler.core.common.RetryableBailoutException;
 import org.graalvm.compiler.core.common.calc.CanonicalCondition;
 import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.GraalError;
 import org.graalvm.compiler.graph.Graph.Mark;
 import org.graalvm.compiler.graph.Graph.NodeEventScope;
 import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.graph.Position;
 import org.graalvm.compiler.graph.spi.Simplifiable;
 import org.graalvm.compiler.graph.spi.SimplifierTool;
+import org.graalvm.compiler.loop.BasicInductionVariable;
 import org.graalvm.compiler.loop.CountedLoopInfo;
 import org.graalvm.compiler.loop.DefaultLoopPolicies;
+import org.graalvm.compiler.loop.InductionVariable;
 import org.graalvm.compiler.loop.InductionVariable.Direction;
 import org.graalvm.compiler.loop.LoopEx;
 import org.graalvm.compiler.loop.LoopFragmentInside;
 import org.graalvm.compiler.loop.LoopFragmentWhole;
+import org.graalvm.compiler.loop.MathUtil;
 import org.graalvm.compiler.nodeinfo.InputType;
 import org.graalvm.compiler.nodes.AbstractBeginNode;
 import org.graalvm.compiler.nodes.AbstractEndNode;
 import org.graalvm.compiler.nodes.AbstractMergeNode;
 import org.graalvm.compiler.nodes.BeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
 import org.graalvm.compiler.nodes.ControlSplitNode;
 import org.graalvm.compiler.nodes.EndNode;
 import org.graalvm.compiler.nodes.FixedGuardNode;
 import org.graalvm.compiler.nodes.FixedNode;
 import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.GuardPhiNode;
 import org.graalvm.compiler.nodes.IfNode;
 import org.graalvm.compiler.nodes.LogicNode;
 import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.LoopExitNode;
 import org.graalvm.compiler.nodes.NodeView;
 import org.graalvm.compiler.nodes.PhiNode;
 import org.graalvm.compiler.nodes.SafepointNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
 import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.calc.CompareNode;
 import org.graalvm.compiler.nodes.calc.ConditionalNode;
+import org.graalvm.compiler.nodes.calc.IntegerBelowNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.extended.BranchProbabilityNode;
 import org.graalvm.compiler.nodes.extended.OpaqueNode;
 import org.graalvm.compiler.nodes.extended.SwitchNode;
+import org.graalvm.compiler.nodes.memory.MemoryPhiNode;
 import org.graalvm.compiler.nodes.spi.CoreProviders;
 import org.graalvm.compiler.nodes.util.GraphUtil;
 import org.graalvm.compiler.nodes.util.IntegerHelper;
@@ -457,6 +471,196 @@ public abstract class LoopTransformations {
         return controls;
     }
 
+    /**
+     * Determines whether {@link #stripMine} can be applied to {@code loop}. Strip mining requires
+     * an innermost counted loop whose limit test is a signed comparison between the basic
+     * induction variable and the limit, and a constant stride such that {@code stripLength}
+     * iterations do not overflow the counter.
+     */
+    public static boolean canStripMine(LoopEx loop, int stripLength) {
+        if (!loop.isCounted() || !loop.loop().getChildren().isEmpty() || !loop.loopBegin().isSingleEntryLoop() || loop.loopBegin().stateAfter() == null) {
+            return false;
+        }
+        CountedLoopInfo counted = loop.counted();
+        InductionVariable counter = counted.getCounter();
+        if (!(counter instanceof BasicInductionVariable) || !counter.isConstantStride() || counted.isUnsignedCheck() || !(counted.getCountedExit() instanceof LoopExitNode)) {
+            return false;
+        }
+        LogicNode condition = counted.getLimitTest().condition();
+        if (!(condition instanceof IntegerLessThanNode)) {
+            return false;
+        }
+        IntegerLessThanNode compare = (IntegerLessThanNode) condition;
+        if (!(compare.getX() == counter.valueNode() && compare.getY() == counted.getLimit()) && !(compare.getX() == counted.getLimit() && compare.getY() == counter.valueNode())) {
+            return false;
+        }
+        try {
+            long chunk = Math.multiplyExact(stripLength, Math.abs(counter.constantStride()));
+            return chunk > 0 && chunk <= counted.getCounterIntegerHelper().maxValue();
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines whether {@code loop} can be {@linkplain #stripMine strip mined} and may execute
+     * more than {@code stripLength} iterations.
+     */
+    public static boolean shouldStripMine(LoopEx loop, int stripLength) {
+        if (!canStripMine(loop, stripLength)) {
+            return false;
+        }
+        CountedLoopInfo counted = loop.counted();
+        return !counted.isConstantMaxTripCount() || !counted.constantMaxTripCount().isLessThan(stripLength + 1);
+    }
+
+    /**
+     * Splits the iteration space of a counted loop into strips of at most {@code stripLength}
+     * iterations. The loop becomes the inner loop of a new outer loop which computes the limit of
+     * the next strip and keeps the safepoint poll, while the safepoints of the inner loop are
+     * disabled:
+     *
+     * <pre>
+     * for (i = init; i &lt; end;) {
+     *     stripEnd = i &lt; end &amp;&amp; (end - i) |&gt;| chunk ? i + chunk : end;
+     *     for (; i &lt; stripEnd; i += stride) {
+     *         body
+     *     }
+     *     safepoint
+     * }
+     * </pre>
+     *
+     * Since every strip limit lies between the counter and {@code end}, the inner limit test
+     * implies the original one. When the inner loop exits, the original limit test decides
+     * whether to continue with the next strip.
+     *
+     * This transformation must be applied after value proxies have been removed and before frame
+     * states are assigned.
+     *
+     * @return the {@link LoopBeginNode} of the new outer loop
+     */
+    public static LoopBeginNode stripMine(LoopEx loop, int stripLength) {
+        assert canStripMine(loop, stripLength);
+        LoopBeginNode innerBegin = loop.loopBegin();
+        StructuredGraph graph = innerBegin.graph();
+        assert !graph.hasValueProxies() && graph.getGuardsStage().areFrameStatesAtSideEffects();
+        graph.getDebug().log("LoopTransformations.stripMine %s", loop);
+        CountedLoopInfo counted = loop.counted();
+        IfNode limitTest = counted.getLimitTest();
+        CompareNode compare = (CompareNode) limitTest.condition();
+        LoopExitNode countedExit = (LoopExitNode) counted.getCountedExit();
+        double frequency = innerBegin.loopFrequency();
+
+        // Insert the outer loop header between the entry and the inner loop.
+        AbstractEndNode innerEntry = innerBegin.forwardEnd();
+        LoopBeginNode outerBegin = graph.add(new LoopBeginNode());
+        EndNode outerEntry = graph.add(new EndNode());
+        innerEntry.replaceAtPredecessor(outerEntry);
+        outerBegin.addForwardEnd(outerEntry);
+        outerBegin.setNext(innerEntry);
+
+        // Each strip starts with the values the previous one exited with.
+        List<PhiNode> innerPhis = innerBegin.phis().snapshot();
+        List<PhiNode> outerPhis = new ArrayList<>(innerPhis.size());
+        for (PhiNode innerPhi : innerPhis) {
+            PhiNode outerPhi = createPhi(graph, innerPhi, outerBegin);
+            outerPhi.addInput(innerPhi.valueAt(innerEntry));
+            innerPhi.setValueAt(innerEntry, outerPhi);
+            outerPhis.add(outerPhi);
+        }
+        FrameState outerState = innerBegin.stateAfter().duplicateWithVirtualState();
+        outerState.applyToVirtual(state -> {
+            for (int i = 0; i < innerPhis.size(); i++) {
+                state.replaceAllInputs(innerPhis.get(i), outerPhis.get(i));
+            }
+        });
+        outerBegin.setStateAfter(outerState);
+
+        // Limit the inner loop to the current strip.
+        PhiNode outerCounter = outerPhis.get(innerPhis.indexOf(counted.getCounter().valueNode()));
+        long chunk = stripLength * Math.abs(counted.getCounter().constantStride());
+        ValueNode stripEnd = createStripEnd(graph, counted, outerCounter, chunk);
+        if (compare.getX() == counted.getLimit()) {
+            limitTest.setCondition(graph.unique(new IntegerLessThanNode(stripEnd, compare.getY())));
+        } else {
+            limitTest.setCondition(graph.unique(new IntegerLessThanNode(compare.getX(), stripEnd)));
+        }
+
+        // All other exits of the inner loop also leave the outer loop.
+        for (LoopExitNode exit : innerBegin.loopExits().snapshot()) {
+            if (exit != countedExit) {
+                LoopExitNode outerExit = graph.add(new LoopExitNode(outerBegin));
+                outerExit.setStateAfter(exit.stateAfter());
+                graph.addAfterFixed(exit, outerExit);
+            }
+        }
+
+        // Re-evaluate the original limit test after a strip to either continue or leave the loop.
+        FixedNode continuation = countedExit.next();
+        countedExit.setNext(null);
+        LoopExitNode outerExit = graph.add(new LoopExitNode(outerBegin));
+        outerExit.setStateAfter(countedExit.stateAfter());
+        outerExit.setNext(continuation);
+        BeginNode nextStrip = graph.add(new BeginNode());
+        nextStrip.setNext(graph.add(new LoopEndNode(outerBegin)));
+        double exitProbability = Math.min(1.0, stripLength / Math.max(1.0, frequency));
+        if (limitTest.trueSuccessor() == countedExit) {
+            countedExit.setNext(graph.add(new IfNode(compare, outerExit, nextStrip, exitProbability)));
+        } else {
+            countedExit.setNext(graph.add(new IfNode(compare, nextStrip, outerExit, 1.0 - exitProbability)));
+        }
+        for (int i = 0; i < innerPhis.size(); i++) {
+            outerPhis.get(i).addInput(innerPhis.get(i));
+        }
+
+        // Only the outer loop polls for safepoints.
+        innerBegin.disableSafepoint();
+        innerBegin.setLoopFrequency(Math.max(1.0, Math.min(frequency, stripLength)));
+        outerBegin.setLoopFrequency(Math.max(1.0, frequency / stripLength));
+        graph.getDebug().dump(DebugContext.DETAILED_LEVEL, graph, "StripMine %s", loop);
+        return outerBegin;
+    }
+
+    /**
+     * Creates {@code start < end && chunk |<| end - start ? start + chunk : end} for loops counting
+     * up and the mirrored expression for loops counting down. The subtraction cannot overflow
+     * when interpreted as unsigned and the strip end is only moved towards {@code end}.
+     */
+    private static ValueNode createStripEnd(StructuredGraph graph, CountedLoopInfo counted, ValueNode start, long chunk) {
+        NodeView view = NodeView.DEFAULT;
+        ValueNode end = counted.getLimit();
+        ConstantNode chunkNode = ConstantNode.forIntegerStamp(counted.getStamp(), chunk, graph);
+        LogicNode entered;
+        ValueNode remaining;
+        ValueNode stripEnd;
+        if (counted.getDirection() == Direction.Up) {
+            entered = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(start, end, view));
+            remaining = MathUtil.sub(graph, end, start);
+            stripEnd = MathUtil.add(graph, start, chunkNode);
+        } else {
+            entered = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(end, start, view));
+            remaining = MathUtil.sub(graph, start, end);
+            stripEnd = MathUtil.sub(graph, start, chunkNode);
+        }
+        LogicNode beyondStrip = graph.addOrUniqueWithInputs(IntegerBelowNode.create(chunkNode, remaining, view));
+        LogicNode condition = LogicNode.and(entered, beyondStrip, BranchProbabilityNode.FREQUENT_PROBABILITY);
+        return graph.addOrUniqueWithInputs(ConditionalNode.create(condition, stripEnd, end, view));
+    }
+
+    private static PhiNode createPhi(StructuredGraph graph, PhiNode phi, AbstractMergeNode merge) {
+        PhiNode ret;
+        if (phi instanceof ValuePhiNode) {
+            ret = new ValuePhiNode(phi.stamp(NodeView.DEFAULT), merge);
+        } else if (phi instanceof GuardPhiNode) {
+            ret = new GuardPhiNode(merge);
+        } else if (phi instanceof MemoryPhiNode) {
+            ret = new MemoryPhiNode(merge, ((MemoryPhiNode) phi).getLocationIdentity());
+        } else {
+            throw GraalError.shouldNotReachHere();
+        }
+        return graph.addWithoutUnique(ret);
+    }
+
     public static boolean isUnrollableLoop(LoopEx loop) {
         if (!loop.isCounted() || !loop.counted().getCounter().isConstantStride() || !loop.loop().getChildren().isEmpty()) {
             return false;
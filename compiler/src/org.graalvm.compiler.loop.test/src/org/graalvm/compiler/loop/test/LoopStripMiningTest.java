@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.SafepointNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.junit.Test;
+
+public class LoopStripMiningTest extends GraalCompilerTest {
+
+    static volatile int volatileInt = 3;
+
+    public static int sumSnippet(int iterations) {
+        int sum = 0;
+        for (int i = 0; branchProbability(0.99, i < iterations); i++) {
+            sum += volatileInt;
+        }
+        return sum;
+    }
+
+    @Override
+    protected void checkMidTierGraph(StructuredGraph graph) {
+        LoopsData loops = new LoopsData(graph);
+        int outerLoops = 0;
+        int innerLoops = 0;
+        boolean unrolled = false;
+        for (LoopEx loop : loops.loops()) {
+            if (loop.parent() == null) {
+                outerLoops++;
+                assertTrue("outer loop must poll for safepoints", hasSafepoint(loop));
+            } else {
+                innerLoops++;
+                assertFalse("inner loop must not poll for safepoints", hasSafepoint(loop));
+                unrolled |= loop.loopBegin().isMainLoop() && loop.loopBegin().getUnrollFactor() > 1;
+            }
+        }
+        assertDeepEquals("expected a single strip mined loop", 1, outerLoops);
+        assertTrue("expected inner loops", innerLoops > 0);
+        assertTrue("expected the inner loop to be unrolled", unrolled);
+    }
+
+    private static boolean hasSafepoint(LoopEx loop) {
+        for (LoopEndNode loopEnd : loop.loopBegin().loopEnds()) {
+            if (loopEnd.canSafepoint()) {
+                return true;
+            }
+        }
+        for (Block block : loop.loop().getBlocks()) {
+            if (block.getLoop() == loop.loop()) {
+                for (FixedNode node : block.getNodes()) {
+                    if (node instanceof SafepointNode) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testSum() {
+        for (int i = -1; i < 64; i++) {
+            test("sumSnippet", i);
+        }
+        test("sumSnippet", 100000);
+    }
+}
@@ -241,6 +241,14 @@ public abstract class GraalCompilerState {
         }
     }
 
+    /**
+     * Gets the {@link DebugContext} used by the copies of the {@link #originalGraph original graph}
+     * that are compiled.
+     */
+    protected DebugContext getCompilationDebug() {
+        return originalGraph.getDebug();
+    }
+
     protected StructuredGraph preprocessOriginal(StructuredGraph structuredGraph) {
         return structuredGraph;
     }
@@ -320,7 +328,7 @@ public abstract class GraalCompilerState {
     protected final void prepareRequest() {
         assert originalGraph != null : "call initialzeMethod first";
         CompilationIdentifier compilationId = backend.getCompilationIdentifier(originalGraph.method());
-        graph = originalGraph.copyWithIdentifier(compilationId, originalGraph.getDebug());
+        graph = originalGraph.copyWithIdentifier(compilationId, getCompilationDebug());
         assert !graph.isFrozen();
         ResolvedJavaMethod installedCodeOwner = graph.method();
         request = new Request<>(graph, installedCodeOwner, getProviders(), getBackend(), getDefaultGraphBuilderSuite(), OptimisticOptimizations.ALL,
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.microbenchmarks.lir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.compiler.debug.DebugOptions;
+import org.graalvm.compiler.debug.MetricKey;
+import org.graalvm.compiler.debug.TTY;
+import org.graalvm.compiler.lir.phases.LIRPhase;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.BasePhase;
+
+/**
+ * Collects the time and the allocated bytes per compilation of each {@link BasePhase} and
+ * {@link LIRPhase}, as recorded by their {@code PhaseTime_*} and {@code PhaseMemUse_*} timers and
+ * memory use trackers. Only the flat values are used, so the time of a phase does not include the
+ * time of the phases it applies.
+ *
+ * The results of the measurement iterations are written as CSV to the file named by the
+ * {@value #FILE_PROPERTY} system property, with the columns {@code method, metric, unit, value,
+ * baseline, ratio, status}. If the {@value #BASELINE_PROPERTY} system property names the output of
+ * a previous run, every metric is compared against it and a {@code status} of {@code REGRESSION} or
+ * {@code IMPROVEMENT} is reported for changes above the {@value #THRESHOLD_PROPERTY} ratio (10% by
+ * default). With {@code -D}{@value #FAIL_PROPERTY}{@code =true} a regression fails the benchmark.
+ */
+final class PhaseMetrics {
+
+    static final String FILE_PROPERTY = "phasemetrics.file";
+    static final String BASELINE_PROPERTY = "phasemetrics.baseline";
+    static final String THRESHOLD_PROPERTY = "phasemetrics.threshold";
+    static final String FAIL_PROPERTY = "phasemetrics.failOnRegression";
+
+    private static final String HEADER = "method,metric,unit,value,baseline,ratio,status";
+    private static final int COLUMNS = 7;
+
+    /**
+     * Differences below these values are considered noise.
+     */
+    private static final long MINIMUM_NANOS = 50_000;
+    private static final long MINIMUM_BYTES = 16 * 1024;
+
+    private final EconomicMap<String, Long> totals = EconomicMap.create();
+    private Map<MetricKey, Long> iterationStart;
+    private boolean measuring;
+    private int iterationCompilations;
+    private int compilations;
+
+    /**
+     * Gets options that enable the timers and memory use trackers of all phases.
+     */
+    static OptionValues enableMetrics(OptionValues options) {
+        return new OptionValues(options, DebugOptions.Timers, "", DebugOptions.MemUseTrackers, "");
+    }
+
+    private static String unitOf(String metric) {
+        if (!metric.endsWith("_Flat")) {
+            return null;
+        } else if (metric.startsWith("PhaseTime_") || metric.startsWith("LIRPhaseTime_")) {
+            return "ns";
+        } else if (metric.startsWith("PhaseMemUse_") || metric.startsWith("LIRPhaseMemUse_")) {
+            return "bytes";
+        }
+        return null;
+    }
+
+    void beginIteration(Map<MetricKey, Long> snapshot, boolean measurement) {
+        iterationStart = snapshot;
+        measuring = measurement;
+        iterationCompilations = 0;
+    }
+
+    void compilationDone() {
+        iterationCompilations++;
+    }
+
+    void endIteration(Map<MetricKey, Long> snapshot) {
+        if (!measuring) {
+            return;
+        }
+        for (Map.Entry<MetricKey, Long> entry : snapshot.entrySet()) {
+            String metric = entry.getKey().getName();
+            if (unitOf(metric) != null) {
+                Long start = iterationStart.get(entry.getKey());
+                long delta = entry.getValue() - (start == null ? 0 : start);
+                Long total = totals.get(metric);
+                totals.put(metric, (total == null ? 0 : total) + delta);
+            }
+        }
+        compilations += iterationCompilations;
+    }
+
+    /**
+     * Writes the average per compilation of every metric measured for {@code method}.
+     *
+     * @throws IllegalStateException if a regression was detected and {@value #FAIL_PROPERTY} is set
+     */
+    void report(String method) throws IOException {
+        if (compilations == 0) {
+            return;
+        }
+        EconomicMap<String, Long> baseline = readBaseline(method);
+        double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "0.1"));
+
+        List<String> metrics = new ArrayList<>();
+        for (String metric : totals.getKeys()) {
+            metrics.add(metric);
+        }
+        if (baseline != null) {
+            for (String metric : baseline.getKeys()) {
+                if (!totals.containsKey(metric)) {
+                    metrics.add(metric);
+                }
+            }
+        }
+        Collections.sort(metrics);
+
+        List<String> rows = new ArrayList<>();
+        int regressions = 0;
+        for (String metric : metrics) {
+            Long total = totals.get(metric);
+            Long value = total == null ? null : total / compilations;
+            Long base = baseline == null ? null : baseline.get(metric);
+            String status = status(metric, value, base, threshold);
+            if (status.equals("REGRESSION")) {
+                regressions++;
+                TTY.printf("%s %s: %d -> %d %s%n", method, metric, base, value, unitOf(metric));
+            }
+            String ratio = value != null && base != null && base != 0 ? String.format(Locale.ROOT, "%.3f", (double) value / base) : "";
+            rows.add(String.join(",", method, metric, unitOf(metric), value == null ? "" : value.toString(), base == null ? "" : base.toString(), ratio, status));
+        }
+
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            boolean writeHeader = !new File(file).exists() || new File(file).length() == 0;
+            try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) {
+                if (writeHeader) {
+                    out.println(HEADER);
+                }
+                for (String row : rows) {
+                    out.println(row);
+                }
+            }
+        } else {
+            TTY.println(HEADER);
+            for (String row : rows) {
+                TTY.println(row);
+            }
+        }
+        if (regressions != 0 && Boolean.getBoolean(FAIL_PROPERTY)) {
+            throw new IllegalStateException(regressions + " phase metrics of " + method + " regressed by more than " + threshold);
+        }
+    }
+
+    private static String status(String metric, Long value, Long base, double threshold) {
+        if (base == null) {
+            return "NEW";
+        } else if (value == null) {
+            return "REMOVED";
+        }
+        long minimum = unitOf(metric).equals("ns") ? MINIMUM_NANOS : MINIMUM_BYTES;
+        if (Math.abs(value - base) < minimum) {
+            return "OK";
+        } else if (value > base * (1 + threshold)) {
+            return "REGRESSION";
+        } else if (value < base * (1 - threshold)) {
+            return "IMPROVEMENT";
+        }
+        return "OK";
+    }
+
+    /**
+     * Reads the values of {@code method} from the file named by {@value #BASELINE_PROPERTY}.
+     */
+    private static EconomicMap<String, Long> readBaseline(String method) throws IOException {
+        String file = System.getProperty(BASELINE_PROPERTY);
+        if (file == null) {
+            return null;
+        }
+        EconomicMap<String, Long> baseline = EconomicMap.create();
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.equals(HEADER)) {
+                    continue;
+                }
+                // the method may contain commas, all other columns do not
+                String[] columns = line.split(",", -1);
+                int methodColumns = columns.length - COLUMNS + 1;
+                if (methodColumns < 1) {
+                    throw new IOException("Malformed line in " + file + ": " + line);
+                }
+                String lineMethod = String.join(",", Arrays.copyOf(columns, methodColumns));
+                String value = columns[methodColumns + 2];
+                if (lineMethod.equals(method) && !value.isEmpty()) {
+                    baseline.put(columns[methodColumns], Long.parseLong(value));
+                }
+            }
+        }
+        return baseline;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.microbenchmarks.lir;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import org.graalvm.compiler.code.CompilationResult;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.DebugContext.Builder;
+import org.graalvm.compiler.microbenchmarks.graal.GraalBenchmark;
+
+/**
+ * Compiles a fixed corpus of methods and reports the compile time and the allocated bytes of each
+ * phase. See {@link PhaseMetrics} for the output format and for comparing against a baseline, e.g.:
+ *
+ * <pre>
+ * mx benchmark jmh-whitebox:PhaseMetricsBenchmark -- --jvm-config=graal-core -Dphasemetrics.file=new.csv -Dphasemetrics.baseline=old.csv
+ * </pre>
+ */
+public class PhaseMetricsBenchmark extends GraalBenchmark {
+
+    public static class PhaseMetricsState extends GraalCompilerState.Compile {
+        @MethodDescString @Param({
+                        "java.lang.String#equals",
+                        "java.lang.String#hashCode",
+                        "java.util.HashMap#computeIfAbsent",
+                        "java.util.HashMap#putVal",
+                        "java.util.concurrent.ConcurrentHashMap#putVal",
+                        "java.util.TimSort#mergeLo",
+                        "java.math.BigInteger#multiplyToLen"
+        }) public String method;
+
+        private final DebugContext metricsDebug = new Builder(PhaseMetrics.enableMetrics(getOptions())).build();
+        private final PhaseMetrics metrics = new PhaseMetrics();
+
+        @Override
+        protected DebugContext getCompilationDebug() {
+            return metricsDebug;
+        }
+
+        @Setup(Level.Iteration)
+        public void beginIteration(IterationParams params) {
+            metrics.beginIteration(metricsDebug.getMetricsSnapshot(), params.getType() == IterationType.MEASUREMENT);
+        }
+
+        @TearDown(Level.Iteration)
+        public void endIteration() {
+            metrics.endIteration(metricsDebug.getMetricsSnapshot());
+        }
+
+        @TearDown(Level.Trial)
+        public void report() throws IOException {
+            metrics.report(method);
+        }
+
+        @Override
+        public CompilationResult compile() {
+            CompilationResult result = super.compile();
+            metrics.compilationDone();
+            return result;
+        }
+    }
+
+    @Benchmark
+    public CompilationResult compile(PhaseMetricsState s) {
+        return s.compile();
+    }
+}
@@ -24,13 +24,21 @@
  */
 package org.graalvm.compiler.microbenchmarks.lir;
 
+import org.graalvm.compiler.lir.alloc.spill.SpillEverywhereAllocationPhase;
 import org.graalvm.compiler.lir.gen.LIRGenerationResult;
 import org.graalvm.compiler.microbenchmarks.graal.GraalBenchmark;
+import org.graalvm.compiler.options.OptionValues;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * Compares the time spent in the allocation stage by the linear scan allocator and by the
+ * {@linkplain SpillEverywhereAllocationPhase spill-everywhere allocator} used for economy
+ * compilations. The latter does no liveness analysis and is expected to be several times faster
+ * at the price of a load and a store around most instructions in the generated code.
+ */
 @Warmup(iterations = 10)
 @Measurement(iterations = 10)
 public class RegisterAllocationTimeBenchmark extends GraalBenchmark {
@@ -40,6 +48,13 @@ public class RegisterAllocationTimeBenchmark extends GraalBenchmark {
                         "java.lang.String#equals",
                         "java.util.HashMap#computeIfAbsent"
         }) public String method;
+
+        @Param({"false", "true"}) public boolean spillEverywhere;
+
+        @Override
+        protected OptionValues getOptions() {
+            return new OptionValues(super.getOptions(), SpillEverywhereAllocationPhase.Options.LIRSpillEverywhereAllocator, spillEverywhere);
+        }
     }
 
     @Benchmark
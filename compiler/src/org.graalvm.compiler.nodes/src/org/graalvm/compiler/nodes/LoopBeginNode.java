@@ -66,6 +66,12 @@ public final class LoopBeginNode extends AbstractMergeNode implements IterableNo
     /** See {@link LoopEndNode#canSafepoint} for more information. */
     boolean canEndsSafepoint;
 
+    /**
+     * Set if the safepoints of this loop are only kept so that the loop can be strip mined. See
+     * {@link #deferSafepointToStripMining()}.
+     */
+    boolean safepointDeferredToStripMining;
+
     @OptionalInput(InputType.Guard) GuardingNode overflowGuard;
 
     public LoopBeginNode() {
@@ -128,6 +134,19 @@ public final class LoopBeginNode extends AbstractMergeNode implements IterableNo
         }
     }
 
+    /**
+     * Keeps the safepoints of this loop although they could be disabled, such that strip mining
+     * can move them to an outer loop. If the loop is not strip mined in the end, its safepoints
+     * are {@linkplain #disableSafepoint() disabled} instead.
+     */
+    public void deferSafepointToStripMining() {
+        this.safepointDeferredToStripMining = true;
+    }
+
+    public boolean isSafepointDeferredToStripMining() {
+        return safepointDeferredToStripMining;
+    }
+
     public double loopOrigFrequency() {
         return loopOrigFrequency;
     }
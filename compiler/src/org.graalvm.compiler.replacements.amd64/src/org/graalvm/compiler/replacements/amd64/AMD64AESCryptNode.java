@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.replacements.amd64;
+
+import static org.graalvm.compiler.nodeinfo.InputType.Memory;
+import static org.graalvm.compiler.nodeinfo.NodeCycles.CYCLES_64;
+import static org.graalvm.compiler.nodeinfo.NodeSize.SIZE_128;
+
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NamedLocationIdentity;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValueNodeUtil;
+import org.graalvm.compiler.nodes.memory.MemoryAccess;
+import org.graalvm.compiler.nodes.memory.MemoryKill;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Encrypts or decrypts a single AES block in place of
+ * {@code com.sun.crypto.provider.AESCrypt.implEncryptBlock} and
+ * {@code com.sun.crypto.provider.AESCrypt.implDecryptBlock}. The arrays and offsets must already
+ * have been checked by the caller.
+ */
+@NodeInfo(allowedUsageTypes = Memory, size = SIZE_128, cycles = CYCLES_64)
+public final class AMD64AESCryptNode extends FixedWithNextNode implements LIRLowerable, SingleMemoryKill, MemoryAccess {
+
+    public static final NodeClass<AMD64AESCryptNode> TYPE = NodeClass.create(AMD64AESCryptNode.class);
+
+    @Input private ValueNode in;
+    @Input private ValueNode inOffset;
+    @Input private ValueNode out;
+    @Input private ValueNode outOffset;
+    @Input private ValueNode key;
+    @Input private ValueNode keyLength;
+
+    private final boolean encrypt;
+
+    @OptionalInput(Memory) private MemoryKill lla; // Last access location registered.
+
+    public AMD64AESCryptNode(ValueNode in, ValueNode inOffset, ValueNode out, ValueNode outOffset, ValueNode key, ValueNode keyLength, boolean encrypt) {
+        super(TYPE, StampFactory.forVoid());
+        this.in = in;
+        this.inOffset = inOffset;
+        this.out = out;
+        this.outOffset = outOffset;
+        this.key = key;
+        this.keyLength = keyLength;
+        this.encrypt = encrypt;
+    }
+
+    public boolean isEncrypt() {
+        return encrypt;
+    }
+
+    @Override
+    public LocationIdentity getLocationIdentity() {
+        // Reads both the byte[] block and the int[] session key.
+        return LocationIdentity.any();
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return NamedLocationIdentity.getArrayLocation(JavaKind.Byte);
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        gen.getLIRGeneratorTool().emitAESCrypt(gen.operand(in), gen.operand(inOffset), gen.operand(out), gen.operand(outOffset), gen.operand(key), gen.operand(keyLength), encrypt);
+    }
+
+    @Override
+    public MemoryKill getLastLocationAccess() {
+        return lla;
+    }
+
+    @Override
+    public void setLastLocationAccess(MemoryKill newlla) {
+        updateUsages(ValueNodeUtil.asNode(lla), ValueNodeUtil.asNode(newlla));
+        lla = newlla;
+    }
+}
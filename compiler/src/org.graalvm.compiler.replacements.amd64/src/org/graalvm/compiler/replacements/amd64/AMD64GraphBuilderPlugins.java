@@ -36,6 +36,7 @@ import static org.graalvm.compiler.replacements.nodes.UnaryMathIntrinsicNode.Una
 import java.util.Arrays;
 
 import org.graalvm.compiler.lir.amd64.AMD64ArithmeticLIRGeneratorTool.RoundingMode;
+import org.graalvm.compiler.nodes.NodeView;
 import org.graalvm.compiler.nodes.PauseNode;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
@@ -44,8 +45,11 @@ import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin.Receiver;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
 import org.graalvm.compiler.nodes.java.AtomicReadAndAddNode;
 import org.graalvm.compiler.nodes.java.AtomicReadAndWriteNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
 import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
 import org.graalvm.compiler.nodes.spi.Replacements;
 import org.graalvm.compiler.replacements.ArraysSubstitutions;
@@ -65,6 +69,7 @@ import jdk.vm.ci.amd64.AMD64;
 import jdk.vm.ci.amd64.AMD64.CPUFeature;
 import jdk.vm.ci.code.Architecture;
 import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaField;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import sun.misc.Unsafe;
 
@@ -73,6 +78,7 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
     public void register(Plugins plugins, Replacements replacements, Architecture architecture, boolean explicitUnsafeNullChecks,
                     boolean registerForeignCallMath, boolean emitJDK9StringSubstitutions, boolean useFMAIntrinsics) {
         register(plugins, replacements, (AMD64) architecture, explicitUnsafeNullChecks, emitJDK9StringSubstitutions, useFMAIntrinsics);
+        registerCryptoPlugins(plugins.getInvocationPlugins(), replacements, (AMD64) architecture);
     }
 
     public static void register(Plugins plugins, Replacements replacements, AMD64 arch, boolean explicitUnsafeNullChecks,
@@ -99,6 +105,83 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
         });
     }
 
+    /**
+     * Registers plugins that expand the AES and CRC32C intrinsics inline as LIR instructions. This
+     * is for configurations without HotSpot's stubs, such as native images, which would otherwise
+     * have to run the pure Java implementations.
+     */
+    public static void registerCryptoPlugins(InvocationPlugins invocationPlugins, Replacements replacements, AMD64 arch) {
+        invocationPlugins.defer(new Runnable() {
+            @Override
+            public void run() {
+                registerAESPlugins(invocationPlugins, replacements, arch);
+                registerCRC32CPlugins(invocationPlugins, replacements, arch);
+            }
+        });
+    }
+
+    private static void registerAESPlugins(InvocationPlugins plugins, Replacements replacements, AMD64 arch) {
+        if (JavaVersionUtil.JAVA_SPEC > 8 && arch.getFeatures().contains(CPUFeature.AES) && arch.getFeatures().contains(CPUFeature.SSSE3)) {
+            Registration r = new Registration(plugins, "com.sun.crypto.provider.AESCrypt", replacements);
+            r.setAllowOverwrite(true);
+            r.register5("implEncryptBlock", Receiver.class, byte[].class, int.class, byte[].class, int.class, new AESCryptPlugin(true));
+            r.register5("implDecryptBlock", Receiver.class, byte[].class, int.class, byte[].class, int.class, new AESCryptPlugin(false));
+        }
+    }
+
+    /**
+     * Replaces {@code AESCrypt.implEncryptBlock} and {@code AESCrypt.implDecryptBlock}. Like the
+     * HotSpot intrinsics, this relies on the callers having checked the offsets against the array
+     * lengths.
+     */
+    static final class AESCryptPlugin implements InvocationPlugin {
+        private final boolean encrypt;
+
+        AESCryptPlugin(boolean encrypt) {
+            this.encrypt = encrypt;
+        }
+
+        @Override
+        public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode in, ValueNode inOffset, ValueNode out, ValueNode outOffset) {
+            ResolvedJavaField keyField = null;
+            for (ResolvedJavaField field : targetMethod.getDeclaringClass().getInstanceFields(false)) {
+                if (field.getName().equals("K")) {
+                    keyField = field;
+                }
+            }
+            if (keyField == null) {
+                return false;
+            }
+            ValueNode key = b.nullCheckedValue(b.add(LoadFieldNode.create(b.getAssumptions(), receiver.get(), keyField)));
+            ValueNode keyLength = b.add(ArrayLengthNode.create(key, b.getConstantReflection()));
+            b.add(new AMD64AESCryptNode(b.nullCheckedValue(in), inOffset, b.nullCheckedValue(out), outOffset, key, keyLength, encrypt));
+            return true;
+        }
+    }
+
+    private static void registerCRC32CPlugins(InvocationPlugins plugins, Replacements replacements, AMD64 arch) {
+        if (JavaVersionUtil.JAVA_SPEC > 8 && arch.getFeatures().contains(CPUFeature.SSE4_2)) {
+            Registration r = new Registration(plugins, "java.util.zip.CRC32C", replacements);
+            r.setAllowOverwrite(true);
+            r.register4("updateBytes", int.class, byte[].class, int.class, int.class, new InvocationPlugin() {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode crc, ValueNode buf, ValueNode off, ValueNode end) {
+                    ValueNode length = b.add(SubNode.create(end, off, NodeView.DEFAULT));
+                    b.addPush(JavaKind.Int, new AMD64CRC32CUpdateBytesNode(crc, b.nullCheckedValue(buf), off, length));
+                    return true;
+                }
+            });
+            r.register4("updateDirectByteBuffer", int.class, long.class, int.class, int.class, new InvocationPlugin() {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode crc, ValueNode address, ValueNode off, ValueNode end) {
+                    ValueNode length = b.add(SubNode.create(end, off, NodeView.DEFAULT));
+                    b.addPush(JavaKind.Int, new AMD64CRC32CUpdateBytesNode(crc, address, off, length));
+                    return true;
+                }
+            });
+        }
+    }
+
     private static void registerThreadPlugins(InvocationPlugins plugins, AMD64 arch) {
         if (JavaVersionUtil.JAVA_SPEC > 8) {
             // Pause instruction introduced with SSE2
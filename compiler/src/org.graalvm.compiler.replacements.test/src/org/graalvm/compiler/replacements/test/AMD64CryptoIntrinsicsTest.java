@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.replacements.test;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderContext;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
+import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins.Registration;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.replacements.amd64.AMD64AESCryptNode;
+import org.graalvm.compiler.replacements.amd64.AMD64CRC32CUpdateBytesNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import jdk.vm.ci.amd64.AMD64;
+import jdk.vm.ci.amd64.AMD64.CPUFeature;
+import jdk.vm.ci.code.InstalledCode;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Tests the inline AES and CRC32C code emitted for {@link AMD64AESCryptNode} and
+ * {@link AMD64CRC32CUpdateBytesNode}. The nodes are bound to local methods so that the test does
+ * not depend on which intrinsics the host VM provides.
+ */
+public class AMD64CryptoIntrinsicsTest extends MethodSubstitutionTest {
+
+    @Before
+    public void checkAMD64() {
+        assumeTrue(getTarget().arch instanceof AMD64);
+    }
+
+    private boolean supports(CPUFeature feature) {
+        return ((AMD64) getTarget().arch).getFeatures().contains(feature);
+    }
+
+    @Override
+    protected void registerInvocationPlugins(InvocationPlugins invocationPlugins) {
+        Registration r = new Registration(invocationPlugins, AMD64CryptoIntrinsicsTest.class);
+        r.register4("crc32c", int.class, byte[].class, int.class, int.class, new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode crc, ValueNode buf, ValueNode off, ValueNode end) {
+                ValueNode length = b.add(SubNode.create(end, off, NodeView.DEFAULT));
+                b.addPush(JavaKind.Int, new AMD64CRC32CUpdateBytesNode(crc, b.nullCheckedValue(buf), off, length));
+                return true;
+            }
+        });
+        r.register4("crc32cDirect", int.class, long.class, int.class, int.class, new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode crc, ValueNode address, ValueNode off, ValueNode end) {
+                ValueNode length = b.add(SubNode.create(end, off, NodeView.DEFAULT));
+                b.addPush(JavaKind.Int, new AMD64CRC32CUpdateBytesNode(crc, address, off, length));
+                return true;
+            }
+        });
+        for (boolean encrypt : new boolean[]{true, false}) {
+            r.register5(encrypt ? "aesEncrypt" : "aesDecrypt", byte[].class, int.class, byte[].class, int.class, int[].class, new InvocationPlugin() {
+                @Override
+                public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode in, ValueNode inOffset, ValueNode out, ValueNode outOffset,
+                                ValueNode key) {
+                    ValueNode nonNullKey = b.nullCheckedValue(key);
+                    ValueNode keyLength = b.add(ArrayLengthNode.create(nonNullKey, b.getConstantReflection()));
+                    b.add(new AMD64AESCryptNode(b.nullCheckedValue(in), inOffset, b.nullCheckedValue(out), outOffset, nonNullKey, keyLength, encrypt));
+                    return true;
+                }
+            });
+        }
+        super.registerInvocationPlugins(invocationPlugins);
+    }
+
+    /*
+     * CRC32C
+     */
+
+    /**
+     * Reference implementation of the raw CRC32C update, without the pre- and post-inversion
+     * applied by {@code java.util.zip.CRC32C}.
+     */
+    static int crc32c(int crc, byte[] b, int off, int end) {
+        int c = crc;
+        for (int i = off; i < end; i++) {
+            c = crc32cByte(c, b[i]);
+        }
+        return c;
+    }
+
+    static int crc32cDirect(int crc, long address, int off, int end) {
+        int c = crc;
+        for (int i = off; i < end; i++) {
+            c = crc32cByte(c, UNSAFE.getByte(address + i));
+        }
+        return c;
+    }
+
+    private static int crc32cByte(int crc, byte b) {
+        int c = crc ^ (b & 0xff);
+        for (int k = 0; k < 8; k++) {
+            c = (c >>> 1) ^ ((c & 1) != 0 ? 0x82F63B78 : 0);
+        }
+        return c;
+    }
+
+    public static int crc32cSnippet(byte[] b, int off, int len) {
+        return crc32c(0xFFFFFFFF, b, off, off + len);
+    }
+
+    public static int crc32cDirectSnippet(long address, int off, int len) {
+        return crc32cDirect(0xFFFFFFFF, address, off, off + len);
+    }
+
+    private static byte[] data(int length) {
+        byte[] b = new byte[length];
+        for (int i = 0; i < length; i++) {
+            b[i] = (byte) (i * 31 + 7);
+        }
+        return b;
+    }
+
+    @Test
+    public void testCRC32C() {
+        assumeTrue(supports(CPUFeature.SSE4_2));
+        assertInGraph(parseEager("crc32cSnippet", AllowAssumptions.YES), AMD64CRC32CUpdateBytesNode.class);
+        byte[] b = data(100);
+        for (int off = 0; off < 9; off++) {
+            for (int len = 0; off + len <= b.length; len++) {
+                test("crc32cSnippet", b, off, len);
+            }
+        }
+    }
+
+    @Test
+    public void testCRC32CDirect() {
+        assumeTrue(supports(CPUFeature.SSE4_2));
+        byte[] b = data(100);
+        long address = UNSAFE.allocateMemory(b.length);
+        try {
+            for (int i = 0; i < b.length; i++) {
+                UNSAFE.putByte(address + i, b[i]);
+            }
+            for (int off = 0; off < 9; off++) {
+                for (int len = 0; off + len <= b.length; len += 7) {
+                    test("crc32cDirectSnippet", address, off, len);
+                }
+            }
+        } finally {
+            UNSAFE.freeMemory(address);
+        }
+    }
+
+    /*
+     * AES
+     */
+
+    @SuppressWarnings("unused")
+    static void aesEncrypt(byte[] in, int inOffset, byte[] out, int outOffset, int[] key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @SuppressWarnings("unused")
+    static void aesDecrypt(byte[] in, int inOffset, byte[] out, int outOffset, int[] key) {
+        throw new UnsupportedOperationException();
+    }
+
+    public static byte[] aesEncryptSnippet(byte[] in, int[] key) {
+        byte[] out = new byte[in.length + 3];
+        aesEncrypt(in, 0, out, 3, key);
+        return out;
+    }
+
+    public static byte[] aesDecryptSnippet(byte[] in, int[] key) {
+        byte[] out = new byte[in.length + 3];
+        aesDecrypt(in, 0, out, 3, key);
+        return out;
+    }
+
+    @Test
+    public void testAES() throws Exception {
+        assumeTrue(supports(CPUFeature.AES) && supports(CPUFeature.SSSE3));
+        InstalledCode encrypt = getCode(getResolvedJavaMethod("aesEncryptSnippet"));
+        InstalledCode decrypt = getCode(getResolvedJavaMethod("aesDecryptSnippet"));
+        byte[] plain = data(16);
+        for (int keySize : new int[]{16, 24, 32}) {
+            byte[] rawKey = data(keySize + 5);
+            rawKey = Arrays.copyOfRange(rawKey, 5, rawKey.length);
+            Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(rawKey, "AES"));
+            byte[] expected = cipher.doFinal(plain);
+
+            int[] encryptKey = expandKey(rawKey);
+            byte[] encrypted = (byte[]) executeVarargsSafe(encrypt, plain, encryptKey);
+            Assert.assertArrayEquals(expected, Arrays.copyOfRange(encrypted, 3, encrypted.length));
+
+            byte[] decrypted = (byte[]) executeVarargsSafe(decrypt, expected, decryptionKey(encryptKey));
+            Assert.assertArrayEquals(plain, Arrays.copyOfRange(decrypted, 3, decrypted.length));
+        }
+    }
+
+    private static final int[] SBOX = new int[256];
+
+    static {
+        int p = 1;
+        int q = 1;
+        do {
+            // multiply p by 3 and divide q by 3 in GF(2^8)
+            p = (p ^ (p << 1) ^ ((p & 0x80) != 0 ? 0x1B : 0)) & 0xff;
+            q ^= q << 1;
+            q ^= q << 2;
+            q ^= q << 4;
+            q &= 0xff;
+            if ((q & 0x80) != 0) {
+                q ^= 0x09;
+            }
+            int x = q ^ rotl8(q, 1) ^ rotl8(q, 2) ^ rotl8(q, 3) ^ rotl8(q, 4);
+            SBOX[p] = x ^ 0x63;
+        } while (p != 1);
+        SBOX[0] = 0x63;
+    }
+
+    private static int rotl8(int x, int shift) {
+        return ((x << shift) | (x >>> (8 - shift))) & 0xff;
+    }
+
+    private static int subWord(int w) {
+        return SBOX[w >>> 24] << 24 | SBOX[(w >>> 16) & 0xff] << 16 | SBOX[(w >>> 8) & 0xff] << 8 | SBOX[w & 0xff];
+    }
+
+    private static int gmul(int a, int b) {
+        int x = a;
+        int result = 0;
+        for (int y = b; y != 0; y >>>= 1) {
+            if ((y & 1) != 0) {
+                result ^= x;
+            }
+            x = ((x << 1) ^ ((x & 0x80) != 0 ? 0x1B : 0)) & 0xff;
+        }
+        return result;
+    }
+
+    private static int invMixColumn(int w) {
+        int b0 = w >>> 24;
+        int b1 = (w >>> 16) & 0xff;
+        int b2 = (w >>> 8) & 0xff;
+        int b3 = w & 0xff;
+        return (gmul(b0, 14) ^ gmul(b1, 11) ^ gmul(b2, 13) ^ gmul(b3, 9)) << 24 |
+                        (gmul(b0, 9) ^ gmul(b1, 14) ^ gmul(b2, 11) ^ gmul(b3, 13)) << 16 |
+                        (gmul(b0, 13) ^ gmul(b1, 9) ^ gmul(b2, 14) ^ gmul(b3, 11)) << 8 |
+                        (gmul(b0, 11) ^ gmul(b1, 13) ^ gmul(b2, 9) ^ gmul(b3, 14));
+    }
+
+    /**
+     * Computes the encryption session key in the layout used by
+     * {@code com.sun.crypto.provider.AESCrypt}: the FIPS-197 key schedule as big-endian words.
+     */
+    private static int[] expandKey(byte[] key) {
+        int nk = key.length / 4;
+        int rounds = nk + 6;
+        int[] w = new int[4 * (rounds + 1)];
+        for (int i = 0; i < nk; i++) {
+            w[i] = (key[4 * i] & 0xff) << 24 | (key[4 * i + 1] & 0xff) << 16 | (key[4 * i + 2] & 0xff) << 8 | (key[4 * i + 3] & 0xff);
+        }
+        int rcon = 1;
+        for (int i = nk; i < w.length; i++) {
+            int temp = w[i - 1];
+            if (i % nk == 0) {
+                temp = subWord((temp << 8) | (temp >>> 24)) ^ (rcon << 24);
+                rcon = gmul(rcon, 2);
+            } else if (nk > 6 && i % nk == 4) {
+                temp = subWord(temp);
+            }
+            w[i] = w[i - nk] ^ temp;
+        }
+        return w;
+    }
+
+    /**
+     * Computes the decryption session key in the layout used by
+     * {@code com.sun.crypto.provider.AESCrypt}: the round keys of the equivalent inverse cipher,
+     * rotated so that the key for the final round comes first.
+     */
+    private static int[] decryptionKey(int[] encryptKey) {
+        int rounds = encryptKey.length / 4 - 1;
+        int[] k = new int[encryptKey.length];
+        for (int j = 0; j < 4; j++) {
+            k[j] = encryptKey[j];
+            k[4 + j] = encryptKey[4 * rounds + j];
+        }
+        for (int r = 1; r < rounds; r++) {
+            for (int j = 0; j < 4; j++) {
+                k[4 * (r + 1) + j] = invMixColumn(encryptKey[4 * (rounds - r) + j]);
+            }
+        }
+        return k;
+    }
+}
@@ -91,8 +91,12 @@ public class CachingPEGraphDecoder extends PEGraphDecoder {
         return new GraphBuilderPhase.Instance(providers, graphBuilderConfig, optimisticOpts, initialIntrinsicContext);
     }
 
+    /**
+     * Parses and encodes the graph of {@code method}. Called when the graph is not yet in the graph
+     * cache of this decoder; the result is added to that cache by the caller.
+     */
     @SuppressWarnings("try")
-    private EncodedGraph createGraph(ResolvedJavaMethod method, MethodSubstitutionPlugin plugin, BytecodeProvider intrinsicBytecodeProvider, boolean isSubstitution) {
+    protected EncodedGraph createGraph(ResolvedJavaMethod method, MethodSubstitutionPlugin plugin, BytecodeProvider intrinsicBytecodeProvider, boolean isSubstitution) {
         StructuredGraph graphToEncode;
         if (isSubstitution && (UseEncodedGraphs.getValue(options) || IS_IN_NATIVE_IMAGE)) {
             // These must go through Replacements to find the graph to use.
@@ -113,9 +117,7 @@ public class CachingPEGraphDecoder extends PEGraphDecoder {
             throw debug.handle(t);
         }
 
-        EncodedGraph encodedGraph = GraphEncoder.encodeSingleGraph(graphToEncode, architecture);
-        graphCache.put(method, encodedGraph);
-        return encodedGraph;
+        return GraphEncoder.encodeSingleGraph(graphToEncode, architecture);
     }
 
     @SuppressWarnings("try")
@@ -151,6 +153,7 @@ public class CachingPEGraphDecoder extends PEGraphDecoder {
         EncodedGraph result = graphCache.get(method);
         if (result == null && method.hasBytecodes()) {
             result = createGraph(method, plugin, intrinsicBytecodeProvider, isSubstitution);
+            graphCache.put(method, result);
         }
         return result;
     }
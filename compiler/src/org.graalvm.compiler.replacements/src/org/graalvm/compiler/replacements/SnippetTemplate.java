@@ -42,9 +42,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Formattable;
 import java.util.Formatter;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -218,6 +218,11 @@ public class SnippetTemplate {
          */
         private final CounterKey instantiationCounter;
 
+        /**
+         * Times the creation of all templates derived from this snippet.
+         */
+        private final TimerKey creationTimer;
+
         protected abstract SnippetParameterInfo info();
 
         protected SnippetInfo(ResolvedJavaMethod method, ResolvedJavaMethod original, LocationIdentity[] privateLocations, Object receiver) {
@@ -226,6 +231,7 @@ public class SnippetTemplate {
             this.privateLocations = privateLocations;
             instantiationCounter = DebugContext.counter("SnippetInstantiationCount[%s]", method.getName());
             instantiationTimer = DebugContext.timer("SnippetInstantiationTime[%s]", method.getName());
+            creationTimer = DebugContext.timer("SnippetTemplateCreationTime[%s]", method.getName());
             this.receiver = receiver;
         }
 
@@ -542,6 +548,10 @@ public class SnippetTemplate {
 
     private static final TimerKey SnippetTemplateCreationTime = DebugContext.timer("SnippetTemplateCreationTime");
     private static final CounterKey SnippetTemplates = DebugContext.counter("SnippetTemplateCount");
+    private static final CounterKey SnippetTemplateCacheHits = DebugContext.counter("SnippetTemplateCacheHits");
+    private static final CounterKey SnippetTemplateCacheMisses = DebugContext.counter("SnippetTemplateCacheMisses");
+    private static final CounterKey SnippetTemplateCacheEvictions = DebugContext.counter("SnippetTemplateCacheEvictions");
+    private static final CounterKey SnippetTemplateCacheRaces = DebugContext.counter("SnippetTemplateCacheRaces");
 
     static class Options {
         @Option(help = "Use a LRU cache for snippet templates.")//
@@ -561,7 +571,7 @@ public class SnippetTemplate {
         protected final SnippetReflectionProvider snippetReflection;
         protected final Iterable<DebugHandlersFactory> factories;
         protected final TargetDescription target;
-        private final Map<CacheKey, SnippetTemplate> templates;
+        private final TemplateCache templates;
 
         protected AbstractTemplates(OptionValues options, Iterable<DebugHandlersFactory> factories, Providers providers, SnippetReflectionProvider snippetReflection, TargetDescription target) {
             this.options = options;
@@ -571,7 +581,7 @@ public class SnippetTemplate {
             this.factories = factories;
             if (Options.UseSnippetTemplateCache.getValue(options)) {
                 int size = Options.MaxTemplatesPerSnippet.getValue(options);
-                this.templates = Collections.synchronizedMap(new LRUCache<>(size, size));
+                this.templates = new TemplateCache(size);
             } else {
                 this.templates = null;
             }
@@ -652,18 +662,22 @@ public class SnippetTemplate {
             DebugContext outer = graph.getDebug();
             SnippetTemplate template = Options.UseSnippetTemplateCache.getValue(options) && args.cacheable ? templates.get(args.cacheKey) : null;
             if (template == null || (graph.trackNodeSourcePosition() && !template.snippet.trackNodeSourcePosition())) {
+                SnippetTemplateCacheMisses.increment(outer);
                 try (DebugContext debug = openDebugContext(outer, args)) {
-                    try (DebugCloseable a = SnippetTemplateCreationTime.start(debug); DebugContext.Scope s = debug.scope("SnippetSpecialization", args.info.method)) {
+                    try (DebugCloseable a = SnippetTemplateCreationTime.start(debug); DebugCloseable b = args.info.creationTimer.start(debug);
+                                    DebugContext.Scope s = debug.scope("SnippetSpecialization", args.info.method)) {
                         SnippetTemplates.increment(debug);
                         OptionValues snippetOptions = new OptionValues(options, GraalOptions.TraceInlining, GraalOptions.TraceInliningForStubsAndSnippets.getValue(options));
                         template = new SnippetTemplate(snippetOptions, debug, providers, snippetReflection, args, graph.trackNodeSourcePosition(), replacee, createMidTierPhases());
                         if (Options.UseSnippetTemplateCache.getValue(snippetOptions) && args.cacheable) {
-                            templates.put(args.cacheKey, template);
+                            templates.put(outer, args.cacheKey, template);
                         }
                     } catch (Throwable e) {
                         throw debug.handle(e);
                     }
                 }
+            } else {
+                SnippetTemplateCacheHits.increment(outer);
             }
             return template;
         }
@@ -678,18 +692,87 @@ public class SnippetTemplate {
         }
     }
 
-    private static final class LRUCache<K, V> extends LinkedHashMap<K, V> {
-        private static final long serialVersionUID = 1L;
-        private final int maxCacheSize;
+    /**
+     * A bounded cache of the templates of one {@link AbstractTemplates} instance. Lookups do not
+     * lock, so lowering in parallel compiler threads does not serialize on the cache. When the
+     * cache is full, inserting a template evicts one that was not used since the last eviction
+     * sweep (second chance eviction). A hit only sets the reference bit of its own entry, and only
+     * if it is not set yet, so hits do not write any state shared by all lookups.
+     *
+     * Two threads that miss on the same key both build a template. Only the first one is cached,
+     * and the other one is still used by the thread that built it.
+     */
+    private static final class TemplateCache {
+
+        private static final class Entry {
+            final SnippetTemplate template;
 
-        LRUCache(int initialCapacity, int maxCacheSize) {
-            super(initialCapacity, 0.75F, true);
-            this.maxCacheSize = maxCacheSize;
+            /**
+             * Set when the template is used and cleared by eviction sweeps. Races between threads
+             * only make the eviction choice less precise.
+             */
+            boolean referenced;
+
+            Entry(SnippetTemplate template) {
+                this.template = template;
+                this.referenced = true;
+            }
         }
 
-        @Override
-        protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
-            return size() > maxCacheSize;
+        private final ConcurrentHashMap<CacheKey, Entry> map;
+        private final int maxSize;
+
+        TemplateCache(int maxSize) {
+            this.map = new ConcurrentHashMap<>(maxSize);
+            this.maxSize = maxSize;
+        }
+
+        SnippetTemplate get(CacheKey key) {
+            Entry entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.template;
+        }
+
+        void put(DebugContext debug, CacheKey key, SnippetTemplate template) {
+            Entry entry = new Entry(template);
+            Entry previous = map.putIfAbsent(key, entry);
+            if (previous != null) {
+                if (previous.template.snippet.trackNodeSourcePosition() || !template.snippet.trackNodeSourcePosition()) {
+                    SnippetTemplateCacheRaces.increment(debug);
+                    return;
+                }
+                // Upgrade to a template that tracks node source positions.
+                map.replace(key, previous, entry);
+            }
+            while (map.size() > maxSize) {
+                if (!evictUnreferenced(debug)) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Removes the first entry whose reference bit is clear, clearing the bits of the entries
+         * passed over. The second pass finds a victim if all bits were set in the first one.
+         */
+        private boolean evictUnreferenced(DebugContext debug) {
+            for (int pass = 0; pass < 2; pass++) {
+                for (Map.Entry<CacheKey, Entry> e : map.entrySet()) {
+                    Entry candidate = e.getValue();
+                    if (candidate.referenced) {
+                        candidate.referenced = false;
+                    } else if (map.remove(e.getKey(), candidate)) {
+                        SnippetTemplateCacheEvictions.increment(debug);
+                        return true;
+                    }
+                }
+            }
+            return false;
         }
     }
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.truffle.compiler;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.nodes.EncodedGraph;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * A thread-safe, size bounded cache of {@link EncodedGraph encoded graphs} shared by all Truffle
+ * compilations of a {@link PartialEvaluator}. Without it, each partial evaluation parses and
+ * encodes every Java method it inlines again.
+ * <p>
+ * When the cache grows beyond its capacity, the least recently used quarter of the entries is
+ * evicted. The whole cache is {@linkplain #purge() purged} when installing Truffle compiled code
+ * fails, since a cached graph may then carry assumptions that no longer hold or refer to methods
+ * that were redefined.
+ */
+public final class EncodedGraphCache {
+
+    private static final CounterKey CacheHits = DebugContext.counter("EncodedGraphCacheHits");
+    private static final CounterKey CacheMisses = DebugContext.counter("EncodedGraphCacheMisses");
+    private static final CounterKey CacheEvictions = DebugContext.counter("EncodedGraphCacheEvictions");
+
+    private final int capacity;
+    private final ConcurrentHashMap<ResolvedJavaMethod, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accessCount = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    public EncodedGraphCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the cached graph of {@code method}, or {@code null} if there is none.
+     */
+    public EncodedGraph get(ResolvedJavaMethod method, DebugContext debug) {
+        Entry entry = entries.get(method);
+        if (entry == null) {
+            misses.incrementAndGet();
+            CacheMisses.increment(debug);
+            return null;
+        }
+        entry.lastAccess = accessCount.incrementAndGet();
+        hits.incrementAndGet();
+        CacheHits.increment(debug);
+        return entry.graph;
+    }
+
+    /**
+     * Adds the graph of {@code method} to the cache, evicting the least recently used entries if
+     * the cache exceeds its capacity.
+     */
+    public void put(ResolvedJavaMethod method, EncodedGraph graph, DebugContext debug) {
+        entries.put(method, new Entry(graph, accessCount.incrementAndGet()));
+        if (entries.size() > capacity) {
+            evict(debug);
+        }
+    }
+
+    private void evict(DebugContext debug) {
+        synchronized (evictionLock) {
+            int size = entries.size();
+            if (size <= capacity) {
+                // another thread already made room
+                return;
+            }
+            long[] accesses = new long[size];
+            int count = 0;
+            for (Entry entry : entries.values()) {
+                if (count == accesses.length) {
+                    break;
+                }
+                accesses[count++] = entry.lastAccess;
+            }
+            Arrays.sort(accesses, 0, count);
+            int toEvict = Math.min(count, size - capacity + capacity / 4);
+            if (toEvict == 0) {
+                return;
+            }
+            long threshold = accesses[toEvict - 1];
+            entries.values().removeIf(entry -> entry.lastAccess <= threshold);
+            CacheEvictions.add(debug, Math.max(0, size - entries.size()));
+        }
+    }
+
+    /**
+     * Removes all cached graphs.
+     */
+    public void purge() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of lookups that found a cached graph since this cache was created.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of lookups that did not find a cached graph since this cache was created.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+        final EncodedGraph graph;
+        volatile long lastAccess;
+
+        Entry(EncodedGraph graph, long lastAccess) {
+            this.graph = graph;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -25,6 +25,8 @@
 package org.graalvm.compiler.truffle.compiler;
 
 import static org.graalvm.compiler.truffle.compiler.TruffleCompilerOptions.getPolyglotOptionValue;
+import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.EncodedGraphCache;
+import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.EncodedGraphCacheCapacity;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.ExcludeAssertions;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.InlineAcrossTruffleBoundary;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.IterativePartialEscape;
@@ -38,6 +40,7 @@ import java.util.Objects;
 
 import org.graalvm.collections.EconomicMap;
 import org.graalvm.compiler.api.replacements.SnippetReflectionProvider;
+import org.graalvm.compiler.bytecode.BytecodeProvider;
 import org.graalvm.compiler.core.common.CompilationIdentifier;
 import org.graalvm.compiler.core.common.type.StampPair;
 import org.graalvm.compiler.debug.DebugCloseable;
@@ -60,11 +63,14 @@ import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderTool;
 import org.graalvm.compiler.nodes.graphbuilderconf.InlineInvokePlugin;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugins;
 import org.graalvm.compiler.nodes.graphbuilderconf.LoopExplosionPlugin;
+import org.graalvm.compiler.nodes.graphbuilderconf.MethodSubstitutionPlugin;
 import org.graalvm.compiler.nodes.graphbuilderconf.NodePlugin;
 import org.graalvm.compiler.nodes.graphbuilderconf.ParameterPlugin;
+import org.graalvm.compiler.nodes.spi.CoreProviders;
 import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
 import org.graalvm.compiler.nodes.virtual.VirtualInstanceNode;
 import org.graalvm.compiler.nodes.virtual.VirtualObjectNode;
+import org.graalvm.compiler.phases.BasePhase;
 import org.graalvm.compiler.phases.OptimisticOptimizations;
 import org.graalvm.compiler.phases.PhaseSuite;
 import org.graalvm.compiler.phases.common.CanonicalizerPhase;
@@ -142,6 +148,11 @@ public abstract class PartialEvaluator {
      * the TruffleRuntime object is created.
      */
     protected volatile InstrumentPhase.Instrumentation instrumentation;
+    /**
+     * Encoded graphs shared between compilations, or {@code null} if disabled. Initialized in
+     * {@link #initialize(org.graalvm.options.OptionValues)}.
+     */
+    private volatile EncodedGraphCache encodedGraphCache;
 
     public PartialEvaluator(Providers providers, GraphBuilderConfiguration configForRoot, SnippetReflectionProvider snippetReflection, Architecture architecture,
                     KnownTruffleTypes knownFields) {
@@ -175,6 +186,28 @@ public abstract class PartialEvaluator {
                         !TruffleCompilerOptions.getPolyglotOptionValue(options, TracePerformanceWarnings).isEmpty();
         configForParsing = configPrototype.withNodeSourcePosition(configPrototype.trackNodeSourcePosition() || needSourcePositions).withOmitAssertions(
                         TruffleCompilerOptions.getPolyglotOptionValue(options, ExcludeAssertions));
+        if (TruffleCompilerOptions.getPolyglotOptionValue(options, EncodedGraphCache)) {
+            encodedGraphCache = new EncodedGraphCache(TruffleCompilerOptions.getPolyglotOptionValue(options, EncodedGraphCacheCapacity));
+        }
+    }
+
+    /**
+     * Gets the cache of encoded graphs shared between compilations, or {@code null} if it is
+     * disabled.
+     */
+    public EncodedGraphCache getEncodedGraphCache() {
+        return encodedGraphCache;
+    }
+
+    /**
+     * Drops all encoded graphs shared between compilations, for example because code that was
+     * partially evaluated from them could not be installed.
+     */
+    public void purgeEncodedGraphCache() {
+        EncodedGraphCache cache = encodedGraphCache;
+        if (cache != null) {
+            cache.purge();
+        }
     }
 
     /**
@@ -492,20 +525,71 @@ public abstract class PartialEvaluator {
         plugins.clearInlineInvokePlugins();
         plugins.appendInlineInvokePlugin(replacements);
         plugins.appendInlineInvokePlugin(new ParsingInlineInvokePlugin(this, replacements, parsingInvocationPlugins, loopExplosionPlugin));
-        if (!getPolyglotOptionValue(request.options, PrintExpansionHistogram)) {
+        boolean printExpansionHistogram = getPolyglotOptionValue(request.options, PrintExpansionHistogram);
+        if (!printExpansionHistogram) {
             plugins.appendInlineInvokePlugin(new InlineDuringParsingPlugin());
         }
 
         DeoptimizeOnExceptionPhase postParsingPhase = new DeoptimizeOnExceptionPhase(
                         method -> TruffleCompilerRuntime.getRuntime().getInlineKind(method, true) == InlineKind.DO_NOT_INLINE_WITH_SPECULATIVE_EXCEPTION);
 
-        Providers compilationUnitProviders = providers.copyWith(new TruffleConstantFieldProvider(providers.getConstantFieldProvider(), providers.getMetaAccess()));
+        TruffleConstantFieldProvider constantFieldProvider = new TruffleConstantFieldProvider(providers.getConstantFieldProvider(), providers.getMetaAccess());
+        Providers compilationUnitProviders = providers.copyWith(constantFieldProvider);
+        EncodedGraphCache sharedGraphCache = encodedGraphCache;
+        if (sharedGraphCache != null && request.graph.getAssumptions() != null && !printExpansionHistogram) {
+            return new SharedGraphCachingPEGraphDecoder(architecture, request.graph, compilationUnitProviders, newConfig, TruffleCompilerImpl.Optimizations,
+                            AllowAssumptions.YES,
+                            loopExplosionPlugin, decodingInvocationPlugins, inlineInvokePlugins, parameterPlugin, nodePluginList, callInlined, inlinedPERoot,
+                            sourceLanguagePositionProvider, postParsingPhase, graphCache, sharedGraphCache, constantFieldProvider);
+        }
         return new CachingPEGraphDecoder(architecture, request.graph, compilationUnitProviders, newConfig, TruffleCompilerImpl.Optimizations,
                         AllowAssumptions.ifNonNull(request.graph.getAssumptions()),
                         loopExplosionPlugin, decodingInvocationPlugins, inlineInvokePlugins, parameterPlugin, nodePluginList, callInlined, inlinedPERoot,
                         sourceLanguagePositionProvider, postParsingPhase, graphCache);
     }
 
+    /**
+     * A {@link CachingPEGraphDecoder} that consults the {@link EncodedGraphCache} shared between
+     * compilations before parsing a method that is missing from its per-compilation graph cache.
+     * Graphs for the shared cache are parsed without folding {@code @CompilationFinal} values,
+     * since those may change before another compilation decodes the graph; the decoder folds them
+     * for the current compilation instead.
+     */
+    private static final class SharedGraphCachingPEGraphDecoder extends CachingPEGraphDecoder {
+
+        private final EncodedGraphCache sharedGraphCache;
+        private final TruffleConstantFieldProvider constantFieldProvider;
+
+        SharedGraphCachingPEGraphDecoder(Architecture architecture, StructuredGraph graph, Providers providers, GraphBuilderConfiguration graphBuilderConfig,
+                        OptimisticOptimizations optimisticOpts, AllowAssumptions allowAssumptions, LoopExplosionPlugin loopExplosionPlugin, InvocationPlugins invocationPlugins,
+                        InlineInvokePlugin[] inlineInvokePlugins, ParameterPlugin parameterPlugin, NodePlugin[] nodePlugins, ResolvedJavaMethod peRootForInlining,
+                        ResolvedJavaMethod peRootForAgnosticInlining, SourceLanguagePositionProvider sourceLanguagePositionProvider, BasePhase<? super CoreProviders> postParsingPhase,
+                        EconomicMap<ResolvedJavaMethod, EncodedGraph> graphCache, EncodedGraphCache sharedGraphCache, TruffleConstantFieldProvider constantFieldProvider) {
+            super(architecture, graph, providers, graphBuilderConfig, optimisticOpts, allowAssumptions, loopExplosionPlugin, invocationPlugins, inlineInvokePlugins, parameterPlugin,
+                            nodePlugins, peRootForInlining, peRootForAgnosticInlining, sourceLanguagePositionProvider, postParsingPhase, graphCache);
+            this.sharedGraphCache = sharedGraphCache;
+            this.constantFieldProvider = constantFieldProvider;
+        }
+
+        @Override
+        protected EncodedGraph createGraph(ResolvedJavaMethod method, MethodSubstitutionPlugin plugin, BytecodeProvider intrinsicBytecodeProvider, boolean isSubstitution) {
+            if (isSubstitution || plugin != null || intrinsicBytecodeProvider != null) {
+                return super.createGraph(method, plugin, intrinsicBytecodeProvider, isSubstitution);
+            }
+            EncodedGraph result = sharedGraphCache.get(method, debug);
+            if (result == null) {
+                constantFieldProvider.setFoldCompilationFinalValues(false);
+                try {
+                    result = super.createGraph(method, plugin, intrinsicBytecodeProvider, isSubstitution);
+                } finally {
+                    constantFieldProvider.setFoldCompilationFinalValues(true);
+                }
+                sharedGraphCache.put(method, result, debug);
+            }
+            return result;
+        }
+    }
+
     public void doGraphPE(Request request, InlineInvokePlugin inlineInvokePlugin, EconomicMap<ResolvedJavaMethod, EncodedGraph> graphCache) {
         LoopExplosionPlugin loopExplosionPlugin = new PELoopExplosionPlugin();
         ParameterPlugin parameterPlugin = new InterceptReceiverPlugin(request.compilable);
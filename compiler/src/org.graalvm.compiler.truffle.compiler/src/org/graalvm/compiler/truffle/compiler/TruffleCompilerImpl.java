@@ -676,6 +676,13 @@ public abstract class TruffleCompilerImpl implements TruffleCompilerBase {
          */
         private final List<Consumer<OptimizedAssumptionDependency>> optimizedAssumptions = new ArrayList<>();
 
+        /**
+         * Set if installation is abandoned because a Truffle assumption was invalidated during
+         * compilation. Encoded graphs never embed Truffle assumptions, so this is the one install
+         * failure that does not require purging the shared encoded graph cache.
+         */
+        private boolean truffleAssumptionInvalidated;
+
         @Override
         public void preProcess(CompilationResult result) {
             if (result == null || result.getAssumptions() == null) {
@@ -692,6 +699,7 @@ public abstract class TruffleCompilerImpl implements TruffleCompilerBase {
                         // for the code that it will never be installed
                         notifyAssumptions(null);
 
+                        truffleAssumptionInvalidated = true;
                         throw new RetryableBailoutException("Assumption invalidated while compiling code: %s", truffleAssumption);
                     }
                     optimizedAssumptions.add(dep);
@@ -749,6 +757,11 @@ public abstract class TruffleCompilerImpl implements TruffleCompilerBase {
         @Override
         public void installFailed(Throwable t) {
             notifyAssumptions(null);
+            if (!truffleAssumptionInvalidated) {
+                // Cached graphs may carry assumptions that no longer hold or
+                // inline methods that have since been redefined.
+                partialEvaluator.purgeEncodedGraphCache();
+            }
         }
 
         private void notifyAssumptions(OptimizedAssumptionDependency dependency) {
@@ -38,6 +38,7 @@ public class TruffleConstantFieldProvider implements ConstantFieldProvider {
     private final ConstantFieldProvider graalConstantFieldProvider;
     private final MetaAccessProvider metaAccess;
     private final EconomicMap<ResolvedJavaField, ConstantFieldInfo> cachedConstantFieldInfo;
+    private boolean foldCompilationFinalValues = true;
 
     public TruffleConstantFieldProvider(ConstantFieldProvider graalConstantFieldProvider, MetaAccessProvider metaAccess) {
         this.graalConstantFieldProvider = graalConstantFieldProvider;
@@ -45,6 +46,16 @@ public class TruffleConstantFieldProvider implements ConstantFieldProvider {
         this.cachedConstantFieldInfo = EconomicMap.create();
     }
 
+    /**
+     * Controls whether values that may still change, i.e. non-final {@code @CompilationFinal}
+     * fields and the elements of {@code @CompilationFinal} arrays, may be folded. Graphs shared
+     * between compilations must not embed such values; the loads are folded when the graph is
+     * decoded into a particular compilation instead.
+     */
+    void setFoldCompilationFinalValues(boolean value) {
+        this.foldCompilationFinalValues = value;
+    }
+
     @Override
     public <T> T readConstantField(ResolvedJavaField field, ConstantFieldTool<T> tool) {
         boolean isStaticField = field.isStatic();
@@ -52,6 +63,9 @@ public class TruffleConstantFieldProvider implements ConstantFieldProvider {
             // can't be optimized
             return null;
         }
+        if (!foldCompilationFinalValues) {
+            return readConstantFieldFast(field, tool);
+        }
 
         boolean isArrayField = field.getType().isArray();
         if (!isArrayField) {
@@ -86,6 +86,7 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
     private final boolean intrinsifyAccessors;
     private final JavaKind[] frameSlotKinds;
     private final int frameSize;
+    private final int tagArraySize;
 
     private final SpeculationReason intrinsifyAccessorsSpeculation;
 
@@ -158,9 +159,18 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
         JavaConstant slotArray = constantReflection.readFieldValue(types.fieldArrayListElementData, slotArrayList);
         final int slotsArrayLength = constantReflection.readArrayLength(slotArray);
         final int frameLength = constantReflection.readFieldValue(types.fieldFrameDescriptorSize, frameDescriptor).asInt();
+        JavaConstant indexedSlotTags = constantReflection.readFieldValue(types.fieldFrameDescriptorIndexedSlotTags, frameDescriptor);
+        final int indexedSlotCount = constantReflection.readArrayLength(indexedSlotTags);
 
-        JavaKind[] frameSlotKindsCandidate = new JavaKind[frameLength];
-        int limit = -1;
+        /*
+         * Indexed slots occupy the first indices of the frame. Their number is fixed, only their
+         * kinds can change, which is covered by the version assumption.
+         */
+        JavaKind[] frameSlotKindsCandidate = new JavaKind[Math.max(frameLength, indexedSlotCount)];
+        for (int i = 0; i < indexedSlotCount; i++) {
+            frameSlotKindsCandidate[i] = asJavaKind(constantReflection.readArrayElement(indexedSlotTags, i));
+        }
+        int limit = indexedSlotCount - 1;
         for (int i = 0; i < slotsArrayLength; i++) {
             JavaConstant slot = constantReflection.readArrayElement(slotArray, i);
             if (slot.isNonNull()) {
@@ -170,7 +180,7 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
                     final JavaKind kind = asJavaKind(constantReflection.readFieldValue(types.fieldFrameSlotKindTag, slotKind));
                     final int index = slotIndex.asInt();
                     limit = Math.max(index, limit);
-                    if (index >= frameLength) {
+                    if (index >= frameSlotKindsCandidate.length) {
                         /*
                          * Since the size and slotArrayList of the FrameDescriptor are read
                          * asynchronously we have to defensively check that we did not get old size
@@ -187,6 +197,12 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
         }
         this.frameSlotKinds = frameSlotKindsCandidate;
         this.frameSize = limit + 1;
+        /*
+         * Frames with only static slots do not need tags, so we can omit the tag array. This also
+         * shrinks the frame if it is materialized.
+         */
+        boolean staticLayout = constantReflection.readFieldValue(types.fieldFrameDescriptorStaticLayout, frameDescriptor).asBoolean();
+        this.tagArraySize = staticLayout && frameSize == indexedSlotCount ? 0 : frameSize;
 
         ResolvedJavaType frameType = types.classFrameClass;
         ResolvedJavaField[] frameFields = frameType.getInstanceFields(true);
@@ -198,7 +214,7 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
         this.virtualFrameObjectArray = graph.add(new VirtualArrayNode((ResolvedJavaType) localsField.getType().getComponentType(), frameSize));
         if (primitiveLocalsField != null) {
             this.virtualFramePrimitiveArray = graph.add(new VirtualArrayNode((ResolvedJavaType) primitiveLocalsField.getType().getComponentType(), frameSize));
-            this.virtualFrameTagArray = graph.add(new VirtualArrayNode((ResolvedJavaType) tagsField.getType().getComponentType(), frameSize));
+            this.virtualFrameTagArray = graph.add(new VirtualArrayNode((ResolvedJavaType) tagsField.getType().getComponentType(), tagArraySize));
         }
 
         ValueNode[] c = new ValueNode[TruffleCompilerRuntime.getRuntime().getFrameSlotKindTagsCount()];
@@ -250,7 +266,7 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
 
         ValueNode[] objectArrayEntryState = new ValueNode[frameSize];
         ValueNode[] primitiveArrayEntryState = new ValueNode[frameSize];
-        ValueNode[] tagArrayEntryState = new ValueNode[frameSize];
+        ValueNode[] tagArrayEntryState = new ValueNode[tagArraySize];
 
         if (frameSize > 0) {
             Arrays.fill(objectArrayEntryState, frameDefaultValue);
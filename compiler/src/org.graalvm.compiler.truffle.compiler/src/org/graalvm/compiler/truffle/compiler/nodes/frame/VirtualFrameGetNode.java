@@ -49,8 +49,19 @@ import org.graalvm.compiler.truffle.common.TruffleCompilerRuntime;
 public final class VirtualFrameGetNode extends VirtualFrameAccessorNode implements Virtualizable {
     public static final NodeClass<VirtualFrameGetNode> TYPE = NodeClass.create(VirtualFrameGetNode.class);
 
+    private final boolean staticAccess;
+
     public VirtualFrameGetNode(Receiver frame, int frameSlotIndex, JavaKind accessKind, int accessTag) {
+        this(frame, frameSlotIndex, accessKind, accessTag, false);
+    }
+
+    /**
+     * @param staticAccess if <code>true</code>, the access is to a static slot and does not check
+     *            the tag of the slot
+     */
+    public VirtualFrameGetNode(Receiver frame, int frameSlotIndex, JavaKind accessKind, int accessTag, boolean staticAccess) {
         super(TYPE, StampFactory.forKind(accessKind), frame, frameSlotIndex, accessTag);
+        this.staticAccess = staticAccess;
     }
 
     @Override
@@ -59,7 +70,16 @@ public final class VirtualFrameGetNode extends VirtualFrameAccessorNode implemen
         ValueNode dataAlias = tool.getAlias(
                         TruffleCompilerRuntime.getRuntime().getJavaKindForFrameSlotKind(accessTag) == JavaKind.Object ? frame.virtualFrameObjectArray : frame.virtualFramePrimitiveArray);
 
-        if (tagAlias instanceof VirtualObjectNode && dataAlias instanceof VirtualObjectNode) {
+        if (staticAccess && dataAlias instanceof VirtualObjectNode) {
+            VirtualObjectNode dataVirtual = (VirtualObjectNode) dataAlias;
+            if (frameSlotIndex < dataVirtual.entryCount()) {
+                ValueNode dataEntry = tool.getEntry(dataVirtual, frameSlotIndex);
+                if (dataEntry.getStackKind() == getStackKind()) {
+                    tool.replaceWith(dataEntry);
+                    return;
+                }
+            }
+        } else if (tagAlias instanceof VirtualObjectNode && dataAlias instanceof VirtualObjectNode) {
             VirtualObjectNode tagVirtual = (VirtualObjectNode) tagAlias;
             VirtualObjectNode dataVirtual = (VirtualObjectNode) dataAlias;
 
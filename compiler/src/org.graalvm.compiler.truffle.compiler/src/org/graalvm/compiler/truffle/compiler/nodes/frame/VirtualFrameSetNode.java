@@ -46,9 +46,20 @@ public final class VirtualFrameSetNode extends VirtualFrameAccessorNode implemen
 
     @Input private ValueNode value;
 
+    private final boolean staticAccess;
+
     public VirtualFrameSetNode(Receiver frame, int frameSlotIndex, int accessTag, ValueNode value) {
+        this(frame, frameSlotIndex, accessTag, value, false);
+    }
+
+    /**
+     * @param staticAccess if <code>true</code>, the access is to a static slot and does not update
+     *            the tag of the slot
+     */
+    public VirtualFrameSetNode(Receiver frame, int frameSlotIndex, int accessTag, ValueNode value, boolean staticAccess) {
         super(TYPE, StampFactory.forVoid(), frame, frameSlotIndex, accessTag);
         this.value = value;
+        this.staticAccess = staticAccess;
     }
 
     @Override
@@ -57,7 +68,18 @@ public final class VirtualFrameSetNode extends VirtualFrameAccessorNode implemen
         ValueNode dataAlias = tool.getAlias(
                         TruffleCompilerRuntime.getRuntime().getJavaKindForFrameSlotKind(accessTag) == JavaKind.Object ? frame.virtualFrameObjectArray : frame.virtualFramePrimitiveArray);
 
-        if (tagAlias instanceof VirtualObjectNode && dataAlias instanceof VirtualObjectNode) {
+        if (staticAccess && dataAlias instanceof VirtualObjectNode) {
+            VirtualObjectNode dataVirtual = (VirtualObjectNode) dataAlias;
+            if (frameSlotIndex < dataVirtual.entryCount()) {
+                ValueNode dataEntry = tool.getEntry(dataVirtual, frameSlotIndex);
+                if (dataEntry.getStackKind() == value.getStackKind()) {
+                    if (tool.setVirtualEntry(dataVirtual, frameSlotIndex, value, value.getStackKind(), -1)) {
+                        tool.delete();
+                        return;
+                    }
+                }
+            }
+        } else if (tagAlias instanceof VirtualObjectNode && dataAlias instanceof VirtualObjectNode) {
             VirtualObjectNode tagVirtual = (VirtualObjectNode) tagAlias;
             VirtualObjectNode dataVirtual = (VirtualObjectNode) dataAlias;
 
@@ -46,6 +46,8 @@ public class KnownTruffleTypes extends AbstractKnownTruffleTypes {
     public final ResolvedJavaField fieldFrameDescriptorMaterializeCalled = findField(classFrameDescriptor, "materializeCalled");
     public final ResolvedJavaField fieldFrameDescriptorSlots = findField(classFrameDescriptor, "slots");
     public final ResolvedJavaField fieldFrameDescriptorSize = findField(classFrameDescriptor, "size");
+    public final ResolvedJavaField fieldFrameDescriptorIndexedSlotTags = findField(classFrameDescriptor, "indexedSlotTags");
+    public final ResolvedJavaField fieldFrameDescriptorStaticLayout = findField(classFrameDescriptor, "staticLayout");
 
     public final ResolvedJavaField fieldArrayListElementData = findField(lookupType(ArrayList.class), "elementData");
 
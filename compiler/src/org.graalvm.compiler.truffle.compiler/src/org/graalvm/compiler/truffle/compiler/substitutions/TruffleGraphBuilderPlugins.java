@@ -448,18 +448,21 @@ public class TruffleGraphBuilderPlugins {
         registerFrameAccessors(r, JavaKind.Float, constantReflection, types);
         registerFrameAccessors(r, JavaKind.Boolean, constantReflection, types);
         registerFrameAccessors(r, JavaKind.Byte, constantReflection, types);
+        registerStaticFrameAccessors(r, JavaKind.Object);
+        registerStaticFrameAccessors(r, JavaKind.Long);
     }
 
     /**
-     * We intrinsify the getXxx, setXxx, and isXxx methods for all type tags. The intrinsic nodes
-     * are lightweight fixed nodes without a {@link FrameState}. No {@link FrameState} is important
-     * for partial evaluation performance, because creating and later on discarding FrameStates for
-     * the setXxx methods have a high compile time cost.
+     * We intrinsify the getXxx, setXxx, and isXxx methods for all type tags, both for
+     * {@code FrameSlot} and for indexed slot arguments. The intrinsic nodes are lightweight fixed
+     * nodes without a {@link FrameState}. No {@link FrameState} is important for partial evaluation
+     * performance, because creating and later on discarding FrameStates for the setXxx methods
+     * have a high compile time cost.
      *
      * Intrinsification requires the following conditions: (1) the accessed frame is directly the
-     * {@link NewFrameNode}, (2) the accessed FrameSlot is a constant, and (3) the FrameDescriptor
-     * was never materialized before. All three conditions together guarantee that the escape
-     * analysis can virtualize the access. The condition (3) is necessary because a possible
+     * {@link NewFrameNode}, (2) the accessed FrameSlot or slot index is a constant, and (3) the
+     * FrameDescriptor was never materialized before. All three conditions together guarantee that
+     * the escape analysis can virtualize the access. The condition (3) is necessary because a possible
      * materialization of the frame can prevent escape analysis - so in that case a FrameState for
      * setXxx methods is actually necessary since they stores can be state-changing memory
      * operations.
@@ -508,6 +511,97 @@ public class TruffleGraphBuilderPlugins {
                 return false;
             }
         });
+
+        r.register2("get" + nameSuffix, Receiver.class, int.class, new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver frameNode, ValueNode frameSlotNode) {
+                int frameSlotIndex = maybeGetConstantFrameSlotIndex(frameNode, frameSlotNode);
+                if (frameSlotIndex >= 0) {
+                    b.addPush(accessKind, new VirtualFrameGetNode(frameNode, frameSlotIndex, accessKind, accessTag));
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        r.register3("set" + nameSuffix, Receiver.class, int.class, accessKind == JavaKind.Object ? Object.class : accessKind.toJavaClass(), new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver frameNode, ValueNode frameSlotNode, ValueNode value) {
+                int frameSlotIndex = maybeGetConstantFrameSlotIndex(frameNode, frameSlotNode);
+                if (frameSlotIndex >= 0) {
+                    b.add(new VirtualFrameSetNode(frameNode, frameSlotIndex, accessTag, value));
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        r.register2("is" + nameSuffix, Receiver.class, int.class, new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver frameNode, ValueNode frameSlotNode) {
+                int frameSlotIndex = maybeGetConstantFrameSlotIndex(frameNode, frameSlotNode);
+                if (frameSlotIndex >= 0) {
+                    b.addPush(JavaKind.Boolean, new VirtualFrameIsNode(frameNode, frameSlotIndex, accessTag));
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Intrinsifies the accessors for {@code FrameSlotKind.Static} slots. Static accesses do not
+     * check or update the tag of the slot. Only the object and long accessors are intrinsified,
+     * {@code FrameWithoutBoxing} implements the static accessors of all other primitive kinds on
+     * top of the long accessors.
+     */
+    private static void registerStaticFrameAccessors(Registration r, JavaKind accessKind) {
+        TruffleCompilerRuntime runtime = TruffleCompilerRuntime.getRuntime();
+        int accessTag = runtime.getFrameSlotKindTagForJavaKind(accessKind);
+        String nameSuffix = accessKind.name() + "Static";
+        r.register2("get" + nameSuffix, Receiver.class, int.class, new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver frameNode, ValueNode frameSlotNode) {
+                int frameSlotIndex = maybeGetConstantFrameSlotIndex(frameNode, frameSlotNode);
+                if (frameSlotIndex >= 0) {
+                    b.addPush(accessKind, new VirtualFrameGetNode(frameNode, frameSlotIndex, accessKind, accessTag, true));
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        r.register3("set" + nameSuffix, Receiver.class, int.class, accessKind == JavaKind.Object ? Object.class : accessKind.toJavaClass(), new InvocationPlugin() {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver frameNode, ValueNode frameSlotNode, ValueNode value) {
+                int frameSlotIndex = maybeGetConstantFrameSlotIndex(frameNode, frameSlotNode);
+                if (frameSlotIndex >= 0) {
+                    b.add(new VirtualFrameSetNode(frameNode, frameSlotIndex, accessTag, value, true));
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Returns the index of an indexed slot if {@code frameSlotNode} is a constant index and the
+     * access to the frame can be intrinsified.
+     */
+    static int maybeGetConstantFrameSlotIndex(Receiver frameNode, ValueNode frameSlotNode) {
+        if (frameSlotNode.isConstant()) {
+            ValueNode frameNodeValue = frameNode.get(false);
+            if (frameNodeValue instanceof NewFrameNode) {
+                NewFrameNode newFrameNode = (NewFrameNode) frameNodeValue;
+                if (newFrameNode.getIntrinsifyAccessors()) {
+                    int index = frameSlotNode.asJavaConstant().asInt();
+                    if (newFrameNode.isValidSlotIndex(index)) {
+                        return index;
+                    }
+                }
+            }
+        }
+        return -1;
     }
 
     static int maybeGetConstantFrameSlotIndex(Receiver frameNode, ValueNode frameSlotNode, ConstantReflectionProvider constantReflection, KnownTruffleTypes types) {
@@ -418,6 +418,12 @@ public final class PolyglotCompilerOptions {
     @Option(help = "Ignore further truffle inlining decisions when the graph exceeded this many nodes.", category = OptionCategory.EXPERT)
     public static final OptionKey<Integer> MaximumInlineNodeCount = new OptionKey<>(150000);
 
+    @Option(help = "Share encoded graphs of Java methods between Truffle compilations.", category = OptionCategory.EXPERT)
+    public static final OptionKey<Boolean> EncodedGraphCache = new OptionKey<>(true);
+
+    @Option(help = "Maximum number of encoded graphs shared between Truffle compilations.", category = OptionCategory.EXPERT)
+    public static final OptionKey<Integer> EncodedGraphCacheCapacity = new OptionKey<>(4096);
+
     @Option(help = "Exclude assertion code from Truffle compilations", category = OptionCategory.EXPERT)
     public static final OptionKey<Boolean> ExcludeAssertions = new OptionKey<>(true);
 
@@ -58,6 +58,7 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
     public static final byte FLOAT_TAG = 5;
     public static final byte BOOLEAN_TAG = 6;
     public static final byte BYTE_TAG = 7;
+    public static final byte STATIC_TAG = 8;
 
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
     private static final long[] EMPTY_LONG_ARRAY = {};
@@ -65,6 +66,12 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
 
     private static final Unsafe UNSAFE = initUnsafe();
 
+    /*
+     * Resolved once, such that allocating a frame does not need to look up the runtime to query
+     * the layout of its descriptor.
+     */
+    private static final GraalTVMCI TVMCI = ((GraalTruffleRuntime) Truffle.getRuntime()).getTvmci();
+
     static {
         assert OBJECT_TAG == FrameSlotKind.Object.tag;
         assert ILLEGAL_TAG == FrameSlotKind.Illegal.tag;
@@ -74,6 +81,7 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         assert FLOAT_TAG == FrameSlotKind.Float.tag;
         assert BOOLEAN_TAG == FrameSlotKind.Boolean.tag;
         assert BYTE_TAG == FrameSlotKind.Byte.tag;
+        assert STATIC_TAG == FrameSlotKind.Static.tag;
     }
 
     private static Unsafe initUnsafe() {
@@ -107,7 +115,11 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
                 Arrays.fill(locals, defaultValue);
             }
             this.primitiveLocals = new long[size];
-            this.tags = new byte[size];
+            /*
+             * Frames of descriptors with only static indexed slots do not need tags. The tag
+             * array is allocated lazily in case a tagged accessor is used nonetheless.
+             */
+            this.tags = size == descriptor.getNumberOfSlots() && TVMCI.isFrameStaticLayout(descriptor) ? EMPTY_BYTE_ARRAY : new byte[size];
         }
     }
 
@@ -328,6 +340,14 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         }
     }
 
+    private void checkStaticSlotIndex(int slotIndex) {
+        if (CompilerDirectives.inInterpreter() && slotIndex >= getLocals().length) {
+            if (!resize()) {
+                throw new IllegalArgumentException(String.format("The frame slot '%s' is not known by the frame descriptor.", slotIndex));
+            }
+        }
+    }
+
     private static long getPrimitiveOffset(int slotIndex) {
         return Unsafe.ARRAY_LONG_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_LONG_INDEX_SCALE;
     }
@@ -371,7 +391,7 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
     }
 
     private boolean resize() {
-        int oldSize = tags.length;
+        int oldSize = locals.length;
         int newSize = descriptor.getSize();
         if (newSize > oldSize) {
             locals = Arrays.copyOf(locals, newSize);
@@ -379,6 +399,10 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
             primitiveLocals = Arrays.copyOf(primitiveLocals, newSize);
             tags = Arrays.copyOf(tags, newSize);
             return true;
+        } else if (tags.length < oldSize) {
+            // the tags of a static layout frame are allocated on first use
+            tags = Arrays.copyOf(tags, oldSize);
+            return true;
         }
         return false;
     }
@@ -430,6 +454,253 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getTag(slot) == DOUBLE_TAG;
     }
 
+    @Override
+    public byte getTag(int slot) {
+        byte[] cachedTags = getTags();
+        if (slot < cachedTags.length) {
+            return cachedTags[slot];
+        }
+
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        resize();
+        return getTags()[slot];
+    }
+
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, OBJECT_TAG);
+        return getObjectUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        verifySet(slot, OBJECT_TAG);
+        setObjectUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return getTag(slot) == OBJECT_TAG;
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, BYTE_TAG);
+        return getByteUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        verifySet(slot, BYTE_TAG);
+        setByteUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return getTag(slot) == BYTE_TAG;
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, BOOLEAN_TAG);
+        return getBooleanUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        verifySet(slot, BOOLEAN_TAG);
+        setBooleanUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return getTag(slot) == BOOLEAN_TAG;
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, INT_TAG);
+        return getIntUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        verifySet(slot, INT_TAG);
+        setIntUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return getTag(slot) == INT_TAG;
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, LONG_TAG);
+        return getLongUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        verifySet(slot, LONG_TAG);
+        setLongUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return getTag(slot) == LONG_TAG;
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, FLOAT_TAG);
+        return getFloatUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        verifySet(slot, FLOAT_TAG);
+        setFloatUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return getTag(slot) == FLOAT_TAG;
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyGet(slot, DOUBLE_TAG);
+        return getDoubleUnsafe(slot, null, condition);
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        verifySet(slot, DOUBLE_TAG);
+        setDoubleUnsafe(slot, null, value);
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return getTag(slot) == DOUBLE_TAG;
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        if (CompilerDirectives.inInterpreter() && slot >= getTags().length) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            resize();
+        }
+        byte tag = getTags()[slot];
+        boolean condition = (tag == BOOLEAN_TAG);
+        if (condition) {
+            return getBooleanUnsafe(slot, null, condition);
+        }
+        condition = (tag == BYTE_TAG);
+        if (condition) {
+            return getByteUnsafe(slot, null, condition);
+        }
+        condition = (tag == INT_TAG);
+        if (condition) {
+            return getIntUnsafe(slot, null, condition);
+        }
+        condition = (tag == DOUBLE_TAG);
+        if (condition) {
+            return getDoubleUnsafe(slot, null, condition);
+        }
+        condition = (tag == LONG_TAG);
+        if (condition) {
+            return getLongUnsafe(slot, null, condition);
+        }
+        condition = (tag == FLOAT_TAG);
+        if (condition) {
+            return getFloatUnsafe(slot, null, condition);
+        }
+        condition = tag == OBJECT_TAG;
+        assert condition;
+        return getObjectUnsafe(slot, null, condition);
+    }
+
+    /*
+     * Static slots do not have a tag that tells the compiler which primitive kind is stored in a
+     * slot, so all primitive static values are stored as long values. The conversions are folded
+     * away by the compiler when the frame is virtual.
+     */
+
+    @Override
+    public Object getObjectStatic(int slot) {
+        checkStaticSlotIndex(slot);
+        return getObjectUnsafe(slot, null, true);
+    }
+
+    @Override
+    public void setObjectStatic(int slot, Object value) {
+        checkStaticSlotIndex(slot);
+        setObjectUnsafe(slot, null, value);
+    }
+
+    @Override
+    public byte getByteStatic(int slot) {
+        return (byte) getLongStatic(slot);
+    }
+
+    @Override
+    public void setByteStatic(int slot, byte value) {
+        setLongStatic(slot, value);
+    }
+
+    @Override
+    public boolean getBooleanStatic(int slot) {
+        return getLongStatic(slot) != 0;
+    }
+
+    @Override
+    public void setBooleanStatic(int slot, boolean value) {
+        setLongStatic(slot, value ? 1L : 0L);
+    }
+
+    @Override
+    public int getIntStatic(int slot) {
+        return (int) getLongStatic(slot);
+    }
+
+    @Override
+    public void setIntStatic(int slot, int value) {
+        setLongStatic(slot, value);
+    }
+
+    @Override
+    public long getLongStatic(int slot) {
+        checkStaticSlotIndex(slot);
+        return getLongUnsafe(slot, null, true);
+    }
+
+    @Override
+    public void setLongStatic(int slot, long value) {
+        checkStaticSlotIndex(slot);
+        setLongUnsafe(slot, null, value);
+    }
+
+    @Override
+    public float getFloatStatic(int slot) {
+        return Float.intBitsToFloat((int) getLongStatic(slot));
+    }
+
+    @Override
+    public void setFloatStatic(int slot, float value) {
+        setLongStatic(slot, Float.floatToRawIntBits(value));
+    }
+
+    @Override
+    public double getDoubleStatic(int slot) {
+        return Double.longBitsToDouble(getLongStatic(slot));
+    }
+
+    @Override
+    public void setDoubleStatic(int slot, double value) {
+        setLongStatic(slot, Double.doubleToRawLongBits(value));
+    }
+
     @SuppressWarnings({"unchecked", "unused"})
     private static <T> T unsafeCast(Object value, Class<T> type, boolean condition, boolean nonNull, boolean exact) {
         return (T) value;
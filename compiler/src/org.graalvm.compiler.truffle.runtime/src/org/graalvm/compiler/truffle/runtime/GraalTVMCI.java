@@ -115,6 +115,11 @@ final class GraalTVMCI extends TVMCI {
         return super.getFrameMaterializeCalled(descriptor);
     }
 
+    @Override
+    protected boolean isFrameStaticLayout(FrameDescriptor descriptor) {
+        return super.isFrameStaticLayout(descriptor);
+    }
+
     @Override
     public RootNode cloneUninitialized(RootNode root) {
         return super.cloneUninitialized(root);
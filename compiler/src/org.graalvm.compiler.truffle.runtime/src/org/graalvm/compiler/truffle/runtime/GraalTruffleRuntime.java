@@ -1022,7 +1022,7 @@ public abstract class GraalTruffleRuntime implements TruffleRuntime, TruffleComp
         if (frameSlotKindTag == FrameSlotKind.Object.tag) {
             return JavaKind.Object;
         }
-        if (frameSlotKindTag == FrameSlotKind.Illegal.tag) {
+        if (frameSlotKindTag == FrameSlotKind.Illegal.tag || frameSlotKindTag == FrameSlotKind.Static.tag) {
             return JavaKind.Illegal;
         }
         throw new IllegalArgumentException("Unknown FrameSlotKind tag: " + frameSlotKindTag);
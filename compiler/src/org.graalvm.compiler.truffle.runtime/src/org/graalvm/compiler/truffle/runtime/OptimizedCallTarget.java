@@ -54,6 +54,7 @@ import com.oracle.truffle.api.OptimizationFailedException;
 import com.oracle.truffle.api.ReplaceObserver;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.impl.Accessor.CallInlined;
@@ -503,6 +504,7 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
     private Object executeRootNode(VirtualFrame frame) {
         final boolean inCompiled = CompilerDirectives.inCompilationRoot();
         try {
+            TruffleSafepoint.poll(rootNode);
             return rootNode.execute(frame);
         } catch (ControlFlowException t) {
             throw rethrow(profileExceptionType(t));
@@ -25,6 +25,7 @@
 package org.graalvm.compiler.truffle.runtime;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.nodes.RepeatingNode;
@@ -56,6 +57,7 @@ public final class OptimizedLoopNode extends LoopNode {
         int loopCount = 0;
         try {
             while ((status = repeatingNode.executeRepeatingWithValue(frame)) == CONTINUE_LOOP_STATUS) {
+                TruffleSafepoint.poll(this);
                 if (CompilerDirectives.inInterpreter()) {
                     loopCount++;
                 }
@@ -31,6 +31,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.ReplaceObserver;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
@@ -132,6 +133,7 @@ public abstract class OptimizedOSRLoopNode extends LoopNode implements ReplaceOb
         } else {
             Object status;
             while ((status = repeatableNode.executeRepeatingWithValue(frame)) == CONTINUE_LOOP_STATUS) {
+                TruffleSafepoint.poll(this);
                 if (CompilerDirectives.inInterpreter()) {
                     // compiled method got invalidated. We might need OSR again.
                     return execute(frame);
@@ -146,6 +148,7 @@ public abstract class OptimizedOSRLoopNode extends LoopNode implements ReplaceOb
         try {
             Object status;
             while ((status = repeatableNode.executeRepeatingWithValue(frame)) == CONTINUE_LOOP_STATUS) {
+                TruffleSafepoint.poll(this);
                 // the baseLoopCount might be updated from a child loop during an iteration.
                 if (++iterations + baseLoopCount > osrThreshold) {
                     compileLoop(frame);
@@ -204,6 +207,7 @@ public abstract class OptimizedOSRLoopNode extends LoopNode implements ReplaceOb
                 }
 
                 iterations++;
+                TruffleSafepoint.poll(this);
 
             } while ((status = repeatableNode.executeRepeatingWithValue(frame)) == CONTINUE_LOOP_STATUS);
             return status;
@@ -413,6 +417,7 @@ public abstract class OptimizedOSRLoopNode extends LoopNode implements ReplaceOb
             VirtualFrame parentFrame = clazz.cast(frame.getArguments()[0]);
             Object status;
             while ((status = loopNode.getRepeatingNode().executeRepeatingWithValue(parentFrame)) == CONTINUE_LOOP_STATUS) {
+                TruffleSafepoint.poll(loopNode);
                 if (CompilerDirectives.inInterpreter()) {
                     return CONTINUE_LOOP_STATUS;
                 }
@@ -494,6 +499,7 @@ public abstract class OptimizedOSRLoopNode extends LoopNode implements ReplaceOb
             try {
                 Object status;
                 while ((status = loopNode.getRepeatingNode().executeRepeatingWithValue(loopFrame)) == CONTINUE_LOOP_STATUS) {
+                    TruffleSafepoint.poll(loopNode);
                     if (CompilerDirectives.inInterpreter()) {
                         return CONTINUE_LOOP_STATUS;
                     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.truffle.test;
+
+import org.graalvm.compiler.truffle.compiler.EncodedGraphCache;
+import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
+import org.graalvm.compiler.truffle.test.nodes.AbstractTestNode;
+import org.graalvm.compiler.truffle.test.nodes.RootTestNode;
+import org.graalvm.polyglot.Context;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+public class EncodedGraphCacheTest extends PartialEvaluationTest {
+
+    @Before
+    public void setup() {
+        setupContext(Context.newBuilder().allowExperimentalOptions(true).option("engine.CompileImmediately", "false").build());
+    }
+
+    public static Object constant1() {
+        return 1;
+    }
+
+    public static Object constant2() {
+        return 2;
+    }
+
+    @NodeInfo
+    static class StaticCompilationFinalNode extends AbstractTestNode {
+
+        @CompilationFinal static int value = 1;
+
+        @Override
+        public int execute(VirtualFrame frame) {
+            return value;
+        }
+    }
+
+    private static RootTestNode createRoot(String name) {
+        return new RootTestNode(new FrameDescriptor(), name, new StaticCompilationFinalNode());
+    }
+
+    private EncodedGraphCache getEncodedGraphCache(OptimizedCallTarget target) {
+        EncodedGraphCache cache = getTruffleCompiler(target).getPartialEvaluator().getEncodedGraphCache();
+        Assert.assertNotNull("encoded graph cache is enabled by default", cache);
+        return cache;
+    }
+
+    @Test
+    public void testGraphsSharedBetweenCompilations() {
+        OptimizedCallTarget first = (OptimizedCallTarget) Truffle.getRuntime().createCallTarget(createRoot("first"));
+        EncodedGraphCache cache = getEncodedGraphCache(first);
+        partialEval(first, new Object[0]);
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+        Assert.assertTrue(misses > 0);
+        Assert.assertTrue(cache.size() > 0);
+
+        OptimizedCallTarget second = (OptimizedCallTarget) Truffle.getRuntime().createCallTarget(createRoot("second"));
+        partialEval(second, new Object[0]);
+        Assert.assertTrue("second compilation must reuse encoded graphs", cache.getHits() > hits);
+        Assert.assertEquals("second compilation must not parse methods again", misses, cache.getMisses());
+    }
+
+    @Test
+    public void testPurge() {
+        OptimizedCallTarget target = (OptimizedCallTarget) Truffle.getRuntime().createCallTarget(createRoot("purge"));
+        EncodedGraphCache cache = getEncodedGraphCache(target);
+        partialEval(target, new Object[0]);
+        Assert.assertTrue(cache.size() > 0);
+        getTruffleCompiler(target).getPartialEvaluator().purgeEncodedGraphCache();
+        Assert.assertEquals(0, cache.size());
+
+        long misses = cache.getMisses();
+        partialEval(target, new Object[0]);
+        Assert.assertTrue("purged graphs must be parsed again", cache.getMisses() > misses);
+    }
+
+    /*
+     * The value of a static compilation final field may change between compilations, so it must
+     * not be baked into a graph shared between them.
+     */
+    @Test
+    public void testStaticCompilationFinalNotShared() {
+        int oldValue = StaticCompilationFinalNode.value;
+        try {
+            StaticCompilationFinalNode.value = 1;
+            assertPartialEvalEquals("constant1", createRoot("value1"));
+            StaticCompilationFinalNode.value = 2;
+            assertPartialEvalEquals("constant2", createRoot("value2"));
+        } finally {
+            StaticCompilationFinalNode.value = oldValue;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.virtual.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.graalvm.compiler.microbenchmarks.graal.GraalBenchmark;
+
+/**
+ * Measures objects that are passed to a call which is not inlined but only reads them. With
+ * {@code PartialEscapeAnalysisCallSummaries} the callee gets a copy and the object itself stays
+ * virtual, so the field reads after the call are folded.
+ */
+public class CallSummaryEscapeBench extends GraalBenchmark {
+
+    private static class Vector {
+        int x;
+        int y;
+
+        Vector(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Input {
+        int x = 3;
+        int y = 4;
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static int lengthSquared(Vector v) {
+        return v.x * v.x + v.y * v.y;
+    }
+
+    private static int readAfterCall(Input input) {
+        Vector v = new Vector(input.x, input.y);
+        int length = lengthSquared(v);
+        v.x += length;
+        return v.x + v.y;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 30)
+    public int benchReadAfterCall(Input input) {
+        return readAfterCall(input);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 30)
+    @Fork(jvmArgsAppend = "-Dgraal.PartialEscapeAnalysisCallSummaries=true")
+    public int benchReadAfterCallWithSummaries(Input input) {
+        return readAfterCall(input);
+    }
+}
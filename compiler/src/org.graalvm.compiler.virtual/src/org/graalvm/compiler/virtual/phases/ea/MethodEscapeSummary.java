@@ -0,0 +1,701 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.virtual.phases.ea;
+
+import static org.graalvm.compiler.bytecode.Bytecodes.AALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.AASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.ACONST_NULL;
+import static org.graalvm.compiler.bytecode.Bytecodes.ALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.ALOAD_0;
+import static org.graalvm.compiler.bytecode.Bytecodes.ALOAD_1;
+import static org.graalvm.compiler.bytecode.Bytecodes.ALOAD_2;
+import static org.graalvm.compiler.bytecode.Bytecodes.ALOAD_3;
+import static org.graalvm.compiler.bytecode.Bytecodes.ANEWARRAY;
+import static org.graalvm.compiler.bytecode.Bytecodes.ARETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.ARRAYLENGTH;
+import static org.graalvm.compiler.bytecode.Bytecodes.ASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.ASTORE_0;
+import static org.graalvm.compiler.bytecode.Bytecodes.ASTORE_1;
+import static org.graalvm.compiler.bytecode.Bytecodes.ASTORE_2;
+import static org.graalvm.compiler.bytecode.Bytecodes.ASTORE_3;
+import static org.graalvm.compiler.bytecode.Bytecodes.ATHROW;
+import static org.graalvm.compiler.bytecode.Bytecodes.BALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.BASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.CALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.CASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.CHECKCAST;
+import static org.graalvm.compiler.bytecode.Bytecodes.DALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.DASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.DRETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP2;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP2_X1;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP2_X2;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP_X1;
+import static org.graalvm.compiler.bytecode.Bytecodes.DUP_X2;
+import static org.graalvm.compiler.bytecode.Bytecodes.FALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.FASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.FRETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.GETFIELD;
+import static org.graalvm.compiler.bytecode.Bytecodes.GETSTATIC;
+import static org.graalvm.compiler.bytecode.Bytecodes.GOTO;
+import static org.graalvm.compiler.bytecode.Bytecodes.GOTO_W;
+import static org.graalvm.compiler.bytecode.Bytecodes.IALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.IASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFEQ;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFGE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFGT;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFLE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFLT;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFNE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFNONNULL;
+import static org.graalvm.compiler.bytecode.Bytecodes.IFNULL;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ACMPEQ;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ACMPNE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPEQ;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPGE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPGT;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPLE;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPLT;
+import static org.graalvm.compiler.bytecode.Bytecodes.IF_ICMPNE;
+import static org.graalvm.compiler.bytecode.Bytecodes.INSTANCEOF;
+import static org.graalvm.compiler.bytecode.Bytecodes.INVOKEINTERFACE;
+import static org.graalvm.compiler.bytecode.Bytecodes.INVOKESPECIAL;
+import static org.graalvm.compiler.bytecode.Bytecodes.INVOKESTATIC;
+import static org.graalvm.compiler.bytecode.Bytecodes.INVOKEVIRTUAL;
+import static org.graalvm.compiler.bytecode.Bytecodes.IRETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.LALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.LASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.LOOKUPSWITCH;
+import static org.graalvm.compiler.bytecode.Bytecodes.LRETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.MONITORENTER;
+import static org.graalvm.compiler.bytecode.Bytecodes.MONITOREXIT;
+import static org.graalvm.compiler.bytecode.Bytecodes.MULTIANEWARRAY;
+import static org.graalvm.compiler.bytecode.Bytecodes.NEW;
+import static org.graalvm.compiler.bytecode.Bytecodes.NEWARRAY;
+import static org.graalvm.compiler.bytecode.Bytecodes.PUTFIELD;
+import static org.graalvm.compiler.bytecode.Bytecodes.PUTSTATIC;
+import static org.graalvm.compiler.bytecode.Bytecodes.RETURN;
+import static org.graalvm.compiler.bytecode.Bytecodes.SALOAD;
+import static org.graalvm.compiler.bytecode.Bytecodes.SASTORE;
+import static org.graalvm.compiler.bytecode.Bytecodes.SWAP;
+import static org.graalvm.compiler.bytecode.Bytecodes.TABLESWITCH;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.Equivalence;
+import org.graalvm.compiler.bytecode.BytecodeLookupSwitch;
+import org.graalvm.compiler.bytecode.BytecodeStream;
+import org.graalvm.compiler.bytecode.BytecodeSwitch;
+import org.graalvm.compiler.bytecode.BytecodeTableSwitch;
+import org.graalvm.compiler.bytecode.Bytecodes;
+import org.graalvm.compiler.core.common.GraalOptions;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.options.OptionValues;
+
+import jdk.vm.ci.meta.ConstantPool;
+import jdk.vm.ci.meta.ExceptionHandler;
+import jdk.vm.ci.meta.JavaField;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaMethod;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.Signature;
+
+/**
+ * Describes how the parameters of a method (including the receiver, at index 0, for non-static
+ * methods) can escape when the method is called. The summary is computed by a flow-sensitive
+ * abstract interpretation of the method's bytecodes that tracks, for every local variable and
+ * stack slot, the set of parameters it may refer to.
+ *
+ * Partial escape analysis uses these summaries to decide whether a virtual object passed to a
+ * call that was not inlined needs to be materialized itself, or whether the callee can be given
+ * a copy.
+ */
+public final class MethodEscapeSummary {
+
+    private static final CounterKey COUNTER_SUMMARIES = DebugContext.counter("EscapeSummaries");
+    private static final CounterKey COUNTER_SUMMARIES_BAILOUT = DebugContext.counter("EscapeSummariesBailout");
+
+    /**
+     * Maximum depth of nested summaries computed for statically bound callees.
+     */
+    private static final int MAX_DEPTH = 3;
+
+    /**
+     * Methods with more parameters are not analyzed, since each parameter is one bit in a mask.
+     */
+    private static final int MAX_TRACKED_PARAMETERS = Integer.SIZE;
+
+    public enum EscapeState {
+        /**
+         * The parameter is not visible anywhere after the method returns.
+         */
+        NO_ESCAPE,
+        /**
+         * The parameter escapes to the caller only through the return value.
+         */
+        ARG_ESCAPE,
+        /**
+         * The parameter may be stored into the heap, thrown, locked or passed to code that is not
+         * analyzed.
+         */
+        GLOBAL_ESCAPE
+    }
+
+    private final EscapeState[] states;
+    private final boolean[] modified;
+
+    private MethodEscapeSummary(EscapeState[] states, boolean[] modified) {
+        this.states = states;
+        this.modified = modified;
+    }
+
+    private static MethodEscapeSummary allEscaping(int parameterCount) {
+        EscapeState[] states = new EscapeState[parameterCount];
+        boolean[] modified = new boolean[parameterCount];
+        Arrays.fill(states, EscapeState.GLOBAL_ESCAPE);
+        Arrays.fill(modified, true);
+        return new MethodEscapeSummary(states, modified);
+    }
+
+    public int getParameterCount() {
+        return states.length;
+    }
+
+    public EscapeState getEscapeState(int index) {
+        return states[index];
+    }
+
+    /**
+     * Determines whether the method may write to a field or an array element of the object passed
+     * as the given parameter.
+     */
+    public boolean isModified(int index) {
+        return modified[index];
+    }
+
+    /**
+     * Determines whether a caller can pass a copy of an object instead of the object itself: the
+     * callee neither retains nor modifies the parameter, so it cannot observe a difference.
+     */
+    public boolean canPassCopy(int index) {
+        return states[index] == EscapeState.NO_ESCAPE && !modified[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder("MethodEscapeSummary[");
+        for (int i = 0; i < states.length; i++) {
+            str.append(i == 0 ? "" : ", ").append(states[i]).append(modified[i] ? "(modified)" : "");
+        }
+        return str.append(']').toString();
+    }
+
+    private static int parameterCount(JavaMethod method, boolean hasReceiver) {
+        return method.getSignature().getParameterCount(false) + (hasReceiver ? 1 : 0);
+    }
+
+    /**
+     * Computes summaries on demand and caches them for the lifetime of this object, which is
+     * typically a single compilation.
+     */
+    public static final class Cache {
+
+        private final OptionValues options;
+        private final DebugContext debug;
+        private final EconomicMap<ResolvedJavaMethod, MethodEscapeSummary> summaries = EconomicMap.create(Equivalence.DEFAULT);
+
+        public Cache(OptionValues options, DebugContext debug) {
+            this.options = options;
+            this.debug = debug;
+        }
+
+        public MethodEscapeSummary getSummary(ResolvedJavaMethod method) {
+            return getSummary(method, 0);
+        }
+
+        private MethodEscapeSummary getSummary(ResolvedJavaMethod method, int depth) {
+            MethodEscapeSummary summary = summaries.get(method);
+            if (summary == null) {
+                if (depth > MAX_DEPTH) {
+                    return null;
+                }
+                int parameterCount = parameterCount(method, !method.isStatic());
+                // recursive calls see a conservative summary
+                summaries.put(method, allEscaping(parameterCount));
+                COUNTER_SUMMARIES.increment(debug);
+                if (method.hasBytecodes() && method.getCodeSize() <= GraalOptions.EscapeSummaryMaxBytecodeSize.getValue(options)) {
+                    summary = new Analyzer(this, method, depth).analyze();
+                }
+                if (summary == null) {
+                    COUNTER_SUMMARIES_BAILOUT.increment(debug);
+                    summary = allEscaping(parameterCount);
+                }
+                summaries.put(method, summary);
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * The abstract interpretation. Every local variable and stack slot holds a bit mask of the
+     * parameters it may refer to. Imprecision (e.g., masks that survive in a slot overwritten by a
+     * primitive) only makes the result more conservative.
+     */
+    private static final class Analyzer {
+
+        private final Cache cache;
+        private final ResolvedJavaMethod method;
+        private final int depth;
+        private final ConstantPool constantPool;
+        private final BytecodeStream stream;
+        private final ExceptionHandler[] handlers;
+        private final int maxLocals;
+
+        /**
+         * The states at the start of each instruction: locals, followed by the stack, followed by
+         * the stack pointer.
+         */
+        private final int[][] entryStates;
+        private final BitSet worklist = new BitSet();
+
+        private final int[] frame;
+        private int sp;
+
+        private final int parameterCount;
+        private int escaping;
+        private int returned;
+        private int modified;
+
+        Analyzer(Cache cache, ResolvedJavaMethod method, int depth) {
+            this.cache = cache;
+            this.method = method;
+            this.depth = depth;
+            this.constantPool = method.getConstantPool();
+            byte[] code = method.getCode();
+            this.stream = new BytecodeStream(code);
+            this.handlers = method.getExceptionHandlers();
+            this.maxLocals = method.getMaxLocals();
+            this.entryStates = new int[code.length][];
+            this.frame = new int[maxLocals + method.getMaxStackSize()];
+            this.parameterCount = parameterCount(method, !method.isStatic());
+        }
+
+        /**
+         * @return the summary, or {@code null} if the bytecodes cannot be analyzed
+         */
+        MethodEscapeSummary analyze() {
+            if (parameterCount > MAX_TRACKED_PARAMETERS) {
+                return null;
+            }
+            Signature signature = method.getSignature();
+            int slot = 0;
+            int index = 0;
+            if (!method.isStatic()) {
+                frame[slot++] = 1;
+                index++;
+            }
+            for (int i = 0; i < signature.getParameterCount(false); i++, index++) {
+                JavaKind kind = signature.getParameterKind(i);
+                if (kind == JavaKind.Object) {
+                    frame[slot] = 1 << index;
+                }
+                slot += kind.getSlotCount();
+            }
+            sp = maxLocals;
+            mergeInto(0);
+
+            // every instruction is revisited at most once per change of its entry state
+            int budget = entryStates.length * (parameterCount + 2);
+            for (int bci = worklist.nextSetBit(0); bci >= 0; bci = worklist.nextSetBit(0)) {
+                worklist.clear(bci);
+                if (--budget < 0) {
+                    return null;
+                }
+                int[] entry = entryStates[bci];
+                System.arraycopy(entry, 0, frame, 0, frame.length);
+                sp = entry[frame.length];
+                if (!interpret(bci)) {
+                    return null;
+                }
+            }
+
+            EscapeState[] states = new EscapeState[parameterCount];
+            boolean[] modifiedParameters = new boolean[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                int bit = 1 << i;
+                if ((escaping & bit) != 0) {
+                    states[i] = EscapeState.GLOBAL_ESCAPE;
+                } else if ((returned & bit) != 0) {
+                    states[i] = EscapeState.ARG_ESCAPE;
+                } else {
+                    states[i] = EscapeState.NO_ESCAPE;
+                }
+                modifiedParameters[i] = (modified & bit) != 0;
+            }
+            return new MethodEscapeSummary(states, modifiedParameters);
+        }
+
+        private void push(int mask) {
+            frame[sp++] = mask;
+        }
+
+        private void pushSlots(int count, int mask) {
+            for (int i = 0; i < count; i++) {
+                push(mask);
+            }
+        }
+
+        private int pop() {
+            return frame[--sp];
+        }
+
+        private int popSlots(int count) {
+            int mask = 0;
+            for (int i = 0; i < count; i++) {
+                mask |= pop();
+            }
+            return mask;
+        }
+
+        private boolean mergeInto(int bci) {
+            if (bci < 0 || bci >= entryStates.length) {
+                return false;
+            }
+            int[] entry = entryStates[bci];
+            if (entry == null) {
+                entry = Arrays.copyOf(frame, frame.length + 1);
+                entry[frame.length] = sp;
+                entryStates[bci] = entry;
+                worklist.set(bci);
+                return true;
+            }
+            if (entry[frame.length] != sp) {
+                return false;
+            }
+            boolean changed = false;
+            for (int i = 0; i < sp; i++) {
+                int merged = entry[i] | frame[i];
+                if (merged != entry[i]) {
+                    entry[i] = merged;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                worklist.set(bci);
+            }
+            return true;
+        }
+
+        private boolean mergeIntoHandlers(int bci) {
+            int savedSp = sp;
+            int savedTop = frame[maxLocals];
+            for (ExceptionHandler handler : handlers) {
+                if (handler.getStartBCI() <= bci && bci < handler.getEndBCI()) {
+                    sp = maxLocals;
+                    push(0);
+                    if (!mergeInto(handler.getHandlerBCI())) {
+                        return false;
+                    }
+                }
+            }
+            sp = savedSp;
+            frame[maxLocals] = savedTop;
+            return true;
+        }
+
+        private void escape(int mask) {
+            escaping |= mask;
+        }
+
+        private boolean interpret(int bci) {
+            if (!mergeIntoHandlers(bci)) {
+                return false;
+            }
+            stream.setBCI(bci);
+            int opcode = stream.currentBC();
+            switch (opcode) {
+                case ACONST_NULL:
+                case NEW:
+                    push(0);
+                    break;
+                case ALOAD:
+                    push(frame[stream.readLocalIndex()]);
+                    break;
+                case ALOAD_0:
+                case ALOAD_1:
+                case ALOAD_2:
+                case ALOAD_3:
+                    push(frame[opcode - ALOAD_0]);
+                    break;
+                case ASTORE:
+                    frame[stream.readLocalIndex()] = pop();
+                    break;
+                case ASTORE_0:
+                case ASTORE_1:
+                case ASTORE_2:
+                case ASTORE_3:
+                    frame[opcode - ASTORE_0] = pop();
+                    break;
+                case DUP: {
+                    int v1 = pop();
+                    push(v1);
+                    push(v1);
+                    break;
+                }
+                case DUP_X1: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    push(v1);
+                    push(v2);
+                    push(v1);
+                    break;
+                }
+                case DUP_X2: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    int v3 = pop();
+                    push(v1);
+                    push(v3);
+                    push(v2);
+                    push(v1);
+                    break;
+                }
+                case DUP2: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    push(v2);
+                    push(v1);
+                    push(v2);
+                    push(v1);
+                    break;
+                }
+                case DUP2_X1: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    int v3 = pop();
+                    push(v2);
+                    push(v1);
+                    push(v3);
+                    push(v2);
+                    push(v1);
+                    break;
+                }
+                case DUP2_X2: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    int v3 = pop();
+                    int v4 = pop();
+                    push(v2);
+                    push(v1);
+                    push(v4);
+                    push(v3);
+                    push(v2);
+                    push(v1);
+                    break;
+                }
+                case SWAP: {
+                    int v1 = pop();
+                    int v2 = pop();
+                    push(v1);
+                    push(v2);
+                    break;
+                }
+                case IALOAD:
+                case FALOAD:
+                case AALOAD:
+                case BALOAD:
+                case CALOAD:
+                case SALOAD:
+                    popSlots(2);
+                    push(0);
+                    break;
+                case LALOAD:
+                case DALOAD:
+                    popSlots(2);
+                    pushSlots(2, 0);
+                    break;
+                case AASTORE:
+                    escape(pop());
+                    popSlots(1);
+                    modified |= pop();
+                    break;
+                case IASTORE:
+                case FASTORE:
+                case BASTORE:
+                case CASTORE:
+                case SASTORE:
+                    popSlots(2);
+                    modified |= pop();
+                    break;
+                case LASTORE:
+                case DASTORE:
+                    popSlots(3);
+                    modified |= pop();
+                    break;
+                case GETSTATIC:
+                case GETFIELD: {
+                    JavaField field = constantPool.lookupField(stream.readCPI(), method, opcode);
+                    if (opcode == GETFIELD) {
+                        pop();
+                    }
+                    pushSlots(field.getJavaKind().getSlotCount(), 0);
+                    break;
+                }
+                case PUTSTATIC:
+                case PUTFIELD: {
+                    JavaField field = constantPool.lookupField(stream.readCPI(), method, opcode);
+                    escape(popSlots(field.getJavaKind().getSlotCount()));
+                    if (opcode == PUTFIELD) {
+                        modified |= pop();
+                    }
+                    break;
+                }
+                case INVOKEVIRTUAL:
+                case INVOKESPECIAL:
+                case INVOKESTATIC:
+                case INVOKEINTERFACE:
+                    processInvoke(opcode);
+                    break;
+                case NEWARRAY:
+                case ANEWARRAY:
+                case ARRAYLENGTH:
+                case INSTANCEOF:
+                    pop();
+                    push(0);
+                    break;
+                case MULTIANEWARRAY:
+                    popSlots(stream.readUByte(bci + 3));
+                    push(0);
+                    break;
+                case CHECKCAST:
+                    break;
+                case MONITORENTER:
+                case MONITOREXIT:
+                    escape(pop());
+                    break;
+                case ATHROW:
+                    escape(pop());
+                    return true;
+                case ARETURN:
+                    returned |= pop();
+                    return true;
+                case IRETURN:
+                case LRETURN:
+                case FRETURN:
+                case DRETURN:
+                case RETURN:
+                    return true;
+                case IFEQ:
+                case IFNE:
+                case IFLT:
+                case IFGE:
+                case IFGT:
+                case IFLE:
+                case IFNULL:
+                case IFNONNULL:
+                    pop();
+                    return mergeInto(stream.readBranchDest()) && mergeInto(stream.nextBCI());
+                case IF_ICMPEQ:
+                case IF_ICMPNE:
+                case IF_ICMPLT:
+                case IF_ICMPGE:
+                case IF_ICMPGT:
+                case IF_ICMPLE:
+                case IF_ACMPEQ:
+                case IF_ACMPNE:
+                    popSlots(2);
+                    return mergeInto(stream.readBranchDest()) && mergeInto(stream.nextBCI());
+                case GOTO:
+                case GOTO_W:
+                    return mergeInto(stream.readBranchDest());
+                case TABLESWITCH:
+                case LOOKUPSWITCH: {
+                    pop();
+                    BytecodeSwitch bs = opcode == TABLESWITCH ? new BytecodeTableSwitch(stream, bci) : new BytecodeLookupSwitch(stream, bci);
+                    for (int i = 0; i < bs.numberOfCases(); i++) {
+                        if (!mergeInto(bs.targetAt(i))) {
+                            return false;
+                        }
+                    }
+                    return mergeInto(bs.defaultTarget());
+                }
+                default:
+                    if (Bytecodes.isBranch(opcode) || Bytecodes.isInvoke(opcode) || opcode == Bytecodes.RET || opcode == Bytecodes.BREAKPOINT) {
+                        // jsr/ret, invokedynamic and unknown control flow are not supported
+                        return false;
+                    }
+                    int effect = Bytecodes.stackEffectOf(opcode);
+                    if (effect > 0) {
+                        pushSlots(effect, 0);
+                    } else {
+                        popSlots(-effect);
+                    }
+                    break;
+            }
+            return mergeInto(stream.nextBCI());
+        }
+
+        private void processInvoke(int opcode) {
+            JavaMethod target = constantPool.lookupMethod(stream.readCPI(), opcode);
+            Signature signature = target.getSignature();
+            boolean hasReceiver = opcode != INVOKESTATIC;
+            int[] arguments = new int[parameterCount(target, hasReceiver)];
+            for (int i = arguments.length - 1; i >= 0; i--) {
+                JavaKind kind = hasReceiver && i == 0 ? JavaKind.Object : signature.getParameterKind(i - (hasReceiver ? 1 : 0));
+                arguments[i] = popSlots(kind.getSlotCount());
+            }
+
+            MethodEscapeSummary summary = null;
+            if (target instanceof ResolvedJavaMethod) {
+                ResolvedJavaMethod resolved = (ResolvedJavaMethod) target;
+                if (opcode == INVOKESTATIC || opcode == INVOKESPECIAL || resolved.canBeStaticallyBound()) {
+                    summary = cache.getSummary(resolved, depth + 1);
+                }
+            }
+            int result = 0;
+            for (int i = 0; i < arguments.length; i++) {
+                if (summary == null) {
+                    escape(arguments[i]);
+                } else {
+                    EscapeState state = summary.getEscapeState(i);
+                    if (state == EscapeState.GLOBAL_ESCAPE) {
+                        escape(arguments[i]);
+                    } else if (state == EscapeState.ARG_ESCAPE) {
+                        result |= arguments[i];
+                    }
+                    if (summary.isModified(i)) {
+                        modified |= arguments[i];
+                    }
+                }
+            }
+            JavaKind returnKind = signature.getReturnKind();
+            pushSlots(returnKind.getSlotCount(), returnKind == JavaKind.Object ? result : 0);
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.graalvm.compiler.debug.CounterKey;
 import org.graalvm.compiler.debug.DebugContext;
 import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.graph.NodeBitMap;
+import org.graalvm.compiler.graph.NodeInputList;
 import org.graalvm.compiler.graph.Position;
 import org.graalvm.compiler.graph.spi.Canonicalizable;
 import org.graalvm.compiler.nodes.AbstractEndNode;
@@ -66,6 +67,7 @@ import org.graalvm.compiler.nodes.ValueProxyNode;
 import org.graalvm.compiler.nodes.VirtualState;
 import org.graalvm.compiler.nodes.VirtualState.NodeClosure;
 import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
 import org.graalvm.compiler.nodes.spi.LoweringProvider;
 import org.graalvm.compiler.nodes.spi.NodeWithState;
 import org.graalvm.compiler.nodes.spi.PlatformConfigurationProvider;
@@ -73,6 +75,7 @@ import org.graalvm.compiler.nodes.spi.Virtualizable;
 import org.graalvm.compiler.nodes.spi.VirtualizableAllocation;
 import org.graalvm.compiler.nodes.spi.VirtualizerTool;
 import org.graalvm.compiler.nodes.virtual.AllocatedObjectNode;
+import org.graalvm.compiler.nodes.virtual.LockState;
 import org.graalvm.compiler.nodes.virtual.VirtualObjectNode;
 import org.graalvm.compiler.virtual.nodes.VirtualObjectState;
 
@@ -80,6 +83,7 @@ import jdk.vm.ci.meta.ConstantReflectionProvider;
 import jdk.vm.ci.meta.JavaConstant;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.MetaAccessProvider;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
 
 public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockState<BlockT>> extends EffectsClosure<BlockT> {
 
@@ -89,6 +93,7 @@ public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockStat
     public static final CounterKey COUNTER_MATERIALIZATIONS_UNHANDLED = DebugContext.counter("MaterializationsUnhandled");
     public static final CounterKey COUNTER_MATERIALIZATIONS_LOOP_REITERATION = DebugContext.counter("MaterializationsLoopReiteration");
     public static final CounterKey COUNTER_MATERIALIZATIONS_LOOP_END = DebugContext.counter("MaterializationsLoopEnd");
+    public static final CounterKey COUNTER_MATERIALIZATIONS_CALL_ARGUMENT_COPY = DebugContext.counter("MaterializationsCallArgumentCopy");
     public static final CounterKey COUNTER_ALLOCATION_REMOVED = DebugContext.counter("AllocationsRemoved");
     public static final CounterKey COUNTER_MEMORYCHECKPOINT = DebugContext.counter("MemoryCheckpoint");
 
@@ -108,6 +113,24 @@ public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockStat
      */
     public final ArrayList<VirtualObjectNode> virtualObjects = new ArrayList<>();
 
+    /**
+     * Parameter escape summaries of call targets, or {@code null} if
+     * {@link GraalOptions#PartialEscapeAnalysisCallSummaries} is disabled.
+     */
+    private final MethodEscapeSummary.Cache escapeSummaries;
+
+    /**
+     * The blocks in which virtual objects were allocated. Only maintained if
+     * {@link #escapeSummaries} are used.
+     */
+    private final EconomicMap<VirtualObjectNode, Block> allocationBlocks;
+
+    /**
+     * The call target each virtual object was copied for. Copies are passed to at most one call
+     * per object, so that passing copies never costs more than one additional allocation.
+     */
+    private final EconomicMap<VirtualObjectNode, MethodCallTargetNode> copiedForCall;
+
     @Override
     public boolean needsApplyEffects() {
         if (hasChanged()) {
@@ -190,6 +213,15 @@ public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockStat
         super(schedule, schedule.getCFG());
         StructuredGraph graph = schedule.getCFG().graph;
         this.hasVirtualInputs = graph.createNodeBitMap();
+        if (GraalOptions.PartialEscapeAnalysisCallSummaries.getValue(graph.getOptions())) {
+            this.escapeSummaries = new MethodEscapeSummary.Cache(graph.getOptions(), debug);
+            this.allocationBlocks = EconomicMap.create(Equivalence.IDENTITY);
+            this.copiedForCall = EconomicMap.create(Equivalence.IDENTITY);
+        } else {
+            this.escapeSummaries = null;
+            this.allocationBlocks = null;
+            this.copiedForCall = null;
+        }
         this.tool = new VirtualizerToolImpl(metaAccess, constantReflection, constantFieldProvider, platformConfigurationProvider, this, graph.getAssumptions(), graph.getOptions(), debug,
                         loweringProvider);
     }
@@ -356,6 +388,11 @@ public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockStat
             if (input instanceof ValueNode) {
                 ValueNode alias = getAlias((ValueNode) input);
                 if (alias instanceof VirtualObjectNode) {
+                    if (escapeSummaries != null && node instanceof MethodCallTargetNode &&
+                                    passCopyToCall((MethodCallTargetNode) node, (ValueNode) input, (VirtualObjectNode) alias, insertBefore, state, effects)) {
+                        VirtualUtil.trace(node.getOptions(), debug, "passing copy of %s to %s", input, node);
+                        continue;
+                    }
                     int id = ((VirtualObjectNode) alias).getObjectId();
                     ensureMaterialized(state, id, insertBefore, effects, COUNTER_MATERIALIZATIONS_UNHANDLED);
                     effects.replaceFirstInput(node, input, state.getObjectState(id).getMaterializedValue());
@@ -368,6 +405,91 @@ public abstract class PartialEscapeClosure<BlockT extends PartialEscapeBlockStat
         }
     }
 
+    /**
+     * Passes a materialized copy of a virtual object to a call whose
+     * {@linkplain MethodEscapeSummary parameter escape summary} shows that the callee can neither
+     * modify nor retain the object, so that the object itself can stay virtual after the call.
+     * This is only done if the call is in the same loop as the allocation, so that the copy is
+     * not allocated more often than the original object would have been.
+     *
+     * @return true if a copy was passed, false if the object needs to be materialized
+     */
+    private boolean passCopyToCall(MethodCallTargetNode callTarget, ValueNode input, VirtualObjectNode virtual, FixedNode insertBefore, BlockT state, GraphEffectList effects) {
+        ObjectState objectState = state.getObjectState(virtual);
+        if (!objectState.isVirtual() || objectState.hasLocks()) {
+            return false;
+        }
+        MethodCallTargetNode previousCall = copiedForCall.get(virtual);
+        if (previousCall != null && previousCall != callTarget) {
+            return false;
+        }
+        ResolvedJavaMethod target = callTarget.targetMethod();
+        if (!callTarget.invokeKind().isDirect() && !target.canBeStaticallyBound()) {
+            return false;
+        }
+        int index = -1;
+        NodeInputList<ValueNode> arguments = callTarget.arguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            if (getAlias(arguments.get(i)) == virtual) {
+                if (index != -1) {
+                    // the callee could observe the difference between the copies
+                    return false;
+                }
+                index = i;
+            }
+        }
+        if (index == -1) {
+            return false;
+        }
+        for (ValueNode entry : objectState.getEntries()) {
+            if (entry instanceof VirtualObjectNode) {
+                return false;
+            }
+        }
+        for (int i = 0; i < state.getStateCount(); i++) {
+            ObjectState other = state.getObjectStateOptional(i);
+            if (other != null && other.isVirtual()) {
+                for (ValueNode entry : other.getEntries()) {
+                    if (entry == virtual) {
+                        return false;
+                    }
+                }
+            }
+        }
+        Block invokeBlock = cfg.blockFor(callTarget.invoke().asNode());
+        Block allocationBlock = allocationBlocks.get(virtual);
+        if (invokeBlock == null || allocationBlock == null || invokeBlock.getLoop() != allocationBlock.getLoop()) {
+            return false;
+        }
+        MethodEscapeSummary summary = escapeSummaries.getSummary(target);
+        if (summary.getParameterCount() != arguments.size() || !summary.canPassCopy(index)) {
+            return false;
+        }
+
+        copiedForCall.put(virtual, callTarget);
+        VirtualObjectNode copy = virtual.duplicate();
+        effects.addFloatingNode(copy, "callArgumentCopy");
+        int copyId = virtualObjects.size();
+        virtualObjects.add(copy);
+        copy.setObjectId(copyId);
+        state.addObject(copyId, new ObjectState(objectState.getEntries().clone(), (LockState) null, false));
+        ensureMaterialized(state, copyId, insertBefore, effects, COUNTER_MATERIALIZATIONS_CALL_ARGUMENT_COPY);
+        effects.replaceFirstInput(callTarget, input, state.getObjectState(copyId).getMaterializedValue());
+        return true;
+    }
+
+    /**
+     * Records the block in which a virtual object was allocated, if this information is needed.
+     */
+    void addAllocationSite(VirtualObjectNode virtual, ValueNode allocation) {
+        if (allocationBlocks != null && allocation.isAlive() && !cfg.getNodeToBlock().isNew(allocation)) {
+            Block block = cfg.blockFor(allocation);
+            if (block != null) {
+                allocationBlocks.put(virtual, block);
+            }
+        }
+    }
+
     private void processNodeWithState(NodeWithState nodeWithState, BlockT state, GraphEffectList effects) {
         for (FrameState fs : nodeWithState.states()) {
             FrameState frameState = getUniqueFramestate(nodeWithState, fs);
@@ -323,6 +323,7 @@ class VirtualizerToolImpl implements VirtualizerTool, CanonicalizerTool {
             id = closure.virtualObjects.size();
             closure.virtualObjects.add(virtualObject);
             virtualObject.setObjectId(id);
+            closure.addAllocationSite(virtualObject, current);
         }
         state.addObject(id, new ObjectState(entryState, locks, ensureVirtualized));
         closure.addVirtualAlias(virtualObject, virtualObject);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package micro.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks counted loops whose array bounds and null checks can be hoisted in front of the loop.
+ */
+@State(Scope.Thread)
+public class LoopPredicationBenchmark extends BenchmarkBase {
+
+    private static final int SIZE = 1024;
+
+    @Param({"1", "2"}) int stride;
+
+    private int[] src;
+    private int[] dst;
+    private int n;
+
+    @Setup
+    public void setup() {
+        src = new int[SIZE];
+        dst = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            src[i] = i;
+        }
+        n = SIZE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int sum() {
+        int[] a = src;
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            result += a[i];
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int sumStrided() {
+        int[] a = src;
+        int result = 0;
+        for (int i = 0; i < n; i += stride) {
+            result += a[i];
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] copyOffset() {
+        int[] a = src;
+        int[] b = dst;
+        for (int i = 0; i < n - 1; i++) {
+            b[i] = a[i + 1];
+        }
+        return b;
+    }
+}
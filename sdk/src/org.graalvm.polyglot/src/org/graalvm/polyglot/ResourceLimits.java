@@ -58,6 +58,8 @@ import java.util.function.Predicate;
  * <ul>
  * <li>{@link Builder#statementLimit(long, Predicate) Statement count} limit per context. Allows to
  * limit the amount of statements executed per context.
+ * <li>{@link Builder#allocationLimit(long, Duration) Allocation} limit per context. Allows to limit
+ * the amount of heap memory allocated by threads while they execute a context.
  * </ul>
  * <p>
  * <h3>Statement Limit Example</h3> <code>
@@ -114,6 +116,8 @@ public final class ResourceLimits {
         Predicate<Source> statementLimitSourceFilter;
         Duration timeLimit;
         Duration timeLimitAccuracy;
+        long allocationLimit;
+        Duration allocationLimitAccuracy;
         Consumer<ResourceLimitEvent> onLimit;
 
         Builder() {
@@ -239,6 +243,51 @@ public final class ResourceLimits {
             return this;
         }
 
+        /**
+         * Specifies the maximum number of bytes the threads of a context may allocate on the host
+         * heap until the onLimit event is notified and the context will be {@link Context#close()
+         * closed}. Allocations are accounted to a context only while a thread has the context
+         * entered. The allocated bytes of all threads are added and checked against the limit.
+         * After the allocation limit was triggered for a context, it is no longer usable and every
+         * use of the context will throw a {@link PolyglotException} that returns <code>true</code>
+         * for {@link PolyglotException#isCancelled()}. Invoking this method multiple times
+         * overwrites previous allocation limit configurations. If the allocation limit is exceeded
+         * then the {@link #onLimit(Consumer) onLimit} listener is notified.
+         * <p>
+         * By default there is no allocation limit applied. The limit may be set to 0 to disable
+         * it, in which case the accuracy is ignored. The provided limit must not be negative and
+         * the accuracy must be positive, otherwise an {@link IllegalArgumentException} is thrown.
+         * The minimal accuracy is 10 milliseconds, values below that will be rounded up.
+         * <p>
+         * The allocated bytes are sampled from the host VM by a separate high-priority thread with
+         * the given accuracy, so the execution of the context is not slowed down by the
+         * accounting. The limit bounds the bytes allocated, not the bytes retained. Memory that is
+         * allocated and collected again still counts towards the limit. Because the limit is
+         * checked periodically, a context may exceed it by the amount of memory it can allocate
+         * within the accuracy interval. The limit is therefore not a replacement for limiting the
+         * maximum heap size of the host VM.
+         * <p>
+         * The allocation limit is applied to the context and all inner contexts it spawns.
+         * Therefore, new inner contexts cannot be used to exceed the allocation limit. If the host
+         * VM does not support measuring the allocated bytes per thread, then an
+         * {@link UnsupportedOperationException} is thrown when the context is
+         * {@link Context.Builder#build() built}.
+         *
+         * @see ResourceLimits Example Usage
+         * @since 20.1
+         */
+        @SuppressWarnings("hiding")
+        public Builder allocationLimit(long limit, Duration accuracy) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("The allocation limit must not be negative.");
+            } else if (limit > 0 && (accuracy == null || accuracy.isNegative() || accuracy.isZero())) {
+                throw new IllegalArgumentException("Accuracy must not be null, negative or zero.");
+            }
+            this.allocationLimit = limit;
+            this.allocationLimitAccuracy = limit > 0 ? accuracy : null;
+            return this;
+        }
+
         /**
          * Notified when a resource limit is reached. Default is <code>null</code>. May be set to
          * <code>null</code> to disable events.
@@ -257,7 +306,7 @@ public final class ResourceLimits {
          * @since 19.3
          */
         public ResourceLimits build() {
-            return new ResourceLimits(Engine.getImpl().buildLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, onLimit));
+            return new ResourceLimits(Engine.getImpl().buildLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, allocationLimit, allocationLimitAccuracy, onLimit));
         }
     }
 }
@@ -42,6 +42,7 @@ package org.graalvm.polyglot;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -97,6 +98,14 @@ import org.graalvm.polyglot.proxy.Proxy;
  * <ul>
  * <li>{@link #hasArrayElements() Array Elements}: This value may contain array elements. The array
  * indices always start with <code>0</code>, also if the language uses a different style.
+ * <li>{@link #hasBufferElements() Buffer Elements}: This value may provide random access to raw
+ * bytes, for example a byte array or the memory of a WebAssembly module. Bytes can be copied in
+ * bulk using {@link #readBuffer(long, byte[], int, int)}.
+ * <li>{@link #hasIterator() Iterable} and {@link #isIterator() Iterator}: This value may provide
+ * an iterator over its elements, or be an iterator itself.
+ * <li>{@link #hasHashEntries() Hash Entries}: This value may map arbitrary keys to values, for
+ * example a Java map. Entries are accessible using {@link #getHashValue(Object)} and
+ * {@link #getHashEntriesIterator()}.
  * <li>{@link #hasMembers() Members}: This value may contain members. Members are structural
  * elements of an object. For example, the members of a Java object are all public methods and
  * fields. Members are accessible using {@link #getMember(String)}.
@@ -321,6 +330,447 @@ public final class Value {
         return impl.getArraySize(receiver);
     }
 
+    /**
+     * Returns <code>true</code> if this polyglot value provides random access to raw bytes by byte
+     * offset. In this case the bytes can be accessed using {@link #readBufferByte(long)},
+     * {@link #readBuffer(long, byte[], int, int)} and the typed read and write methods, and the
+     * size can be queried using {@link #getBufferSize()}. Buffer elements are independent of
+     * {@link #hasArrayElements() array elements}; a value may have both.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasBufferElements() {
+        return impl.hasBufferElements(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if the buffer of this value can be written to.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean isBufferWritable() {
+        return impl.isBufferWritable(receiver);
+    }
+
+    /**
+     * Returns the size of the buffer of this value in bytes.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long getBufferSize() {
+        return impl.getBufferSize(receiver);
+    }
+
+    /**
+     * Reads the byte at the given byte offset from the buffer of this value.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 1</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public byte readBufferByte(long byteOffset) {
+        return impl.readBufferByte(receiver, byteOffset);
+    }
+
+    /**
+     * Writes the given byte at the given byte offset into the buffer of this value.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 1</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferByte(long byteOffset, byte value) {
+        impl.writeBufferByte(receiver, byteOffset, value);
+    }
+
+    /**
+     * Reads the short value that starts at the given byte offset from the buffer of this value, using
+     * the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 2</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public short readBufferShort(ByteOrder order, long byteOffset) {
+        return impl.readBufferShort(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the given short value starting at the given byte offset into the buffer of this value,
+     * using the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 2</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferShort(ByteOrder order, long byteOffset, short value) {
+        impl.writeBufferShort(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the int value that starts at the given byte offset from the buffer of this value, using
+     * the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 4</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public int readBufferInt(ByteOrder order, long byteOffset) {
+        return impl.readBufferInt(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the given int value starting at the given byte offset into the buffer of this value,
+     * using the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 4</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferInt(ByteOrder order, long byteOffset, int value) {
+        impl.writeBufferInt(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the long value that starts at the given byte offset from the buffer of this value, using
+     * the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 8</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long readBufferLong(ByteOrder order, long byteOffset) {
+        return impl.readBufferLong(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the given long value starting at the given byte offset into the buffer of this value,
+     * using the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 8</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferLong(ByteOrder order, long byteOffset, long value) {
+        impl.writeBufferLong(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the float value that starts at the given byte offset from the buffer of this value, using
+     * the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 4</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public float readBufferFloat(ByteOrder order, long byteOffset) {
+        return impl.readBufferFloat(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the given float value starting at the given byte offset into the buffer of this value,
+     * using the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 4</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferFloat(ByteOrder order, long byteOffset, float value) {
+        impl.writeBufferFloat(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the double value that starts at the given byte offset from the buffer of this value, using
+     * the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 8</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public double readBufferDouble(ByteOrder order, long byteOffset) {
+        return impl.readBufferDouble(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the given double value starting at the given byte offset into the buffer of this value,
+     * using the given byte order. The access does not need to be aligned.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize()}<code> - 8</code>.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferDouble(ByteOrder order, long byteOffset, double value) {
+        impl.writeBufferDouble(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Copies <code>length</code> bytes starting at the given byte offset of the buffer of this
+     * value into the destination array. For buffers that are backed by a byte array or by native
+     * memory this is a single bulk copy, which is much faster than reading the bytes one by one.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code>, if
+     *             <code>byteOffset + length &gt; </code>{@link #getBufferSize()} or if the
+     *             destination range is out of bounds of the destination array.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) {
+        impl.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+    }
+
+    /**
+     * Copies <code>length</code> bytes from the source array into the buffer of this value,
+     * starting at the given byte offset. For buffers that are backed by a byte array or by native
+     * memory this is a single bulk copy, which is much faster than writing the bytes one by one.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasBufferElements() buffer elements} or is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IndexOutOfBoundsException if <code>byteOffset &lt; 0</code>, if
+     *             <code>byteOffset + length &gt; </code>{@link #getBufferSize()} or if the source
+     *             range is out of bounds of the source array.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) {
+        impl.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+    }
+
+    /**
+     * Returns <code>true</code> if this polyglot value provides an {@link #isIterator() iterator}
+     * over its elements. Iterating with an iterator avoids materializing all elements or keys of
+     * the value up front.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @see #getIterator()
+     * @since 20.1
+     */
+    public boolean hasIterator() {
+        return impl.hasIterator(receiver);
+    }
+
+    /**
+     * Returns a new iterator over the elements of this value. The returned value is an
+     * {@link #isIterator() iterator}.
+     *
+     * @throws UnsupportedOperationException if the value does not {@link #hasIterator() provide an
+     *             iterator}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getIterator() {
+        return impl.getIterator(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this polyglot value is an iterator. The elements of an iterator
+     * are accessed with {@link #hasIteratorNextElement()} and {@link #getIteratorNextElement()}.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean isIterator() {
+        return impl.isIterator(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this iterator has an element that was not yet returned by
+     * {@link #getIteratorNextElement()}. Does not advance the iterator.
+     *
+     * @throws UnsupportedOperationException if the value is not an {@link #isIterator() iterator}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasIteratorNextElement() {
+        return impl.hasIteratorNextElement(receiver);
+    }
+
+    /**
+     * Returns the next element of this iterator and advances the iterator.
+     *
+     * @throws UnsupportedOperationException if the value is not an {@link #isIterator() iterator}.
+     * @throws java.util.NoSuchElementException if the iterator does not have any more elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getIteratorNextElement() {
+        return impl.getIteratorNextElement(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this polyglot value has hash entries. Hash entries map
+     * arbitrary values as keys to values, for example the entries of a {@link java.util.Map Java
+     * map} or of a Python dictionary. Unlike {@link #hasMembers() members}, hash keys are not
+     * restricted to strings.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @see #getHashValue(Object)
+     * @see #getHashEntriesIterator()
+     * @since 20.1
+     */
+    public boolean hasHashEntries() {
+        return impl.hasHashEntries(receiver);
+    }
+
+    /**
+     * Returns the number of hash entries of this value.
+     *
+     * @throws UnsupportedOperationException if the value does not have any {@link #hasHashEntries()
+     *             hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long getHashSize() {
+        return impl.getHashSize(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this value has a hash entry for the given key. Returns
+     * <code>false</code> if the value does not have any {@link #hasHashEntries() hash entries}.
+     * The key is converted to a polyglot value as described in {@link Context#asValue(Object)}.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasHashEntry(Object key) {
+        return impl.hasHashEntry(receiver, key);
+    }
+
+    /**
+     * Returns the value mapped to the given key or <code>null</code> if there is no mapping for the
+     * key. The key is converted to a polyglot value as described in {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any {@link #hasHashEntries()
+     *             hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashValue(Object key) {
+        return impl.getHashValue(receiver, key);
+    }
+
+    /**
+     * Maps the given key to the given value, replacing an existing mapping for the key. The key and
+     * the value are converted to polyglot values as described in {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any {@link #hasHashEntries()
+     *             hash entries} or if the mapping cannot be written.
+     * @throws IllegalArgumentException if the key or the value is not accepted by the hash.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void putHashEntry(Object key, Object value) {
+        impl.putHashEntry(receiver, key, value);
+    }
+
+    /**
+     * Removes the mapping for the given key. Returns <code>true</code> if the mapping was removed
+     * and <code>false</code> if there was no mapping for the key.
+     *
+     * @throws UnsupportedOperationException if the value does not have any {@link #hasHashEntries()
+     *             hash entries} or if the mapping exists but cannot be removed.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean removeHashEntry(Object key) {
+        return impl.removeHashEntry(receiver, key);
+    }
+
+    /**
+     * Returns an {@link #isIterator() iterator} over the hash entries of this value. Every element
+     * of the iterator has two {@link #hasArrayElements() array elements}: the key at index
+     * <code>0</code> and the value at index <code>1</code>. Iterating the entries does not
+     * materialize the keys of the hash.
+     *
+     * @throws UnsupportedOperationException if the value does not have any {@link #hasHashEntries()
+     *             hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashEntriesIterator() {
+        return impl.getHashEntriesIterator(receiver);
+    }
+
     /**
      * Returns <code>true</code> if this value generally supports containing members. To check
      * whether a value has <i>no</i> members use
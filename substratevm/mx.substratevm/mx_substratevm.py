@@ -450,7 +450,7 @@ def native_image_context(common_args=None, hosted_assertions=True, native_image_
             mx.log(timestr() + 'Shutting down completed')
 
 native_image_context.hosted_assertions = ['-J-ea', '-J-esa']
-_native_unittest_features = '--features=com.oracle.svm.test.ImageInfoTest$TestFeature,com.oracle.svm.test.ServiceLoaderTest$TestFeature,com.oracle.svm.test.SecurityServiceTest$TestFeature'
+_native_unittest_features = '--features=com.oracle.svm.test.ImageInfoTest$TestFeature,com.oracle.svm.test.ServiceLoaderTest$TestFeature,com.oracle.svm.test.SecurityServiceTest$TestFeature,com.oracle.svm.test.IsolateImageHeapPoolTest$TestFeature'
 
 
 def svm_gate_body(args, tasks):
@@ -496,6 +496,12 @@ def svm_gate_body(args, tasks):
                     # We need the -H:+EnableAllSecurityServices for com.oracle.svm.test.SecurityServiceTest
                     native_unittest(['--build-args', _native_unittest_features, '-H:+EnableAllSecurityServices'] + blacklist_args)
 
+                if mx.get_os() == 'linux':
+                    # Isolates reuse the image heaps of torn-down isolates, which are reset on Linux
+                    native_unittest(['com.oracle.svm.test.IsolateImageHeapPoolTest', '--build-args', _native_unittest_features, '-H:+SpawnIsolates', '-H:IsolateImageHeapPoolSize=2'])
+                    # Run-time memory comes from one 4 GB address range per isolate, freed blocks must be merged
+                    native_unittest(['com.oracle.svm.test.CommittedMemoryReuseTest', '--build-args', _native_unittest_features, '-H:+SpawnIsolates', '-H:+Use32BitReferences'])
+
         with Task('Run Truffle NFI unittests with SVM image', tasks, tags=["svmjunit"]) as t:
             if t:
                 testlib = mx_subst.path_substitutions.substitute('-Dnative.test.lib=<path:truffle:TRUFFLE_TEST_NATIVE>/<lib:nativetest>')
@@ -24,13 +24,11 @@
  */
 package com.oracle.objectfile;
 
-import java.io.Closeable;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
-import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -51,7 +49,6 @@ import com.oracle.objectfile.elf.ELFObjectFile;
 import com.oracle.objectfile.macho.MachOObjectFile;
 import com.oracle.objectfile.pecoff.PECoffObjectFile;
 
-import sun.nio.ch.DirectBuffer;
 import org.graalvm.compiler.debug.DebugContext;
 
 /**
@@ -1222,20 +1219,57 @@ public abstract class ObjectFile {
     private final Map<Element, List<BuildDependency>> dependenciesByDependingElement = new IdentityHashMap<>();
     private final Map<Element, List<BuildDependency>> dependenciesByDependedOnElement = new IdentityHashMap<>();
 
-    @SuppressWarnings("try")
+    /**
+     * The maximum number of bytes passed to a single write of the output channel. Writing a heap
+     * byte array to a channel copies it into a temporary direct buffer of the same size, so large
+     * sections are written in chunks of this size.
+     */
+    private static final int WRITE_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Writes the object file by streaming the content of each element to its decided offset.
+     * Unlike mapping the whole output file, this does not require address space and page cache
+     * for the complete file at once.
+     */
     public final void write(FileChannel outputChannel) {
         List<Element> sortedObjectFileElements = new ArrayList<>();
         int totalSize = bake(sortedObjectFileElements);
         try {
-            ByteBuffer buffer = outputChannel.map(MapMode.READ_WRITE, 0, totalSize);
-            try (Closeable ignored = () -> ((DirectBuffer) buffer).cleaner().clean()) {
-                writeBuffer(sortedObjectFileElements, buffer);
-            }
+            writeChannel(sortedObjectFileElements, outputChannel, totalSize);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private void writeChannel(List<Element> sortedObjectFileElements, FileChannel outputChannel, int totalSize) throws IOException {
+        for (Element e : sortedObjectFileElements) {
+            int off = (int) decisionsTaken.get(e).getDecision(LayoutDecision.Kind.OFFSET).getValue();
+            assert off != Integer.MAX_VALUE; // not allowed any more -- this was a broken approach
+            int expectedSize = (int) decisionsTaken.get(e).getDecidedValue(LayoutDecision.Kind.SIZE);
+            byte[] content = (byte[]) decisionsTaken.get(e).getDecidedValue(LayoutDecision.Kind.CONTENT);
+            if (content.length != expectedSize) {
+                throw new IllegalStateException("For element " + e + ", expected size " + expectedSize + " but emitted size " + content.length);
+            }
+            for (int chunkStart = 0; chunkStart < content.length; chunkStart += WRITE_CHUNK_SIZE) {
+                ByteBuffer chunk = ByteBuffer.wrap(content, chunkStart, Math.min(WRITE_CHUNK_SIZE, content.length - chunkStart));
+                long position = (long) off + chunkStart;
+                while (chunk.hasRemaining()) {
+                    position += outputChannel.write(chunk, position);
+                }
+            }
+        }
+        /*
+         * Elements do not necessarily cover the end of the file, e.g., because of a minimum file
+         * size. Writing the last byte extends the file with zeros, as mapping it would.
+         */
+        if (outputChannel.size() < totalSize) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            while (lastByte.hasRemaining()) {
+                outputChannel.write(lastByte, totalSize - 1);
+            }
+        }
+    }
+
     /*
      * We keep track of what build dependencies have been created, so that the factory in
      * BuildDependency can query for duplicates. This logic is package-access: it is not needed by
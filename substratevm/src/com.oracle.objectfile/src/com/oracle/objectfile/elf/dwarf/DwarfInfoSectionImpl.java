@@ -116,6 +116,11 @@ public class DwarfInfoSectionImpl extends DwarfSectionImpl {
         int pos = 0;
 
         for (ClassEntry classEntry : getPrimaryClasses()) {
+            /*
+             * Save the offset of this file's CU so it can be used when writing the CUs in
+             * parallel and when writing the aranges section.
+             */
+            classEntry.setCUIndex(pos);
             int lengthPos = pos;
             pos = writeCUHeader(buffer, pos);
             assert pos == lengthPos + DW_DIE_HEADER_SIZE;
@@ -138,22 +143,35 @@ public class DwarfInfoSectionImpl extends DwarfSectionImpl {
 
         log(context, "  [0x%08x] DEBUG_INFO", pos);
         log(context, "  [0x%08x] size = 0x%08x", pos, size);
-        for (ClassEntry classEntry : getPrimaryClasses()) {
+        if (debug) {
             /*
-             * Save the offset of this file's CU so it can be used when writing the aranges section.
+             * Log output must appear in section order, so write the CUs sequentially.
              */
-            classEntry.setCUIndex(pos);
-            int lengthPos = pos;
-            pos = writeCUHeader(buffer, pos);
-            log(context, "  [0x%08x] Compilation Unit", pos, size);
-            assert pos == lengthPos + DW_DIE_HEADER_SIZE;
-            pos = writeCU(context, classEntry, buffer, pos);
+            for (ClassEntry classEntry : getPrimaryClasses()) {
+                assert pos == classEntry.getCUIndex();
+                pos = writeCompilationUnit(context, classEntry, buffer);
+            }
+            assert pos == size;
+        } else {
             /*
-             * Backpatch length at lengthPos (excluding length field).
+             * The offset of every CU was decided when sizing the section, so the CUs can be
+             * written in parallel into disjoint ranges of the buffer.
              */
-            patchLength(lengthPos, buffer, pos);
+            getPrimaryClasses().parallelStream().forEach(classEntry -> writeCompilationUnit(context, classEntry, buffer));
         }
-        assert pos == size;
+    }
+
+    private int writeCompilationUnit(DebugContext context, ClassEntry classEntry, byte[] buffer) {
+        int lengthPos = classEntry.getCUIndex();
+        int pos = writeCUHeader(buffer, lengthPos);
+        log(context, "  [0x%08x] Compilation Unit", pos, buffer.length);
+        assert pos == lengthPos + DW_DIE_HEADER_SIZE;
+        pos = writeCU(context, classEntry, buffer, pos);
+        /*
+         * Backpatch length at lengthPos (excluding length field).
+         */
+        patchLength(lengthPos, buffer, pos);
+        return pos;
     }
 
     private int writeCUHeader(byte[] buffer, int p) {
@@ -285,26 +285,44 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         enableLog(context, pos);
         log(context, "  [0x%08x] DEBUG_LINE", pos);
 
-        for (ClassEntry classEntry : getPrimaryClasses()) {
-            if (classEntry.getFileName().length() != 0) {
-                int startPos = pos;
-                assert classEntry.getLineIndex() == startPos;
-                log(context, "  [0x%08x] Compile Unit for %s", pos, classEntry.getFileName());
-                pos = writeHeader(classEntry, buffer, pos);
-                log(context, "  [0x%08x] headerSize = 0x%08x", pos, pos - startPos);
-                int dirTablePos = pos;
-                pos = writeDirTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] dirTableSize = 0x%08x", pos, pos - dirTablePos);
-                int fileTablePos = pos;
-                pos = writeFileTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] fileTableSize = 0x%08x", pos, pos - fileTablePos);
-                int lineNumberTablePos = pos;
-                pos = writeLineNumberTable(context, classEntry, buffer, pos);
-                log(context, "  [0x%08x] lineNumberTableSize = 0x%x", pos, pos - lineNumberTablePos);
-                log(context, "  [0x%08x] size = 0x%x", pos, pos - startPos);
+        if (debug) {
+            /*
+             * Log output must appear in section order, so write the CUs sequentially.
+             */
+            for (ClassEntry classEntry : getPrimaryClasses()) {
+                if (classEntry.getFileName().length() != 0) {
+                    assert classEntry.getLineIndex() == pos;
+                    pos = writeCompilationUnit(context, classEntry, buffer);
+                }
             }
+            assert pos == buffer.length;
+        } else {
+            /*
+             * The line index and size of every CU was decided when sizing the section, so the CUs
+             * can be written in parallel into disjoint ranges of the buffer.
+             */
+            getPrimaryClasses().parallelStream().filter(classEntry -> classEntry.getFileName().length() != 0).forEach(classEntry -> writeCompilationUnit(context, classEntry, buffer));
         }
-        assert pos == buffer.length;
+    }
+
+    private int writeCompilationUnit(DebugContext context, ClassEntry classEntry, byte[] buffer) {
+        int startPos = classEntry.getLineIndex();
+        int pos = startPos;
+        log(context, "  [0x%08x] Compile Unit for %s", pos, classEntry.getFileName());
+        pos = writeHeader(classEntry, buffer, pos);
+        log(context, "  [0x%08x] headerSize = 0x%08x", pos, pos - startPos);
+        int dirTablePos = pos;
+        pos = writeDirTable(context, classEntry, buffer, pos);
+        log(context, "  [0x%08x] dirTableSize = 0x%08x", pos, pos - dirTablePos);
+        int fileTablePos = pos;
+        pos = writeFileTable(context, classEntry, buffer, pos);
+        log(context, "  [0x%08x] fileTableSize = 0x%08x", pos, pos - fileTablePos);
+        int lineNumberTablePos = pos;
+        pos = writeLineNumberTable(context, classEntry, buffer, pos);
+        log(context, "  [0x%08x] lineNumberTableSize = 0x%x", pos, pos - lineNumberTablePos);
+        log(context, "  [0x%08x] size = 0x%x", pos, pos - startPos);
+        assert pos == startPos + classEntry.getTotalSize();
+        return pos;
     }
 
     private int writeHeader(ClassEntry classEntry, byte[] buffer, int p) {
@@ -419,6 +437,10 @@ public class DwarfLineSectionImpl extends DwarfSectionImpl {
         return pos;
     }
 
+    /*
+     * The debug state is only used for log output. It is meaningless when compilation units are
+     * written in parallel, which only happens when logging is disabled.
+     */
     private int debugLine = 1;
     private int debugCopyCount = 0;
 
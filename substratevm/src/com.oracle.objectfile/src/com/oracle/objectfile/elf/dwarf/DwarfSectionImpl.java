@@ -36,6 +36,7 @@ import com.oracle.objectfile.elf.ELFObjectFile;
 import org.graalvm.compiler.debug.DebugContext;
 
 import java.nio.ByteOrder;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -185,9 +186,13 @@ public abstract class DwarfSectionImpl extends BasicProgbitsSectionImpl {
     protected int putRelocatableCodeOffset(long l, byte[] buffer, int p) {
         int pos = p;
         /*
-         * Mark address so it is relocated relative to the start of the text segment.
+         * Mark address so it is relocated relative to the start of the text segment. Compilation
+         * units may be written in parallel, so updates of the relocation section are serialized.
+         * The relocation entries are sorted by offset, so the result does not depend on the order.
          */
-        markRelocationSite(pos, 8, ObjectFile.RelocationKind.DIRECT, TEXT_SECTION_NAME, false, Long.valueOf(l));
+        synchronized (this) {
+            markRelocationSite(pos, 8, ObjectFile.RelocationKind.DIRECT, TEXT_SECTION_NAME, false, Long.valueOf(l));
+        }
         pos = putLong(0, buffer, pos);
         return pos;
     }
@@ -391,7 +396,7 @@ public abstract class DwarfSectionImpl extends BasicProgbitsSectionImpl {
      */
     protected static final byte[] scratch = new byte[10];
 
-    protected Iterable<? extends ClassEntry> getPrimaryClasses() {
+    protected List<? extends ClassEntry> getPrimaryClasses() {
         return dwarfSections.getPrimaryClasses();
     }
 
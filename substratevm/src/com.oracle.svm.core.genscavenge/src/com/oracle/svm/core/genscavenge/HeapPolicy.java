@@ -40,6 +40,7 @@ import com.oracle.svm.core.heap.PhysicalMemory;
 import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicUnsigned;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.option.XOptions;
+import com.oracle.svm.core.os.AddressRangeCommittedMemoryProvider;
 import com.oracle.svm.core.util.UnsignedUtils;
 import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.core.util.VMError;
@@ -244,6 +245,15 @@ public class HeapPolicy {
     /** The maximum size of the heap as an UnsignedWord. */
     @SuppressWarnings("try")
     public static UnsignedWord getMaximumHeapSize() {
+        UnsignedWord result = getMaximumHeapSize0();
+        if (SubstrateOptions.Use32BitReferences.getValue()) {
+            /* All objects, including the image heap, must be within the reserved address range. */
+            result = UnsignedUtils.min(result, WordFactory.unsigned(AddressRangeCommittedMemoryProvider.RESERVED_ADDRESS_SPACE_SIZE));
+        }
+        return result;
+    }
+
+    private static UnsignedWord getMaximumHeapSize0() {
         if (maximumHeapSize.aboveThan(WordFactory.zero())) {
             /* If someone has set the maximum heap size, use that value. */
             return maximumHeapSize;
@@ -27,7 +27,9 @@ package com.oracle.svm.core.posix;
 import org.graalvm.nativeimage.ImageSingletons;
 import org.graalvm.nativeimage.hosted.Feature;
 
+import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.os.AddressRangeCommittedMemoryProvider;
 import com.oracle.svm.core.os.CommittedMemoryProvider;
 import com.oracle.svm.core.os.OSCommittedMemoryProvider;
 
@@ -36,7 +38,11 @@ class PosixOSCommittedMemoryProviderFeature implements Feature {
     @Override
     public void beforeAnalysis(BeforeAnalysisAccess access) {
         if (!ImageSingletons.contains(CommittedMemoryProvider.class)) {
-            ImageSingletons.add(CommittedMemoryProvider.class, new OSCommittedMemoryProvider());
+            if (SubstrateOptions.Use32BitReferences.getValue()) {
+                ImageSingletons.add(CommittedMemoryProvider.class, new AddressRangeCommittedMemoryProvider());
+            } else {
+                ImageSingletons.add(CommittedMemoryProvider.class, new OSCommittedMemoryProvider());
+            }
         }
     }
 }
@@ -276,6 +276,31 @@ public class LinuxImageHeapProvider implements ImageHeapProvider {
         return CEntryPointErrors.NO_ERROR;
     }
 
+    /**
+     * Resets the writable partition by mapping it copy-on-write from the image file again, which
+     * discards all modifications. The read-only partitions, including the relocatable partition,
+     * are never modified and are left in place. The image heap mapped by the loader for the first
+     * isolate cannot be reset this way.
+     */
+    @Override
+    @Uninterruptible(reason = "Called during isolate tear-down.")
+    public int resetImageHeap(PointerBase heapBase) {
+        assert Heap.getHeap().getImageHeapOffsetInAddressSpace() == 0;
+        SignedWord fd = CACHED_IMAGE_FD.get().read();
+        if (heapBase.isNull() || heapBase.equal(IMAGE_HEAP_BEGIN.get()) || fd.lessThan(0)) {
+            return CEntryPointErrors.UNSPECIFIED;
+        }
+        UnsignedWord writableOffset = IMAGE_HEAP_WRITABLE_BEGIN.get().subtract(IMAGE_HEAP_BEGIN.get());
+        UnsignedWord writableSize = IMAGE_HEAP_WRITABLE_END.get().subtract(IMAGE_HEAP_WRITABLE_BEGIN.get());
+        UnsignedWord imageHeapFileOffset = CACHED_IMAGE_HEAP_OFFSET.get().read();
+        UnsignedWord fileOffset = imageHeapFileOffset.add(writableOffset);
+        Pointer writableBegin = ((Pointer) heapBase).add(writableOffset);
+        if (VirtualMemoryProvider.get().mapFile(writableBegin, writableSize, fd, fileOffset, Access.READ | Access.WRITE).isNull()) {
+            return CEntryPointErrors.MAP_HEAP_FAILED;
+        }
+        return CEntryPointErrors.NO_ERROR;
+    }
+
     @Override
     @Uninterruptible(reason = "Called during isolate tear-down.")
     public int freeImageHeap(PointerBase imageHeap) {
@@ -223,6 +223,12 @@ public class SubstrateOptions {
         }
     };
 
+    @Option(help = "Number of image heaps of torn-down isolates that are reset and kept for reuse by new isolates. Requires SpawnIsolates and cannot be used with Use32BitReferences.")//
+    public static final HostedOptionKey<Integer> IsolateImageHeapPoolSize = new HostedOptionKey<>(0);
+
+    @Option(help = "Use 32-bit references, including hub pointers, that are relative to the heap base and not shifted. Requires SpawnIsolates and limits the heap to 4 GB.")//
+    public static final HostedOptionKey<Boolean> Use32BitReferences = new HostedOptionKey<>(false);
+
     @Option(help = "Trace VMOperation execution.")//
     public static final HostedOptionKey<Boolean> TraceVMOperations = new HostedOptionKey<>(false);
 
@@ -25,6 +25,7 @@
 package com.oracle.svm.core.handles;
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.graalvm.compiler.serviceprovider.GraalUnsafeAccess;
 import org.graalvm.nativeimage.ObjectHandle;
@@ -53,6 +54,11 @@ import sun.misc.Unsafe;
  * heavy-weight lock. If there are no {@code null} elements in the existing arrays, an additional
  * array is created. This array has twice the capacity of the previous array, which plays a
  * significant role in how indexing is implemented.
+ * <p>
+ * Each thread caches the indices of the handles it has recently destroyed and first tries to reuse
+ * them when creating handles, which avoids searching the arrays when handles are created and
+ * destroyed at a high rate. Cached indices are only hints: another thread can still claim such an
+ * element during its search, in which case compare-and-set fails and the index is skipped.
  */
 public final class ObjectHandlesImpl implements ObjectHandles {
     private static final Unsafe UNSAFE = GraalUnsafeAccess.getUnsafe();
@@ -73,9 +79,21 @@ public final class ObjectHandlesImpl implements ObjectHandles {
     private final SignedWord rangeMax;
     private final SignedWord nullHandle;
 
+    /** Per-thread stack of indices of recently destroyed handles. */
+    private static final class FreeIndexCache {
+        static final int CAPACITY = 64;
+
+        final long[] indices = new long[CAPACITY];
+        int size;
+    }
+
     private final Object[][] buckets;
     private volatile long unusedHandleSearchIndex = 0;
 
+    private final ThreadLocal<FreeIndexCache> freeIndexCache = ThreadLocal.withInitial(FreeIndexCache::new);
+    private final AtomicLong liveCount = new AtomicLong();
+    private final AtomicLong peakCount = new AtomicLong();
+
     public ObjectHandlesImpl() {
         this(WordFactory.signed(1), WordFactory.signed(Long.MAX_VALUE), WordFactory.signed(0));
     }
@@ -153,6 +171,29 @@ public final class ObjectHandlesImpl implements ObjectHandles {
         if (obj == null) {
             return (ObjectHandle) nullHandle;
         }
+        ObjectHandle handle = createFromFreeIndexCache(obj);
+        if (handle.equal(nullHandle)) {
+            handle = createBySearch(obj);
+        }
+        updateCountsAfterCreate();
+        return handle;
+    }
+
+    private ObjectHandle createFromFreeIndexCache(Object obj) {
+        FreeIndexCache cache = freeIndexCache.get();
+        while (cache.size > 0) {
+            cache.size--;
+            long index = cache.indices[cache.size];
+            Object[] bucket = getBucket(getBucketIndex(index));
+            int indexInBucket = getIndexInBucket(index);
+            if (bucket[indexInBucket] == null && UNSAFE.compareAndSwapObject(bucket, getObjectArrayByteOffset(indexInBucket), null, obj)) {
+                return (ObjectHandle) rangeMin.add(WordFactory.signed(index));
+            }
+        }
+        return (ObjectHandle) nullHandle;
+    }
+
+    private ObjectHandle createBySearch(Object obj) {
         outer: for (;;) {
             long startIndex = unusedHandleSearchIndex;
             int startBucketIndex = getBucketIndex(startIndex);
@@ -214,6 +255,14 @@ public final class ObjectHandlesImpl implements ObjectHandles {
         }
     }
 
+    private void updateCountsAfterCreate() {
+        long live = liveCount.incrementAndGet();
+        long peak = peakCount.get();
+        while (live > peak && !peakCount.compareAndSet(peak, live)) {
+            peak = peakCount.get();
+        }
+    }
+
     public ObjectHandle createWeak(Object obj) {
         return create(new HandleWeakReference<>(obj));
     }
@@ -262,13 +311,67 @@ public final class ObjectHandlesImpl implements ObjectHandles {
             throw new IllegalArgumentException("Invalid handle");
         }
         int indexInBucket = getIndexInBucket(index);
-        UNSAFE.putOrderedObject(bucket, getObjectArrayByteOffset(indexInBucket), null);
+        Object previous = UNSAFE.getAndSetObject(bucket, getObjectArrayByteOffset(indexInBucket), null);
+        if (previous != null) {
+            liveCount.decrementAndGet();
+            FreeIndexCache cache = freeIndexCache.get();
+            if (cache.size < FreeIndexCache.CAPACITY) {
+                cache.indices[cache.size] = index;
+                cache.size++;
+            }
+        }
+    }
+
+    /**
+     * Destroys the first {@code count} handles in the specified array, which can be a mix of strong
+     * and weak handles. This is equivalent to calling {@link #destroy} for each handle, but updates
+     * the shared counters only once.
+     */
+    public void destroyAll(ObjectHandle[] handles, int count) {
+        FreeIndexCache cache = freeIndexCache.get();
+        long destroyed = 0;
+        for (int i = 0; i < count; i++) {
+            ObjectHandle handle = handles[i];
+            if (handle.equal(nullHandle)) {
+                continue;
+            }
+            if (!isInRange(handle)) {
+                throw new IllegalArgumentException("Invalid handle");
+            }
+            long index = toIndex(handle);
+            Object[] bucket = getBucket(getBucketIndex(index));
+            if (bucket == null) {
+                throw new IllegalArgumentException("Invalid handle");
+            }
+            Object previous = UNSAFE.getAndSetObject(bucket, getObjectArrayByteOffset(getIndexInBucket(index)), null);
+            if (previous != null) {
+                destroyed++;
+                if (cache.size < FreeIndexCache.CAPACITY) {
+                    cache.indices[cache.size] = index;
+                    cache.size++;
+                }
+            }
+        }
+        liveCount.addAndGet(-destroyed);
     }
 
     public void destroyWeak(ObjectHandle handle) {
         destroy(handle);
     }
 
+    /**
+     * Returns the number of live handles as maintained by {@link #create} and {@link #destroy}.
+     * Unlike {@link #computeCurrentCount}, this does not scan the handle arrays.
+     */
+    public long getLiveCount() {
+        return liveCount.get();
+    }
+
+    /** Returns the highest number of live handles that existed at the same time. */
+    public long getPeakCount() {
+        return peakCount.get();
+    }
+
     public long computeCurrentCount() {
         long count = 0;
         int bucketIndex = 0;
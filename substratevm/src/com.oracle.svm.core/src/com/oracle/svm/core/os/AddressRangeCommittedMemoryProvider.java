@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.os;
+
+import static org.graalvm.word.WordFactory.nullPointer;
+
+import org.graalvm.compiler.word.Word;
+import org.graalvm.nativeimage.CurrentIsolate;
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+import org.graalvm.nativeimage.c.type.WordPointer;
+import org.graalvm.word.Pointer;
+import org.graalvm.word.PointerBase;
+import org.graalvm.word.UnsignedWord;
+import org.graalvm.word.WordFactory;
+
+import com.oracle.svm.core.Isolates;
+import com.oracle.svm.core.SubstrateOptions;
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.c.function.CEntryPointCreateIsolateParameters;
+import com.oracle.svm.core.c.function.CEntryPointErrors;
+import com.oracle.svm.core.heap.Heap;
+import com.oracle.svm.core.locks.VMMutex;
+import com.oracle.svm.core.snippets.KnownIntrinsics;
+import com.oracle.svm.core.util.PointerUtils;
+import com.oracle.svm.core.util.UnsignedUtils;
+
+/**
+ * Reserves one contiguous address range per isolate and places both the image heap and all memory
+ * allocated at run time within that range. This guarantees that the offset of every object from
+ * the heap base fits into 32 bits, as required by {@link SubstrateOptions#Use32BitReferences}.
+ *
+ * Memory is allocated by bumping a pointer. Freed blocks are kept in a free list that is sorted by
+ * address, are merged with adjacent free blocks, and are reused with a first-fit search. Free blocks
+ * are uncommitted except for their first page, which holds the free list node. A free block at the
+ * end of the allocated part of the range lowers the allocation pointer instead.
+ */
+public class AddressRangeCommittedMemoryProvider extends AbstractCommittedMemoryProvider {
+    /** The size of the reserved address range, which includes the image heap. */
+    public static final long RESERVED_ADDRESS_SPACE_SIZE = 1L << 32;
+
+    private static final int NEXT_OFFSET = 0;
+    private static final int SIZE_OFFSET = NEXT_OFFSET + Word.BYTES;
+
+    private final VMMutex lock = new VMMutex();
+
+    /*
+     * The image heap object of this provider is copied for every isolate, so these fields are
+     * isolate-local. They cannot be initialized in initialize() because there is no heap base yet.
+     */
+    private Pointer allocationTop;
+    private Pointer allocationEnd;
+    private Pointer freeList;
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    public AddressRangeCommittedMemoryProvider() {
+    }
+
+    @Override
+    @Uninterruptible(reason = "Still being initialized.")
+    public int initialize(WordPointer isolatePointer, CEntryPointCreateIsolateParameters parameters) {
+        UnsignedWord reservedSize = WordFactory.unsigned(RESERVED_ADDRESS_SPACE_SIZE);
+        Pointer reservedBegin = VirtualMemoryProvider.get().reserve(reservedSize);
+        if (reservedBegin.isNull()) {
+            return CEntryPointErrors.RESERVE_ADDRESS_SPACE_FAILED;
+        }
+        int result = ImageHeapProvider.get().initialize(reservedBegin, reservedSize, isolatePointer, nullPointer());
+        if (result != CEntryPointErrors.NO_ERROR) {
+            VirtualMemoryProvider.get().free(reservedBegin, reservedSize);
+        }
+        return result;
+    }
+
+    @Override
+    @Uninterruptible(reason = "Tear-down in progress.")
+    public int tearDown() {
+        PointerBase heapBase = Isolates.getHeapBase(CurrentIsolate.getIsolate());
+        if (VirtualMemoryProvider.get().free(heapBase, WordFactory.unsigned(RESERVED_ADDRESS_SPACE_SIZE)) != 0) {
+            return CEntryPointErrors.FREE_ADDRESS_SPACE_FAILED;
+        }
+        return CEntryPointErrors.NO_ERROR;
+    }
+
+    @Override
+    public Pointer allocate(UnsignedWord nbytes, UnsignedWord alignment, boolean executable) {
+        return allocate0(nbytes, alignment, executable);
+    }
+
+    @Uninterruptible(reason = "Acquires a lock without a thread state transition.")
+    private Pointer allocate0(UnsignedWord nbytes, UnsignedWord alignment, boolean executable) {
+        UnsignedWord granularity = getGranularity();
+        UnsignedWord size = UnsignedUtils.roundUp(nbytes, granularity);
+        UnsignedWord blockAlignment = UnsignedUtils.max(alignment, granularity);
+        Pointer result;
+        lock.lockNoTransition();
+        try {
+            ensureInitialized();
+            result = allocateFromFreeList(size, blockAlignment);
+            if (result.isNull()) {
+                result = allocateFromTop(size, blockAlignment);
+            }
+            if (result.isNonNull() && VirtualMemoryProvider.get().commit(result, size, protection(executable)).isNull()) {
+                addToFreeList(result, size);
+                result = nullPointer();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    @Override
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public boolean free(PointerBase start, UnsignedWord nbytes, UnsignedWord alignment, boolean executable) {
+        UnsignedWord size = UnsignedUtils.roundUp(nbytes, getGranularity());
+        lock.lockNoTransition();
+        try {
+            addToFreeList((Pointer) start, size);
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    private void ensureInitialized() {
+        if (allocationTop.isNull()) {
+            Pointer heapBase = KnownIntrinsics.heapBase();
+            UnsignedWord imageHeapSize = Isolates.IMAGE_HEAP_END.get().subtract(Isolates.IMAGE_HEAP_BEGIN.get());
+            UnsignedWord imageHeapEnd = imageHeapSize.add(Heap.getHeap().getImageHeapOffsetInAddressSpace());
+            allocationTop = heapBase.add(UnsignedUtils.roundUp(imageHeapEnd, getGranularity()));
+            allocationEnd = heapBase.add(WordFactory.unsigned(RESERVED_ADDRESS_SPACE_SIZE));
+        }
+    }
+
+    @Uninterruptible(reason = "Called with the lock held.", callerMustBe = true)
+    private Pointer allocateFromFreeList(UnsignedWord size, UnsignedWord alignment) {
+        Pointer previous = nullPointer();
+        Pointer block = freeList;
+        while (block.isNonNull()) {
+            Pointer next = block.readWord(NEXT_OFFSET);
+            UnsignedWord blockSize = block.readWord(SIZE_OFFSET);
+            Pointer blockEnd = block.add(blockSize);
+            Pointer start = PointerUtils.roundUp(block, alignment);
+            Pointer end = start.add(size);
+            if (end.belowOrEqual(blockEnd)) {
+                setNext(previous, next);
+                if (start.aboveThan(block)) {
+                    addToFreeList(block, start.subtract(block));
+                }
+                if (blockEnd.aboveThan(end)) {
+                    addToFreeList(end, blockEnd.subtract(end));
+                }
+                return start;
+            }
+            previous = block;
+            block = next;
+        }
+        return nullPointer();
+    }
+
+    @Uninterruptible(reason = "Called with the lock held.", callerMustBe = true)
+    private Pointer allocateFromTop(UnsignedWord size, UnsignedWord alignment) {
+        Pointer start = PointerUtils.roundUp(allocationTop, alignment);
+        Pointer end = start.add(size);
+        if (end.aboveThan(allocationEnd) || end.belowThan(start)) {
+            return nullPointer();
+        }
+        if (start.aboveThan(allocationTop)) {
+            Pointer gap = allocationTop;
+            allocationTop = end;
+            addToFreeList(gap, start.subtract(gap));
+        } else {
+            allocationTop = end;
+        }
+        return start;
+    }
+
+    /**
+     * Adds a block to the free list and merges it with the free blocks directly before and after
+     * it. If the merged block ends at the allocation pointer, it is uncommitted and the allocation
+     * pointer is lowered instead. Otherwise, the first page of the merged block stays committed
+     * because it holds the free list node, and the remainder of the block is uncommitted.
+     */
+    @Uninterruptible(reason = "Called with the lock held.", callerMustBe = true)
+    private void addToFreeList(Pointer block, UnsignedWord size) {
+        Pointer beforePrevious = nullPointer();
+        Pointer previous = nullPointer();
+        Pointer next = freeList;
+        while (next.isNonNull() && next.belowThan(block)) {
+            beforePrevious = previous;
+            previous = next;
+            next = next.readWord(NEXT_OFFSET);
+        }
+
+        Pointer start = block;
+        Pointer predecessor = previous;
+        if (previous.isNonNull()) {
+            UnsignedWord previousSize = previous.readWord(SIZE_OFFSET);
+            if (previous.add(previousSize).equal(block)) {
+                start = previous;
+                predecessor = beforePrevious;
+            }
+        }
+        Pointer end = block.add(size);
+        Pointer successor = next;
+        if (next.isNonNull() && next.equal(end)) {
+            UnsignedWord nextSize = next.readWord(SIZE_OFFSET);
+            end = next.add(nextSize);
+            successor = next.readWord(NEXT_OFFSET);
+        }
+
+        if (successor.isNull() && end.equal(allocationTop) && VirtualMemoryProvider.get().uncommit(start, end.subtract(start)) == 0) {
+            setNext(predecessor, nullPointer());
+            allocationTop = start;
+            return;
+        }
+
+        UnsignedWord granularity = getGranularity();
+        Pointer uncommitStart = block;
+        if (start.equal(block)) {
+            if (VirtualMemoryProvider.get().commit(block, granularity, VirtualMemoryProvider.Access.READ | VirtualMemoryProvider.Access.WRITE).isNull()) {
+                /* The block is lost for reuse, but it stays reserved and does not need to be freed. */
+                return;
+            }
+            uncommitStart = block.add(granularity);
+        }
+        if (end.aboveThan(uncommitStart)) {
+            VirtualMemoryProvider.get().uncommit(uncommitStart, end.subtract(uncommitStart));
+        }
+        start.writeWord(NEXT_OFFSET, successor);
+        start.writeWord(SIZE_OFFSET, end.subtract(start));
+        setNext(predecessor, start);
+    }
+
+    @Uninterruptible(reason = "Called with the lock held.", callerMustBe = true)
+    private void setNext(Pointer node, Pointer next) {
+        if (node.isNull()) {
+            freeList = next;
+        } else {
+            node.writeWord(NEXT_OFFSET, next);
+        }
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    private static int protection(boolean executable) {
+        int access = VirtualMemoryProvider.Access.READ | VirtualMemoryProvider.Access.WRITE;
+        if (executable) {
+            access |= VirtualMemoryProvider.Access.EXECUTE;
+        }
+        return access;
+    }
+}
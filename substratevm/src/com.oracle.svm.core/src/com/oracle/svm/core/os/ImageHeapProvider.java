@@ -31,6 +31,7 @@ import org.graalvm.word.Pointer;
 import org.graalvm.word.PointerBase;
 import org.graalvm.word.UnsignedWord;
 
+import com.oracle.svm.core.annotate.Uninterruptible;
 import com.oracle.svm.core.c.function.CEntryPointErrors;
 
 /**
@@ -65,4 +66,17 @@ public interface ImageHeapProvider {
      * only be called if the image heap memory was allocated by the {@link ImageHeapProvider}.
      */
     int freeImageHeap(PointerBase heapBase);
+
+    /**
+     * Resets an instance of the image heap that was created with this provider to its initial
+     * state, so that it can be used for a new isolate instead of being disposed. Implementations
+     * that do not support this return an error code and the image heap must then be disposed with
+     * {@link #freeImageHeap}.
+     *
+     * @return a result code from {@link CEntryPointErrors}.
+     */
+    @Uninterruptible(reason = "Called during isolate tear-down.", mayBeInlined = true)
+    default int resetImageHeap(@SuppressWarnings("unused") PointerBase heapBase) {
+        return CEntryPointErrors.UNSPECIFIED;
+    }
 }
@@ -31,6 +31,7 @@ import org.graalvm.nativeimage.CurrentIsolate;
 import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
 import org.graalvm.nativeimage.c.type.WordPointer;
+import org.graalvm.word.LocationIdentity;
 import org.graalvm.word.Pointer;
 import org.graalvm.word.PointerBase;
 import org.graalvm.word.UnsignedWord;
@@ -39,14 +40,26 @@ import org.graalvm.word.WordFactory;
 import com.oracle.svm.core.Isolates;
 import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.c.CGlobalData;
+import com.oracle.svm.core.c.CGlobalDataFactory;
 import com.oracle.svm.core.c.function.CEntryPointCreateIsolateParameters;
 import com.oracle.svm.core.c.function.CEntryPointErrors;
 import com.oracle.svm.core.c.function.CEntryPointSetup;
+import com.oracle.svm.core.config.ConfigurationValues;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.util.PointerUtils;
 import com.oracle.svm.core.util.UnsignedUtils;
 
 public class OSCommittedMemoryProvider extends AbstractCommittedMemoryProvider {
+    /**
+     * Slots for the image heaps of torn-down isolates that have been reset to their initial state
+     * and can be used for new isolates, see {@link SubstrateOptions#IsolateImageHeapPoolSize}. An
+     * empty slot is null. Slots are claimed and released with atomic operations so that isolates
+     * can be created and torn down concurrently.
+     */
+    private static final CGlobalData<Pointer> IMAGE_HEAP_POOL = CGlobalDataFactory.createBytes(
+                    () -> Math.max(1, SubstrateOptions.IsolateImageHeapPoolSize.getValue()) * ConfigurationValues.getTarget().wordSize);
+
     @Platforms(Platform.HOSTED_ONLY.class)
     public OSCommittedMemoryProvider() {
     }
@@ -68,6 +81,11 @@ public class OSCommittedMemoryProvider extends AbstractCommittedMemoryProvider {
             return CEntryPointErrors.NO_ERROR;
         }
 
+        Pointer pooledHeapBase = takeFromImageHeapPool();
+        if (pooledHeapBase.isNonNull()) {
+            isolatePointer.write(pooledHeapBase);
+            return CEntryPointErrors.NO_ERROR;
+        }
         return ImageHeapProvider.get().initialize(nullPointer(), zero(), isolatePointer, nullPointer());
     }
 
@@ -79,9 +97,38 @@ public class OSCommittedMemoryProvider extends AbstractCommittedMemoryProvider {
         }
 
         PointerBase heapBase = Isolates.getHeapBase(CurrentIsolate.getIsolate());
+        if (SubstrateOptions.IsolateImageHeapPoolSize.getValue() > 0 && ImageHeapProvider.get().resetImageHeap(heapBase) == CEntryPointErrors.NO_ERROR &&
+                        returnToImageHeapPool(heapBase)) {
+            return CEntryPointErrors.NO_ERROR;
+        }
         return ImageHeapProvider.get().freeImageHeap(heapBase);
     }
 
+    @Uninterruptible(reason = "Still being initialized.")
+    private static Pointer takeFromImageHeapPool() {
+        Pointer pool = IMAGE_HEAP_POOL.get();
+        for (int i = 0; i < SubstrateOptions.IsolateImageHeapPoolSize.getValue(); i++) {
+            int offset = i * ConfigurationValues.getTarget().wordSize;
+            Pointer heapBase = pool.readWord(offset);
+            if (heapBase.isNonNull() && pool.logicCompareAndSwapWord(offset, heapBase, nullPointer(), LocationIdentity.ANY_LOCATION)) {
+                return heapBase;
+            }
+        }
+        return nullPointer();
+    }
+
+    @Uninterruptible(reason = "Tear-down in progress.")
+    private static boolean returnToImageHeapPool(PointerBase heapBase) {
+        Pointer pool = IMAGE_HEAP_POOL.get();
+        for (int i = 0; i < SubstrateOptions.IsolateImageHeapPoolSize.getValue(); i++) {
+            int offset = i * ConfigurationValues.getTarget().wordSize;
+            if (pool.logicCompareAndSwapWord(offset, nullPointer(), heapBase, LocationIdentity.ANY_LOCATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Allocate the requested amount of virtual memory at the requested alignment.
      *
@@ -40,6 +40,7 @@ import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.SubstrateTargetDescription;
 import com.oracle.svm.core.config.ConfigurationValues;
 import com.oracle.svm.core.config.ObjectLayout;
+import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.hosted.code.CompileQueue;
 import com.oracle.svm.hosted.code.SharedRuntimeConfigurationBuilder;
 import com.oracle.svm.hosted.config.HybridLayout;
@@ -63,6 +64,17 @@ public class HostedConfiguration {
         if (!ImageSingletons.contains(HostedConfiguration.class)) {
             ImageSingletons.add(HostedConfiguration.class, new HostedConfiguration());
 
+            if (SubstrateOptions.Use32BitReferences.getValue()) {
+                UserError.guarantee(SubstrateOptions.SpawnIsolates.getValue(), "%s requires %s", SubstrateOptions.Use32BitReferences.getName(), SubstrateOptions.SpawnIsolates.getName());
+            }
+            int imageHeapPoolSize = SubstrateOptions.IsolateImageHeapPoolSize.getValue();
+            UserError.guarantee(imageHeapPoolSize >= 0, "%s must not be negative: %d", SubstrateOptions.IsolateImageHeapPoolSize.getName(), imageHeapPoolSize);
+            if (imageHeapPoolSize > 0) {
+                UserError.guarantee(SubstrateOptions.SpawnIsolates.getValue(), "%s requires %s", SubstrateOptions.IsolateImageHeapPoolSize.getName(), SubstrateOptions.SpawnIsolates.getName());
+                UserError.guarantee(!SubstrateOptions.Use32BitReferences.getValue(), "%s cannot be used with %s", SubstrateOptions.IsolateImageHeapPoolSize.getName(),
+                                SubstrateOptions.Use32BitReferences.getName());
+            }
+
             CompressEncoding compressEncoding = new CompressEncoding(SubstrateOptions.SpawnIsolates.getValue() ? 1 : 0, 0);
             ImageSingletons.add(CompressEncoding.class, compressEncoding);
 
@@ -72,7 +84,7 @@ public class HostedConfiguration {
     }
 
     public static ObjectLayout createObjectLayout() {
-        return createObjectLayout(0, JavaKind.Object);
+        return createObjectLayout(0, SubstrateOptions.Use32BitReferences.getValue() ? JavaKind.Int : JavaKind.Object);
     }
 
     /**
@@ -618,22 +618,26 @@ public class NativeImageGenerator {
                 try (DebugContext.Scope buildScope = debug.scope("CreateBootImage", codeCacheProvider)) {
                     try (StopTimer t = new Timer(imageName, "image").start()) {
 
-                        // Start building the model of the native image heap.
-                        heap.addInitialObjects();
-                        // Then build the model of the code cache, which can
-                        // add objects to the native image heap.
-                        codeCache.addConstantsToHeap();
-                        // Finish building the model of the native image heap.
-                        heap.addTrailingObjects();
+                        try (StopTimer t2 = new Timer(imageName, "(heap)").start()) {
+                            // Start building the model of the native image heap.
+                            heap.addInitialObjects();
+                            // Then build the model of the code cache, which can
+                            // add objects to the native image heap.
+                            codeCache.addConstantsToHeap();
+                            // Finish building the model of the native image heap.
+                            heap.addTrailingObjects();
+                        }
 
-                        heapLayouter.initialize();
-                        heapLayouter.assignPartitionRelativeOffsets(heap);
+                        try (StopTimer t2 = new Timer(imageName, "(layout)").start()) {
+                            heapLayouter.initialize();
+                            heapLayouter.assignPartitionRelativeOffsets(heap);
+                        }
 
                         AfterHeapLayoutAccessImpl config = new AfterHeapLayoutAccessImpl(featureHandler, loader, heap, hMetaAccess, debug);
                         featureHandler.forEachFeature(feature -> feature.afterHeapLayout(config));
 
                         this.image = AbstractBootImage.create(k, hUniverse, hMetaAccess, nativeLibraries, heap, codeCache, hostedEntryPoints, loader.getClassLoader());
-                        image.build(debug, heapLayouter);
+                        image.build(imageName, debug, heapLayouter, imageBuildPool);
                         if (NativeImageOptions.PrintUniverse.getValue()) {
                             /*
                              * This debug output must be printed _after_ and not _during_ image
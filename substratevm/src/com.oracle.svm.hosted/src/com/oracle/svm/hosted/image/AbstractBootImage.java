@@ -26,6 +26,7 @@ package com.oracle.svm.hosted.image;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.graalvm.compiler.debug.DebugContext;
 
@@ -123,8 +124,11 @@ public abstract class AbstractBootImage {
     /**
      * Build the image. Calling this method is a precondition to calling {@link #write}. It
      * typically finalizes content of the object. It does not build debug information.
+     *
+     * @param imageName name of the image, used as the prefix of the timing output
+     * @param threadPool pool used to parallelize writing the image heap
      */
-    public abstract void build(DebugContext debug, ImageHeapLayouter layouter);
+    public abstract void build(String imageName, DebugContext debug, ImageHeapLayouter layouter, ForkJoinPool threadPool);
 
     /**
      * Write the image to the named file. This also writes debug information -- either to the same
@@ -48,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.graalvm.collections.Pair;
@@ -62,6 +63,8 @@ import org.graalvm.nativeimage.c.function.CFunctionPointer;
 
 import com.oracle.graal.pointsto.meta.AnalysisMethod;
 import com.oracle.graal.pointsto.meta.AnalysisType;
+import com.oracle.graal.pointsto.util.Timer;
+import com.oracle.graal.pointsto.util.Timer.StopTimer;
 import com.oracle.objectfile.BasicProgbitsSectionImpl;
 import com.oracle.objectfile.BuildDependency;
 import com.oracle.objectfile.LayoutDecision;
@@ -399,7 +402,7 @@ public abstract class NativeBootImage extends AbstractBootImage {
      */
     @Override
     @SuppressWarnings("try")
-    public void build(DebugContext debug, ImageHeapLayouter layouter) {
+    public void build(String imageName, DebugContext debug, ImageHeapLayouter layouter, ForkJoinPool threadPool) {
         try (DebugContext.Scope buildScope = debug.scope("NativeBootImage.build")) {
             final CGlobalDataFeature cGlobals = CGlobalDataFeature.singleton();
 
@@ -480,7 +483,10 @@ public abstract class NativeBootImage extends AbstractBootImage {
                 heapSection = objectFile.newProgbitsSection(SectionName.SVM_HEAP.getFormatDependentName(objectFile.getFormat()), objectFile.getPageSize(), writable, false, heapSectionImpl);
                 objectFile.createDefinedSymbol(heapSection.getName(), heapSection, 0, 0, false, false);
 
-                long sectionOffsetOfARelocatablePointer = writer.writeHeap(debug, heapSectionBuffer, heapSectionBuffer);
+                long sectionOffsetOfARelocatablePointer;
+                try (StopTimer t = new Timer(imageName, "(heap write)").start()) {
+                    sectionOffsetOfARelocatablePointer = writer.writeHeap(debug, heapSectionBuffer, heapSectionBuffer, threadPool);
+                }
                 assert castToByteBuffer(heapSectionBuffer).getLong((int) sectionOffsetOfARelocatablePointer) == 0L;
 
                 defineDataSymbol(Isolates.IMAGE_HEAP_BEGIN_SYMBOL_NAME, heapSection, 0);
@@ -492,7 +498,9 @@ public abstract class NativeBootImage extends AbstractBootImage {
                 defineDataSymbol(Isolates.IMAGE_HEAP_WRITABLE_END_SYMBOL_NAME, heapSection, heapLayout.getWritableOffsetInSection() + heapLayout.getWritableSize());
             } else {
                 assert heapSectionBuffer == null;
-                writer.writeHeap(debug, roDataBuffer, rwDataBuffer);
+                try (StopTimer t = new Timer(imageName, "(heap write)").start()) {
+                    writer.writeHeap(debug, roDataBuffer, rwDataBuffer, threadPool);
+                }
             }
 
             // Mark the sections with the relocations from the maps.
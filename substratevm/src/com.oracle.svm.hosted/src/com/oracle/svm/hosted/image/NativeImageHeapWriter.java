@@ -29,7 +29,14 @@ import static com.oracle.svm.core.util.VMError.shouldNotReachHere;
 import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.graalvm.compiler.core.common.CompressEncoding;
 import org.graalvm.compiler.core.common.NumUtil;
@@ -48,6 +55,7 @@ import com.oracle.svm.core.heap.Heap;
 import com.oracle.svm.core.heap.ObjectHeader;
 import com.oracle.svm.core.hub.DynamicHub;
 import com.oracle.svm.core.image.AbstractImageHeapLayouter.ImageHeapLayout;
+import com.oracle.svm.core.image.ImageHeapPartition;
 import com.oracle.svm.core.meta.SubstrateObjectConstant;
 import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.core.util.VMError;
@@ -65,34 +73,75 @@ import jdk.vm.ci.meta.ResolvedJavaMethod;
 
 /**
  * Writes the native image heap into one or multiple {@link RelocatableBuffer}s.
+ *
+ * Objects never overlap in the buffers, so they are written in parallel: the objects of each
+ * {@link ImageHeapPartition} are split into chunks of {@link #OBJECTS_PER_TASK} objects, and every
+ * chunk is written by a separate task. The relocation maps of the {@link RelocatableBuffer}s are
+ * thread-safe.
  */
 public final class NativeImageHeapWriter {
+    /** Number of objects written by a single task when writing the heap in parallel. */
+    private static final int OBJECTS_PER_TASK = 1024;
+
     private final NativeImageHeap heap;
     private final ImageHeapLayout heapLayout;
-    private long sectionOffsetOfARelocatablePointer;
+    /**
+     * The lowest buffer index of a relocatable pointer written so far. Using the lowest index
+     * instead of the first one written keeps the result deterministic when writing in parallel.
+     */
+    private final AtomicLong sectionOffsetOfARelocatablePointer;
 
     public NativeImageHeapWriter(NativeImageHeap heap, ImageHeapLayout heapLayout) {
         this.heap = heap;
         this.heapLayout = heapLayout;
-        this.sectionOffsetOfARelocatablePointer = -1;
+        this.sectionOffsetOfARelocatablePointer = new AtomicLong(-1);
     }
 
     /**
      * Write the model of the native image heap to the RelocatableBuffers that represent the native
-     * image.
+     * image. The objects are written in parallel using the provided thread pool, whose worker
+     * threads must have access to the image singletons.
      */
     @SuppressWarnings("try")
-    public long writeHeap(DebugContext debug, final RelocatableBuffer roBuffer, final RelocatableBuffer rwBuffer) {
+    public long writeHeap(DebugContext debug, final RelocatableBuffer roBuffer, final RelocatableBuffer rwBuffer, ForkJoinPool threadPool) {
         try (Indent perHeapIndent = debug.logAndIndent("BootImageHeap.writeHeap:")) {
-            for (ObjectInfo info : heap.getObjects()) {
-                assert !heap.isBlacklisted(info.getObject());
-                writeObject(info, roBuffer, rwBuffer);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (List<ObjectInfo> chunk : splitIntoChunks(heap.getObjects())) {
+                tasks.add(threadPool.submit(() -> {
+                    for (ObjectInfo info : chunk) {
+                        assert !heap.isBlacklisted(info.getObject());
+                        writeObject(info, roBuffer, rwBuffer);
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
             }
             // Only static fields that are writable get written to the native image heap,
-            // the read-only static fields have been inlined into the code.
+            // the read-only static fields have been inlined into the code. This must happen after
+            // all objects are written because the static field arrays are only placeholders.
             writeStaticFields(rwBuffer);
         }
-        return sectionOffsetOfARelocatablePointer;
+        return sectionOffsetOfARelocatablePointer.get();
+    }
+
+    /**
+     * Groups the objects by their partition, preserving the layout order within a partition, and
+     * splits the objects of each partition into chunks.
+     */
+    private static List<List<ObjectInfo>> splitIntoChunks(Iterable<ObjectInfo> objects) {
+        Map<ImageHeapPartition, List<ObjectInfo>> objectsByPartition = new LinkedHashMap<>();
+        for (ObjectInfo info : objects) {
+            objectsByPartition.computeIfAbsent(info.getPartition(), p -> new ArrayList<>()).add(info);
+        }
+        List<List<ObjectInfo>> chunks = new ArrayList<>();
+        for (List<ObjectInfo> partitionObjects : objectsByPartition.values()) {
+            for (int start = 0; start < partitionObjects.size(); start += OBJECTS_PER_TASK) {
+                int end = Math.min(start + OBJECTS_PER_TASK, partitionObjects.size());
+                chunks.add(partitionObjects.subList(start, end));
+            }
+        }
+        return chunks;
     }
 
     private void writeStaticFields(RelocatableBuffer buffer) {
@@ -206,17 +255,17 @@ public final class NativeImageHeapWriter {
     private void addDirectRelocationWithoutAddend(RelocatableBuffer buffer, int index, int size, Object target) {
         assert !NativeImageHeap.spawnIsolates() || heapLayout.isReadOnlyRelocatable(index);
         buffer.addDirectRelocationWithoutAddend(index, size, target);
-        if (sectionOffsetOfARelocatablePointer == -1) {
-            sectionOffsetOfARelocatablePointer = index;
-        }
+        recordRelocatablePointer(index);
     }
 
     private void addDirectRelocationWithAddend(RelocatableBuffer buffer, int index, DynamicHub target, long objectHeaderBits) {
         assert !NativeImageHeap.spawnIsolates() || heapLayout.isReadOnlyRelocatable(index);
         buffer.addDirectRelocationWithAddend(index, referenceSize(), objectHeaderBits, target);
-        if (sectionOffsetOfARelocatablePointer == -1) {
-            sectionOffsetOfARelocatablePointer = index;
-        }
+        recordRelocatablePointer(index);
+    }
+
+    private void recordRelocatablePointer(int index) {
+        sectionOffsetOfARelocatablePointer.accumulateAndGet(index, (previous, current) -> previous == -1 ? current : Math.min(previous, current));
     }
 
     /**
@@ -222,6 +222,14 @@ public final class JNIObjectHandles {
     static long computeCurrentGlobalHandleCount() {
         return JNIGlobalHandles.computeCurrentCount();
     }
+
+    static long getGlobalHandleLiveCount() {
+        return JNIGlobalHandles.getLiveCount();
+    }
+
+    static long getGlobalHandlePeakCount() {
+        return JNIGlobalHandles.getPeakCount();
+    }
 }
 
 /**
@@ -306,6 +314,14 @@ final class JNIGlobalHandles {
     public static long computeCurrentCount() {
         return globalHandles.computeCurrentCount();
     }
+
+    static long getLiveCount() {
+        return globalHandles.getLiveCount();
+    }
+
+    static long getPeakCount() {
+        return globalHandles.getPeakCount();
+    }
 }
 
 /**
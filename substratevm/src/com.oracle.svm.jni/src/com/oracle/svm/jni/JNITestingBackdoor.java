@@ -39,6 +39,14 @@ public final class JNITestingBackdoor {
         return JNIObjectHandles.computeCurrentGlobalHandleCount();
     }
 
+    public static long getGlobalHandleLiveCount() {
+        return JNIObjectHandles.getGlobalHandleLiveCount();
+    }
+
+    public static long getGlobalHandlePeakCount() {
+        return JNIObjectHandles.getGlobalHandlePeakCount();
+    }
+
     public static int getThreadLocalPinnedObjectCount() {
         return JNIThreadLocalPinnedObjects.pinnedObjectCount();
     }
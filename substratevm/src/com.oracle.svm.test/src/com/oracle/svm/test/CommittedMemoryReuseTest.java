@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Allocates large arrays whose size grows from round to round, and drops them before the next
+ * round. Large arrays are placed in separately allocated heap chunks, so a freed chunk is too small
+ * for any later array unless it is merged with the neighbouring freed chunks. In total, this test
+ * allocates more than the 4 GB address range of an image built with {@code -H:+Use32BitReferences},
+ * so it runs out of memory if freed memory is not merged.
+ */
+public class CommittedMemoryReuseTest {
+    private static final int ROUNDS = 64;
+    private static final int ARRAYS_PER_ROUND = 4;
+    private static final int MEGABYTE = 1024 * 1024;
+
+    @Test
+    public void testGrowingAllocations() {
+        byte[][] arrays = new byte[ARRAYS_PER_ROUND][];
+        for (int round = 0; round < ROUNDS; round++) {
+            int length = (round + 1) * MEGABYTE;
+            for (int i = 0; i < arrays.length; i++) {
+                arrays[i] = new byte[length];
+                arrays[i][length - 1] = (byte) round;
+            }
+            for (byte[] array : arrays) {
+                Assert.assertEquals((byte) round, array[length - 1]);
+            }
+            for (int i = 0; i < arrays.length; i++) {
+                arrays[i] = null;
+            }
+            System.gc();
+        }
+    }
+}
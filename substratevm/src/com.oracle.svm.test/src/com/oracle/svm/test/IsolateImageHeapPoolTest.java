@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.Isolates;
+import org.graalvm.nativeimage.Isolates.CreateIsolateParameters;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.function.CEntryPointLiteral;
+import org.graalvm.nativeimage.c.function.CFunctionPointer;
+import org.graalvm.nativeimage.c.function.InvokeCFunctionPointer;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeClassInitialization;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Creates, tears down and recreates isolates repeatedly. When the image is built with
+ * {@code -H:IsolateImageHeapPoolSize}, later isolates get the reset image heaps of earlier ones,
+ * so each isolate checks that it starts from the static state in the image heap.
+ */
+public class IsolateImageHeapPoolTest {
+    private static final int ROUNDS = 16;
+    private static final int ISOLATES_PER_ROUND = 4;
+    private static final int INCREMENTS = 8;
+
+    public static class TestFeature implements Feature {
+        @Override
+        public void beforeAnalysis(BeforeAnalysisAccess access) {
+            RuntimeClassInitialization.initializeAtBuildTime(IsolateImageHeapPoolTest.class);
+        }
+    }
+
+    interface IncrementCounterPointer extends CFunctionPointer {
+        @InvokeCFunctionPointer
+        int invoke(IsolateThread thread);
+    }
+
+    private static final CEntryPointLiteral<IncrementCounterPointer> incrementCounter = CEntryPointLiteral.create(IsolateImageHeapPoolTest.class, "incrementCounter", IsolateThread.class);
+
+    private static int counter;
+
+    @CEntryPoint
+    static int incrementCounter(@SuppressWarnings("unused") IsolateThread thread) {
+        counter++;
+        return counter;
+    }
+
+    @Test
+    public void testCreateTearDownAndRecreate() {
+        for (int round = 0; round < ROUNDS; round++) {
+            IsolateThread[] threads = new IsolateThread[ISOLATES_PER_ROUND];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = Isolates.createIsolate(CreateIsolateParameters.getDefault());
+            }
+            for (IsolateThread thread : threads) {
+                for (int expected = 1; expected <= INCREMENTS; expected++) {
+                    Assert.assertEquals("static state of a new isolate must start from the image heap", expected, incrementCounter.getFunctionPointer().invoke(thread));
+                }
+            }
+            for (IsolateThread thread : threads) {
+                Isolates.tearDownIsolate(thread);
+            }
+        }
+    }
+}
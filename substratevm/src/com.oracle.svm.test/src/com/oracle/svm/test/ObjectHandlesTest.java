@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.nativeimage.ObjectHandle;
+import org.graalvm.nativeimage.ObjectHandles;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.svm.core.handles.ObjectHandlesImpl;
+
+/**
+ * Creates and destroys global object handles at a high rate from several threads, similar to native
+ * code that calls back into Java, and checks that every handle refers to its own object.
+ */
+public class ObjectHandlesTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 2_000;
+    private static final int HANDLES_PER_ROUND = 64;
+
+    @Test
+    public void testConcurrentCreateAndDestroy() throws Exception {
+        ObjectHandles handles = ObjectHandles.getGlobal();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> churn(handles)));
+            }
+            for (Future<Long> future : futures) {
+                Assert.assertEquals((long) ROUNDS * HANDLES_PER_ROUND, (long) future.get());
+            }
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    private static long churn(ObjectHandles handles) {
+        ObjectHandle[] created = new ObjectHandle[HANDLES_PER_ROUND];
+        Object[] objects = new Object[HANDLES_PER_ROUND];
+        long verified = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < HANDLES_PER_ROUND; i++) {
+                objects[i] = new Object();
+                created[i] = handles.create(objects[i]);
+            }
+            for (int i = 0; i < HANDLES_PER_ROUND; i++) {
+                Assert.assertSame(objects[i], handles.get(created[i]));
+                handles.destroy(created[i]);
+                verified++;
+            }
+        }
+        return verified;
+    }
+
+    @Test
+    public void testHandleReuse() {
+        // a private table, so that no other thread can claim the destroyed index
+        ObjectHandlesImpl handles = new ObjectHandlesImpl();
+        Object first = new Object();
+        ObjectHandle handle = handles.create(first);
+        handles.destroy(handle);
+
+        Object second = new Object();
+        ObjectHandle reused = handles.create(second);
+        try {
+            Assert.assertTrue("expected the index of the destroyed handle to be reused", reused.equal(handle));
+            Assert.assertSame(second, handles.get(reused));
+        } finally {
+            handles.destroy(reused);
+        }
+    }
+
+    @Test
+    public void testLiveAndPeakCount() {
+        ObjectHandlesImpl handles = new ObjectHandlesImpl();
+        ObjectHandle[] created = new ObjectHandle[HANDLES_PER_ROUND];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = handles.create(new Object());
+        }
+        Assert.assertEquals(HANDLES_PER_ROUND, handles.getLiveCount());
+        Assert.assertEquals(HANDLES_PER_ROUND, handles.getPeakCount());
+
+        for (int i = 0; i < created.length / 2; i++) {
+            handles.destroy(created[i]);
+        }
+        Assert.assertEquals(HANDLES_PER_ROUND / 2, handles.getLiveCount());
+        Assert.assertEquals(HANDLES_PER_ROUND, handles.getPeakCount());
+
+        handles.destroyAll(created, created.length);
+        Assert.assertEquals(0, handles.getLiveCount());
+        Assert.assertEquals(HANDLES_PER_ROUND, handles.getPeakCount());
+        Assert.assertEquals(0, handles.computeCurrentCount());
+
+        ObjectHandle handle = handles.create(new Object());
+        Assert.assertEquals(1, handles.getLiveCount());
+        Assert.assertEquals(HANDLES_PER_ROUND, handles.getPeakCount());
+        handles.destroy(handle);
+    }
+}
@@ -1522,6 +1522,25 @@ public final class PolyglotNativeAPI {
         return withHandledErrors(() -> objectHandles.destroy(reference));
     }
 
+    @CEntryPoint(name = "poly_delete_references", documentation = {
+                    "Deletes several poly_references at once. This is equivalent to calling poly_delete_reference for each ",
+                    "reference, but updates the shared reference counters only once. After this point, none of the references ",
+                    "must be used anymore.",
+                    "",
+                    " @param references array of the references to delete.",
+                    " @param references_size number of references in the array.",
+                    " @since 20.1",
+    })
+    public static PolyglotStatus poly_delete_references(PolyglotIsolateThread thread, @CConst PolyglotNativeAPITypes.PolyglotReferencePointer references, int references_size) {
+        return withHandledErrors(() -> {
+            ObjectHandle[] jReferences = new ObjectHandle[references_size];
+            for (int i = 0; i < references_size; i++) {
+                jReferences[i] = references.read(i);
+            }
+            objectHandles.destroyAll(jReferences, references_size);
+        });
+    }
+
     @CEntryPoint(name = "poly_create_reference", documentation = {
                     "Creates a poly_reference from a poly_handle. After this point, the reference is alive until poly_delete_reference is called. ",
                     "",
@@ -133,6 +133,8 @@ public class PolyglotNativeAPITypes {
 
     @CPointerTo(nameOfCType = "poly_reference")
     public interface PolyglotReferencePointer extends PointerBase, PolyglotHandle {
+        PolyglotReference read(long index);
+
         void write(PolyglotReference value);
     }
 
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.benchmark.InlinedNodeBenchmarkFactory.CachedParentNodeGen;
+import com.oracle.truffle.api.benchmark.InlinedNodeBenchmarkFactory.InlinedParentNodeGen;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Compares parent nodes that use inlined cached nodes with parent nodes that use regular cached
+ * nodes. Run with <code>-prof gc</code> to report the allocated node memory per created parent
+ * node.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class InlinedNodeBenchmark extends TruffleBenchmark {
+
+    private static final int NODES = 10000;
+
+    @State(Scope.Thread)
+    public static class ExecuteState {
+
+        final ParentNode[] inlinedNodes = new ParentNode[NODES];
+        final ParentNode[] cachedNodes = new ParentNode[NODES];
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < NODES; i++) {
+                inlinedNodes[i] = InlinedParentNodeGen.create();
+                inlinedNodes[i].execute(42);
+                cachedNodes[i] = CachedParentNodeGen.create();
+                cachedNodes[i].execute(42);
+            }
+        }
+
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public long createInlined() {
+        long sum = 0;
+        for (int i = 0; i < NODES; i++) {
+            sum += InlinedParentNodeGen.create().execute(42);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public long createCached() {
+        long sum = 0;
+        for (int i = 0; i < NODES; i++) {
+            sum += CachedParentNodeGen.create().execute(42);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public long executeInlined(ExecuteState state) {
+        long sum = 0;
+        for (int i = 0; i < NODES; i++) {
+            sum += state.inlinedNodes[i].execute(42);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public long executeCached(ExecuteState state) {
+        long sum = 0;
+        for (int i = 0; i < NODES; i++) {
+            sum += state.cachedNodes[i].execute(42);
+        }
+        return sum;
+    }
+
+    abstract static class ParentNode extends Node {
+
+        abstract long execute(Object value);
+
+    }
+
+    abstract static class InlinedParentNode extends ParentNode {
+
+        @Specialization
+        long doDefault(Object value,
+                        @Cached InlinedToLongNode toLong,
+                        @Cached InlinedAbsNode abs) {
+            return abs.execute(this, toLong.execute(this, value));
+        }
+
+    }
+
+    abstract static class CachedParentNode extends ParentNode {
+
+        @Specialization
+        long doDefault(Object value,
+                        @Cached ToLongNode toLong,
+                        @Cached AbsNode abs) {
+            return abs.execute(toLong.execute(value));
+        }
+
+    }
+
+    @GenerateInline
+    abstract static class InlinedToLongNode extends Node {
+
+        abstract long execute(Node inliningTarget, Object value);
+
+        @Specialization
+        static long doInt(Node inliningTarget, int value) {
+            return value;
+        }
+
+        @Specialization
+        static long doLong(Node inliningTarget, long value) {
+            return value;
+        }
+
+    }
+
+    @GenerateInline
+    abstract static class InlinedAbsNode extends Node {
+
+        abstract long execute(Node inliningTarget, long value);
+
+        @Specialization(guards = "value >= 0")
+        static long doPositive(Node inliningTarget, long value) {
+            return value;
+        }
+
+        @Specialization(guards = "value < 0")
+        static long doNegative(Node inliningTarget, long value) {
+            return -value;
+        }
+
+    }
+
+    abstract static class ToLongNode extends Node {
+
+        abstract long execute(Object value);
+
+        @Specialization
+        static long doInt(int value) {
+            return value;
+        }
+
+        @Specialization
+        static long doLong(long value) {
+            return value;
+        }
+
+    }
+
+    abstract static class AbsNode extends Node {
+
+        abstract long execute(long value);
+
+        @Specialization(guards = "value >= 0")
+        static long doPositive(long value) {
+            return value;
+        }
+
+        @Specialization(guards = "value < 0")
+        static long doNegative(long value) {
+            return -value;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Measures the throughput of adding properties to shapes from multiple threads that share the same
+ * root shape.
+ */
+@State(Scope.Benchmark)
+public class ShapeTransitionBenchmark extends TruffleBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int PROPERTIES = 8;
+
+    private final Layout layout = Layout.createLayout();
+    private final Shape rootShape = layout.createShape(new ObjectType());
+    private final String[] keys = new String[PROPERTIES];
+
+    public ShapeTransitionBenchmark() {
+        for (int i = 0; i < PROPERTIES; i++) {
+            keys[i] = "p" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private int counter;
+
+        String nextKey() {
+            return Thread.currentThread().getId() + ":" + counter++;
+        }
+    }
+
+    /*
+     * All threads add the same properties in the same order, so after the first invocation every
+     * transition is found in the transition map of its parent shape.
+     */
+    @Benchmark
+    @Threads(THREADS)
+    @OperationsPerInvocation(PROPERTIES)
+    public Shape addExistingProperties() {
+        Shape shape = rootShape;
+        for (int i = 0; i < PROPERTIES; i++) {
+            shape = shape.defineProperty(keys[i], i, 0);
+        }
+        return shape;
+    }
+
+    /*
+     * Every invocation adds a new transition to the root shape, followed by existing transitions
+     * in the new successor. Unused successors are garbage collected and expunged from the root.
+     */
+    @Benchmark
+    @Threads(THREADS)
+    @OperationsPerInvocation(PROPERTIES)
+    public Shape addNewProperties(ThreadState state) {
+        Shape shape = rootShape.defineProperty(state.nextKey(), 0, 0);
+        for (int i = 1; i < PROPERTIES; i++) {
+            shape = shape.defineProperty(keys[i], i, 0);
+        }
+        return shape;
+    }
+}
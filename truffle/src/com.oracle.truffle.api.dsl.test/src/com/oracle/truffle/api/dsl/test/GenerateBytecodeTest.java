@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.dsl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.GenerateBytecode;
+import com.oracle.truffle.api.dsl.GenerateBytecode.Operation;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+
+public class GenerateBytecodeTest {
+
+    @GenerateBytecode
+    abstract static class CalcRootNode extends RootNode {
+
+        protected CalcRootNode(TruffleLanguage<?> language, FrameDescriptor descriptor) {
+            super(language, descriptor);
+        }
+
+        @Operation
+        static final class Add {
+
+            @Specialization(rewriteOn = ArithmeticException.class)
+            static int doInt(int a, int b) {
+                return Math.addExact(a, b);
+            }
+
+            @Specialization
+            static long doLong(long a, long b) {
+                return a + b;
+            }
+
+            @Specialization
+            static String doString(String a, Object b) {
+                return a + b;
+            }
+        }
+
+        @Operation
+        static final class Less {
+
+            @Specialization
+            static boolean doInt(int a, int b) {
+                return a < b;
+            }
+
+            @Specialization
+            static boolean doGeneric(Object a, Object b) {
+                return ((Number) a).longValue() < ((Number) b).longValue();
+            }
+        }
+    }
+
+    /*
+     * sum = 0; i = 0; while (i < arguments[0]) { sum = sum + i; i = i + 1; } return sum;
+     */
+    private static CallTarget createSumLoop() {
+        CalcRootNodeGen.Builder b = CalcRootNodeGen.newBuilder();
+        int sum = b.createLocal();
+        int i = b.createLocal();
+        CalcRootNodeGen.Label loop = b.createLabel();
+        CalcRootNodeGen.Label end = b.createLabel();
+        b.emitLoadConstant(0);
+        b.emitStoreLocal(sum);
+        b.emitLoadConstant(0);
+        b.emitStoreLocal(i);
+        b.emitLabel(loop);
+        b.emitLoadLocal(i);
+        b.emitLoadArgument(0);
+        b.emitLess();
+        b.emitBranchFalse(end);
+        b.emitLoadLocal(sum);
+        b.emitLoadLocal(i);
+        b.emitAdd();
+        b.emitStoreLocal(sum);
+        b.emitLoadLocal(i);
+        b.emitLoadConstant(1);
+        b.emitAdd();
+        b.emitStoreLocal(i);
+        b.emitBranch(loop);
+        b.emitLabel(end);
+        b.emitLoadLocal(sum);
+        b.emitReturn();
+        return Truffle.getRuntime().createCallTarget(b.build(null));
+    }
+
+    private static CallTarget createAddArguments() {
+        CalcRootNodeGen.Builder b = CalcRootNodeGen.newBuilder();
+        b.emitLoadArgument(0);
+        b.emitLoadArgument(1);
+        b.emitAdd();
+        b.emitReturn();
+        return Truffle.getRuntime().createCallTarget(b.build(null));
+    }
+
+    @Test
+    public void testLoop() {
+        CallTarget target = createSumLoop();
+        assertEquals(45, target.call(10));
+        assertEquals(499500, target.call(1000));
+        assertEquals(0, target.call(0));
+    }
+
+    @Test
+    public void testLoopGeneric() {
+        CallTarget target = createSumLoop();
+        assertEquals(45, target.call(10L));
+        assertEquals(45, target.call(10));
+    }
+
+    @Test
+    public void testSpecializations() {
+        CallTarget target = createAddArguments();
+        assertEquals(3, target.call(1, 2));
+        assertEquals(3L, target.call(1L, 2L));
+        assertEquals("a1", target.call("a", 1));
+        assertEquals(3, target.call(1, 2));
+    }
+
+    @Test
+    public void testRewriteOn() {
+        CallTarget target = createAddArguments();
+        assertEquals(3, target.call(1, 2));
+        try {
+            target.call(Integer.MAX_VALUE, 1);
+            fail();
+        } catch (UnsupportedSpecializationException e) {
+        }
+        // doInt stays excluded after the overflow
+        try {
+            target.call(1, 2);
+            fail();
+        } catch (UnsupportedSpecializationException e) {
+        }
+        assertEquals(3L, target.call(1L, 2L));
+    }
+
+    @Test
+    public void testUnsupported() {
+        CallTarget target = createAddArguments();
+        try {
+            target.call(1.0d, 2);
+            fail();
+        } catch (UnsupportedSpecializationException e) {
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnbalancedStack() {
+        CalcRootNodeGen.Builder b = CalcRootNodeGen.newBuilder();
+        b.emitAdd();
+    }
+
+    @ExpectError("Bytecode root nodes must be abstract.")
+    @GenerateBytecode
+    static class ErrorNode1 extends RootNode {
+
+        protected ErrorNode1(TruffleLanguage<?> language, FrameDescriptor descriptor) {
+            super(language, descriptor);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return null;
+        }
+    }
+
+    @GenerateBytecode
+    abstract static class ErrorNode2 extends RootNode {
+
+        protected ErrorNode2(TruffleLanguage<?> language, FrameDescriptor descriptor) {
+            super(language, descriptor);
+        }
+
+        @ExpectError("The operation name 'Pop' is reserved for a built-in instruction.")
+        @Operation
+        static final class Pop {
+
+            @Specialization
+            static int doInt(int a) {
+                return a;
+            }
+        }
+    }
+
+    @GenerateBytecode
+    abstract static class ErrorNode3 extends RootNode {
+
+        protected ErrorNode3(TruffleLanguage<?> language, FrameDescriptor descriptor) {
+            super(language, descriptor);
+        }
+
+        @Operation
+        static final class Negate {
+
+            @Specialization
+            static int doInt(int a) {
+                return -a;
+            }
+
+            @ExpectError("The guards attribute is not supported for operation specializations.")
+            @Specialization(guards = "a != 0")
+            static long doLong(long a) {
+                return -a;
+            }
+
+            @ExpectError("Operation specializations must return a value.")
+            @Specialization
+            static void doVoid(Object a) {
+            }
+
+            @ExpectError("All specializations of an operation must declare the same number of parameters.")
+            @Specialization
+            static double doDouble(double a, double b) {
+                return -a;
+            }
+        }
+    }
+
+    @GenerateBytecode
+    abstract static class ErrorNode4 extends RootNode {
+
+        protected ErrorNode4(TruffleLanguage<?> language, FrameDescriptor descriptor) {
+            super(language, descriptor);
+        }
+
+        @Operation
+        static final class Identity {
+
+            @Specialization
+            static Object doGeneric(Object a) {
+                return a;
+            }
+
+            @ExpectError("The specialization is not reachable. It is shadowed by the specialization doGeneric that accepts all operands.")
+            @Specialization
+            static int doInt(int a) {
+                return a;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.dsl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
+import com.oracle.truffle.api.dsl.test.GenerateInlineTestFactory.AddNodeGen;
+import com.oracle.truffle.api.dsl.test.GenerateInlineTestFactory.MultipleInstancesNodeGen;
+import com.oracle.truffle.api.dsl.test.GenerateInlineTestFactory.ParentNodeGen;
+import com.oracle.truffle.api.dsl.test.GenerateInlineTestFactory.ToLongNodeGen;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+@SuppressWarnings("unused")
+public class GenerateInlineTest {
+
+    @GenerateInline
+    abstract static class ToLongNode extends Node {
+
+        abstract long execute(Node inliningTarget, Object value);
+
+        @Specialization
+        static long doInt(Node inliningTarget, int value) {
+            return value;
+        }
+
+        @Specialization
+        static long doLong(Node inliningTarget, long value) {
+            return value;
+        }
+
+    }
+
+    @GenerateInline
+    abstract static class AddNode extends Node {
+
+        static int exactCalls;
+        static int saturatingCalls;
+
+        abstract long execute(Node inliningTarget, long left, long right);
+
+        @Specialization(rewriteOn = ArithmeticException.class)
+        static long doExact(Node inliningTarget, long left, long right) {
+            exactCalls++;
+            return Math.addExact(left, right);
+        }
+
+        @Specialization(replaces = "doExact")
+        static long doSaturating(Node inliningTarget, long left, long right) {
+            saturatingCalls++;
+            long result = left + right;
+            if (((left ^ result) & (right ^ result)) < 0) {
+                return left < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+            return result;
+        }
+
+    }
+
+    abstract static class ParentNode extends Node {
+
+        abstract long execute(Object value, long increment);
+
+        @Specialization
+        long doDefault(Object value, long increment,
+                        @Cached ToLongNode toLong,
+                        @Cached AddNode add) {
+            return add.execute(this, toLong.execute(this, value), increment);
+        }
+
+    }
+
+    @Test
+    public void testInlined() {
+        ParentNode node = ParentNodeGen.create();
+        assertEquals(43L, node.execute(42, 1));
+        assertEquals(43L, node.execute(42L, 1));
+        assertEquals(Long.MAX_VALUE, node.execute(Long.MAX_VALUE, 1));
+        assertEquals(44L, node.execute(42, 2));
+        try {
+            node.execute("42", 1);
+            fail();
+        } catch (UnsupportedSpecializationException e) {
+        }
+    }
+
+    @Test
+    public void testStatePerParent() {
+        ParentNode node1 = ParentNodeGen.create();
+        ParentNode node2 = ParentNodeGen.create();
+
+        AddNode.exactCalls = 0;
+        AddNode.saturatingCalls = 0;
+        assertEquals(Long.MAX_VALUE, node1.execute(Long.MAX_VALUE, 1));
+        assertEquals(1, AddNode.exactCalls);
+        assertEquals(1, AddNode.saturatingCalls);
+
+        // node1 replaced doExact, node2 must still use it
+        assertEquals(2L, node1.execute(1, 1));
+        assertEquals(1, AddNode.exactCalls);
+        assertEquals(2, AddNode.saturatingCalls);
+        assertEquals(2L, node2.execute(1, 1));
+        assertEquals(2, AddNode.exactCalls);
+        assertEquals(2, AddNode.saturatingCalls);
+    }
+
+    @Test
+    public void testSharedInstance() throws Exception {
+        ParentNode node1 = ParentNodeGen.create();
+        ParentNode node2 = ParentNodeGen.create();
+        node1.execute(42, 1);
+        node2.execute(42, 1);
+
+        // inlined nodes are neither stored in fields of the parent nor adopted
+        for (Field field : ParentNodeGen.class.getDeclaredFields()) {
+            if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+                assertEquals(int.class, field.getType());
+            }
+        }
+        assertEquals(0, countNodes(node1, Node.class));
+    }
+
+    @Test
+    public void testNotInlined() {
+        ToLongNode toLong = ToLongNodeGen.create();
+        assertEquals(42L, toLong.execute(null, 42));
+        assertEquals(42L, toLong.execute(null, 42L));
+
+        AddNode add = AddNodeGen.create();
+        assertEquals(Long.MAX_VALUE, add.execute(null, Long.MAX_VALUE, 1));
+        assertEquals(3L, add.execute(null, 1, 2));
+    }
+
+    abstract static class MultipleInstancesNode extends Node {
+
+        abstract long execute(Object value);
+
+        @Specialization(guards = "value == cachedValue", limit = "3")
+        long doCached(int value,
+                        @Cached("value") int cachedValue,
+                        @Cached ToLongNode toLong) {
+            return toLong.execute(this, value);
+        }
+
+    }
+
+    @Test
+    public void testMultipleInstances() {
+        // specializations with multiple instances allocate regular cached nodes
+        MultipleInstancesNode node = MultipleInstancesNodeGen.create();
+        assertEquals(1L, node.execute(1));
+        assertEquals(2L, node.execute(2));
+        assertEquals(2, countNodes(node, ToLongNode.class));
+    }
+
+    private static int countNodes(Node node, Class<?> nodeClass) {
+        int count = 0;
+        for (Node child : node.getChildren()) {
+            if (nodeClass.isInstance(child)) {
+                count++;
+            }
+            count += countNodes(child, nodeClass);
+        }
+        return count;
+    }
+
+    @ExpectError("Failed to generate code for @GenerateInline: The node must not declare any instance variables. Found instance variable ErrorNode1.field. Remove instance variable to resolve this.")
+    @GenerateInline
+    abstract static class ErrorNode1 extends Node {
+
+        Object field;
+
+        abstract Object execute(Node inliningTarget, Object value);
+
+        @Specialization
+        static Object doDefault(Node inliningTarget, Object value) {
+            return value;
+        }
+
+    }
+
+    @ExpectError("Failed to generate code for @GenerateInline: The execute method execute(VirtualFrame, Object) is not supported. " +
+                    "Inlined execute methods must not declare a frame, variable arguments or throw UnexpectedResultException, and must take the Node inlining target as first of 1 argument(s).")
+    @GenerateInline
+    abstract static class ErrorNode2 extends Node {
+
+        abstract Object execute(VirtualFrame frame, Object value);
+
+        @Specialization
+        static Object doDefault(Object value) {
+            return value;
+        }
+
+    }
+
+    @GenerateInline
+    abstract static class ErrorNode3 extends Node {
+
+        abstract Object execute(Node inliningTarget, Object value);
+
+        @Specialization
+        static Object doDefault(Node inliningTarget, Object value,
+                        @ExpectError("Failed to generate code for @GenerateInline: Inlined nodes must not declare cached values. Pass the value as an execute method argument to resolve this.")//
+                        @Cached("value") Object cachedValue) {
+            return value;
+        }
+
+    }
+
+}
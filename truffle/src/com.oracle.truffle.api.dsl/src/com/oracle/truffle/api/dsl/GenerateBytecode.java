@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.dsl;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a bytecode interpreter for a root node. Instead of allocating one node object per
+ * operation, programs are encoded into a compact <code>short[]</code> bytecode array that is
+ * executed by a generated dispatch loop. The loop is annotated with
+ * {@link com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind#MERGE_EXPLODE merge explode},
+ * so partial evaluation produces the same code as an equivalent AST interpreter.
+ * <p>
+ * The annotated class must be an abstract subclass of
+ * {@link com.oracle.truffle.api.nodes.RootNode} with a constructor that takes a
+ * {@link com.oracle.truffle.api.TruffleLanguage} and a
+ * {@link com.oracle.truffle.api.frame.FrameDescriptor}. Operations are declared as static nested
+ * classes annotated with {@link Operation}. Each operation declares one or more static
+ * {@link Specialization} methods with the same number of parameters and a non-void return type.
+ * Operations pop their operands from the operand stack and push their result.
+ * <p>
+ * For a root node named <code>CalcRootNode</code> the DSL generates a class
+ * <code>CalcRootNodeGen</code> with a static <code>newBuilder()</code> method. The builder
+ * provides <code>emitX()</code> methods for each operation <code>X</code> and the following
+ * built-in instructions:
+ * <ul>
+ * <li><code>emitLoadConstant(Object)</code>, <code>emitLoadArgument(int)</code>,
+ * <code>emitLoadLocal(int)</code>, <code>emitStoreLocal(int)</code> and <code>emitPop()</code>.
+ * Locals are allocated with <code>createLocal()</code>.
+ * <li><code>emitBranch(Label)</code>, <code>emitBranchFalse(Label)</code> and
+ * <code>emitLabel(Label)</code>. Labels are allocated with <code>createLabel()</code>.
+ * <li><code>emitReturn()</code>, which returns the value on top of the operand stack.
+ * </ul>
+ * Calling <code>build(TruffleLanguage)</code> creates the root node.
+ * <p>
+ * Every operation instruction is quickened: it keeps its own specialization state and only
+ * executes the specializations it has seen so far. State changes invalidate compiled code. The
+ * locals and the operand stack are stored in indexed slots of the frame, and values are read and
+ * written with primitive frame accessors where the specialization signature allows it, so
+ * primitive values are not boxed between operations.
+ * <p>
+ * Operation specializations support type checks on their parameters and
+ * {@link Specialization#rewriteOn() rewriteOn}. Specializations are tried in declaration order.
+ * Guards, {@link Cached cached} parameters and {@link Fallback fallbacks} are not supported in
+ * operations. Instrumentation can be applied to the generated root node as a whole, but not to
+ * individual instructions.
+ * <p>
+ * <b>Example:</b>
+ *
+ * <pre>
+ * &#64;GenerateBytecode
+ * abstract static class CalcRootNode extends RootNode {
+ *
+ *     protected CalcRootNode(TruffleLanguage&lt;?&gt; language, FrameDescriptor descriptor) {
+ *         super(language, descriptor);
+ *     }
+ *
+ *     &#64;Operation
+ *     static final class Add {
+ *         &#64;Specialization(rewriteOn = ArithmeticException.class)
+ *         static int doInt(int a, int b) {
+ *             return Math.addExact(a, b);
+ *         }
+ *
+ *         &#64;Specialization
+ *         static long doLong(long a, long b) {
+ *             return a + b;
+ *         }
+ *     }
+ * }
+ *
+ * CalcRootNodeGen.Builder b = CalcRootNodeGen.newBuilder();
+ * b.emitLoadArgument(0);
+ * b.emitLoadConstant(42);
+ * b.emitAdd();
+ * b.emitReturn();
+ * CalcRootNode root = b.build(language);
+ * </pre>
+ *
+ * @since 20.1
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE})
+public @interface GenerateBytecode {
+
+    /**
+     * Declares an operation of a {@link GenerateBytecode bytecode root node}. Operations must be
+     * static nested classes of the annotated root node and declare their specializations as static
+     * methods. The simple name of the class is used as the name of the operation.
+     *
+     * @since 20.1
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @Target({ElementType.TYPE})
+    public @interface Operation {
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.dsl;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.oracle.truffle.api.dsl.InlineSupport.StateField;
+
+/**
+ * Generates an inlinable version of a node with specializations. If a node that uses
+ * {@link Cached} refers to a node type annotated with this annotation, then no separate node
+ * instance is allocated for each cached node. Instead, the specialization state of the cached node
+ * is bit-packed into the state fields of the generated node that declares the cache, and all
+ * declaring nodes share a single inlined instance of the cached node. The inlined instance is
+ * created using a static method called <code>inline(StateField)</code> on the generated node. The
+ * code of the inlined node is generated once and is shared between all nodes that inline it.
+ * <p>
+ * Since an inlined node has no state of its own, its execute methods must receive the node that
+ * stores the state as first argument. By convention this parameter is called
+ * <code>inliningTarget</code>. A declaring node passes itself when it calls an inlined cached node.
+ * Passing any other node leads to undefined behavior. Specializations of inlinable nodes declare
+ * the <code>inliningTarget</code> parameter like any other evaluated argument.
+ * <p>
+ * A node subclass must fulfill the following requirements in order to be inlinable:
+ * <ul>
+ * <li>The first parameter of all execute methods is of type {@link com.oracle.truffle.api.nodes.Node
+ * Node}.
+ * <li>The node has no instance fields, no {@link NodeChild children} and no {@link NodeField node
+ * fields}.
+ * <li>The node declares a constructor without parameters.
+ * <li>Specializations do not use {@link Cached} parameters, {@link Specialization#assumptions()
+ * assumptions}, {@link Fallback} or frame parameters.
+ * <li>The node requires at most 32 bits of state. Every specialization uses one bit and one more if
+ * it can be excluded using {@linkplain Specialization#rewriteOn() rewriteOn} or
+ * {@linkplain Specialization#replaces() replaces}.
+ * </ul>
+ * If any of these requirements are violated then an error will be shown. A cached node is not
+ * inlined if it is {@linkplain Cached.Shared shared}, if it specifies an initializer expression or
+ * dimensions, or if the specialization that declares it may have multiple instances. In these
+ * cases a regular node is created using the generated <code>create()</code> method, which remains
+ * available for inlinable nodes.
+ * <p>
+ * <b>Example:</b>
+ *
+ * <pre>
+ * &#64;GenerateInline
+ * abstract static class ToLongNode extends Node {
+ *
+ *     abstract long execute(Node inliningTarget, Object value);
+ *
+ *     &#64;Specialization
+ *     static long doInt(Node inliningTarget, int value) {
+ *         return value;
+ *     }
+ *
+ *     &#64;Specialization
+ *     static long doLong(Node inliningTarget, long value) {
+ *         return value;
+ *     }
+ * }
+ *
+ * abstract static class AddNode extends Node {
+ *
+ *     abstract long execute(Object left, Object right);
+ *
+ *     &#64;Specialization
+ *     long doAdd(Object left, Object right,
+ *                     &#64;Cached ToLongNode leftToLong,
+ *                     &#64;Cached ToLongNode rightToLong) {
+ *         return leftToLong.execute(this, left) + rightToLong.execute(this, right);
+ *     }
+ * }
+ * </pre>
+ *
+ * The generated <code>AddNodeGen</code> does not allocate any <code>ToLongNode</code> instances.
+ * It stores the two bits of state for each inlined <code>ToLongNode</code> in its own state field
+ * instead.
+ *
+ * @see InlineSupport
+ * @see StateField
+ * @since 20.1
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE})
+public @interface GenerateInline {
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.dsl;
+
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Runtime support for nodes annotated with {@link GenerateInline}. The classes in this type are
+ * only intended to be used by generated code.
+ *
+ * @since 20.1
+ */
+public final class InlineSupport {
+
+    private InlineSupport() {
+        // no instances
+    }
+
+    /**
+     * Describes a range of bits in an <code>int</code> field of the node that declares an inlined
+     * cached node. Generated nodes create one subclass per state field that reads and writes the
+     * field of a given node. The offset and length of the bit range are final, so if the field
+     * instance and the node are constant then all accesses fold to a read or write of the field.
+     *
+     * @since 20.1
+     */
+    public abstract static class StateField {
+
+        private final int offset;
+        private final int mask;
+
+        /**
+         * Creates a new state field for a range of <code>length</code> bits starting at bit
+         * <code>offset</code>.
+         *
+         * @since 20.1
+         */
+        protected StateField(int offset, int length) {
+            if (offset < 0 || length <= 0 || offset + length > Integer.SIZE) {
+                throw new IllegalArgumentException("Invalid bit range " + offset + ", " + length + ".");
+            }
+            this.offset = offset;
+            this.mask = length == Integer.SIZE ? 0xFFFFFFFF : (1 << length) - 1;
+        }
+
+        /**
+         * Reads all bits of the underlying field of <code>node</code>.
+         *
+         * @since 20.1
+         */
+        protected abstract int getBits(Node node);
+
+        /**
+         * Writes all bits of the underlying field of <code>node</code>.
+         *
+         * @since 20.1
+         */
+        protected abstract void setBits(Node node, int bits);
+
+        /**
+         * Returns the bits of this range stored in <code>node</code>, shifted to offset zero.
+         *
+         * @since 20.1
+         */
+        public final int get(Node node) {
+            return (getBits(node) >>> offset) & mask;
+        }
+
+        /**
+         * Replaces the bits of this range stored in <code>node</code>. Bits of
+         * <code>value</code> outside of the range are ignored.
+         *
+         * @since 20.1
+         */
+        public final void set(Node node, int value) {
+            int bits = getBits(node);
+            setBits(node, (bits & ~(mask << offset)) | ((value & mask) << offset));
+        }
+
+    }
+
+}
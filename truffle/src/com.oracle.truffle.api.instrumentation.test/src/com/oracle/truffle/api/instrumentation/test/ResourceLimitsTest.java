@@ -692,6 +692,69 @@ public class ResourceLimitsTest {
         cpuTimeLimit(builder, null, null); // allowed to reset
     }
 
+    @Test
+    public void testBoundContextAllocationLimit() {
+        List<ResourceLimitEvent> events = new ArrayList<>();
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        allocationLimit(1024 * 1024, Duration.ofMillis(10)).//
+                        onLimit((e) -> events.add(e)).//
+                        build();
+
+        try (Context context = Context.newBuilder().resourceLimits(limits).build()) {
+            context.initialize(InstrumentationTestLanguage.ID);
+            try {
+                evalStatements(context);
+                fail();
+            } catch (PolyglotException e) {
+                assertAllocationLimit(context, e);
+            }
+            assertEquals(1, events.size());
+            assertSame(context, events.get(0).getContext());
+        }
+    }
+
+    @Test
+    public void testSharedContextAllocationLimitReset() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        allocationLimit(Long.MAX_VALUE, Duration.ofMillis(10)).//
+                        build();
+
+        Engine engine = Engine.create();
+        for (int i = 0; i < 10; i++) {
+            try (Context c = Context.newBuilder().engine(engine).resourceLimits(limits).build()) {
+                c.eval(statements(500));
+                c.resetLimits();
+                c.eval(statements(500));
+            }
+        }
+        engine.close();
+    }
+
+    @Test
+    public void testAllocationLimitErrors() {
+        ResourceLimits.Builder builder = ResourceLimits.newBuilder();
+        assertFails(() -> builder.allocationLimit(-1, Duration.ofMillis(1)), IllegalArgumentException.class);
+        assertFails(() -> builder.allocationLimit(1, Duration.ofMillis(-1)), IllegalArgumentException.class);
+        assertFails(() -> builder.allocationLimit(1, Duration.ofMillis(0)), IllegalArgumentException.class);
+        assertFails(() -> builder.allocationLimit(1, null), IllegalArgumentException.class);
+        builder.allocationLimit(0, null); // allowed to reset
+    }
+
+    private static void assertAllocationLimit(Context c, PolyglotException e) {
+        if (!e.isCancelled()) {
+            // not expected exception
+            throw e;
+        }
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Allocation resource limit"));
+        try {
+            c.eval(InstrumentationTestLanguage.ID, "EXPRESSION");
+            fail();
+        } catch (PolyglotException ex) {
+            assertTrue(ex.isCancelled());
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("Allocation resource limit"));
+        }
+    }
+
     @Test
     public void testStatementLimitErrors() {
         assertFails(() -> ResourceLimits.newBuilder().statementLimit(-1, null), IllegalArgumentException.class);
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.instrumentation.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.graalvm.polyglot.Source;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventBinding;
+import com.oracle.truffle.api.instrumentation.EventContext;
+import com.oracle.truffle.api.instrumentation.ExecutionEventListener;
+import com.oracle.truffle.api.instrumentation.LoadSourceSectionEvent;
+import com.oracle.truffle.api.instrumentation.LoadSourceSectionListener;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter.IndexRange;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Tests that bindings filtered by source and lines only see the matching roots, independent of
+ * whether the roots were loaded before or after the binding was attached.
+ */
+public class RootSourceSectionIndexTest extends AbstractInstrumentationTest {
+
+    private static final int SOURCES = 10;
+
+    private final Source[] sources = new Source[SOURCES];
+
+    @Override
+    public void setup() {
+        super.setup();
+        for (int i = 0; i < SOURCES; i++) {
+            sources[i] = Source.newBuilder(InstrumentationTestLanguage.ID, "ROOT(\n" +
+                            "DEFINE(a" + i + ", ROOT(\n" +
+                            "STATEMENT)),\n" +
+                            "DEFINE(b" + i + ", ROOT(\n" +
+                            "STATEMENT,\n" +
+                            "STATEMENT)),\n" +
+                            "STATEMENT,\n" +
+                            "CALL(a" + i + "), CALL(b" + i + "))\n", "source" + i).buildLiteral();
+        }
+    }
+
+    private void runAll() throws IOException {
+        for (Source source : sources) {
+            run(source);
+        }
+    }
+
+    private SourceSectionFilter.Builder statementsOf(int sourceIndex) {
+        return SourceSectionFilter.newBuilder().tagIs(StandardTags.StatementTag.class).sourceIs(getSourceImpl(sources[sourceIndex]));
+    }
+
+    @Test
+    public void testAttachAfterLoad() throws IOException {
+        runAll();
+
+        List<String> lines5To6 = new ArrayList<>();
+        EventBinding<?> binding1 = attachListener(statementsOf(3).lineIn(IndexRange.between(5, 7)).build(), lines5To6);
+        List<String> line3 = new ArrayList<>();
+        attachListener(statementsOf(7).lineIs(3).build(), line3);
+        List<String> allLines = new ArrayList<>();
+        attachListener(statementsOf(1).build(), allLines);
+
+        runAll();
+        Assert.assertEquals(Arrays.asList("source3:5", "source3:6"), lines5To6);
+        Assert.assertEquals(Arrays.asList("source7:3"), line3);
+        Assert.assertEquals(Arrays.asList("source1:7", "source1:3", "source1:5", "source1:6"), allLines);
+
+        binding1.dispose();
+        lines5To6.clear();
+        line3.clear();
+        runAll();
+        Assert.assertEquals(Arrays.asList(), lines5To6);
+        Assert.assertEquals(Arrays.asList("source7:3"), line3);
+    }
+
+    @Test
+    public void testAttachBeforeLoad() throws IOException {
+        List<String> line6 = new ArrayList<>();
+        attachListener(statementsOf(4).lineIs(6).build(), line6);
+        runAll();
+        Assert.assertEquals(Arrays.asList("source4:6"), line6);
+
+        // roots are classified now, attach another binding using the index
+        List<String> line5 = new ArrayList<>();
+        attachListener(statementsOf(4).lineIs(5).build(), line5);
+        runAll();
+        Assert.assertEquals(Arrays.asList("source4:5"), line5);
+        Assert.assertEquals(Arrays.asList("source4:6", "source4:6"), line6);
+    }
+
+    @Test
+    public void testLoadedSourceSections() throws IOException {
+        runAll();
+
+        List<String> loaded = new ArrayList<>();
+        instrumentEnv.getInstrumenter().attachLoadSourceSectionListener(statementsOf(5).lineStartsIn(IndexRange.between(3, 6)).build(), new LoadSourceSectionListener() {
+            @Override
+            public void onLoad(LoadSourceSectionEvent event) {
+                loaded.add(format(event.getSourceSection()));
+            }
+        }, true);
+        Assert.assertEquals(Arrays.asList("source5:3", "source5:5"), loaded);
+    }
+
+    private EventBinding<?> attachListener(SourceSectionFilter filter, List<String> events) {
+        return instrumentEnv.getInstrumenter().attachExecutionEventListener(filter, new ExecutionEventListener() {
+            @Override
+            public void onEnter(EventContext c, VirtualFrame frame) {
+                events.add(format(c.getInstrumentedSourceSection()));
+            }
+
+            @Override
+            public void onReturnValue(EventContext c, VirtualFrame frame, Object result) {
+            }
+
+            @Override
+            public void onReturnExceptional(EventContext c, VirtualFrame frame, Throwable exception) {
+            }
+        });
+    }
+
+    private static String format(SourceSection section) {
+        return section.getSource().getName() + ":" + section.getStartLine();
+    }
+}
@@ -123,6 +123,12 @@ final class InstrumentationHandler {
 
     final Collection<RootNode> loadedRoots = new WeakAsyncList<>(256);
     private final Collection<RootNode> executedRoots = new WeakAsyncList<>(64);
+    /*
+     * Indexes of the loaded and executed roots by their root source section. Roots must be added
+     * through the index so that bindings filtered by source or lines only visit matching roots.
+     */
+    private final RootSourceSectionIndex loadedRootsIndex = new RootSourceSectionIndex(loadedRoots);
+    private final RootSourceSectionIndex executedRootsIndex = new RootSourceSectionIndex(executedRoots);
     private final Collection<AllocationReporter> allocationReporters = new WeakAsyncList<>(16);
 
     private final Collection<EventBinding.Source<?>> executionBindings = new EventBindingList<>(8);
@@ -200,7 +206,7 @@ final class InstrumentationHandler {
                     sourcesListRef.set(null);
                     rootSources = null;
                 }
-                loadedRoots.add(root);
+                loadedRootsIndex.add(root);
                 // Do not invoke foreign code while holding a lock to avoid deadlocks.
                 if (rootSources != null) {
                     SourceList sourceList = sourcesListRef.get();
@@ -214,7 +220,7 @@ final class InstrumentationHandler {
                 lock.unlock();
             }
         } else {
-            loadedRoots.add(root);
+            loadedRootsIndex.add(root);
         }
 
         // fast path no bindings attached
@@ -334,7 +340,7 @@ final class InstrumentationHandler {
                     sourcesExecutedListRef.set(null);
                     rootSources = null;
                 }
-                executedRoots.add(root);
+                executedRootsIndex.add(root);
                 // Do not invoke foreign code while holding a lock to avoid deadlocks.
                 if (rootSources != null) {
                     SourceList sourceList = sourcesExecutedListRef.get();
@@ -348,7 +354,7 @@ final class InstrumentationHandler {
                 lock.unlock();
             }
         } else {
-            executedRoots.add(root);
+            executedRootsIndex.add(root);
         }
 
         // fast path no bindings attached
@@ -452,7 +458,7 @@ final class InstrumentationHandler {
             visitorBuilder.addInsertWrapperOperationForBinding(VisitOperation.Scope.ONLY_ORIGINAL, binding);
             visitorBuilder.addInsertWrapperOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
             visitorBuilder.addNotifyLoadedOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
-            visitRoots(executedRoots, visitorBuilder.buildVisitor());
+            visitRoots(executedRootsIndex.findRoots(binding.getFilter()), visitorBuilder.buildVisitor());
         }
 
         if (TRACE) {
@@ -474,7 +480,7 @@ final class InstrumentationHandler {
                 visitorBuilder.addNotifyLoadedOperationForBinding(VisitOperation.Scope.ONLY_ORIGINAL, binding);
                 visitorBuilder.addNotifyLoadedOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
                 visitorBuilder.addInsertWrapperOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
-                visitRoots(loadedRoots, visitorBuilder.buildVisitor());
+                visitRoots(loadedRootsIndex.findRoots(binding.getFilter()), visitorBuilder.buildVisitor());
             }
         }
 
@@ -495,7 +501,7 @@ final class InstrumentationHandler {
             visitorBuilder.addNotifyLoadedOperationForBinding(VisitOperation.Scope.ALL, binding);
             visitorBuilder.addNotifyLoadedOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
             visitorBuilder.addInsertWrapperOperationForAllBindings(VisitOperation.Scope.ONLY_MATERIALIZED);
-            visitRoots(loadedRoots, visitorBuilder.buildVisitor());
+            visitRoots(loadedRootsIndex.findRoots(binding.getFilter()), visitorBuilder.buildVisitor());
         }
 
         if (TRACE) {
@@ -750,7 +756,7 @@ final class InstrumentationHandler {
             if (sourceBinding.isExecutionEvent()) {
                 BindingsVisitorBuilder visitorBuilder = new BindingsVisitorBuilder();
                 visitorBuilder.addDisposeWrapperOperationForBinding(sourceBinding);
-                visitRoots(executedRoots, visitorBuilder.buildVisitor());
+                visitRoots(executedRootsIndex.findRoots(sourceBinding.getFilter()), visitorBuilder.buildVisitor());
             }
         } else if (binding instanceof EventBinding.Allocation) {
             EventBinding.Allocation<?> allocationBinding = (EventBinding.Allocation<?>) binding;
@@ -1166,6 +1172,9 @@ final class InstrumentationHandler {
                 visitor.computingRootNodeBits = RootNodeBits.isUninitialized(visitor.rootBits) ? RootNodeBits.getAll() : visitor.rootBits;
             } else if (RootNodeBits.isUninitialized(visitor.rootBits)) {
                 visitor.computingRootNodeBits = RootNodeBits.getAll();
+            } else {
+                // visitors are reused for many roots, do not apply the bits of the previous root
+                visitor.computingRootNodeBits = 0;
             }
 
             if (TRACE) {
@@ -1183,6 +1192,11 @@ final class InstrumentationHandler {
             }
 
             if (!RootNodeBits.isUninitialized(visitor.computingRootNodeBits)) {
+                if (!RootNodeBits.isUninitialized(visitor.rootBits) && visitor.rootBits != visitor.computingRootNodeBits) {
+                    // the root may have been indexed with outdated bits
+                    loadedRootsIndex.invalidate();
+                    executedRootsIndex.invalidate();
+                }
                 RootNodeBits.set(visitor.root, visitor.computingRootNodeBits);
             }
         }
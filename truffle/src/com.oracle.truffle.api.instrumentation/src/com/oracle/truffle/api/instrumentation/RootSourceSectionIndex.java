@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.instrumentation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter.IndexRange;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Index of root nodes by the source and the line range of their root source section. Root nodes
+ * are first kept unclassified until their {@link RootNodeBits} are computed by a visit. Roots that
+ * use a single source are then stored per source in an interval tree over their lines, all other
+ * roots are always reported as candidates. Root source sections are only requested from the
+ * language when the index is used for a lookup. The index is conservative: it only prunes roots
+ * for which {@link SourceSectionFilter#isInstrumentedRoot} would return <code>false</code>.
+ */
+final class RootSourceSectionIndex {
+
+    private static final Comparator<Entry> LOAD_ORDER = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            return Long.compare(e1.order, e2.order);
+        }
+    };
+
+    private final Collection<RootNode> roots;
+    private final Map<Source, SourceRoots> sourceRoots = new WeakHashMap<>();
+    private List<Entry> unclassified = new ArrayList<>();
+    private List<Entry> unstructured = new ArrayList<>();
+    private long nextOrder;
+    private int generation;
+
+    RootSourceSectionIndex(Collection<RootNode> roots) {
+        this.roots = roots;
+    }
+
+    synchronized void add(RootNode root) {
+        roots.add(root);
+        unclassified.add(new Entry(root, nextOrder++));
+    }
+
+    /**
+     * Must be called if the bits of an already classified root node changed, e.g. because a new
+     * node with a source section outside of the root source section was inserted.
+     */
+    synchronized void invalidate() {
+        List<Entry> entries = new ArrayList<>(unclassified);
+        entries.addAll(unstructured);
+        for (SourceRoots sourceRoot : sourceRoots.values()) {
+            sourceRoot.collectEntries(entries);
+        }
+        for (Entry entry : entries) {
+            entry.classified = false;
+        }
+        sourceRoots.clear();
+        unstructured = new ArrayList<>();
+        unclassified = entries;
+        generation++;
+    }
+
+    /**
+     * Returns all roots in load order that may be instrumented by the given filter.
+     */
+    Collection<RootNode> findRoots(SourceSectionFilter filter) {
+        if (!filter.isRootIndexable()) {
+            return roots;
+        }
+        List<Entry> pending;
+        int observedGeneration;
+        synchronized (this) {
+            pending = new ArrayList<>(unclassified);
+            observedGeneration = generation;
+        }
+
+        /*
+         * Classify outside of the lock, root source sections are computed by the language and
+         * might be expensive to compute. Roots without computed bits need to be visited anyway.
+         */
+        List<Entry> candidates = new ArrayList<>();
+        List<Classification> classifications = new ArrayList<>();
+        for (Entry entry : pending) {
+            RootNode root = entry.root.get();
+            if (root == null) {
+                continue;
+            }
+            int bits = RootNodeBits.get(root);
+            if (RootNodeBits.isUninitialized(bits)) {
+                candidates.add(entry);
+            } else {
+                SourceSection rootSourceSection = RootNodeBits.isNoSourceSection(bits) ? null : root.getSourceSection();
+                classifications.add(new Classification(entry, bits, rootSourceSection));
+            }
+        }
+
+        List<Source> sources;
+        List<IntervalTree> trees;
+        synchronized (this) {
+            if (generation != observedGeneration) {
+                // invalidated concurrently, be conservative
+                return roots;
+            }
+            classify(classifications);
+            candidates.addAll(unstructured);
+            sources = new ArrayList<>(sourceRoots.size());
+            trees = new ArrayList<>(sourceRoots.size());
+            for (Map.Entry<Source, SourceRoots> sourceEntry : sourceRoots.entrySet()) {
+                sources.add(sourceEntry.getKey());
+                trees.add(sourceEntry.getValue().getTree());
+            }
+        }
+        IndexRange[] ranges = filter.getRootLineRanges();
+        for (int i = 0; i < sources.size(); i++) {
+            if (isRootSourceIncluded(filter, sources.get(i))) {
+                trees.get(i).find(ranges, candidates);
+            }
+        }
+        Collections.sort(candidates, LOAD_ORDER);
+        List<RootNode> result = new ArrayList<>(candidates.size());
+        for (Entry entry : candidates) {
+            RootNode root = entry.root.get();
+            if (root != null) {
+                result.add(root);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isRootSourceIncluded(SourceSectionFilter filter, Source source) {
+        try {
+            return filter.isRootSourceIncluded(source);
+        } catch (Throwable t) {
+            // failing filters are reported when the root is visited
+            return true;
+        }
+    }
+
+    /**
+     * Moves classified roots from the unclassified list to their final place. Roots that use a
+     * single source go to the interval tree of that source, all others are unstructured.
+     */
+    private void classify(List<Classification> classifications) {
+        for (Classification classification : classifications) {
+            Entry entry = classification.entry;
+            if (entry.classified) {
+                // classified by a concurrent lookup
+                continue;
+            }
+            entry.classified = true;
+            int bits = classification.bits;
+            SourceSection rootSourceSection = classification.rootSourceSection;
+            if (!RootNodeBits.isNoSourceSection(bits) && RootNodeBits.isSameSource(bits) && rootSourceSection != null) {
+                entry.setLines(rootSourceSection, RootNodeBits.isSourceSectionsHierachical(bits));
+                Source source = rootSourceSection.getSource();
+                SourceRoots sourceRoot = sourceRoots.get(source);
+                if (sourceRoot == null) {
+                    sourceRoot = new SourceRoots();
+                    sourceRoots.put(source, sourceRoot);
+                }
+                sourceRoot.add(entry);
+            } else {
+                // roots without source sections are rejected early by the root filter
+                unstructured.add(entry);
+            }
+        }
+        unclassified = collectAlive(unclassified, false);
+        unstructured = collectAlive(unstructured, true);
+    }
+
+    private static List<Entry> collectAlive(List<Entry> entries, boolean classified) {
+        List<Entry> alive = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.classified == classified && entry.root.get() != null) {
+                alive.add(entry);
+            }
+        }
+        return alive;
+    }
+
+    private static final class Classification {
+
+        final Entry entry;
+        final int bits;
+        final SourceSection rootSourceSection;
+
+        Classification(Entry entry, int bits, SourceSection rootSourceSection) {
+            this.entry = entry;
+            this.bits = bits;
+            this.rootSourceSection = rootSourceSection;
+        }
+    }
+
+    private static final class Entry {
+
+        final WeakReference<RootNode> root;
+        final long order;
+        boolean classified;
+        int startLine;
+        int endLine;
+
+        Entry(RootNode root, long order) {
+            this.root = new WeakReference<>(root);
+            this.order = order;
+        }
+
+        void setLines(SourceSection rootSourceSection, boolean hierarchical) {
+            if (hierarchical && rootSourceSection.isAvailable()) {
+                startLine = rootSourceSection.getStartLine();
+                endLine = rootSourceSection.getEndLine();
+            } else {
+                startLine = 0;
+                endLine = Integer.MAX_VALUE;
+            }
+        }
+
+        boolean isLineIn(IndexRange[] ranges) {
+            for (IndexRange range : ranges) {
+                if (range.contains(startLine, endLine)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Roots of a single source. New roots are collected in a list and merged into an immutable
+     * interval tree on the next lookup.
+     */
+    private static final class SourceRoots {
+
+        private final List<Entry> added = new ArrayList<>();
+        private IntervalTree tree = IntervalTree.EMPTY;
+
+        void add(Entry entry) {
+            added.add(entry);
+        }
+
+        void collectEntries(List<Entry> entries) {
+            entries.addAll(added);
+            entries.addAll(Arrays.asList(tree.entries));
+        }
+
+        IntervalTree getTree() {
+            if (!added.isEmpty()) {
+                List<Entry> entries = new ArrayList<>(tree.entries.length + added.size());
+                for (Entry entry : tree.entries) {
+                    if (entry.root.get() != null) {
+                        entries.add(entry);
+                    }
+                }
+                entries.addAll(added);
+                added.clear();
+                tree = new IntervalTree(entries);
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * Entries sorted by start line, interpreted as an implicit balanced binary tree where each
+     * middle element stores the maximum end line of its subtree. Finds all k intersecting entries
+     * in O(log n + k).
+     */
+    private static final class IntervalTree {
+
+        static final IntervalTree EMPTY = new IntervalTree(Collections.<Entry> emptyList());
+
+        final Entry[] entries;
+        private final int[] maxEndLine;
+
+        IntervalTree(List<Entry> entryList) {
+            this.entries = entryList.toArray(new Entry[entryList.size()]);
+            Arrays.sort(entries, new Comparator<Entry>() {
+                @Override
+                public int compare(Entry e1, Entry e2) {
+                    return Integer.compare(e1.startLine, e2.startLine);
+                }
+            });
+            this.maxEndLine = new int[entries.length];
+            computeMaxEndLine(0, entries.length);
+        }
+
+        private int computeMaxEndLine(int from, int to) {
+            if (from >= to) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (from + to) >>> 1;
+            int max = Math.max(entries[mid].endLine, Math.max(computeMaxEndLine(from, mid), computeMaxEndLine(mid + 1, to)));
+            maxEndLine[mid] = max;
+            return max;
+        }
+
+        void find(IndexRange[] ranges, List<Entry> result) {
+            if (ranges == null) {
+                result.addAll(Arrays.asList(entries));
+                return;
+            }
+            int start = Integer.MAX_VALUE;
+            int end = Integer.MIN_VALUE;
+            for (IndexRange range : ranges) {
+                start = Math.min(start, range.startIndex);
+                end = Math.max(end, range.endIndex);
+            }
+            find(0, entries.length, start, end, ranges, result);
+        }
+
+        private void find(int from, int to, int start, int end, IndexRange[] ranges, List<Entry> result) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if (maxEndLine[mid] < start) {
+                // no entry in this subtree ends at or after the start of the ranges
+                return;
+            }
+            find(from, mid, start, end, ranges, result);
+            Entry entry = entries[mid];
+            if (entry.startLine >= end) {
+                // all entries right of mid start at or after the end of the ranges
+                return;
+            }
+            if (entry.isLineIn(ranges)) {
+                result.add(entry);
+            }
+            find(mid + 1, to, start, end, ranges, result);
+        }
+    }
+}
@@ -201,6 +201,62 @@ public final class SourceSectionFilter {
         return true;
     }
 
+    /**
+     * Returns <code>true</code> if this filter excludes root nodes based on the source or the lines
+     * of their root source section. Only such filters can be answered by a
+     * {@link RootSourceSectionIndex}.
+     */
+    boolean isRootIndexable() {
+        for (EventFilterExpression exp : expressions) {
+            if (isRootSourceExpression(exp) || getRootLineRanges(exp) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns <code>false</code> if no root node with a root source section in the given source
+     * can be included by this filter, assuming the root does not contain sections of other sources.
+     */
+    boolean isRootSourceIncluded(Source source) {
+        for (EventFilterExpression exp : expressions) {
+            if (isRootSourceExpression(exp) && !exp.isSourceIncluded(source)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the line ranges that a hierarchical root source section must intersect with to be
+     * included by this filter or <code>null</code> if the filter does not restrict lines.
+     */
+    IndexRange[] getRootLineRanges() {
+        for (EventFilterExpression exp : expressions) {
+            IndexRange[] ranges = getRootLineRanges(exp);
+            if (ranges != null) {
+                return ranges;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRootSourceExpression(EventFilterExpression exp) {
+        return exp instanceof EventFilterExpression.SourceIs || exp instanceof EventFilterExpression.SourceFilterIs || exp instanceof EventFilterExpression.MimeTypeIs;
+    }
+
+    private static IndexRange[] getRootLineRanges(EventFilterExpression exp) {
+        if (exp instanceof EventFilterExpression.LineIn) {
+            return ((EventFilterExpression.LineIn) exp).ranges;
+        } else if (exp instanceof EventFilterExpression.LineStartsIn) {
+            return ((EventFilterExpression.LineStartsIn) exp).ranges;
+        } else if (exp instanceof EventFilterExpression.LineEndsIn) {
+            return ((EventFilterExpression.LineEndsIn) exp).ranges;
+        }
+        return null;
+    }
+
     boolean isInstrumentedNode(Set<Class<?>> providedTags, Node instrumentedNode, SourceSection sourceSection) {
         assert InstrumentationHandler.isInstrumentableNode(instrumentedNode);
         for (EventFilterExpression exp : expressions) {
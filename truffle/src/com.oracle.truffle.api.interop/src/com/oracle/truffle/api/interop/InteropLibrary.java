@@ -48,6 +48,7 @@ import static com.oracle.truffle.api.interop.AssertUtils.validReturn;
 import static com.oracle.truffle.api.interop.AssertUtils.violationInvariant;
 import static com.oracle.truffle.api.interop.AssertUtils.violationPost;
 
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -123,6 +124,10 @@ import com.oracle.truffle.api.source.SourceSection;
  * <li>{@link #isPointer(Object) pointer}
  * <li>{@link #hasMembers(Object) members}
  * <li>{@link #hasArrayElements(Object) array elements}
+ * <li>{@link #hasBufferElements(Object) buffer elements}
+ * <li>{@link #hasIterator(Object) iterable}
+ * <li>{@link #isIterator(Object) iterator}
+ * <li>{@link #hasHashEntries(Object) hash entries}
  * <li>{@link #hasLanguage(Object) language}
  * <li>{@link #hasMetaObject(Object) associated metaobject}
  * <li>{@link #hasSourceLocation(Object) source location}
@@ -959,1343 +964,2356 @@ public abstract class InteropLibrary extends Library {
         return isArrayElementModifiable(receiver, index) || isArrayElementReadable(receiver, index) || isArrayElementRemovable(receiver, index);
     }
 
+    // Buffer Messages
+
     /**
-     * Returns <code>true</code> if the receiver value represents a native pointer. Native pointers
-     * are represented as 64 bit pointers. Invoking this message does not cause any observable
-     * side-effects. Returns <code>false</code> by default.
-     * <p>
-     * It is expected that objects should only return <code>true</code> if the native pointer value
-     * corresponding to this object already exists, and obtaining it is a cheap operation. If an
-     * object can be transformed to a pointer representation, but this hasn't happened yet, the
-     * object is expected to return <code>false</code> with {@link #isPointer(Object)}, and wait for
-     * the {@link #toNative(Object)} message to trigger the transformation.
+     * Returns <code>true</code> if the receiver may have buffer elements, i.e. if it provides
+     * random access to raw bytes by byte offset. If this message returns <code>true</code> then
+     * {@link #getBufferSize(Object)}, {@link #readBufferByte(Object, long)} and the other read
+     * messages must not throw {@link UnsupportedMessageException}. For example, a byte array, a
+     * direct byte buffer or the linear memory of a WebAssembly module can be interpreted as a buffer.
+     * Buffer elements are independent of {@link #hasArrayElements(Object) array elements}; a
+     * receiver may have both. Invoking this message does not cause any observable side-effects.
+     * Returns <code>false</code> by default.
      *
-     * @see #asPointer(Object)
-     * @see #toNative(Object)
-     * @since 19.0
+     * @see #getBufferSize(Object)
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asPointer"})
-    public boolean isPointer(Object receiver) {
+    @Abstract(ifExported = {"isBufferWritable", "getBufferSize", "readBufferByte", "writeBufferByte", "readBufferShort", "writeBufferShort", "readBufferInt", "writeBufferInt", "readBufferLong", "writeBufferLong", "readBufferFloat", "writeBufferFloat", "readBufferDouble", "writeBufferDouble"})
+    public boolean hasBufferElements(Object receiver) {
         return false;
     }
 
     /**
-     * Returns the pointer value as long value if the receiver represents a pointer like value.
+     * Returns <code>true</code> if the receiver is a buffer that can be written to with the
+     * {@link #writeBufferByte(Object, long, byte) write} messages. Invoking this message does not
+     * cause any observable side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isPointer(Object)} returns
-     *             <code>false</code> for the same receiver.
-     * @see #isPointer(Object)
-     * @since 19.0
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isPointer"})
-    public long asPointer(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public boolean isBufferWritable(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Attempts to transform a {@link TruffleObject receiver} to a value that represents a raw
-     * native pointer. After a successful transformation, the provided receiver returns true for
-     * {@link #isPointer(Object)} and can be unwrapped using the {@link #asPointer(Object)} message.
-     * If transformation cannot be done {@link #isPointer(Object)} will keep returning false.
+     * Returns the size of the receiver buffer in bytes. Invoking this message does not cause any
+     * observable side-effects.
      *
-     * @see #isPointer(Object)
-     * @see #asPointer(Object)
-     * @since 19.0
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @since 20.1
      */
-    public void toNative(Object receiver) {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public long getBufferSize(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as instant if this object represents an {@link #isInstant(Object)
-     * instant}. If a value is an instant then it is also a {@link #isDate(Object) date},
-     * {@link #isTime(Object) time} and {@link #isTimeZone(Object) timezone}. Using this method may
-     * be more efficient than reconstructing the timestamp from the date, time and timezone data.
-     * <p>
-     * Implementers should implement this method if they can provide a more efficient conversion to
-     * Instant than reconstructing it from date, time and timezone date. Implementers must ensure
-     * that the following Java code snippet always holds:
-     *
-     * <pre>
-     * ZoneId zone = getTimeZone(receiver);
-     * LocalDate date = getDate(receiver);
-     * LocalTime time = getTime(receiver);
-     * assert ZonedDateTime.of(date, time, zone).toInstant().equals(getInstant(receiver));
-     * </pre>
+     * Reads the byte at the given byte offset from the receiver buffer. This method must have no
+     * observable side-effects.
      *
-     * @see #isDate(Object)
-     * @see #isTime(Object)
-     * @see #isTimeZone(Object)
-     * @throws UnsupportedMessageException if and only if {@link #isInstant(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
      *             <code>false</code>.
-     * @since 20.0.0 beta 2
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt;= </code>{@link #getBufferSize(Object)}.
+     * @since 20.1
      */
-    public Instant asInstant(Object receiver) throws UnsupportedMessageException {
-        if (isDate(receiver) && isTime(receiver) && isTimeZone(receiver)) {
-            LocalDate date = asDate(receiver);
-            LocalTime time = asTime(receiver);
-            ZoneId zone = asTimeZone(receiver);
-            return toInstant(date, time, zone);
-        }
+    @Abstract(ifExported = {"hasBufferElements"})
+    public byte readBufferByte(Object receiver, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
-    @TruffleBoundary
-    private static Instant toInstant(LocalDate date, LocalTime time, ZoneId zone) {
-        return ZonedDateTime.of(date, time, zone).toInstant();
+    /**
+     * Writes the given byte at the given byte offset into the receiver buffer. This method must have
+     * no observable side-effects other than the changed byte.
+     *
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt;= </code>{@link #getBufferSize(Object)}.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferByte(Object receiver, long byteOffset, byte value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver represents an instant. If a value is an instant
-     * then it is also a {@link #isDate(Object) date}, {@link #isTime(Object) time} and
-     * {@link #isTimeZone(Object) timezone}.
-     *
-     * This method is short-hand for:
-     *
-     * <pre>
-     * {@linkplain #isDate(Object) isDate}(v) && {@link #isTime(Object) isTime}(v) && {@link #isTimeZone(Object) isTimeZone}(v)
-     * </pre>
+     * Reads the short value that starts at the given byte offset from the receiver buffer, using the
+     * given byte order. The access does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * @see #isDate(Object)
-     * @see #isTime(Object)
-     * @see #isInstant(Object)
-     * @see #asInstant(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 2</code>.
+     * @since 20.1
      */
-    public final boolean isInstant(Object receiver) {
-        return isDate(receiver) && isTime(receiver) && isTimeZone(receiver);
+    @Abstract(ifExported = {"hasBufferElements"})
+    public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a timezone, else <code>false</code>. The
-     * interpretation of timezone objects may vary:
-     * <ul>
-     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} return <code>true</code>, then the
-     * returned date or time information is aware of this timezone.
-     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} returns <code>false</code>, then
-     * it represents just timezone information.
-     * </ul>
-     * Objects with only date information must not have timezone information attached and objects
-     * with only time information must have either none, or {@link ZoneRules#isFixedOffset() fixed
-     * zone} only. If this rule is violated then an {@link AssertionError} is thrown if assertions
-     * are enabled.
-     * <p>
-     * If this method is implemented then also {@link #asTimeZone(Object)} must be implemented.
+     * Writes the given short value starting at the given byte offset into the receiver buffer, using
+     * the given byte order. The access does not need to be aligned. This method must have no
+     * observable side-effects other than the changed bytes.
      *
-     * @see #asTimeZone(Object)
-     * @see #asInstant(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 2</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asTimeZone", "asInstant"})
-    public boolean isTimeZone(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as timestamp if this object represents a {@link #isTimeZone(Object)
-     * timezone}.
+     * Reads the int value that starts at the given byte offset from the receiver buffer, using the
+     * given byte order. The access does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isTimeZone(Object)} returns
-     *             <code>false</code> .
-     * @see #isTimeZone(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 4</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTimeZone", "asInstant"})
-    public ZoneId asTimeZone(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a date, else <code>false</code>. If the
-     * receiver is also a {@link #isTimeZone(Object) timezone} then the date is aware, otherwise it
-     * is naive.
+     * Writes the given int value starting at the given byte offset into the receiver buffer, using
+     * the given byte order. The access does not need to be aligned. This method must have no
+     * observable side-effects other than the changed bytes.
      *
-     * @see #asDate(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 4</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asDate", "asInstant"})
-    public boolean isDate(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as date if this object represents a {@link #isDate(Object) date}. The
-     * returned date is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
-     * otherwise it is naive.
+     * Reads the long value that starts at the given byte offset from the receiver buffer, using the
+     * given byte order. The access does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isDate(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
      *             <code>false</code>.
-     * @see #isDate(Object)
-     * @since 20.0.0 beta 2
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 8</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTime", "asInstant"})
-    public LocalDate asDate(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a time, else <code>false</code>. If the
-     * receiver is also a {@link #isTimeZone(Object) timezone} then the time is aware, otherwise it
-     * is naive.
+     * Writes the given long value starting at the given byte offset into the receiver buffer, using
+     * the given byte order. The access does not need to be aligned. This method must have no
+     * observable side-effects other than the changed bytes.
      *
-     * @see #asTime(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 8</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asTime", "asInstant"})
-    public boolean isTime(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as time if this object represents a {@link #isTime(Object) time}. The
-     * returned time is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
-     * otherwise it is naive.
+     * Reads the float value that starts at the given byte offset from the receiver buffer, using the
+     * given byte order. The access does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isTime(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
      *             <code>false</code>.
-     * @see #isTime(Object)
-     * @since 20.0.0 beta 2
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 4</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTime", "asInstant"})
-    public LocalTime asTime(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a duration, else <code>false</code>.
+     * Writes the given float value starting at the given byte offset into the receiver buffer, using
+     * the given byte order. The access does not need to be aligned. This method must have no
+     * observable side-effects other than the changed bytes.
      *
-     * @see Duration
-     * @see #asDuration(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 4</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asDuration"})
-    public boolean isDuration(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as duration if this object represents a {@link #isDuration(Object)
-     * duration}.
+     * Reads the double value that starts at the given byte offset from the receiver buffer, using the
+     * given byte order. The access does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isDuration(Object)} returns
-     *             <code>false</code> .
-     * @see #isDuration(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 8</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isDuration"})
-    public Duration asDuration(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver value represents a throwable
-     * {@linkplain TruffleException#getExceptionObject() exception/error object}. Invoking this
-     * message does not cause any observable side-effects. Returns <code>false</code> by default.
-     * <p>
-     * Objects must only return <code>true</code> if they support {@link #throwException} as well.
-     * If this method is implemented then also {@link #throwException(Object)} must be implemented.
+     * Writes the given double value starting at the given byte offset into the receiver buffer, using
+     * the given byte order. The access does not need to be aligned. This method must have no
+     * observable side-effects other than the changed bytes.
      *
-     * @see #throwException(Object)
-     * @see TruffleException#getExceptionObject()
-     * @since 19.3
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code> or
+     *             <code>byteOffset &gt; </code>{@link #getBufferSize(Object)}<code> - 8</code>.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"throwException"})
-    public boolean isException(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Throws the receiver object as an exception of the source language, as if it was thrown by the
-     * source language itself. Allows rethrowing exceptions caught by another language.
+     * Copies <code>length</code> bytes starting at the given byte offset of the receiver buffer into
+     * the destination array. This method must have no observable side-effects other than the
+     * changed destination array.
      * <p>
-     * If this method is implemented then also {@link #isException(Object)} must be implemented.
+     * The default implementation sends one {@link #readBufferLong(Object, ByteOrder, long)}
+     * message for every eight bytes and one {@link #readBufferByte(Object, long)} message for each
+     * remaining byte, so its cost grows linearly with <code>length</code>. Exports should implement
+     * this message with a bulk copy whenever the buffer is backed by a byte array or native memory.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isException(Object)} returns
-     *             <code>false</code> for the same receiver.
-     * @see #isException(Object)
-     * @since 19.3
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code>,
+     *             <code>byteOffset + length &gt; </code>{@link #getBufferSize(Object)}, or if the
+     *             destination range is out of bounds of the destination array.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isException"})
-    public RuntimeException throwException(Object receiver) throws UnsupportedMessageException {
-        throw UnsupportedMessageException.create();
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (destinationOffset < 0 || length < 0 || destinationOffset > destination.length - length) {
+            throw InvalidBufferOffsetException.create(destinationOffset, length);
+        }
+        if (byteOffset < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        int i = 0;
+        for (; i <= length - Long.BYTES; i += Long.BYTES) {
+            long value = readBufferLong(receiver, ByteOrder.LITTLE_ENDIAN, byteOffset + i);
+            for (int j = 0; j < Long.BYTES; j++) {
+                destination[destinationOffset + i + j] = (byte) (value >>> (j * Byte.SIZE));
+            }
+        }
+        for (; i < length; i++) {
+            destination[destinationOffset + i] = readBufferByte(receiver, byteOffset + i);
+        }
     }
 
     /**
-     * Returns <code>true</code> if the receiver value has a declared source location attached, else
-     * <code>false</code>. Returning a source location for a value is optional and typically impacts
-     * the capabilities of tools like debuggers to jump to the declaration of a value.
-     * <p>
-     * Examples for values that may provide a source location:
-     * <ul>
-     * <li>{@link #isMetaObject(Object) Metaobjects} like classes or types.
-     * <li>First class {@link #isExecutable(Object) executables}, like functions, closures or
-     * promises.
-     * <li>Allocation sites for instances. Note that in most languages it is very expensive to track
-     * the allocation site of an instance and it is therefore not recommended to support this
-     * feature by default, but ideally behind an optional language option.
-     * <ul>
+     * Copies <code>length</code> bytes from the source array into the receiver buffer, starting at
+     * the given byte offset. This method must have no observable side-effects other than the
+     * changed bytes of the buffer.
      * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getSourceLocation(Object)} must be implemented.
-     *
-     * @see #getSourceLocation(Object)
+     * The default implementation sends one
+     * {@link #writeBufferLong(Object, ByteOrder, long, long)} message for every eight bytes and one
+     * {@link #writeBufferByte(Object, long, byte)} message for each remaining byte, so its cost
+     * grows linearly with <code>length</code>. Exports should implement this message with a bulk
+     * copy whenever the buffer is backed by a byte array or native memory.
+     *
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if <code>byteOffset &lt; 0</code>,
+     *             <code>byteOffset + length &gt; </code>{@link #getBufferSize(Object)}, or if the
+     *             source range is out of bounds of the source array.
      * @since 20.1
      */
-    @Abstract(ifExported = {"getSourceLocation"})
-    @TruffleBoundary
-    public boolean hasSourceLocation(Object receiver) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
-            if (location != null) {
-                return true;
+    public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (sourceOffset < 0 || length < 0 || sourceOffset > source.length - length) {
+            throw InvalidBufferOffsetException.create(sourceOffset, length);
+        }
+        if (!isBufferWritable(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        int i = 0;
+        for (; i <= length - Long.BYTES; i += Long.BYTES) {
+            long value = 0;
+            for (int j = 0; j < Long.BYTES; j++) {
+                value |= (source[sourceOffset + i + j] & 0xFFL) << (j * Byte.SIZE);
             }
+            writeBufferLong(receiver, ByteOrder.LITTLE_ENDIAN, byteOffset + i, value);
+        }
+        for (; i < length; i++) {
+            writeBufferByte(receiver, byteOffset + i, source[sourceOffset + i]);
         }
-        return false;
     }
 
+    // Iterator Messages
+
     /**
-     * Returns the declared source location of the receiver value. Throws an
-     * {@link UnsupportedMessageException} if the value does not have a declared source location.
-     * See {@link #hasSourceLocation(Object)} for further details on potential interpretations.
-     * Throws {@link UnsupportedMessageException} by default.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasSourceLocation(Object)} must be implemented.
+     * Returns <code>true</code> if the receiver provides an {@link #isIterator(Object) iterator}
+     * over its elements. For example, an array, a list or a set can provide an iterator. Iterating
+     * with an iterator avoids materializing all elements or keys of the receiver up front. Invoking
+     * this message does not cause any observable side-effects. Returns <code>false</code> by
+     * default.
      *
-     * @throws UnsupportedMessageException if and only if {@link #hasSourceLocation(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @see #getIterator(Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasSourceLocation"})
-    @TruffleBoundary
-    public SourceSection getSourceLocation(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
-            if (location != null) {
-                return location;
-            }
-        }
+    @Abstract(ifExported = {"getIterator"})
+    public boolean hasIterator(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns a new iterator over the elements of the receiver. Every invocation returns an
+     * independent iterator that starts at the first element. The returned value must return
+     * <code>true</code> for {@link #isIterator(Object)}.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasIterator(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasIterator"})
+    public Object getIterator(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver originates from a language, else <code>false</code>
-     * . Primitive values or other shared interop value representations that are not associated with
-     * a language may return <code>false</code>. Values that originate from a language should return
-     * <code>true</code>. Returns <code>false</code> by default.
-     * <p>
-     * The associated language allows tools to identify the original language of a value. If an
-     * instrument requests a
-     * {@link com.oracle.truffle.api.instrumentation.TruffleInstrument.Env#getLanguageView(LanguageInfo, Object)
-     * language view} then values that are already associated with a language will just return the
-     * same value. Otherwise {@link TruffleLanguage#getLanguageView(Object, Object)} will be invoked
-     * on the language. The returned language may be also exposed to embedders in the future.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getLanguage(Object)} and {@link #toDisplayString(Object, boolean)} must be
-     * implemented.
+     * Returns <code>true</code> if the receiver is an iterator. An iterator provides its elements
+     * one by one using {@link #hasIteratorNextElement(Object)} and
+     * {@link #getIteratorNextElement(Object)}. Invoking this message does not cause any observable
+     * side-effects. Returns <code>false</code> by default.
      *
-     * @see #getLanguage(Object)
-     * @see #toDisplayString(Object)
+     * @see #getIterator(Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"getLanguage"})
-    @TruffleBoundary
-    public boolean hasLanguage(Object receiver) {
-        return getLegacyEnv(receiver, false) != null;
+    @Abstract(ifExported = {"hasIteratorNextElement", "getIteratorNextElement"})
+    public boolean isIterator(Object receiver) {
+        return false;
     }
 
     /**
-     * Returns the the original language of the receiver value. The returned language class must be
-     * non-null and represent a valid {@link Registration registered} language class. For more
-     * details see {@link #hasLanguage(Object)}.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasLanguage(Object)} must be implemented.
+     * Returns <code>true</code> if the receiver iterator has an element that was not yet returned
+     * by {@link #getIteratorNextElement(Object)}. Invoking this message does not advance the
+     * iterator.
      *
-     * @throws UnsupportedMessageException if and only if {@link #hasLanguage(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #isIterator(Object)} returns
      *             <code>false</code> for the same receiver.
      * @since 20.1
      */
-    @SuppressWarnings("unchecked")
-    @Abstract(ifExported = {"hasLanguage"})
-    @TruffleBoundary
-    public Class<? extends TruffleLanguage<?>> getLanguage(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            return (Class<? extends TruffleLanguage<?>>) InteropAccessor.ACCESSOR.languageSupport().getSPI(env).getClass();
-        }
+    @Abstract(ifExported = {"isIterator", "getIteratorNextElement"})
+    public boolean hasIteratorNextElement(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver value has a metaobject associated. The metaobject
-     * represents a description of the object, reveals its kind and its features. Some information
-     * that a metaobject might define includes the base object's type, interface, class, methods,
-     * attributes, etc. Should return <code>false</code> when no metaobject is known for this type.
-     * Returns <code>false</code> by default.
-     * <p>
-     * An example, for Java objects the returned metaobject is the {@link Object#getClass() class}
-     * instance. In JavaScript this could be the function or class that is associated with the
-     * object.
-     * <p>
-     * Metaobjects for primitive values or values of other languages may be provided using
-     * {@link TruffleLanguage#getLanguageView(Object, Object) language views}. While an object is
-     * associated with a metaobject in one language, the metaobject might be a different when viewed
-     * from another language.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getMetaObject(Object)} must be implemented.
+     * Returns the next element of the receiver iterator and advances the iterator.
      *
-     * @see #getMetaObject(Object)
-     * @see #isMetaObject(Object)
+     * @throws UnsupportedMessageException if {@link #isIterator(Object)} returns
+     *             <code>false</code> for the same receiver or if the next element cannot be read.
+     * @throws StopIterationException if the iterator does not have any more elements, i.e. if
+     *             {@link #hasIteratorNextElement(Object)} returns <code>false</code>.
      * @since 20.1
      */
-    @Abstract(ifExported = {"getMetaObject"})
-    @TruffleBoundary
-    public boolean hasMetaObject(Object receiver) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
-            if (metaObject != null) {
-                return true;
-            }
-        }
+    @Abstract(ifExported = {"isIterator", "hasIteratorNextElement"})
+    public Object getIteratorNextElement(Object receiver) throws UnsupportedMessageException, StopIterationException {
+        throw UnsupportedMessageException.create();
+    }
+
+    // Hash Messages
+
+    /**
+     * Returns <code>true</code> if the receiver may have hash entries, i.e. if it maps arbitrary
+     * interop values as keys to values. Unlike {@link #hasMembers(Object) members}, hash keys are
+     * not restricted to strings, and the entries can be accessed without materializing all keys.
+     * For example, a Java map or a Python dictionary may have hash entries. Invoking this message
+     * does not cause any observable side-effects. Returns <code>false</code> by default.
+     *
+     * @see #getHashSize(Object)
+     * @see #readHashValue(Object, Object)
+     * @see #getHashEntriesIterator(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getHashSize", "isHashEntryReadable", "readHashValue", "isHashEntryModifiable", "isHashEntryInsertable", "writeHashEntry", "isHashEntryRemovable", "removeHashEntry",
+                    "getHashEntriesIterator"})
+    public boolean hasHashEntries(Object receiver) {
         return false;
     }
 
     /**
-     * Returns the metaobject that is associated with this value. The metaobject represents a
-     * description of the object, reveals its kind and its features. Some information that a
-     * metaobject might define includes the base object's type, interface, class, methods,
-     * attributes, etc. When no metaobject is known for this type. Throws
-     * {@link UnsupportedMessageException} by default.
-     * <p>
-     * The returned object must return <code>true</code> for {@link #isMetaObject(Object)} and
-     * provide implementations for {@link #getMetaSimpleName(Object)},
-     * {@link #getMetaQualifiedName(Object)}, and {@link #isMetaInstance(Object, Object)}. For all
-     * values with metaobjects it must at hold that
-     * <code>isMetaInstance(getMetaObject(value), value) ==
-     * true</code>.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasMetaObject(Object)} must be implemented.
+     * Returns the number of hash entries of the receiver.
      *
-     * @throws UnsupportedMessageException if and only if {@link #hasMetaObject(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #hasHashEntries(Object)} returns
      *             <code>false</code> for the same receiver.
-     *
-     * @see #hasMetaObject(Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasMetaObject"})
-    @TruffleBoundary
-    public Object getMetaObject(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
-            if (metaObject != null) {
-                return new LegacyMetaObjectWrapper(receiver, metaObject);
-            }
-        }
+    @Abstract(ifExported = {"hasHashEntries"})
+    public long getHashSize(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Converts the receiver to a human readable {@link #isString(Object) string}. Each language may
-     * have special formating conventions - even primitive values may not follow the traditional
-     * Java rules. The format of the returned string is intended to be interpreted by humans not
-     * machines and should therefore not be relied upon by machines. By default the receiver class
-     * name and its {@link System#identityHashCode(Object) identity hash code} is used as string
-     * representation.
-     * <p>
-     * String representations for primitive values or values of other languages may be provided
-     * using {@link TruffleLanguage#getLanguageView(Object, Object) language views}. It is common
-     * that languages provide different string representations for primitive and foreign values. To
-     * convert the result value to a Java string use {@link InteropLibrary#asString(Object)}.
+     * Returns <code>true</code> if a mapping for the given key exists and can be
+     * {@link #readHashValue(Object, Object) read}. Invoking this message does not cause any
+     * observable side-effects. Returns <code>false</code> by default.
      *
-     * @param allowSideEffects whether side-effects are allowed in the production of the string.
-     * @see TruffleLanguage#getLanguageView(Object, Object)
+     * @see #readHashValue(Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasLanguage", "getLanguage"})
-    @TruffleBoundary
-    public Object toDisplayString(Object receiver, boolean allowSideEffects) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null && allowSideEffects) {
-            return InteropAccessor.ACCESSOR.languageSupport().legacyToString(env, receiver);
-        } else {
-            return receiver.getClass().getTypeName() + "@" + Integer.toHexString(System.identityHashCode(receiver));
-        }
+    @Abstract(ifExported = {"readHashValue"})
+    public boolean isHashEntryReadable(Object receiver, Object key) {
+        return false;
     }
 
-    private static Env getLegacyEnv(Object receiver, boolean nullForhost) {
-        return InteropAccessor.ACCESSOR.engineSupport().getLegacyLanguageEnv(receiver, nullForhost);
+    /**
+     * Reads the value mapped to the given key.
+     *
+     * @throws UnsupportedMessageException if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code> for the same receiver or if the mapping cannot be read.
+     * @throws UnknownKeyException if a mapping for the given key does not exist.
+     * @see #isHashEntryReadable(Object, Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isHashEntryReadable"})
+    public Object readHashValue(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Converts the receiver to a human readable {@link #isString(Object) string} of the language.
-     * Short-cut for <code>{@link #toDisplayString(Object) toDisplayString}(true)</code>.
+     * Returns <code>true</code> if a mapping for the given key exists and its value can be
+     * {@link #writeHashEntry(Object, Object, Object) written}. Invoking this message does not
+     * cause any observable side-effects. Returns <code>false</code> by default.
      *
-     * @see #toDisplayString(Object, boolean)
+     * @see #writeHashEntry(Object, Object, Object)
      * @since 20.1
      */
-    public final Object toDisplayString(Object receiver) {
-        return toDisplayString(receiver, true);
+    @Abstract(ifExported = {"writeHashEntry"})
+    public boolean isHashEntryModifiable(Object receiver, Object key) {
+        return false;
     }
 
     /**
-     * Returns <code>true</code> if the receiver value represents a metaobject. Metaobjects may be
-     * values that naturally occur in a language or they may be returned by
-     * {@link #getMetaObject(Object)}. A metaobject represents a description of the object, reveals
-     * its kind and its features. If a receiver is a metaobject it is often also
-     * {@link #isInstantiable(Object) instantiable}, but this is not a requirement.
-     * <p>
-     * <b>Sample interpretations:</b> In Java an instance of the type {@link Class} is a metaobject.
-     * In JavaScript any function instance is a metaobject. For example, the metaobject of a
-     * JavaScript class is the associated constructor function.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getMetaQualifiedName(Object)}, {@link #getMetaSimpleName(Object)} and
-     * {@link #isMetaInstance(Object, Object)} must be implemented as well.
+     * Returns <code>true</code> if a mapping for the given key does not exist and can be
+     * {@link #writeHashEntry(Object, Object, Object) inserted}. Invoking this message does not
+     * cause any observable side-effects. Returns <code>false</code> by default.
      *
+     * @see #writeHashEntry(Object, Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"getMetaQualifiedName", "getMetaSimpleName", "isMetaInstance"})
-    public boolean isMetaObject(Object receiver) {
+    @Abstract(ifExported = {"writeHashEntry"})
+    public boolean isHashEntryInsertable(Object receiver, Object key) {
         return false;
     }
 
     /**
-     * Returns the qualified name of a metaobject as {@link #isString(Object) string}.
-     * <p>
-     * <b>Sample interpretations:</b> The qualified name of a Java class includes the package name
-     * and its class name. JavaScript does not have the notion of qualified name and therefore
-     * returns the {@link #getMetaSimpleName(Object) simple name} instead.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
-     *
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * Maps the given key to the given value, replacing an existing mapping for the key or
+     * inserting a new one.
      *
+     * @throws UnsupportedMessageException if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code> for the same receiver or if the entry is neither
+     *             {@link #isHashEntryModifiable(Object, Object) modifiable} nor
+     *             {@link #isHashEntryInsertable(Object, Object) insertable}.
+     * @throws UnknownKeyException if the key cannot be used for this hash.
+     * @throws UnsupportedTypeException if the value cannot be stored in this hash.
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public Object getMetaQualifiedName(Object metaObject) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"isHashEntryModifiable", "isHashEntryInsertable"})
+    public void writeHashEntry(Object receiver, Object key, Object value) throws UnsupportedMessageException, UnknownKeyException, UnsupportedTypeException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the simple name of a metaobject as {@link #isString(Object) string}.
-     * <p>
-     * <b>Sample interpretations:</b> The simple name of a Java class is the class name.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
+     * Returns <code>true</code> if a mapping for the given key exists and can be
+     * {@link #removeHashEntry(Object, Object) removed}. Invoking this message does not cause any
+     * observable side-effects. Returns <code>false</code> by default.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @see #removeHashEntry(Object, Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"removeHashEntry"})
+    public boolean isHashEntryRemovable(Object receiver, Object key) {
+        return false;
+    }
+
+    /**
+     * Removes the mapping for the given key.
      *
+     * @throws UnsupportedMessageException if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code> for the same receiver or if the mapping cannot be removed.
+     * @throws UnknownKeyException if a mapping for the given key does not exist.
+     * @see #isHashEntryRemovable(Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public Object getMetaSimpleName(Object metaObject) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"isHashEntryRemovable"})
+    public void removeHashEntry(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the given instance is of the provided receiver metaobject, else
-     * <code>false</code>.
-     * <p>
-     * <b>Sample interpretations:</b> A Java object is an instance of its returned
-     * {@link Object#getClass() class}.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
+     * Returns an {@link #isIterator(Object) iterator} over the hash entries of the receiver. Every
+     * element of the iterator is an interop value with two {@link #hasArrayElements(Object) array
+     * elements}: the key at index <code>0</code> and the value at index <code>1</code>.
      *
-     * @param instance the instance object to check.
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     * @throws UnsupportedMessageException if and only if {@link #hasHashEntries(Object)} returns
      *             <code>false</code> for the same receiver.
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public boolean isMetaInstance(Object receiver, Object instance) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasHashEntries"})
+    public Object getHashEntriesIterator(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the library factory for the interop library. Short-cut for
-     * {@link LibraryFactory#resolve(Class) ResolvedLibrary.resolve(InteropLibrary.class)}.
+     * Returns <code>true</code> if a mapping for the given key is
+     * {@link #isHashEntryModifiable(Object, Object) modifiable} or
+     * {@link #isHashEntryInsertable(Object, Object) insertable}.
      *
-     * @see LibraryFactory#resolve(Class)
-     * @since 19.0
+     * @since 20.1
      */
-    public static LibraryFactory<InteropLibrary> getFactory() {
-        return FACTORY;
+    public final boolean isHashEntryWritable(Object receiver, Object key) {
+        return isHashEntryModifiable(receiver, key) || isHashEntryInsertable(receiver, key);
     }
 
     /**
-     * Utility for libraries to require adoption before cached versions of nodes can be executed.
-     * Only fails if assertions (-ea) are enabled.
+     * Returns <code>true</code> if a mapping for the given key is
+     * {@link #isHashEntryReadable(Object, Object) readable},
+     * {@link #isHashEntryModifiable(Object, Object) modifiable} or
+     * {@link #isHashEntryRemovable(Object, Object) removable}.
      *
-     * @since 19.0
+     * @since 20.1
      */
-    protected final boolean assertAdopted() {
-        assert assertAdoptedImpl();
-        return true;
+    public final boolean isHashEntryExisting(Object receiver, Object key) {
+        return isHashEntryReadable(receiver, key) || isHashEntryModifiable(receiver, key) || isHashEntryRemovable(receiver, key);
     }
 
-    private boolean assertAdoptedImpl() {
-        Node node = this;
-        do {
-            if (node instanceof RootNode) {
-                return true;
-            }
-            node = node.getParent();
-        } while (node != null);
-
-        assert false : "Invalid library usage. Cached library must be adopted by a RootNode before it is executed.";
-        return true;
+    /**
+     * Returns <code>true</code> if the receiver value represents a native pointer. Native pointers
+     * are represented as 64 bit pointers. Invoking this message does not cause any observable
+     * side-effects. Returns <code>false</code> by default.
+     * <p>
+     * It is expected that objects should only return <code>true</code> if the native pointer value
+     * corresponding to this object already exists, and obtaining it is a cheap operation. If an
+     * object can be transformed to a pointer representation, but this hasn't happened yet, the
+     * object is expected to return <code>false</code> with {@link #isPointer(Object)}, and wait for
+     * the {@link #toNative(Object)} message to trigger the transformation.
+     *
+     * @see #asPointer(Object)
+     * @see #toNative(Object)
+     * @since 19.0
+     */
+    @Abstract(ifExported = {"asPointer"})
+    public boolean isPointer(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the pointer value as long value if the receiver represents a pointer like value.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isPointer(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @see #isPointer(Object)
+     * @since 19.0
+     */
+    @Abstract(ifExported = {"isPointer"})
+    public long asPointer(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Attempts to transform a {@link TruffleObject receiver} to a value that represents a raw
+     * native pointer. After a successful transformation, the provided receiver returns true for
+     * {@link #isPointer(Object)} and can be unwrapped using the {@link #asPointer(Object)} message.
+     * If transformation cannot be done {@link #isPointer(Object)} will keep returning false.
+     *
+     * @see #isPointer(Object)
+     * @see #asPointer(Object)
+     * @since 19.0
+     */
+    public void toNative(Object receiver) {
+    }
+
+    /**
+     * Returns the receiver as instant if this object represents an {@link #isInstant(Object)
+     * instant}. If a value is an instant then it is also a {@link #isDate(Object) date},
+     * {@link #isTime(Object) time} and {@link #isTimeZone(Object) timezone}. Using this method may
+     * be more efficient than reconstructing the timestamp from the date, time and timezone data.
+     * <p>
+     * Implementers should implement this method if they can provide a more efficient conversion to
+     * Instant than reconstructing it from date, time and timezone date. Implementers must ensure
+     * that the following Java code snippet always holds:
+     *
+     * <pre>
+     * ZoneId zone = getTimeZone(receiver);
+     * LocalDate date = getDate(receiver);
+     * LocalTime time = getTime(receiver);
+     * assert ZonedDateTime.of(date, time, zone).toInstant().equals(getInstant(receiver));
+     * </pre>
+     *
+     * @see #isDate(Object)
+     * @see #isTime(Object)
+     * @see #isTimeZone(Object)
+     * @throws UnsupportedMessageException if and only if {@link #isInstant(Object)} returns
+     *             <code>false</code>.
+     * @since 20.0.0 beta 2
+     */
+    public Instant asInstant(Object receiver) throws UnsupportedMessageException {
+        if (isDate(receiver) && isTime(receiver) && isTimeZone(receiver)) {
+            LocalDate date = asDate(receiver);
+            LocalTime time = asTime(receiver);
+            ZoneId zone = asTimeZone(receiver);
+            return toInstant(date, time, zone);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static Instant toInstant(LocalDate date, LocalTime time, ZoneId zone) {
+        return ZonedDateTime.of(date, time, zone).toInstant();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver represents an instant. If a value is an instant
+     * then it is also a {@link #isDate(Object) date}, {@link #isTime(Object) time} and
+     * {@link #isTimeZone(Object) timezone}.
+     *
+     * This method is short-hand for:
+     *
+     * <pre>
+     * {@linkplain #isDate(Object) isDate}(v) && {@link #isTime(Object) isTime}(v) && {@link #isTimeZone(Object) isTimeZone}(v)
+     * </pre>
+     *
+     * @see #isDate(Object)
+     * @see #isTime(Object)
+     * @see #isInstant(Object)
+     * @see #asInstant(Object)
+     * @since 20.0.0 beta 2
+     */
+    public final boolean isInstant(Object receiver) {
+        return isDate(receiver) && isTime(receiver) && isTimeZone(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a timezone, else <code>false</code>. The
+     * interpretation of timezone objects may vary:
+     * <ul>
+     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} return <code>true</code>, then the
+     * returned date or time information is aware of this timezone.
+     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} returns <code>false</code>, then
+     * it represents just timezone information.
+     * </ul>
+     * Objects with only date information must not have timezone information attached and objects
+     * with only time information must have either none, or {@link ZoneRules#isFixedOffset() fixed
+     * zone} only. If this rule is violated then an {@link AssertionError} is thrown if assertions
+     * are enabled.
+     * <p>
+     * If this method is implemented then also {@link #asTimeZone(Object)} must be implemented.
+     *
+     * @see #asTimeZone(Object)
+     * @see #asInstant(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asTimeZone", "asInstant"})
+    public boolean isTimeZone(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as timestamp if this object represents a {@link #isTimeZone(Object)
+     * timezone}.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isTimeZone(Object)} returns
+     *             <code>false</code> .
+     * @see #isTimeZone(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTimeZone", "asInstant"})
+    public ZoneId asTimeZone(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a date, else <code>false</code>. If the
+     * receiver is also a {@link #isTimeZone(Object) timezone} then the date is aware, otherwise it
+     * is naive.
+     *
+     * @see #asDate(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asDate", "asInstant"})
+    public boolean isDate(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as date if this object represents a {@link #isDate(Object) date}. The
+     * returned date is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
+     * otherwise it is naive.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isDate(Object)} returns
+     *             <code>false</code>.
+     * @see #isDate(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTime", "asInstant"})
+    public LocalDate asDate(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a time, else <code>false</code>. If the
+     * receiver is also a {@link #isTimeZone(Object) timezone} then the time is aware, otherwise it
+     * is naive.
+     *
+     * @see #asTime(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asTime", "asInstant"})
+    public boolean isTime(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as time if this object represents a {@link #isTime(Object) time}. The
+     * returned time is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
+     * otherwise it is naive.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isTime(Object)} returns
+     *             <code>false</code>.
+     * @see #isTime(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTime", "asInstant"})
+    public LocalTime asTime(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a duration, else <code>false</code>.
+     *
+     * @see Duration
+     * @see #asDuration(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asDuration"})
+    public boolean isDuration(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as duration if this object represents a {@link #isDuration(Object)
+     * duration}.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isDuration(Object)} returns
+     *             <code>false</code> .
+     * @see #isDuration(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isDuration"})
+    public Duration asDuration(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value represents a throwable
+     * {@linkplain TruffleException#getExceptionObject() exception/error object}. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
+     * <p>
+     * Objects must only return <code>true</code> if they support {@link #throwException} as well.
+     * If this method is implemented then also {@link #throwException(Object)} must be implemented.
+     *
+     * @see #throwException(Object)
+     * @see TruffleException#getExceptionObject()
+     * @since 19.3
+     */
+    @Abstract(ifExported = {"throwException"})
+    public boolean isException(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Throws the receiver object as an exception of the source language, as if it was thrown by the
+     * source language itself. Allows rethrowing exceptions caught by another language.
+     * <p>
+     * If this method is implemented then also {@link #isException(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isException(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @see #isException(Object)
+     * @since 19.3
+     */
+    @Abstract(ifExported = {"isException"})
+    public RuntimeException throwException(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value has a declared source location attached, else
+     * <code>false</code>. Returning a source location for a value is optional and typically impacts
+     * the capabilities of tools like debuggers to jump to the declaration of a value.
+     * <p>
+     * Examples for values that may provide a source location:
+     * <ul>
+     * <li>{@link #isMetaObject(Object) Metaobjects} like classes or types.
+     * <li>First class {@link #isExecutable(Object) executables}, like functions, closures or
+     * promises.
+     * <li>Allocation sites for instances. Note that in most languages it is very expensive to track
+     * the allocation site of an instance and it is therefore not recommended to support this
+     * feature by default, but ideally behind an optional language option.
+     * <ul>
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getSourceLocation(Object)} must be implemented.
+     *
+     * @see #getSourceLocation(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getSourceLocation"})
+    @TruffleBoundary
+    public boolean hasSourceLocation(Object receiver) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
+            if (location != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the declared source location of the receiver value. Throws an
+     * {@link UnsupportedMessageException} if the value does not have a declared source location.
+     * See {@link #hasSourceLocation(Object)} for further details on potential interpretations.
+     * Throws {@link UnsupportedMessageException} by default.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasSourceLocation(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasSourceLocation(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasSourceLocation"})
+    @TruffleBoundary
+    public SourceSection getSourceLocation(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
+            if (location != null) {
+                return location;
+            }
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver originates from a language, else <code>false</code>
+     * . Primitive values or other shared interop value representations that are not associated with
+     * a language may return <code>false</code>. Values that originate from a language should return
+     * <code>true</code>. Returns <code>false</code> by default.
+     * <p>
+     * The associated language allows tools to identify the original language of a value. If an
+     * instrument requests a
+     * {@link com.oracle.truffle.api.instrumentation.TruffleInstrument.Env#getLanguageView(LanguageInfo, Object)
+     * language view} then values that are already associated with a language will just return the
+     * same value. Otherwise {@link TruffleLanguage#getLanguageView(Object, Object)} will be invoked
+     * on the language. The returned language may be also exposed to embedders in the future.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getLanguage(Object)} and {@link #toDisplayString(Object, boolean)} must be
+     * implemented.
+     *
+     * @see #getLanguage(Object)
+     * @see #toDisplayString(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getLanguage"})
+    @TruffleBoundary
+    public boolean hasLanguage(Object receiver) {
+        return getLegacyEnv(receiver, false) != null;
+    }
+
+    /**
+     * Returns the the original language of the receiver value. The returned language class must be
+     * non-null and represent a valid {@link Registration registered} language class. For more
+     * details see {@link #hasLanguage(Object)}.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasLanguage(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasLanguage(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @SuppressWarnings("unchecked")
+    @Abstract(ifExported = {"hasLanguage"})
+    @TruffleBoundary
+    public Class<? extends TruffleLanguage<?>> getLanguage(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            return (Class<? extends TruffleLanguage<?>>) InteropAccessor.ACCESSOR.languageSupport().getSPI(env).getClass();
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value has a metaobject associated. The metaobject
+     * represents a description of the object, reveals its kind and its features. Some information
+     * that a metaobject might define includes the base object's type, interface, class, methods,
+     * attributes, etc. Should return <code>false</code> when no metaobject is known for this type.
+     * Returns <code>false</code> by default.
+     * <p>
+     * An example, for Java objects the returned metaobject is the {@link Object#getClass() class}
+     * instance. In JavaScript this could be the function or class that is associated with the
+     * object.
+     * <p>
+     * Metaobjects for primitive values or values of other languages may be provided using
+     * {@link TruffleLanguage#getLanguageView(Object, Object) language views}. While an object is
+     * associated with a metaobject in one language, the metaobject might be a different when viewed
+     * from another language.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getMetaObject(Object)} must be implemented.
+     *
+     * @see #getMetaObject(Object)
+     * @see #isMetaObject(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getMetaObject"})
+    @TruffleBoundary
+    public boolean hasMetaObject(Object receiver) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
+            if (metaObject != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the metaobject that is associated with this value. The metaobject represents a
+     * description of the object, reveals its kind and its features. Some information that a
+     * metaobject might define includes the base object's type, interface, class, methods,
+     * attributes, etc. When no metaobject is known for this type. Throws
+     * {@link UnsupportedMessageException} by default.
+     * <p>
+     * The returned object must return <code>true</code> for {@link #isMetaObject(Object)} and
+     * provide implementations for {@link #getMetaSimpleName(Object)},
+     * {@link #getMetaQualifiedName(Object)}, and {@link #isMetaInstance(Object, Object)}. For all
+     * values with metaobjects it must at hold that
+     * <code>isMetaInstance(getMetaObject(value), value) ==
+     * true</code>.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasMetaObject(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @see #hasMetaObject(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasMetaObject"})
+    @TruffleBoundary
+    public Object getMetaObject(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
+            if (metaObject != null) {
+                return new LegacyMetaObjectWrapper(receiver, metaObject);
+            }
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Converts the receiver to a human readable {@link #isString(Object) string}. Each language may
+     * have special formating conventions - even primitive values may not follow the traditional
+     * Java rules. The format of the returned string is intended to be interpreted by humans not
+     * machines and should therefore not be relied upon by machines. By default the receiver class
+     * name and its {@link System#identityHashCode(Object) identity hash code} is used as string
+     * representation.
+     * <p>
+     * String representations for primitive values or values of other languages may be provided
+     * using {@link TruffleLanguage#getLanguageView(Object, Object) language views}. It is common
+     * that languages provide different string representations for primitive and foreign values. To
+     * convert the result value to a Java string use {@link InteropLibrary#asString(Object)}.
+     *
+     * @param allowSideEffects whether side-effects are allowed in the production of the string.
+     * @see TruffleLanguage#getLanguageView(Object, Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasLanguage", "getLanguage"})
+    @TruffleBoundary
+    public Object toDisplayString(Object receiver, boolean allowSideEffects) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null && allowSideEffects) {
+            return InteropAccessor.ACCESSOR.languageSupport().legacyToString(env, receiver);
+        } else {
+            return receiver.getClass().getTypeName() + "@" + Integer.toHexString(System.identityHashCode(receiver));
+        }
+    }
+
+    private static Env getLegacyEnv(Object receiver, boolean nullForhost) {
+        return InteropAccessor.ACCESSOR.engineSupport().getLegacyLanguageEnv(receiver, nullForhost);
+    }
+
+    /**
+     * Converts the receiver to a human readable {@link #isString(Object) string} of the language.
+     * Short-cut for <code>{@link #toDisplayString(Object) toDisplayString}(true)</code>.
+     *
+     * @see #toDisplayString(Object, boolean)
+     * @since 20.1
+     */
+    public final Object toDisplayString(Object receiver) {
+        return toDisplayString(receiver, true);
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value represents a metaobject. Metaobjects may be
+     * values that naturally occur in a language or they may be returned by
+     * {@link #getMetaObject(Object)}. A metaobject represents a description of the object, reveals
+     * its kind and its features. If a receiver is a metaobject it is often also
+     * {@link #isInstantiable(Object) instantiable}, but this is not a requirement.
+     * <p>
+     * <b>Sample interpretations:</b> In Java an instance of the type {@link Class} is a metaobject.
+     * In JavaScript any function instance is a metaobject. For example, the metaobject of a
+     * JavaScript class is the associated constructor function.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getMetaQualifiedName(Object)}, {@link #getMetaSimpleName(Object)} and
+     * {@link #isMetaInstance(Object, Object)} must be implemented as well.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getMetaQualifiedName", "getMetaSimpleName", "isMetaInstance"})
+    public boolean isMetaObject(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the qualified name of a metaobject as {@link #isString(Object) string}.
+     * <p>
+     * <b>Sample interpretations:</b> The qualified name of a Java class includes the package name
+     * and its class name. JavaScript does not have the notion of qualified name and therefore
+     * returns the {@link #getMetaSimpleName(Object) simple name} instead.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public Object getMetaQualifiedName(Object metaObject) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns the simple name of a metaobject as {@link #isString(Object) string}.
+     * <p>
+     * <b>Sample interpretations:</b> The simple name of a Java class is the class name.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public Object getMetaSimpleName(Object metaObject) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the given instance is of the provided receiver metaobject, else
+     * <code>false</code>.
+     * <p>
+     * <b>Sample interpretations:</b> A Java object is an instance of its returned
+     * {@link Object#getClass() class}.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @param instance the instance object to check.
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public boolean isMetaInstance(Object receiver, Object instance) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns the library factory for the interop library. Short-cut for
+     * {@link LibraryFactory#resolve(Class) ResolvedLibrary.resolve(InteropLibrary.class)}.
+     *
+     * @see LibraryFactory#resolve(Class)
+     * @since 19.0
+     */
+    public static LibraryFactory<InteropLibrary> getFactory() {
+        return FACTORY;
+    }
+
+    /**
+     * Utility for libraries to require adoption before cached versions of nodes can be executed.
+     * Only fails if assertions (-ea) are enabled.
+     *
+     * @since 19.0
+     */
+    protected final boolean assertAdopted() {
+        assert assertAdoptedImpl();
+        return true;
+    }
+
+    private boolean assertAdoptedImpl() {
+        Node node = this;
+        do {
+            if (node instanceof RootNode) {
+                return true;
+            }
+            node = node.getParent();
+        } while (node != null);
+
+        assert false : "Invalid library usage. Cached library must be adopted by a RootNode before it is executed.";
+        return true;
     }
 
     static final LibraryFactory<InteropLibrary> FACTORY = LibraryFactory.resolve(InteropLibrary.class);
 
-    static class Asserts extends InteropLibrary {
+    static class Asserts extends InteropLibrary {
+
+        @Child private InteropLibrary delegate;
+
+        public enum Type {
+            NULL,
+            BOOLEAN,
+            DATE_TIME_ZONE,
+            DURATION,
+            STRING,
+            NUMBER,
+            POINTER,
+            META_OBJECT;
+        }
+
+        Asserts(InteropLibrary delegate) {
+            this.delegate = delegate;
+        }
+
+        private static boolean isMultiThreaded(Object receiver) {
+            EngineSupport engine = InteropAccessor.ACCESSOR.engineSupport();
+            if (engine == null) {
+                return false;
+            }
+            return engine.isMultiThreaded(receiver);
+        }
+
+        @Override
+        public boolean accepts(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.accepts(receiver);
+        }
+
+        @Override
+        public boolean isNull(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isNull(receiver);
+            assert !result || notOtherType(receiver, Type.NULL);
+            return result;
+        }
+
+        private boolean notOtherType(Object receiver, Type type) {
+            if (receiver instanceof LegacyMetaObjectWrapper) {
+                // ignore other type assertions for legacy meta object wrapper
+                return true;
+            }
+            assert type == Type.NULL || !delegate.isNull(receiver) : violationInvariant(receiver);
+            assert type == Type.BOOLEAN || !delegate.isBoolean(receiver) : violationInvariant(receiver);
+            assert type == Type.STRING || !delegate.isString(receiver) : violationInvariant(receiver);
+            assert type == Type.NUMBER || !delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert type == Type.DATE_TIME_ZONE || (!delegate.isDate(receiver) && !delegate.isTime(receiver) && !delegate.isTimeZone(receiver)) : violationInvariant(receiver);
+            assert type == Type.DURATION || !delegate.isDuration(receiver) : violationInvariant(receiver);
+            assert type == Type.META_OBJECT || !delegate.isMetaObject(receiver) : violationInvariant(receiver);
+            return true;
+        }
+
+        @Override
+        public boolean isBoolean(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.isBoolean(receiver);
+            }
+            assert preCondition(receiver);
+            boolean result = delegate.isBoolean(receiver);
+            if (result) {
+                try {
+                    delegate.asBoolean(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !result || notOtherType(receiver, Type.BOOLEAN);
+            return result;
+        }
+
+        @Override
+        public boolean asBoolean(Object receiver) throws UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.asBoolean(receiver);
+            }
+            assert preCondition(receiver);
+            boolean wasBoolean = delegate.isBoolean(receiver);
+            try {
+                boolean result = delegate.asBoolean(receiver);
+                assert wasBoolean : violationInvariant(receiver);
+                assert notOtherType(receiver, Type.BOOLEAN);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert !wasBoolean : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isExecutable(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isExecutable(receiver);
+            return result;
+        }
+
+        @Override
+        public Object execute(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.execute(receiver, arguments);
+            }
+            assert preCondition(receiver);
+            assert validArguments(receiver, arguments);
+            boolean wasExecutable = delegate.isExecutable(receiver);
+            try {
+                Object result = delegate.execute(receiver, arguments);
+                assert wasExecutable : violationInvariant(receiver, arguments);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
+                assert !(e instanceof UnsupportedMessageException) || !wasExecutable : violationInvariant(receiver, arguments);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isInstantiable(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isInstantiable(receiver);
+            return result;
+        }
+
+        @Override
+        public Object instantiate(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.instantiate(receiver, arguments);
+            }
+            assert preCondition(receiver);
+            assert validArguments(receiver, arguments);
+            boolean wasInstantiable = delegate.isInstantiable(receiver);
+            try {
+                Object result = delegate.instantiate(receiver, arguments);
+                assert wasInstantiable : violationInvariant(receiver, arguments);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
+                assert !(e instanceof UnsupportedMessageException) || !wasInstantiable : violationInvariant(receiver, arguments);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isString(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.isString(receiver);
+            }
+            assert preCondition(receiver);
+            boolean result = delegate.isString(receiver);
+            if (result) {
+                try {
+                    delegate.asString(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !result || notOtherType(receiver, Type.STRING);
+            return result;
+        }
 
-        @Child private InteropLibrary delegate;
+        @Override
+        public String asString(Object receiver) throws UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.asString(receiver);
+            }
+            assert preCondition(receiver);
+            boolean wasString = delegate.isString(receiver);
+            try {
+                String result = delegate.asString(receiver);
+                assert wasString : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert !wasString : violationInvariant(receiver);
+                throw e;
+            }
+        }
 
-        public enum Type {
-            NULL,
-            BOOLEAN,
-            DATE_TIME_ZONE,
-            DURATION,
-            STRING,
-            NUMBER,
-            POINTER,
-            META_OBJECT;
+        @Override
+        public boolean isNumber(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isNumber(receiver);
+            assert !result || notOtherType(receiver, Type.NUMBER);
+            return result;
+        }
+
+        @Override
+        public boolean fitsInByte(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInByte(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInByte(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInShort(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asByte(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInShort(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInShort(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInShort(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asShort(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInInt(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInInt(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInInt(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asInt(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInLong(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInLong(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInLong(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asLong(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInFloat(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInFloat(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInFloat(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asFloat(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInDouble(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInDouble(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInDouble(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asDouble(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public byte asByte(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                byte result = delegate.asByte(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInByte(receiver) : violationInvariant(receiver);
+                assert result == delegate.asShort(receiver) : violationInvariant(receiver);
+                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public short asShort(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                short result = delegate.asShort(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInShort(receiver) : violationInvariant(receiver);
+                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public int asInt(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                int result = delegate.asInt(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public long asLong(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                long result = delegate.asLong(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInLong(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
         }
 
-        Asserts(InteropLibrary delegate) {
-            this.delegate = delegate;
+        @Override
+        public float asFloat(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                float result = delegate.asFloat(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
         }
 
-        private static boolean isMultiThreaded(Object receiver) {
-            EngineSupport engine = InteropAccessor.ACCESSOR.engineSupport();
-            if (engine == null) {
-                return false;
+        @Override
+        public double asDouble(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                double result = delegate.asDouble(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
             }
-            return engine.isMultiThreaded(receiver);
         }
 
         @Override
-        public boolean accepts(Object receiver) {
+        public boolean hasMembers(Object receiver) {
             assert preCondition(receiver);
-            return delegate.accepts(receiver);
+            return delegate.hasMembers(receiver);
         }
 
         @Override
-        public boolean isNull(Object receiver) {
+        public Object readMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readMember(receiver, identifier);
+            }
             assert preCondition(receiver);
-            boolean result = delegate.isNull(receiver);
-            assert !result || notOtherType(receiver, Type.NULL);
-            return result;
+            assert validArgument(receiver, identifier);
+            boolean wasReadable = delegate.isMemberReadable(receiver, identifier);
+            try {
+                Object result = delegate.readMember(receiver, identifier);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
-        private boolean notOtherType(Object receiver, Type type) {
-            if (receiver instanceof LegacyMetaObjectWrapper) {
-                // ignore other type assertions for legacy meta object wrapper
-                return true;
+        @Override
+        public void writeMember(Object receiver, String identifier, Object value) throws UnsupportedMessageException, UnknownIdentifierException, UnsupportedTypeException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeMember(receiver, identifier, value);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            assert validArgument(receiver, value);
+            boolean wasWritable = (delegate.isMemberModifiable(receiver, identifier) || delegate.isMemberInsertable(receiver, identifier));
+            try {
+                delegate.writeMember(receiver, identifier, value);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                throw e;
             }
-            assert type == Type.NULL || !delegate.isNull(receiver) : violationInvariant(receiver);
-            assert type == Type.BOOLEAN || !delegate.isBoolean(receiver) : violationInvariant(receiver);
-            assert type == Type.STRING || !delegate.isString(receiver) : violationInvariant(receiver);
-            assert type == Type.NUMBER || !delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert type == Type.DATE_TIME_ZONE || (!delegate.isDate(receiver) && !delegate.isTime(receiver) && !delegate.isTimeZone(receiver)) : violationInvariant(receiver);
-            assert type == Type.DURATION || !delegate.isDuration(receiver) : violationInvariant(receiver);
-            assert type == Type.META_OBJECT || !delegate.isMetaObject(receiver) : violationInvariant(receiver);
-            return true;
         }
 
         @Override
-        public boolean isBoolean(Object receiver) {
+        public void removeMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.isBoolean(receiver);
+                delegate.removeMember(receiver, identifier);
+                return;
             }
             assert preCondition(receiver);
-            boolean result = delegate.isBoolean(receiver);
-            if (result) {
-                try {
-                    delegate.asBoolean(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            assert validArgument(receiver, identifier);
+            boolean wasRemovable = delegate.isMemberRemovable(receiver, identifier);
+            try {
+                delegate.removeMember(receiver, identifier);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                throw e;
             }
-            assert !result || notOtherType(receiver, Type.BOOLEAN);
-            return result;
         }
 
         @Override
-        public boolean asBoolean(Object receiver) throws UnsupportedMessageException {
+        public Object invokeMember(Object receiver, String identifier, Object... arguments)
+                        throws UnsupportedMessageException, ArityException, UnknownIdentifierException, UnsupportedTypeException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.asBoolean(receiver);
+                return delegate.invokeMember(receiver, identifier, arguments);
             }
             assert preCondition(receiver);
-            boolean wasBoolean = delegate.isBoolean(receiver);
+            assert validArgument(receiver, identifier);
+            assert validArguments(receiver, arguments);
+            boolean wasInvocable = delegate.isMemberInvocable(receiver, identifier);
             try {
-                boolean result = delegate.asBoolean(receiver);
-                assert wasBoolean : violationInvariant(receiver);
-                assert notOtherType(receiver, Type.BOOLEAN);
+                Object result = delegate.invokeMember(receiver, identifier, arguments);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasInvocable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                assert validReturn(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
-                assert !wasBoolean : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnknownIdentifierException ||
+                                e instanceof UnsupportedTypeException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isExecutable(Object receiver) {
+        public Object getMembers(Object receiver, boolean internal) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean result = delegate.isExecutable(receiver);
+            try {
+                Object result = delegate.getMembers(receiver, internal);
+                assert validReturn(receiver, result);
+                assert isMultiThreaded(receiver) || assertMemberKeys(receiver, result, internal);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        private static boolean assertMemberKeys(Object receiver, Object result, boolean internal) {
+            assert result != null : violationPost(receiver, result);
+            InteropLibrary uncached = InteropLibrary.getFactory().getUncached(result);
+            assert uncached.hasArrayElements(result) : violationPost(receiver, result);
+            long arraySize;
+            try {
+                arraySize = uncached.getArraySize(result);
+            } catch (UnsupportedMessageException e) {
+                assert false : violationPost(receiver, e);
+                return true;
+            }
+            for (int i = 0; i < arraySize; i++) {
+                assert uncached.isArrayElementReadable(result, i) : violationPost(receiver, result);
+                Object element;
+                try {
+                    element = uncached.readArrayElement(result, i);
+                } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+                    assert false : violationPost(receiver, result);
+                    return true;
+                }
+                assert InteropLibrary.getFactory().getUncached().isString(element) : violationPost(receiver, element);
+                try {
+                    InteropLibrary.getFactory().getUncached().asString(element);
+                } catch (UnsupportedMessageException e) {
+                    assert false : violationInvariant(result, i);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasMemberReadSideEffects(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.hasMemberReadSideEffects(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            assert !result || (delegate.isMemberReadable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
             return result;
         }
 
         @Override
-        public Object execute(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+        public boolean hasMemberWriteSideEffects(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.hasMemberWriteSideEffects(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            assert !result || (delegate.isMemberWritable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberReadable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberReadable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberModifiable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberModifiable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInsertable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInsertable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberExisting(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberRemovable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberRemovable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInvocable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInvocable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInternal(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInternal(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean hasArrayElements(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.hasArrayElements(receiver);
+        }
+
+        @Override
+        public Object readArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.execute(receiver, arguments);
+                return delegate.readArrayElement(receiver, index);
             }
             assert preCondition(receiver);
-            assert validArguments(receiver, arguments);
-            boolean wasExecutable = delegate.isExecutable(receiver);
+            boolean wasReadable = delegate.isArrayElementReadable(receiver, index);
             try {
-                Object result = delegate.execute(receiver, arguments);
-                assert wasExecutable : violationInvariant(receiver, arguments);
+                Object result = delegate.readArrayElement(receiver, index);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
                 assert validReturn(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
-                assert !(e instanceof UnsupportedMessageException) || !wasExecutable : violationInvariant(receiver, arguments);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isInstantiable(Object receiver) {
-            assert preCondition(receiver);
-            boolean result = delegate.isInstantiable(receiver);
-            return result;
-        }
-
-        @Override
-        public Object instantiate(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+        public void writeArrayElement(Object receiver, long index, Object value) throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.instantiate(receiver, arguments);
+                delegate.writeArrayElement(receiver, index, value);
+                return;
             }
             assert preCondition(receiver);
-            assert validArguments(receiver, arguments);
-            boolean wasInstantiable = delegate.isInstantiable(receiver);
+            assert validArgument(receiver, value);
+            boolean wasWritable = delegate.isArrayElementModifiable(receiver, index) || delegate.isArrayElementInsertable(receiver, index);
             try {
-                Object result = delegate.instantiate(receiver, arguments);
-                assert wasInstantiable : violationInvariant(receiver, arguments);
-                assert validReturn(receiver, result);
-                return result;
+                delegate.writeArrayElement(receiver, index, value);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
-                assert !(e instanceof UnsupportedMessageException) || !wasInstantiable : violationInvariant(receiver, arguments);
+                assert e instanceof UnsupportedMessageException || e instanceof UnsupportedTypeException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isString(Object receiver) {
+        public void removeArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.isString(receiver);
+                delegate.removeArrayElement(receiver, index);
+                return;
             }
             assert preCondition(receiver);
-            boolean result = delegate.isString(receiver);
-            if (result) {
-                try {
-                    delegate.asString(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            boolean wasRemovable = delegate.isArrayElementRemovable(receiver, index);
+            try {
+                delegate.removeArrayElement(receiver, index);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                throw e;
             }
-            assert !result || notOtherType(receiver, Type.STRING);
-            return result;
         }
 
         @Override
-        public String asString(Object receiver) throws UnsupportedMessageException {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.asString(receiver);
-            }
+        public long getArraySize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean wasString = delegate.isString(receiver);
             try {
-                String result = delegate.asString(receiver);
-                assert wasString : violationInvariant(receiver);
+                long result = delegate.getArraySize(receiver);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
-                assert !wasString : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isNumber(Object receiver) {
+        public boolean isArrayElementReadable(Object receiver, long identifier) {
             assert preCondition(receiver);
-            boolean result = delegate.isNumber(receiver);
-            assert !result || notOtherType(receiver, Type.NUMBER);
+            boolean result = delegate.isArrayElementReadable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
             return result;
         }
 
         @Override
-        public boolean fitsInByte(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInByte(receiver);
-            }
+        public boolean isArrayElementModifiable(Object receiver, long identifier) {
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInByte(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInShort(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asByte(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
-            }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
+            boolean result = delegate.isArrayElementModifiable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
         }
 
         @Override
-        public boolean fitsInShort(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInShort(receiver);
-            }
+        public boolean isArrayElementInsertable(Object receiver, long identifier) {
             assert preCondition(receiver);
+            boolean result = delegate.isArrayElementInsertable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementExisting(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
 
-            boolean fits = delegate.fitsInShort(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asShort(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
-            }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
+        @Override
+        public boolean isArrayElementRemovable(Object receiver, long identifier) {
+            assert preCondition(receiver);
+            boolean result = delegate.isArrayElementRemovable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
         }
 
         @Override
-        public boolean fitsInInt(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInInt(receiver);
-            }
+        public boolean hasBufferElements(Object receiver) {
             assert preCondition(receiver);
+            return delegate.hasBufferElements(receiver);
+        }
 
-            boolean fits = delegate.fitsInInt(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asInt(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+        @Override
+        public boolean isBufferWritable(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                boolean result = delegate.isBufferWritable(receiver);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInLong(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInLong(receiver);
-            }
+        public long getBufferSize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-
-            boolean fits = delegate.fitsInLong(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asLong(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                long result = delegate.getBufferSize(receiver);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver);
+                assert result >= 0 : violationPost(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInFloat(Object receiver) {
+        public byte readBufferByte(Object receiver, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInFloat(receiver);
+                return delegate.readBufferByte(receiver, byteOffset);
             }
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInFloat(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asFloat(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                byte result = delegate.readBufferByte(receiver, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInDouble(Object receiver) {
+        public void writeBufferByte(Object receiver, long byteOffset, byte value) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInDouble(receiver);
+                delegate.writeBufferByte(receiver, byteOffset, value);
+                return;
             }
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInDouble(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asDouble(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                delegate.writeBufferByte(receiver, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public byte asByte(Object receiver) throws UnsupportedMessageException {
+        public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferShort(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                byte result = delegate.asByte(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInByte(receiver) : violationInvariant(receiver);
-                assert result == delegate.asShort(receiver) : violationInvariant(receiver);
-                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                short result = delegate.readBufferShort(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public short asShort(Object receiver) throws UnsupportedMessageException {
+        public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferShort(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                short result = delegate.asShort(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInShort(receiver) : violationInvariant(receiver);
-                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
-                return result;
+                delegate.writeBufferShort(receiver, order, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public int asInt(Object receiver) throws UnsupportedMessageException {
+        public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferInt(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                int result = delegate.asInt(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                int result = delegate.readBufferInt(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferInt(receiver, order, byteOffset, value);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
+            try {
+                delegate.writeBufferInt(receiver, order, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public long asLong(Object receiver) throws UnsupportedMessageException {
+        public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferLong(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                long result = delegate.asLong(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInLong(receiver) : violationInvariant(receiver);
+                long result = delegate.readBufferLong(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public float asFloat(Object receiver) throws UnsupportedMessageException {
+        public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferLong(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                float result = delegate.asFloat(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-                return result;
+                delegate.writeBufferLong(receiver, order, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public double asDouble(Object receiver) throws UnsupportedMessageException {
+        public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferFloat(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                double result = delegate.asDouble(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+                float result = delegate.readBufferFloat(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean hasMembers(Object receiver) {
+        public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferFloat(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
-            return delegate.hasMembers(receiver);
+            assert validNonInteropArgument(receiver, order);
+            try {
+                delegate.writeBufferFloat(receiver, order, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public Object readMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+        public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.readMember(receiver, identifier);
+                return delegate.readBufferDouble(receiver, order, byteOffset);
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean wasReadable = delegate.isMemberReadable(receiver, identifier);
+            assert validNonInteropArgument(receiver, order);
             try {
-                Object result = delegate.readMember(receiver, identifier);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
-                assert validReturn(receiver, result);
+                double result = delegate.readBufferDouble(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void writeMember(Object receiver, String identifier, Object value) throws UnsupportedMessageException, UnknownIdentifierException, UnsupportedTypeException {
+        public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                delegate.writeMember(receiver, identifier, value);
+                delegate.writeBufferDouble(receiver, order, byteOffset, value);
                 return;
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            assert validArgument(receiver, value);
-            boolean wasWritable = (delegate.isMemberModifiable(receiver, identifier) || delegate.isMemberInsertable(receiver, identifier));
+            assert validNonInteropArgument(receiver, order);
             try {
-                delegate.writeMember(receiver, identifier, value);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                delegate.writeBufferDouble(receiver, order, byteOffset, value);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void removeMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                delegate.removeMember(receiver, identifier);
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
                 return;
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean wasRemovable = delegate.isMemberRemovable(receiver, identifier);
+            assert validNonInteropArgument(receiver, destination);
             try {
-                delegate.removeMember(receiver, identifier);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public Object invokeMember(Object receiver, String identifier, Object... arguments)
-                        throws UnsupportedMessageException, ArityException, UnknownIdentifierException, UnsupportedTypeException {
+        public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.invokeMember(receiver, identifier, arguments);
+                delegate.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+                return;
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            assert validArguments(receiver, arguments);
-            boolean wasInvocable = delegate.isMemberInvocable(receiver, identifier);
+            assert validNonInteropArgument(receiver, source);
             try {
-                Object result = delegate.invokeMember(receiver, identifier, arguments);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasInvocable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
-                assert validReturn(receiver, result);
-                return result;
+                delegate.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnknownIdentifierException ||
-                                e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public Object getMembers(Object receiver, boolean internal) throws UnsupportedMessageException {
+        public boolean hasIterator(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.hasIterator(receiver);
+        }
+
+        @Override
+        public Object getIterator(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
+            boolean hadIterator = delegate.hasIterator(receiver);
             try {
-                Object result = delegate.getMembers(receiver, internal);
+                Object result = delegate.getIterator(receiver);
+                assert hadIterator : violationInvariant(receiver);
                 assert validReturn(receiver, result);
-                assert isMultiThreaded(receiver) || assertMemberKeys(receiver, result, internal);
+                assert InteropLibrary.getFactory().getUncached().isIterator(result) : violationPost(receiver, result);
                 return result;
             } catch (InteropException e) {
                 assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                assert !hadIterator : violationInvariant(receiver);
                 throw e;
             }
         }
 
-        private static boolean assertMemberKeys(Object receiver, Object result, boolean internal) {
-            assert result != null : violationPost(receiver, result);
-            InteropLibrary uncached = InteropLibrary.getFactory().getUncached(result);
-            assert uncached.hasArrayElements(result) : violationPost(receiver, result);
-            long arraySize;
-            try {
-                arraySize = uncached.getArraySize(result);
-            } catch (UnsupportedMessageException e) {
-                assert false : violationPost(receiver, e);
-                return true;
-            }
-            for (int i = 0; i < arraySize; i++) {
-                assert uncached.isArrayElementReadable(result, i) : violationPost(receiver, result);
-                Object element;
-                try {
-                    element = uncached.readArrayElement(result, i);
-                } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
-                    assert false : violationPost(receiver, result);
-                    return true;
-                }
-                assert InteropLibrary.getFactory().getUncached().isString(element) : violationPost(receiver, element);
-                try {
-                    InteropLibrary.getFactory().getUncached().asString(element);
-                } catch (UnsupportedMessageException e) {
-                    assert false : violationInvariant(result, i);
-                }
-            }
-            return true;
-        }
-
         @Override
-        public boolean hasMemberReadSideEffects(Object receiver, String identifier) {
+        public boolean isIterator(Object receiver) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.hasMemberReadSideEffects(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-            assert !result || (delegate.isMemberReadable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
-            return result;
+            return delegate.isIterator(receiver);
         }
 
         @Override
-        public boolean hasMemberWriteSideEffects(Object receiver, String identifier) {
+        public boolean hasIteratorNextElement(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.hasMemberWriteSideEffects(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-            assert !result || (delegate.isMemberWritable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
-            return result;
+            try {
+                boolean result = delegate.hasIteratorNextElement(receiver);
+                assert delegate.isIterator(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberReadable(Object receiver, String identifier) {
+        public Object getIteratorNextElement(Object receiver) throws UnsupportedMessageException, StopIterationException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.getIteratorNextElement(receiver);
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberReadable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            try {
+                Object result = delegate.getIteratorNextElement(receiver);
+                assert delegate.isIterator(receiver) : violationInvariant(receiver);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof StopIterationException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberModifiable(Object receiver, String identifier) {
+        public boolean hasHashEntries(Object receiver) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberModifiable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            return delegate.hasHashEntries(receiver);
         }
 
         @Override
-        public boolean isMemberInsertable(Object receiver, String identifier) {
+        public long getHashSize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInsertable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberExisting(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            try {
+                long result = delegate.getHashSize(receiver);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert result >= 0 : violationPost(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberRemovable(Object receiver, String identifier) {
+        public boolean isHashEntryReadable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberRemovable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryReadable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver);
             return result;
         }
 
         @Override
-        public boolean isMemberInvocable(Object receiver, String identifier) {
+        public Object readHashValue(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readHashValue(receiver, key);
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInvocable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            assert validArgument(receiver, key);
+            boolean wasReadable = delegate.isHashEntryReadable(receiver, key);
+            try {
+                Object result = delegate.readHashValue(receiver, key);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberInternal(Object receiver, String identifier) {
+        public boolean isHashEntryModifiable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInternal(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryModifiable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver);
             return result;
         }
 
         @Override
-        public boolean hasArrayElements(Object receiver) {
+        public boolean isHashEntryInsertable(Object receiver, Object key) {
             assert preCondition(receiver);
-            return delegate.hasArrayElements(receiver);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryInsertable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryExisting(receiver, key) : violationInvariant(receiver);
+            return result;
         }
 
         @Override
-        public Object readArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
+        public void writeHashEntry(Object receiver, Object key, Object value) throws UnsupportedMessageException, UnknownKeyException, UnsupportedTypeException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.readArrayElement(receiver, index);
+                delegate.writeHashEntry(receiver, key, value);
+                return;
             }
             assert preCondition(receiver);
-            boolean wasReadable = delegate.isArrayElementReadable(receiver, index);
+            assert validArgument(receiver, key);
+            assert validArgument(receiver, value);
+            boolean wasWritable = delegate.isHashEntryWritable(receiver, key);
             try {
-                Object result = delegate.readArrayElement(receiver, index);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
-                assert validReturn(receiver, result);
-                return result;
+                delegate.writeHashEntry(receiver, key, value);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void writeArrayElement(Object receiver, long index, Object value) throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
-            if (CompilerDirectives.inCompiledCode()) {
-                delegate.writeArrayElement(receiver, index, value);
-                return;
-            }
+        public boolean isHashEntryRemovable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, value);
-            boolean wasWritable = delegate.isArrayElementModifiable(receiver, index) || delegate.isArrayElementInsertable(receiver, index);
-            try {
-                delegate.writeArrayElement(receiver, index, value);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
-            } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnsupportedTypeException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
-                throw e;
-            }
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryRemovable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver);
+            return result;
         }
 
         @Override
-        public void removeArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
+        public void removeHashEntry(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
             if (CompilerDirectives.inCompiledCode()) {
-                delegate.removeArrayElement(receiver, index);
+                delegate.removeHashEntry(receiver, key);
                 return;
             }
             assert preCondition(receiver);
-            boolean wasRemovable = delegate.isArrayElementRemovable(receiver, index);
+            assert validArgument(receiver, key);
+            boolean wasRemovable = delegate.isHashEntryRemovable(receiver, key);
             try {
-                delegate.removeArrayElement(receiver, index);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
+                delegate.removeHashEntry(receiver, key);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public long getArraySize(Object receiver) throws UnsupportedMessageException {
+        public Object getHashEntriesIterator(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
+            boolean hadHashEntries = delegate.hasHashEntries(receiver);
             try {
-                long result = delegate.getArraySize(receiver);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver);
+                Object result = delegate.getHashEntriesIterator(receiver);
+                assert hadHashEntries : violationInvariant(receiver);
+                assert validReturn(receiver, result);
+                assert InteropLibrary.getFactory().getUncached().isIterator(result) : violationPost(receiver, result);
                 return result;
             } catch (InteropException e) {
                 assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                assert !hadHashEntries : violationInvariant(receiver);
                 throw e;
             }
         }
 
-        @Override
-        public boolean isArrayElementReadable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementReadable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementModifiable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementModifiable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementInsertable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementInsertable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementExisting(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementRemovable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementRemovable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
         @Override
         public boolean isPointer(Object receiver) {
             assert preCondition(receiver);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives;
+
+import sun.misc.Unsafe;
+
+/*
+ * Shape used where storage classes cannot be generated. Primitive values are stored in a byte
+ * array with naturally aligned offsets, object values in an object array.
+ */
+final class ArrayBasedStaticShape extends StaticShape<DefaultStaticObjectFactory> {
+
+    private final int primitiveSize;
+    private final int objectCount;
+
+    private ArrayBasedStaticShape(int primitiveSize, int objectCount) {
+        super(ArrayBasedStaticObject.class);
+        this.primitiveSize = primitiveSize;
+        this.objectCount = objectCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> StaticShape<T> create(List<StaticProperty> properties, List<Class<?>> types, Class<T> factoryInterface) {
+        assert factoryInterface == DefaultStaticObjectFactory.class;
+        List<Integer> primitives = new ArrayList<>();
+        List<Integer> objects = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (types.get(i).isPrimitive()) {
+                primitives.add(i);
+            } else {
+                objects.add(i);
+            }
+        }
+        // larger values first keeps all offsets naturally aligned
+        primitives.sort((a, b) -> Integer.compare(sizeOf(types.get(b)), sizeOf(types.get(a))));
+
+        long[] offsets = new long[properties.size()];
+        int primitiveSize = 0;
+        for (int index : primitives) {
+            offsets[index] = Unsafe.ARRAY_BYTE_BASE_OFFSET + primitiveSize;
+            primitiveSize += sizeOf(types.get(index));
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[objects.get(i)] = Unsafe.ARRAY_OBJECT_BASE_OFFSET + (long) i * Unsafe.ARRAY_OBJECT_INDEX_SCALE;
+        }
+
+        ArrayBasedStaticShape shape = new ArrayBasedStaticShape(primitiveSize, objects.size());
+        for (int i = 0; i < properties.size(); i++) {
+            properties.get(i).initialize(shape, types.get(i), offsets[i]);
+        }
+        shape.setFactory(new ArrayBasedFactory(shape));
+        return (StaticShape<T>) shape;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == char.class || type == short.class) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    @Override
+    Object getStorage(Object obj, boolean primitive) {
+        ArrayBasedStaticObject receiver = (ArrayBasedStaticObject) checkReceiver(obj);
+        if (receiver.shape != this) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Object '" + obj + "' does not have the shape of the property.");
+        }
+        return primitive ? receiver.primitive : receiver.object;
+    }
+
+    static final class ArrayBasedStaticObject {
+
+        final ArrayBasedStaticShape shape;
+        final byte[] primitive;
+        final Object[] object;
+
+        ArrayBasedStaticObject(ArrayBasedStaticShape shape) {
+            this.shape = shape;
+            this.primitive = shape.primitiveSize == 0 ? null : new byte[shape.primitiveSize];
+            this.object = shape.objectCount == 0 ? null : new Object[shape.objectCount];
+        }
+    }
+
+    private static final class ArrayBasedFactory implements DefaultStaticObjectFactory {
+
+        private final ArrayBasedStaticShape shape;
+
+        ArrayBasedFactory(ArrayBasedStaticShape shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        public Object create() {
+            return new ArrayBasedStaticObject(shape);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ACC_FINAL;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ACC_PRIVATE;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ACC_PUBLIC;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ACC_SUPER;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ACC_SYNTHETIC;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ALOAD_0;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.ARETURN;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.DUP;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.INVOKESPECIAL;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.NEW;
+import static com.oracle.truffle.api.staticobject.ClassFileWriter.RETURN;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.staticobject.ClassFileWriter.Code;
+
+/*
+ * Shape that generates a storage class with one typed field per property and a factory class
+ * that implements the factory interface. Each shape defines its classes in its own class loader,
+ * so they can be unloaded together with the shape.
+ */
+final class FieldBasedStaticShape<T> extends StaticShape<T> {
+
+    private static final String STORAGE_CLASS_NAME = "com.oracle.truffle.api.staticobject.GeneratedStaticObject";
+    private static final String FACTORY_CLASS_NAME = "com.oracle.truffle.api.staticobject.GeneratedStaticObjectFactory";
+    private static final AtomicInteger classCounter = new AtomicInteger();
+
+    private FieldBasedStaticShape(Class<?> storageClass) {
+        super(storageClass);
+    }
+
+    static <T> StaticShape<T> create(Class<?> superClass, Class<T> factoryInterface, List<StaticProperty> properties, List<Class<?>> types, List<Boolean> finals) {
+        int id = classCounter.incrementAndGet();
+        String storageName = STORAGE_CLASS_NAME + "$" + id;
+        String factoryName = FACTORY_CLASS_NAME + "$" + id;
+        Map<String, Method> factoryMethods = collectFactoryMethods(factoryInterface);
+
+        StorageClassLoader loader = new StorageClassLoader(superClass, factoryInterface, factoryMethods);
+        Class<?> storageClass = loader.define(storageName, generateStorageClass(storageName, superClass, factoryMethods, types, finals));
+        Class<?> factoryClass = loader.define(factoryName, generateFactoryClass(factoryName, storageName, factoryInterface, factoryMethods));
+
+        FieldBasedStaticShape<T> shape = new FieldBasedStaticShape<>(storageClass);
+        try {
+            for (int i = 0; i < properties.size(); i++) {
+                long offset = StaticProperty.UNSAFE.objectFieldOffset(storageClass.getDeclaredField(fieldName(i)));
+                properties.get(i).initialize(shape, types.get(i), offset);
+            }
+            shape.setFactory(factoryInterface.cast(factoryClass.getDeclaredConstructor().newInstance()));
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+        return shape;
+    }
+
+    @Override
+    Object getStorage(Object obj, boolean primitive) {
+        return checkReceiver(obj);
+    }
+
+    private static String fieldName(int index) {
+        return "field" + index;
+    }
+
+    private static Map<String, Method> collectFactoryMethods(Class<?> factoryInterface) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : factoryInterface.getMethods()) {
+            if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+                methods.putIfAbsent(method.getName() + ClassFileWriter.methodDescriptor(method.getParameterTypes(), method.getReturnType()), method);
+            }
+        }
+        return methods;
+    }
+
+    private static byte[] generateStorageClass(String name, Class<?> superClass, Map<String, Method> factoryMethods, List<Class<?>> types, List<Boolean> finals) {
+        String superName = ClassFileWriter.internalName(superClass);
+        ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name.replace('.', '/'), superName);
+        for (int i = 0; i < types.size(); i++) {
+            writer.addField(ACC_PRIVATE | (finals.get(i) ? ACC_FINAL : 0), fieldName(i), ClassFileWriter.descriptor(types.get(i)));
+        }
+        Map<String, Class<?>[]> constructors = new LinkedHashMap<>();
+        for (Method method : factoryMethods.values()) {
+            constructors.putIfAbsent(ClassFileWriter.methodDescriptor(method.getParameterTypes(), void.class), method.getParameterTypes());
+        }
+        for (Map.Entry<String, Class<?>[]> constructor : constructors.entrySet()) {
+            Class<?>[] parameterTypes = constructor.getValue();
+            Code code = new Code(1 + slots(parameterTypes));
+            code.op(ALOAD_0, 1);
+            int slots = code.loadParameters(parameterTypes, 1);
+            code.op(INVOKESPECIAL, -1 - slots, writer.methodRef(superName, "<init>", constructor.getKey()));
+            code.op(RETURN, 0);
+            writer.addMethod(ACC_PUBLIC, "<init>", constructor.getKey(), code);
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] generateFactoryClass(String name, String storageName, Class<?> factoryInterface, Map<String, Method> factoryMethods) {
+        String storageInternalName = storageName.replace('.', '/');
+        ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name.replace('.', '/'), "java/lang/Object",
+                        ClassFileWriter.internalName(factoryInterface));
+
+        Code constructor = new Code(1);
+        constructor.op(ALOAD_0, 1);
+        constructor.op(INVOKESPECIAL, -1, writer.methodRef("java/lang/Object", "<init>", "()V"));
+        constructor.op(RETURN, 0);
+        writer.addMethod(ACC_PUBLIC, "<init>", "()V", constructor);
+
+        for (Method method : factoryMethods.values()) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Code code = new Code(1 + slots(parameterTypes));
+            code.op(NEW, 1, writer.classRef(storageInternalName));
+            code.op(DUP, 1);
+            int slots = code.loadParameters(parameterTypes, 1);
+            code.op(INVOKESPECIAL, -1 - slots, writer.methodRef(storageInternalName, "<init>", ClassFileWriter.methodDescriptor(parameterTypes, void.class)));
+            code.op(ARETURN, -1);
+            writer.addMethod(ACC_PUBLIC, method.getName(), ClassFileWriter.methodDescriptor(parameterTypes, method.getReturnType()), code);
+        }
+        return writer.toByteArray();
+    }
+
+    private static int slots(Class<?>[] parameterTypes) {
+        int slots = 0;
+        for (Class<?> type : parameterTypes) {
+            slots += type == long.class || type == double.class ? 2 : 1;
+        }
+        return slots;
+    }
+
+    /*
+     * Resolves the types referenced by the generated classes directly, so that they do not need to
+     * be visible from any particular class loader.
+     */
+    private static final class StorageClassLoader extends ClassLoader {
+
+        private final Map<String, Class<?>> types = new HashMap<>();
+
+        StorageClassLoader(Class<?> superClass, Class<?> factoryInterface, Map<String, Method> factoryMethods) {
+            super(null);
+            addType(superClass);
+            addType(factoryInterface);
+            for (Method method : factoryMethods.values()) {
+                addType(method.getReturnType());
+                for (Class<?> type : method.getParameterTypes()) {
+                    addType(type);
+                }
+            }
+        }
+
+        private void addType(Class<?> type) {
+            Class<?> elementType = type;
+            while (elementType.isArray()) {
+                elementType = elementType.getComponentType();
+            }
+            if (!elementType.isPrimitive()) {
+                types.put(elementType.getName(), elementType);
+            }
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            Class<?> type = types.get(name);
+            if (type != null) {
+                return type;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.lang.reflect.Field;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
+import sun.misc.Unsafe;
+
+/**
+ * A property of static objects. A property is added to exactly one {@link StaticShape} and provides
+ * typed accessors for the values of that property in static objects of the shape. If the property
+ * is a compilation constant, the accessors partially evaluate to a type check of the receiver and a
+ * plain field access.
+ *
+ * @see StaticShape.Builder#property(StaticProperty, Class, boolean)
+ * @since 20.1
+ */
+public abstract class StaticProperty {
+
+    static final Unsafe UNSAFE = getUnsafe();
+
+    @CompilationFinal private StaticShape<?> shape;
+    @CompilationFinal private Class<?> type;
+    @CompilationFinal private long offset;
+
+    /**
+     * Constructor for subclasses.
+     *
+     * @since 20.1
+     */
+    protected StaticProperty() {
+    }
+
+    /**
+     * Returns the id of the property. Property ids must be unique within a shape.
+     *
+     * @since 20.1
+     */
+    protected abstract String getId();
+
+    final boolean isInitialized() {
+        return shape != null;
+    }
+
+    final void initialize(StaticShape<?> propertyShape, Class<?> propertyType, long propertyOffset) {
+        if (shape != null) {
+            throw new IllegalStateException("Property '" + getId() + "' is already used by another shape.");
+        }
+        this.shape = propertyShape;
+        this.type = propertyType;
+        this.offset = propertyOffset;
+    }
+
+    private void checkType(Class<?> expectedType) {
+        if (type != expectedType) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (type == null) {
+                throw new IllegalStateException("Property '" + getId() + "' is not used by any shape.");
+            }
+            throw new IllegalArgumentException("Property '" + getId() + "' has type " + type.getName() + " but was accessed as " + expectedType.getName() + ".");
+        }
+    }
+
+    /**
+     * Reads the value of an {@code Object} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code Object} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final Object getObject(Object obj) {
+        checkType(Object.class);
+        return UNSAFE.getObject(shape.getStorage(obj, false), offset);
+    }
+
+    /**
+     * Reads the value of an {@code Object} property of a static object with volatile semantics.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code Object} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final Object getObjectVolatile(Object obj) {
+        checkType(Object.class);
+        return UNSAFE.getObjectVolatile(shape.getStorage(obj, false), offset);
+    }
+
+    /**
+     * Writes the value of an {@code Object} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code Object} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setObject(Object obj, Object value) {
+        checkType(Object.class);
+        UNSAFE.putObject(shape.getStorage(obj, false), offset, value);
+    }
+
+    /**
+     * Writes the value of an {@code Object} property of a static object with volatile semantics.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code Object} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setObjectVolatile(Object obj, Object value) {
+        checkType(Object.class);
+        UNSAFE.putObjectVolatile(shape.getStorage(obj, false), offset, value);
+    }
+
+    /**
+     * Atomically sets the value of an {@code Object} property to {@code value} if its current
+     * value is the same as {@code expect}.
+     *
+     * @return {@code true} if the value was set
+     * @throws IllegalArgumentException if the property type is not {@code Object} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final boolean compareAndSwapObject(Object obj, Object expect, Object value) {
+        checkType(Object.class);
+        return UNSAFE.compareAndSwapObject(shape.getStorage(obj, false), offset, expect, value);
+    }
+
+    /**
+     * Reads the value of a {@code boolean} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code boolean} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final boolean getBoolean(Object obj) {
+        checkType(boolean.class);
+        return UNSAFE.getBoolean(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code boolean} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code boolean} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setBoolean(Object obj, boolean value) {
+        checkType(boolean.class);
+        UNSAFE.putBoolean(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code byte} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code byte} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final byte getByte(Object obj) {
+        checkType(byte.class);
+        return UNSAFE.getByte(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code byte} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code byte} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setByte(Object obj, byte value) {
+        checkType(byte.class);
+        UNSAFE.putByte(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code char} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code char} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final char getChar(Object obj) {
+        checkType(char.class);
+        return UNSAFE.getChar(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code char} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code char} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setChar(Object obj, char value) {
+        checkType(char.class);
+        UNSAFE.putChar(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code short} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code short} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final short getShort(Object obj) {
+        checkType(short.class);
+        return UNSAFE.getShort(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code short} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code short} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setShort(Object obj, short value) {
+        checkType(short.class);
+        UNSAFE.putShort(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of an {@code int} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code int} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final int getInt(Object obj) {
+        checkType(int.class);
+        return UNSAFE.getInt(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of an {@code int} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code int} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setInt(Object obj, int value) {
+        checkType(int.class);
+        UNSAFE.putInt(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code long} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code long} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final long getLong(Object obj) {
+        checkType(long.class);
+        return UNSAFE.getLong(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code long} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code long} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setLong(Object obj, long value) {
+        checkType(long.class);
+        UNSAFE.putLong(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code float} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code float} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final float getFloat(Object obj) {
+        checkType(float.class);
+        return UNSAFE.getFloat(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code float} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code float} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setFloat(Object obj, float value) {
+        checkType(float.class);
+        UNSAFE.putFloat(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@code double} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code double} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final double getDouble(Object obj) {
+        checkType(double.class);
+        return UNSAFE.getDouble(shape.getStorage(obj, true), offset);
+    }
+
+    /**
+     * Writes the value of a {@code double} property of a static object.
+     *
+     * @throws IllegalArgumentException if the property type is not {@code double} or the object
+     *             does not have the shape of the property
+     * @since 20.1
+     */
+    public final void setDouble(Object obj, double value) {
+        checkType(double.class);
+        UNSAFE.putDouble(shape.getStorage(obj, true), offset, value);
+    }
+
+    /**
+     * Atomically sets the value of an {@code int} property to {@code value} if its current value
+     * is {@code expect}.
+     *
+     * @return {@code true} if the value was set
+     * @throws IllegalArgumentException if the property type is not {@code int} or the object does
+     *             not have the shape of the property
+     * @since 20.1
+     */
+    public final boolean compareAndSwapInt(Object obj, int expect, int value) {
+        checkType(int.class);
+        return UNSAFE.compareAndSwapInt(shape.getStorage(obj, true), offset, expect, value);
+    }
+
+    /**
+     * Atomically sets the value of a {@code long} property to {@code value} if its current value
+     * is {@code expect}.
+     *
+     * @return {@code true} if the value was set
+     * @throws IllegalArgumentException if the property type is not {@code long} or the object does
+     *             not have the shape of the property
+     * @since 20.1
+     */
+    public final boolean compareAndSwapLong(Object obj, long expect, long value) {
+        checkType(long.class);
+        return UNSAFE.compareAndSwapLong(shape.getStorage(obj, true), offset, expect, value);
+    }
+
+    private static Unsafe getUnsafe() {
+        try {
+            return Unsafe.getUnsafe();
+        } catch (SecurityException e) {
+        }
+        try {
+            Field theUnsafeInstance = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafeInstance.setAccessible(true);
+            return (Unsafe) theUnsafeInstance.get(Unsafe.class);
+        } catch (Exception e) {
+            throw new RuntimeException("exception while trying to get Unsafe.theUnsafe via reflection:", e);
+        }
+    }
+}
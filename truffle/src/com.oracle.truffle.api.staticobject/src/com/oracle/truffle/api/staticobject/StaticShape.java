@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.TruffleOptions;
+
+/**
+ * A shape describes the layout of static objects. Unlike the shapes of dynamic objects, the set of
+ * properties of a static shape is fixed when it is built. On HotSpot every static shape generates
+ * a storage class that declares one typed field per property. Static objects are allocated using
+ * the {@link #getFactory() factory} of the shape and their properties are read and written using
+ * {@link StaticProperty} accessors, which partially evaluate to plain field accesses if the
+ * property is a compilation constant.
+ *
+ * <pre>
+ * StaticProperty x = new DefaultStaticProperty("x");
+ * StaticProperty y = new DefaultStaticProperty("y");
+ * StaticShape&lt;DefaultStaticObjectFactory&gt; shape = StaticShape.newBuilder() //
+ *                 .property(x, int.class, false) //
+ *                 .property(y, Object.class, true) //
+ *                 .build();
+ * Object point = shape.getFactory().create();
+ * x.setInt(point, 42);
+ * </pre>
+ *
+ * A shape can be built with a user-defined super class and factory interface, for example to let
+ * static objects implement interop messages. Every method of the factory interface must have a
+ * return type the super class is assignable to, and the super class must declare a visible
+ * constructor with the same parameter types.
+ * <p>
+ * In native images storage classes cannot be generated at runtime. Static objects then store
+ * primitive values in a byte array and object values in an object array, and only shapes with the
+ * default super class and factory are supported.
+ *
+ * @param <T> the factory interface of the shape
+ * @see StaticProperty
+ * @since 20.1
+ */
+public abstract class StaticShape<T> {
+
+    final Class<?> storageClass;
+    @CompilationFinal private T factory;
+
+    StaticShape(Class<?> storageClass) {
+        this.storageClass = storageClass;
+    }
+
+    /**
+     * Creates a new builder for static shapes.
+     *
+     * @since 20.1
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the factory that allocates static objects of this shape. The factory implements the
+     * factory interface the shape was built with.
+     *
+     * @since 20.1
+     */
+    public final T getFactory() {
+        return factory;
+    }
+
+    final void setFactory(T factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the object that stores the values of primitive or object properties of the given
+     * static object.
+     */
+    abstract Object getStorage(Object obj, boolean primitive);
+
+    final Object checkReceiver(Object obj) {
+        if (obj == null || obj.getClass() != storageClass) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Object '" + obj + "' does not have the shape of the property.");
+        }
+        return obj;
+    }
+
+    /**
+     * Builder for static shapes.
+     *
+     * @since 20.1
+     */
+    public static final class Builder {
+
+        private final List<StaticProperty> properties = new ArrayList<>();
+        private final List<Class<?>> types = new ArrayList<>();
+        private final List<Boolean> finals = new ArrayList<>();
+        private final Set<String> ids = new HashSet<>();
+
+        Builder() {
+        }
+
+        /**
+         * Adds a property to the shape. The type of the property is either a primitive type or
+         * {@code Object.class}. Properties stored as final may be constant folded if the static
+         * object is a compilation constant, and should therefore only be written once, before
+         * the object is published.
+         *
+         * @throws IllegalArgumentException if the type is not supported, a property with the same
+         *             id was already added or the property is already used by another shape
+         * @since 20.1
+         */
+        public Builder property(StaticProperty property, Class<?> type, boolean storeAsFinal) {
+            Objects.requireNonNull(property);
+            Objects.requireNonNull(type);
+            if (!type.isPrimitive() && type != Object.class || type == void.class) {
+                throw new IllegalArgumentException("Invalid property type " + type.getName() + ". Only primitive types and Object.class are supported.");
+            }
+            if (property.isInitialized() || properties.contains(property)) {
+                throw new IllegalArgumentException("Property '" + property.getId() + "' is already used by another shape.");
+            }
+            if (!ids.add(property.getId())) {
+                throw new IllegalArgumentException("Duplicate property id '" + property.getId() + "'.");
+            }
+            properties.add(property);
+            types.add(type);
+            finals.add(storeAsFinal);
+            return this;
+        }
+
+        /**
+         * Builds a shape that uses {@link Object} as super class of the static objects and
+         * {@link DefaultStaticObjectFactory} as factory interface.
+         *
+         * @since 20.1
+         */
+        public StaticShape<DefaultStaticObjectFactory> build() {
+            return build(Object.class, DefaultStaticObjectFactory.class);
+        }
+
+        /**
+         * Builds a shape for static objects that extend the given super class and are allocated
+         * with a factory that implements the given factory interface.
+         *
+         * @throws IllegalArgumentException if the super class or factory interface are not valid
+         * @throws UnsupportedOperationException if storage classes cannot be generated and a custom
+         *             super class or factory interface is used
+         * @since 20.1
+         */
+        public <T> StaticShape<T> build(Class<?> superClass, Class<T> factoryInterface) {
+            validate(superClass, factoryInterface);
+            StaticShape<T> shape;
+            if (TruffleOptions.AOT) {
+                if (superClass != Object.class || factoryInterface != DefaultStaticObjectFactory.class) {
+                    throw new UnsupportedOperationException("Static shapes with a custom super class or factory interface are not supported in native images.");
+                }
+                shape = ArrayBasedStaticShape.create(properties, types, factoryInterface);
+            } else {
+                shape = FieldBasedStaticShape.create(superClass, factoryInterface, properties, types, finals);
+            }
+            return shape;
+        }
+
+        private static void validate(Class<?> superClass, Class<?> factoryInterface) {
+            if (!Modifier.isPublic(superClass.getModifiers()) || Modifier.isFinal(superClass.getModifiers()) || superClass.isInterface() || superClass.isArray() ||
+                            superClass.isPrimitive()) {
+                throw new IllegalArgumentException("The super class " + superClass.getName() + " must be a public, non-final class.");
+            }
+            if (!factoryInterface.isInterface() || !Modifier.isPublic(factoryInterface.getModifiers())) {
+                throw new IllegalArgumentException("The factory " + factoryInterface.getName() + " must be a public interface.");
+            }
+            for (Method method : factoryInterface.getMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                if (!method.getReturnType().isAssignableFrom(superClass)) {
+                    throw new IllegalArgumentException("The return type of factory method " + method + " must be assignable from " + superClass.getName() + ".");
+                }
+                try {
+                    int modifiers = superClass.getDeclaredConstructor(method.getParameterTypes()).getModifiers();
+                    if (!Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers)) {
+                        throw new IllegalArgumentException("The constructor of " + superClass.getName() + " used by factory method " + method + " must be public or protected.");
+                    }
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException("The super class " + superClass.getName() + " does not declare a constructor for factory method " + method + ".");
+                }
+            }
+        }
+    }
+}
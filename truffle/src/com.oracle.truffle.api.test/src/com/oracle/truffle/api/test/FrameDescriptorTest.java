@@ -207,4 +207,80 @@ public class FrameDescriptorTest {
         assertEquals("c", frame.getObject(slot3));
         assertEquals("d", frame.getObject(slot4));
     }
+
+    @Test
+    public void indexedSlots() throws FrameSlotTypeException {
+        FrameDescriptor.Builder builder = FrameDescriptor.newBuilder().defaultValue("default");
+        int intSlot = builder.addSlot(FrameSlotKind.Int, "i", "info");
+        int firstObjectSlot = builder.addSlots(2, FrameSlotKind.Object);
+        FrameDescriptor d = builder.build();
+        assertEquals(0, intSlot);
+        assertEquals(1, firstObjectSlot);
+        assertEquals(3, d.getNumberOfSlots());
+        assertEquals(3, d.getSize());
+        assertEquals("i", d.getSlotName(intSlot));
+        assertEquals("info", d.getSlotInfo(intSlot));
+        assertNull(d.getSlotName(firstObjectSlot));
+        assertEquals(FrameSlotKind.Object, d.getSlotKind(firstObjectSlot + 1));
+
+        FrameSlot legacy = d.addFrameSlot("legacy", FrameSlotKind.Long);
+        assertEquals(4, d.getSize());
+        assertEquals(3, d.getNumberOfSlots());
+
+        VirtualFrame f = Truffle.getRuntime().createVirtualFrame(new Object[0], d);
+        assertEquals("default", f.getValue(firstObjectSlot));
+        f.setInt(intSlot, 42);
+        f.setObject(firstObjectSlot, "a");
+        f.setLong(legacy, 7L);
+        assertTrue(f.isInt(intSlot));
+        assertFalse(f.isObject(intSlot));
+        assertEquals(FrameSlotKind.Int.tag, f.getTag(intSlot));
+        assertEquals(42, f.getInt(intSlot));
+        assertEquals("a", f.getObject(firstObjectSlot));
+        assertEquals(7L, f.getLong(legacy));
+        try {
+            f.getLong(intSlot);
+            fail();
+        } catch (FrameSlotTypeException e) {
+        }
+
+        Assumption version = d.getVersion();
+        d.setSlotKind(intSlot, FrameSlotKind.Double);
+        assertFalse(version.isValid());
+        assertEquals(FrameSlotKind.Double, d.getSlotKind(intSlot));
+        assertEquals(3, d.copy().getNumberOfSlots());
+    }
+
+    @Test
+    public void staticSlots() {
+        FrameDescriptor.Builder builder = FrameDescriptor.newBuilder();
+        int longSlot = builder.addSlot(FrameSlotKind.Static, "l", null);
+        int doubleSlot = builder.addSlot(FrameSlotKind.Static, "d", null);
+        int booleanSlot = builder.addSlot(FrameSlotKind.Static, "b", null);
+        int objectSlot = builder.addSlot(FrameSlotKind.Static, "o", null);
+        FrameDescriptor d = builder.build();
+
+        VirtualFrame f = Truffle.getRuntime().createVirtualFrame(new Object[0], d);
+        f.setLongStatic(longSlot, Long.MIN_VALUE);
+        f.setDoubleStatic(doubleSlot, -0.5d);
+        f.setBooleanStatic(booleanSlot, true);
+        f.setObjectStatic(objectSlot, "o");
+        for (Frame frame : new Frame[]{f, f.materialize()}) {
+            assertEquals(Long.MIN_VALUE, frame.getLongStatic(longSlot));
+            assertEquals(-0.5d, frame.getDoubleStatic(doubleSlot), 0.0d);
+            assertTrue(frame.getBooleanStatic(booleanSlot));
+            assertEquals("o", frame.getObjectStatic(objectSlot));
+        }
+        f.setIntStatic(longSlot, -3);
+        assertEquals(-3, f.getIntStatic(longSlot));
+        f.setFloatStatic(doubleSlot, 1.5f);
+        assertEquals(1.5f, f.getFloatStatic(doubleSlot), 0.0f);
+
+        try {
+            d.setSlotKind(longSlot, FrameSlotKind.Long);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        assertEquals(FrameSlotKind.Static, d.copy().getSlotKind(longSlot));
+    }
 }
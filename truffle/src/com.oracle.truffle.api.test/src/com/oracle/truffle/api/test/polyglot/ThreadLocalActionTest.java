@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.ThreadLocalAction;
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.nodes.Node;
+
+public class ThreadLocalActionTest extends AbstractPolyglotTest {
+
+    @Before
+    public void setup() {
+        setupEnv(Context.create(), new ProxyLanguage() {
+            @Override
+            protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    public void testCurrentThread() throws Exception {
+        AtomicReference<Thread> performedOn = new AtomicReference<>();
+        AtomicReference<Node> performedAt = new AtomicReference<>();
+        Future<Void> future = languageEnv.submitThreadLocal(new Thread[]{Thread.currentThread()}, new ThreadLocalAction(false, false) {
+            @Override
+            protected void perform(Access access) {
+                performedOn.set(access.getThread());
+                performedAt.set(access.getLocation());
+            }
+        });
+        assertFalse(future.isDone());
+
+        Node location = new TestNode();
+        TruffleSafepoint.poll(location);
+        assertTrue(future.isDone());
+        future.get();
+        assertSame(Thread.currentThread(), performedOn.get());
+        assertSame(location, performedAt.get());
+    }
+
+    @Test
+    public void testAllActiveThreads() throws Exception {
+        CountingAction action = new CountingAction(false, false);
+        Future<Void> future = languageEnv.getContext().submitThreadLocal(null, action);
+        TruffleSafepoint.poll(null);
+        future.get();
+        assertEquals(1, action.count.get());
+    }
+
+    @Test
+    public void testOrder() {
+        StringBuilder order = new StringBuilder();
+        Thread[] current = new Thread[]{Thread.currentThread()};
+        for (int i = 0; i < 3; i++) {
+            String name = String.valueOf(i);
+            languageEnv.submitThreadLocal(current, new ThreadLocalAction(false, false) {
+                @Override
+                protected void perform(Access access) {
+                    order.append(name);
+                }
+            });
+        }
+        TruffleSafepoint.poll(null);
+        assertEquals("012", order.toString());
+    }
+
+    @Test
+    public void testSideEffectsDisabled() throws Exception {
+        CountingAction sideEffecting = new CountingAction(true, false);
+        CountingAction sideEffectFree = new CountingAction(false, false);
+        Thread[] current = new Thread[]{Thread.currentThread()};
+        boolean prev = TruffleSafepoint.setAllowSideEffects(false);
+        try {
+            assertTrue(prev);
+            languageEnv.submitThreadLocal(current, sideEffecting);
+            Future<Void> future = languageEnv.submitThreadLocal(current, sideEffectFree);
+            TruffleSafepoint.poll(null);
+            future.get();
+            assertEquals(0, sideEffecting.count.get());
+            assertEquals(1, sideEffectFree.count.get());
+        } finally {
+            TruffleSafepoint.setAllowSideEffects(prev);
+        }
+        TruffleSafepoint.poll(null);
+        assertEquals(1, sideEffecting.count.get());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        CountingAction action = new CountingAction(false, false);
+        Future<Void> future = languageEnv.submitThreadLocal(new Thread[]{Thread.currentThread()}, action);
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+        TruffleSafepoint.poll(null);
+        assertEquals(0, action.count.get());
+        try {
+            future.get();
+            fail();
+        } catch (CancellationException e) {
+        }
+    }
+
+    @Test
+    public void testException() {
+        languageEnv.submitThreadLocal(new Thread[]{Thread.currentThread()}, new ThreadLocalAction(true, false) {
+            @Override
+            protected void perform(Access access) {
+                throw new IllegalStateException("performed");
+            }
+        });
+        assertFails(() -> TruffleSafepoint.poll(null), IllegalStateException.class);
+        // the action is not performed again
+        TruffleSafepoint.poll(null);
+    }
+
+    @Test
+    public void testOtherContext() throws Exception {
+        CountingAction action = new CountingAction(false, false);
+        Future<Void> future = languageEnv.submitThreadLocal(new Thread[]{Thread.currentThread()}, action);
+        TruffleContext inner = languageEnv.newContextBuilder().build();
+        Object prev = inner.enter();
+        try {
+            // actions of the outer context are not performed in the inner context
+            TruffleSafepoint.poll(null);
+            assertEquals(0, action.count.get());
+        } finally {
+            inner.leave(prev);
+            inner.close();
+        }
+        TruffleSafepoint.poll(null);
+        future.get();
+        assertEquals(1, action.count.get());
+    }
+
+    @Test
+    public void testSynchronous() throws Exception {
+        int threadCount = 4;
+        Thread[] threads = new Thread[threadCount];
+        AtomicInteger arrived = new AtomicInteger();
+        AtomicReference<Future<Void>> future = new AtomicReference<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                TruffleContext context = languageEnv.getContext();
+                Object prev = context.enter();
+                try {
+                    while (future.get() == null || !future.get().isDone()) {
+                        TruffleSafepoint.poll(null);
+                        Thread.yield();
+                    }
+                } finally {
+                    context.leave(prev);
+                }
+            });
+        }
+        future.set(languageEnv.submitThreadLocal(threads, new ThreadLocalAction(false, true) {
+            @Override
+            protected void perform(Access access) {
+                arrived.incrementAndGet();
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        future.get().get();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount, arrived.get());
+    }
+
+    @Test
+    public void testThreadLeft() throws Exception {
+        CountingAction action = new CountingAction(false, true);
+        Thread other = new Thread(() -> {
+            TruffleContext context = languageEnv.getContext();
+            Object prev = context.enter();
+            context.leave(prev);
+        });
+        Future<Void> future = languageEnv.submitThreadLocal(new Thread[]{Thread.currentThread(), other}, action);
+        other.start();
+        other.join();
+        // the other thread left without polling, so it skips the action
+        TruffleSafepoint.poll(null);
+        future.get();
+        assertEquals(1, action.count.get());
+    }
+
+    @Test
+    public void testThreadDied() throws Exception {
+        CountingAction action = new CountingAction(false, false);
+        Thread other = new Thread(() -> {
+        });
+        other.start();
+        other.join();
+        Future<Void> future = languageEnv.submitThreadLocal(new Thread[]{other}, action);
+        future.get();
+        assertTrue(future.isDone());
+        assertEquals(0, action.count.get());
+    }
+
+    static final class CountingAction extends ThreadLocalAction {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        CountingAction(boolean hasSideEffects, boolean synchronous) {
+            super(hasSideEffects, synchronous);
+        }
+
+        @Override
+        protected void perform(Access access) {
+            count.incrementAndGet();
+        }
+    }
+
+    static final class TestNode extends Node {
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.graalvm.polyglot.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+public class ValueBufferTest extends AbstractPolyglotTest {
+
+    @Before
+    public void setup() {
+        setupEnv();
+    }
+
+    @Test
+    public void testByteArray() {
+        byte[] bytes = new byte[16];
+        Value buffer = context.asValue(bytes);
+        assertTrue(buffer.hasBufferElements());
+        assertTrue(buffer.isBufferWritable());
+        assertEquals(16, buffer.getBufferSize());
+
+        buffer.writeBufferByte(0, (byte) 42);
+        assertEquals(42, bytes[0]);
+        assertEquals(42, buffer.readBufferByte(0));
+
+        buffer.writeBufferInt(ByteOrder.BIG_ENDIAN, 4, 0x01020304);
+        assertEquals(0x01, bytes[4]);
+        assertEquals(0x04, bytes[7]);
+        assertEquals(0x04030201, buffer.readBufferInt(ByteOrder.LITTLE_ENDIAN, 4));
+
+        buffer.writeBufferDouble(ByteOrder.LITTLE_ENDIAN, 8, Math.PI);
+        assertEquals(Math.PI, buffer.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 8), 0);
+    }
+
+    @Test
+    public void testByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(32);
+        Value buffer = context.asValue(byteBuffer);
+        assertTrue(buffer.hasBufferElements());
+        assertEquals(32, buffer.getBufferSize());
+
+        buffer.writeBufferLong(ByteOrder.LITTLE_ENDIAN, 8, 0x0102030405060708L);
+        assertEquals(0x0102030405060708L, byteBuffer.order(ByteOrder.LITTLE_ENDIAN).getLong(8));
+        buffer.writeBufferShort(ByteOrder.BIG_ENDIAN, 0, (short) 0x0102);
+        assertEquals((short) 0x0201, buffer.readBufferShort(ByteOrder.LITTLE_ENDIAN, 0));
+        buffer.writeBufferFloat(ByteOrder.BIG_ENDIAN, 16, 1.5f);
+        assertEquals(1.5f, buffer.readBufferFloat(ByteOrder.BIG_ENDIAN, 16), 0);
+        // absolute accesses must not move the position of the buffer
+        assertEquals(0, byteBuffer.position());
+
+        Value readOnly = context.asValue(byteBuffer.asReadOnlyBuffer());
+        assertTrue(readOnly.hasBufferElements());
+        assertFalse(readOnly.isBufferWritable());
+        try {
+            readOnly.writeBufferByte(0, (byte) 1);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testBulkAccess() {
+        byte[] bytes = new byte[64];
+        Value buffer = context.asValue(ByteBuffer.wrap(bytes));
+        byte[] source = new byte[16];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (byte) i;
+        }
+        buffer.writeBuffer(8, source, 4, 12);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i + 4, bytes[8 + i]);
+        }
+        byte[] destination = new byte[12];
+        buffer.readBuffer(8, destination, 0, 12);
+        assertArrayEquals(new byte[]{4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, destination);
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        Value buffer = context.asValue(new byte[8]);
+        try {
+            buffer.readBufferLong(ByteOrder.LITTLE_ENDIAN, 1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            buffer.readBufferByte(-1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            buffer.readBuffer(4, new byte[8], 0, 8);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            buffer.readBuffer(0, new byte[4], 2, 4);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            buffer.writeBuffer(0, new byte[4], -1, 2);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void testDefaultBulkAccess() {
+        TestBuffer testBuffer = new TestBuffer(32);
+        Value buffer = context.asValue(testBuffer);
+        byte[] source = new byte[16];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (byte) (i + 1);
+        }
+        buffer.writeBuffer(3, source, 2, 13);
+        assertEquals(1, testBuffer.longAccesses);
+        assertEquals(5, testBuffer.byteAccesses);
+        for (int i = 0; i < 13; i++) {
+            assertEquals(i + 3, testBuffer.buffer.get(3 + i));
+        }
+
+        byte[] destination = new byte[13];
+        buffer.readBuffer(3, destination, 0, 13);
+        assertEquals(2, testBuffer.longAccesses);
+        assertEquals(10, testBuffer.byteAccesses);
+        assertArrayEquals(new byte[]{3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, destination);
+
+        try {
+            buffer.readBuffer(0, new byte[4], 1, 4);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void testNoBuffer() {
+        Value value = context.asValue(new int[4]);
+        assertFalse(value.hasBufferElements());
+        try {
+            value.getBufferSize();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    /**
+     * A buffer that only exports the element accessors, so bulk access uses the default
+     * implementation of {@link InteropLibrary#readBuffer} and {@link InteropLibrary#writeBuffer}.
+     */
+    @ExportLibrary(InteropLibrary.class)
+    static final class TestBuffer implements TruffleObject {
+
+        final ByteBuffer buffer;
+        int byteAccesses;
+        int longAccesses;
+
+        TestBuffer(int size) {
+            this.buffer = ByteBuffer.allocate(size);
+        }
+
+        @TruffleBoundary
+        private ByteBuffer access(ByteOrder order, long byteOffset, int length) throws InvalidBufferOffsetException {
+            if (byteOffset < 0 || byteOffset > buffer.capacity() - length) {
+                throw InvalidBufferOffsetException.create(byteOffset, length);
+            }
+            return buffer.duplicate().order(order);
+        }
+
+        @ExportMessage
+        boolean hasBufferElements() {
+            return true;
+        }
+
+        @ExportMessage
+        boolean isBufferWritable() {
+            return true;
+        }
+
+        @ExportMessage
+        long getBufferSize() {
+            return buffer.capacity();
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+            byteAccesses++;
+            return access(ByteOrder.nativeOrder(), byteOffset, Byte.BYTES).get((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+            byteAccesses++;
+            access(ByteOrder.nativeOrder(), byteOffset, Byte.BYTES).put((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            return access(order, byteOffset, Short.BYTES).getShort((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+            access(order, byteOffset, Short.BYTES).putShort((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            return access(order, byteOffset, Integer.BYTES).getInt((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+            access(order, byteOffset, Integer.BYTES).putInt((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            longAccesses++;
+            return access(order, byteOffset, Long.BYTES).getLong((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+            longAccesses++;
+            access(order, byteOffset, Long.BYTES).putLong((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            return access(order, byteOffset, Float.BYTES).getFloat((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+            access(order, byteOffset, Float.BYTES).putFloat((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            return access(order, byteOffset, Double.BYTES).getDouble((int) byteOffset);
+        }
+
+        @ExportMessage
+        @TruffleBoundary
+        void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+            access(order, byteOffset, Double.BYTES).putDouble((int) byteOffset, value);
+        }
+    }
+}
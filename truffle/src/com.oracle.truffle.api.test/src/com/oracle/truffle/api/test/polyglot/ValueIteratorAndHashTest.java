@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.graalvm.polyglot.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ValueIteratorAndHashTest extends AbstractPolyglotTest {
+
+    @Before
+    public void setup() {
+        setupEnv();
+    }
+
+    @Test
+    public void testIterable() {
+        List<String> list = Arrays.asList("a", "b", "c");
+        Value iterable = context.asValue(list);
+        assertTrue(iterable.hasIterator());
+        assertFalse(iterable.isIterator());
+
+        Value iterator = iterable.getIterator();
+        assertTrue(iterator.isIterator());
+        StringBuilder elements = new StringBuilder();
+        while (iterator.hasIteratorNextElement()) {
+            elements.append(iterator.getIteratorNextElement().asString());
+        }
+        assertEquals("abc", elements.toString());
+        try {
+            iterator.getIteratorNextElement();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+
+        // every iterator starts at the first element
+        assertEquals("a", iterable.getIterator().getIteratorNextElement().asString());
+    }
+
+    @Test
+    public void testNoIterator() {
+        Value value = context.asValue(42);
+        assertFalse(value.hasIterator());
+        assertFalse(value.isIterator());
+        try {
+            value.getIterator();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testHashEntries() {
+        Map<Object, Object> map = new HashMap<>();
+        map.put("one", 1);
+        map.put(2, "two");
+        Value hash = context.asValue(map);
+        assertTrue(hash.hasHashEntries());
+        assertEquals(2, hash.getHashSize());
+
+        assertTrue(hash.hasHashEntry("one"));
+        assertEquals(1, hash.getHashValue("one").asInt());
+        assertEquals("two", hash.getHashValue(2).asString());
+        assertFalse(hash.hasHashEntry("three"));
+        assertNull(hash.getHashValue("three"));
+
+        hash.putHashEntry("three", 3);
+        assertEquals(3, map.get("three"));
+        hash.putHashEntry("one", 11);
+        assertEquals(11, map.get("one"));
+
+        assertTrue(hash.removeHashEntry(2));
+        assertFalse(hash.removeHashEntry(2));
+        assertFalse(map.containsKey(2));
+        assertEquals(2, hash.getHashSize());
+    }
+
+    @Test
+    public void testHashEntriesIterator() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put("k" + i, i);
+        }
+        Value entries = context.asValue(map).getHashEntriesIterator();
+        assertTrue(entries.isIterator());
+        Set<String> seen = new HashSet<>();
+        while (entries.hasIteratorNextElement()) {
+            Value entry = entries.getIteratorNextElement();
+            assertEquals(2, entry.getArraySize());
+            String key = entry.getArrayElement(0).asString();
+            assertEquals((int) map.get(key), entry.getArrayElement(1).asInt());
+            assertTrue(seen.add(key));
+        }
+        assertEquals(map.keySet(), seen);
+    }
+
+    @Test
+    public void testNoHashEntries() {
+        Value value = context.asValue(new Object());
+        assertFalse(value.hasHashEntries());
+        assertFalse(value.hasHashEntry("key"));
+        try {
+            value.getHashSize();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.staticobject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.TruffleOptions;
+import com.oracle.truffle.api.staticobject.DefaultStaticObjectFactory;
+import com.oracle.truffle.api.staticobject.DefaultStaticProperty;
+import com.oracle.truffle.api.staticobject.StaticProperty;
+import com.oracle.truffle.api.staticobject.StaticShape;
+
+public class StaticShapeTest {
+
+    @Test
+    public void testPrimitiveProperties() {
+        StaticProperty z = new DefaultStaticProperty("z");
+        StaticProperty b = new DefaultStaticProperty("b");
+        StaticProperty c = new DefaultStaticProperty("c");
+        StaticProperty s = new DefaultStaticProperty("s");
+        StaticProperty i = new DefaultStaticProperty("i");
+        StaticProperty j = new DefaultStaticProperty("j");
+        StaticProperty f = new DefaultStaticProperty("f");
+        StaticProperty d = new DefaultStaticProperty("d");
+        StaticShape<DefaultStaticObjectFactory> shape = StaticShape.newBuilder().property(z, boolean.class, false).property(b, byte.class, false).property(c, char.class, false).property(s,
+                        short.class, false).property(i, int.class, false).property(j, long.class, false).property(f, float.class, false).property(d, double.class, false).build();
+
+        Object obj = shape.getFactory().create();
+        assertFalse(z.getBoolean(obj));
+        assertEquals(0, i.getInt(obj));
+        assertEquals(0L, j.getLong(obj));
+
+        z.setBoolean(obj, true);
+        b.setByte(obj, (byte) 42);
+        c.setChar(obj, 'c');
+        s.setShort(obj, (short) 43);
+        i.setInt(obj, 44);
+        j.setLong(obj, Long.MAX_VALUE);
+        f.setFloat(obj, 45.5f);
+        d.setDouble(obj, 46.5d);
+
+        assertTrue(z.getBoolean(obj));
+        assertEquals((byte) 42, b.getByte(obj));
+        assertEquals('c', c.getChar(obj));
+        assertEquals((short) 43, s.getShort(obj));
+        assertEquals(44, i.getInt(obj));
+        assertEquals(Long.MAX_VALUE, j.getLong(obj));
+        assertEquals(45.5f, f.getFloat(obj), 0);
+        assertEquals(46.5d, d.getDouble(obj), 0);
+
+        Object other = shape.getFactory().create();
+        assertEquals(0, i.getInt(other));
+        assertTrue(i.compareAndSwapInt(other, 0, 1));
+        assertFalse(i.compareAndSwapInt(other, 0, 2));
+        assertEquals(1, i.getInt(other));
+        assertTrue(j.compareAndSwapLong(other, 0, 3));
+        assertEquals(3L, j.getLong(other));
+    }
+
+    @Test
+    public void testObjectProperties() {
+        StaticProperty mutable = new DefaultStaticProperty("mutable");
+        StaticProperty constant = new DefaultStaticProperty("constant");
+        StaticShape<DefaultStaticObjectFactory> shape = StaticShape.newBuilder().property(mutable, Object.class, false).property(constant, Object.class, true).build();
+
+        Object obj = shape.getFactory().create();
+        assertNull(mutable.getObject(obj));
+        mutable.setObject(obj, "value");
+        constant.setObject(obj, "constant");
+        assertEquals("value", mutable.getObject(obj));
+        assertEquals("constant", constant.getObject(obj));
+        assertTrue(mutable.compareAndSwapObject(obj, "value", "newValue"));
+        assertFalse(mutable.compareAndSwapObject(obj, "value", "otherValue"));
+        assertEquals("newValue", mutable.getObjectVolatile(obj));
+        mutable.setObjectVolatile(obj, null);
+        assertNull(mutable.getObject(obj));
+    }
+
+    @Test
+    public void testTypedFields() {
+        if (TruffleOptions.AOT) {
+            return;
+        }
+        StaticProperty i = new DefaultStaticProperty("i");
+        StaticProperty o = new DefaultStaticProperty("o");
+        StaticShape<DefaultStaticObjectFactory> shape = StaticShape.newBuilder().property(i, int.class, false).property(o, Object.class, true).build();
+        Class<?> storageClass = shape.getFactory().create().getClass();
+        List<Class<?>> fieldTypes = new ArrayList<>();
+        for (Field field : storageClass.getDeclaredFields()) {
+            fieldTypes.add(field.getType());
+            if (field.getType() == Object.class) {
+                assertTrue(Modifier.isFinal(field.getModifiers()));
+            }
+        }
+        assertEquals(2, fieldTypes.size());
+        assertTrue(fieldTypes.contains(int.class));
+        assertTrue(fieldTypes.contains(Object.class));
+    }
+
+    public abstract static class CustomObject {
+
+        final String name;
+
+        protected CustomObject(String name) {
+            this.name = name;
+        }
+
+        public CustomObject(int id, long version) {
+            this.name = id + ":" + version;
+        }
+    }
+
+    public interface CustomFactory {
+
+        CustomObject create(String name);
+
+        Object create(int id, long version);
+    }
+
+    @Test
+    public void testCustomSuperClass() {
+        if (TruffleOptions.AOT) {
+            return;
+        }
+        StaticProperty value = new DefaultStaticProperty("value");
+        StaticShape<CustomFactory> shape = StaticShape.newBuilder().property(value, double.class, false).build(CustomObject.class, CustomFactory.class);
+
+        CustomObject obj = shape.getFactory().create("name");
+        assertEquals("name", obj.name);
+        value.setDouble(obj, 42.5d);
+        assertEquals(42.5d, value.getDouble(obj), 0);
+
+        CustomObject other = (CustomObject) shape.getFactory().create(42, 43L);
+        assertEquals("42:43", other.name);
+        assertNotSame(obj, other);
+        assertSame(obj.getClass(), other.getClass());
+    }
+
+    public interface InvalidFactory {
+
+        CustomObject create(Object unsupported);
+    }
+
+    @Test
+    public void testInvalidShapes() {
+        try {
+            StaticShape.newBuilder().property(new DefaultStaticProperty("p"), String.class, false);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            StaticShape.newBuilder().property(new DefaultStaticProperty("p"), int.class, false).property(new DefaultStaticProperty("p"), int.class, false);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        StaticProperty used = new DefaultStaticProperty("used");
+        StaticShape.newBuilder().property(used, int.class, false).build();
+        try {
+            StaticShape.newBuilder().property(used, int.class, false);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            StaticShape.newBuilder().build(String.class, DefaultStaticObjectFactory.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            StaticShape.newBuilder().build(CustomObject.class, InvalidFactory.class);
+            fail();
+        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testInvalidAccess() {
+        StaticProperty i = new DefaultStaticProperty("i");
+        StaticShape<DefaultStaticObjectFactory> shape = StaticShape.newBuilder().property(i, int.class, false).build();
+        StaticShape<DefaultStaticObjectFactory> otherShape = StaticShape.newBuilder().property(new DefaultStaticProperty("i"), int.class, false).build();
+        Object obj = shape.getFactory().create();
+        try {
+            i.getLong(obj);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            i.getInt(otherShape.getFactory().create());
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            i.getInt(new Object());
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            i.getInt(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new DefaultStaticProperty("unused").getInt(obj);
+            fail();
+        } catch (IllegalStateException e) {
+        }
+    }
+}
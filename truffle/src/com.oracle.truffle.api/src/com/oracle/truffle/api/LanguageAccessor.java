@@ -225,6 +225,16 @@ final class LanguageAccessor extends Accessor {
             return new TruffleContext(impl);
         }
 
+        @Override
+        public boolean hasQueuedThreadLocalActions(TruffleContext context) {
+            return context.threadLocalHandshake.hasQueued();
+        }
+
+        @Override
+        public void dropThreadLocalActions(TruffleContext context, Thread thread) {
+            context.threadLocalHandshake.drop(thread);
+        }
+
         @Override
         public void postInitEnv(TruffleLanguage.Env env) {
             env.postInit();
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Represents an action that is executed on one or more guest language threads at the next
+ * {@link TruffleSafepoint#poll(Node) safepoint} those threads reach. Thread local actions allow to
+ * run code on a thread of a context without installing instrumentation, for example to cancel,
+ * sample or inspect the execution of a context. Actions are submitted with
+ * {@link TruffleContext#submitThreadLocal(Thread[], ThreadLocalAction)} or
+ * {@link TruffleLanguage.Env#submitThreadLocal(Thread[], ThreadLocalAction)}.
+ * <p>
+ * Actions are performed in the order they were submitted for each thread. While an action is
+ * performed, no other thread local action is processed on the same thread. Actions may throw
+ * exceptions, which are then thrown from the safepoint location of the thread that performed the
+ * action. This allows actions to cancel the execution of a thread.
+ * <p>
+ * Example usage: {@link ThreadLocalActionSnippets#countSafepoints}
+ *
+ * @see TruffleSafepoint
+ * @since 20.1
+ */
+public abstract class ThreadLocalAction {
+
+    private final boolean sideEffecting;
+    private final boolean synchronous;
+
+    /**
+     * Creates a new thread local action.
+     *
+     * @param hasSideEffects <code>true</code> if the action may have side effects on the guest
+     *            language execution of the thread, for example if it throws an exception. Actions
+     *            with side effects are not performed while side effects are
+     *            {@link TruffleSafepoint#setAllowSideEffects(boolean) disabled} on a thread.
+     * @param synchronous <code>true</code> if the action should be performed at the same time on
+     *            all submitted threads. Each thread waits in its safepoint until all threads have
+     *            reached a safepoint, then performs the action and waits again until all threads
+     *            have completed the action.
+     * @since 20.1
+     */
+    protected ThreadLocalAction(boolean hasSideEffects, boolean synchronous) {
+        this.sideEffecting = hasSideEffects;
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * Returns <code>true</code> if the action may have side effects on the guest language
+     * execution of the thread.
+     *
+     * @since 20.1
+     */
+    public final boolean hasSideEffects() {
+        return sideEffecting;
+    }
+
+    /**
+     * Returns <code>true</code> if the action is performed at the same time on all submitted
+     * threads.
+     *
+     * @since 20.1
+     */
+    public final boolean isSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * Performs the action on the current thread. This method is invoked once for each thread the
+     * action was submitted to. It is invoked behind a {@link CompilerDirectives.TruffleBoundary
+     * boundary}, so it does not need to be designed for partial evaluation.
+     *
+     * @param access provides the thread and the location the action is performed at
+     * @since 20.1
+     */
+    protected abstract void perform(Access access);
+
+    /**
+     * Provides access to the thread and location a {@link ThreadLocalAction} is performed at. An
+     * access instance is only valid during {@link ThreadLocalAction#perform(Access)}.
+     *
+     * @since 20.1
+     */
+    public static final class Access {
+
+        private final Thread thread;
+        private final Node location;
+
+        Access(Thread thread, Node location) {
+            this.thread = thread;
+            this.location = location;
+        }
+
+        /**
+         * Returns the thread the action is performed on. This is always the current thread.
+         *
+         * @since 20.1
+         */
+        public Thread getThread() {
+            return thread;
+        }
+
+        /**
+         * Returns the node of the safepoint the action is performed at, or <code>null</code> if
+         * the location is not known.
+         *
+         * @since 20.1
+         */
+        public Node getLocation() {
+            return location;
+        }
+    }
+}
+
+class ThreadLocalActionSnippets {
+
+    // BEGIN: ThreadLocalActionSnippets#countSafepoints
+    static final class CountingAction extends ThreadLocalAction {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        CountingAction() {
+            super(false, false);
+        }
+
+        @Override
+        protected void perform(Access access) {
+            count.incrementAndGet();
+        }
+    }
+
+    static int countSafepoints(TruffleContext context) throws Exception {
+        CountingAction action = new CountingAction();
+        // null submits the action to all threads active in the context
+        context.submitThreadLocal(null, action).get();
+        return action.count.get();
+    }
+    // END: ThreadLocalActionSnippets#countSafepoints
+}
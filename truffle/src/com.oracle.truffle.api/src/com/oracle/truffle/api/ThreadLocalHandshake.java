@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Implementation of {@link ThreadLocalAction thread local actions} and {@link TruffleSafepoint
+ * safepoints} for a single {@link TruffleContext context}. A static volatile counter of pending
+ * actions is shared by all contexts, such that a safepoint poll compiles to a load and a branch
+ * without looking up the entered context. Only if any action is pending, the current thread looks
+ * up its own queue of actions in the handshake of the entered context.
+ * <p>
+ * Actions with side effects that a thread skips because side effects are disabled are deferred and
+ * no longer counted as pending until side effects are allowed again. Actions queued for a thread
+ * are dropped when the thread leaves the context for the last time or dies, such that the counter
+ * returns to zero and synchronous actions do not wait for them.
+ */
+@SuppressFBWarnings("VO_VOLATILE_INCREMENT")
+final class ThreadLocalHandshake {
+
+    private static final Object PENDING_LOCK = new Object();
+
+    /*
+     * Number of queued actions that are not deferred, summed up over all threads of all contexts.
+     * Only updated while holding PENDING_LOCK.
+     */
+    private static volatile int pendingActions;
+
+    /*
+     * Number of queued actions including deferred ones, summed up over all threads of this context.
+     * Only updated while holding the lock of this handshake.
+     */
+    private volatile int queued;
+
+    private final Map<Thread, ThreadState> states = new HashMap<>();
+
+    ThreadLocalHandshake() {
+    }
+
+    /**
+     * Returns the handshake of the context entered on the current thread or <code>null</code> if
+     * no context is entered.
+     */
+    static ThreadLocalHandshake current() {
+        TruffleContext context = LanguageAccessor.engineAccess().getCurrentTruffleContext();
+        return context == null ? null : context.threadLocalHandshake;
+    }
+
+    static boolean isPending() {
+        return pendingActions != 0;
+    }
+
+    @TruffleBoundary
+    static void processCurrent(Node location) {
+        ThreadLocalHandshake handshake = current();
+        if (handshake != null) {
+            handshake.process(location);
+        }
+    }
+
+    private static void addPending(int delta) {
+        if (delta != 0) {
+            synchronized (PENDING_LOCK) {
+                pendingActions += delta;
+            }
+        }
+    }
+
+    boolean hasQueued() {
+        return queued != 0;
+    }
+
+    Future<Void> submit(Thread[] threads, ThreadLocalAction action) {
+        Handshake handshake = new Handshake(this, action, threads);
+        synchronized (this) {
+            for (int i = 0; i < threads.length; i++) {
+                ThreadState state = getOrCreateState(threads[i]);
+                state.queue.add(handshake);
+                state.size++;
+                handshake.states[i] = state;
+            }
+            queued += threads.length;
+            addPending(threads.length);
+        }
+        return handshake;
+    }
+
+    @TruffleBoundary
+    void process(Node location) {
+        ThreadState state = getState(Thread.currentThread());
+        if (state == null || state.size == 0 || state.processing) {
+            // actions of other threads are pending or we are already processing
+            return;
+        }
+        state.processing = true;
+        try {
+            Handshake handshake;
+            while ((handshake = poll(state)) != null) {
+                handshake.perform(Thread.currentThread(), location);
+            }
+        } finally {
+            state.processing = false;
+        }
+    }
+
+    synchronized boolean setAllowSideEffects(boolean enabled) {
+        ThreadState state = getOrCreateState(Thread.currentThread());
+        boolean prev = state.allowSideEffects;
+        state.allowSideEffects = enabled;
+        if (enabled && !state.deferred.isEmpty()) {
+            int count = state.deferred.size();
+            state.queue.addAll(state.deferred);
+            state.deferred.clear();
+            state.size += count;
+            addPending(count);
+        }
+        return prev;
+    }
+
+    /**
+     * Drops the actions queued for a thread that left the context or died. The thread counts as
+     * having performed them, so synchronous actions stop waiting for it.
+     */
+    synchronized void drop(Thread thread) {
+        ThreadState state = states.get(thread);
+        if (state == null) {
+            return;
+        }
+        int count = state.queue.size() + state.deferred.size();
+        for (Handshake handshake : state.queue) {
+            handshake.skip();
+        }
+        for (Handshake handshake : state.deferred) {
+            handshake.skip();
+        }
+        state.queue.clear();
+        state.deferred.clear();
+        addPending(-state.size);
+        state.size = 0;
+        queued -= count;
+        if (state.allowSideEffects && !state.processing) {
+            states.remove(thread);
+        }
+    }
+
+    private synchronized ThreadState getState(Thread thread) {
+        return states.get(thread);
+    }
+
+    private synchronized ThreadState getOrCreateState(Thread thread) {
+        ThreadState state = states.get(thread);
+        if (state == null) {
+            state = new ThreadState();
+            states.put(thread, state);
+        }
+        return state;
+    }
+
+    private synchronized Handshake poll(ThreadState state) {
+        Iterator<Handshake> iterator = state.queue.iterator();
+        while (iterator.hasNext()) {
+            Handshake handshake = iterator.next();
+            iterator.remove();
+            state.size--;
+            addPending(-1);
+            if (state.allowSideEffects || !handshake.action.hasSideEffects()) {
+                queued--;
+                return handshake;
+            }
+            state.deferred.add(handshake);
+        }
+        return null;
+    }
+
+    private synchronized boolean cancel(Handshake handshake) {
+        if (handshake.isDone()) {
+            return false;
+        }
+        handshake.cancelled = true;
+        for (ThreadState state : handshake.states) {
+            boolean removed = false;
+            if (state.queue.remove(handshake)) {
+                state.size--;
+                addPending(-1);
+                removed = true;
+            } else if (state.deferred.remove(handshake)) {
+                removed = true;
+            }
+            if (removed) {
+                queued--;
+                handshake.skip();
+            }
+        }
+        return true;
+    }
+
+    private static final class ThreadState {
+
+        final ArrayDeque<Handshake> queue = new ArrayDeque<>();
+        // actions with side effects skipped while side effects are disabled
+        final ArrayDeque<Handshake> deferred = new ArrayDeque<>();
+        // number of actions in the queue, readable without holding the lock
+        volatile int size;
+        boolean processing;
+        boolean allowSideEffects = true;
+
+    }
+
+    private static final class Handshake implements Future<Void> {
+
+        final ThreadLocalHandshake owner;
+        final ThreadLocalAction action;
+        final Thread[] threads;
+        final ThreadState[] states;
+        final CountDownLatch arrived;
+        final CountDownLatch done;
+        volatile boolean cancelled;
+
+        Handshake(ThreadLocalHandshake owner, ThreadLocalAction action, Thread[] threads) {
+            this.owner = owner;
+            this.action = action;
+            this.threads = threads;
+            this.states = new ThreadState[threads.length];
+            this.arrived = new CountDownLatch(threads.length);
+            this.done = new CountDownLatch(threads.length);
+        }
+
+        void perform(Thread thread, Node location) {
+            try {
+                if (action.isSynchronous()) {
+                    arrived.countDown();
+                    awaitOthers(arrived);
+                }
+                if (!cancelled) {
+                    action.perform(new ThreadLocalAction.Access(thread, location));
+                }
+            } finally {
+                done.countDown();
+                if (action.isSynchronous()) {
+                    awaitOthers(done);
+                }
+            }
+        }
+
+        void skip() {
+            arrived.countDown();
+            done.countDown();
+        }
+
+        private void awaitOthers(CountDownLatch latch) {
+            boolean interrupted = false;
+            try {
+                while (!cancelled) {
+                    try {
+                        if (latch.await(10, TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                        dropDeadThreads();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void dropDeadThreads() {
+            for (Thread thread : threads) {
+                if (thread.getState() == Thread.State.TERMINATED) {
+                    owner.drop(thread);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return owner.cancel(this);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public Void get() throws InterruptedException {
+            while (!done.await(10, TimeUnit.MILLISECONDS)) {
+                dropDeadThreads();
+            }
+            checkCancelled();
+            return null;
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            checkCancelled();
+            return null;
+        }
+
+        private void checkCancelled() {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+    }
+}
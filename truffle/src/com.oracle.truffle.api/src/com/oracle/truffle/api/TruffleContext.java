@@ -44,6 +44,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Future;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage.ContextReference;
@@ -91,13 +93,16 @@ public final class TruffleContext implements AutoCloseable {
     }
     final Object polyglotContext;
     final boolean closeable;
+    final ThreadLocalHandshake threadLocalHandshake;
 
     TruffleContext(Object impl) {
         this.polyglotContext = impl;
         this.closeable = false;
+        this.threadLocalHandshake = new ThreadLocalHandshake();
     }
 
     private TruffleContext(TruffleLanguage.Env env, Map<String, Object> config) {
+        this.threadLocalHandshake = new ThreadLocalHandshake();
         try {
             this.polyglotContext = LanguageAccessor.engineAccess().createInternalContext(env.getPolyglotLanguageContext(), config, this);
             this.closeable = false;
@@ -111,14 +116,16 @@ public final class TruffleContext implements AutoCloseable {
     /**
      * Creates closeable context representation for use by a language.
      */
-    private TruffleContext(Object polyglotContext, boolean closeable) {
-        this.polyglotContext = polyglotContext;
+    private TruffleContext(TruffleContext context, boolean closeable) {
+        this.polyglotContext = context.polyglotContext;
         this.closeable = closeable;
+        this.threadLocalHandshake = context.threadLocalHandshake;
     }
 
     private TruffleContext() {
         this.polyglotContext = null;
         this.closeable = false;
+        this.threadLocalHandshake = null;
     }
 
     /**
@@ -215,6 +222,36 @@ public final class TruffleContext implements AutoCloseable {
         }
     }
 
+    /**
+     * Submits a {@link ThreadLocalAction thread local action} to be performed on threads of this
+     * context. The action is performed by each thread at its next {@link TruffleSafepoint
+     * safepoint}. If <code>threads</code> is <code>null</code>, then the action is submitted to all
+     * threads that are currently active in this context. The returned future completes once all
+     * threads have performed the action. Threads that leave this context for the last time or die
+     * before performing the action skip it. Cancelling the future removes the action from all
+     * threads that have not yet started to perform it.
+     *
+     * @param threads the threads to perform the action on, or <code>null</code> for all active
+     *            threads of this context
+     * @param action the action to perform
+     * @return a future that completes when the action was performed on all threads
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public Future<Void> submitThreadLocal(Thread[] threads, ThreadLocalAction action) {
+        Objects.requireNonNull(action);
+        Thread[] targets;
+        try {
+            targets = threads == null ? LanguageAccessor.engineAccess().getActiveThreads(polyglotContext) : threads.clone();
+        } catch (Throwable t) {
+            throw Env.engineToLanguageException(t);
+        }
+        for (Thread thread : targets) {
+            Objects.requireNonNull(thread);
+        }
+        return threadLocalHandshake.submit(targets, action);
+    }
+
     @TruffleBoundary
     private static void verifyEnter(Object prev) {
         assert CONTEXT_ASSERT_STACK != null;
@@ -285,7 +322,7 @@ public final class TruffleContext implements AutoCloseable {
         @TruffleBoundary
         public TruffleContext build() {
             TruffleContext context = new TruffleContext(sourceEnvironment, config);
-            return new TruffleContext(context.polyglotContext, true);
+            return new TruffleContext(context, true);
         }
     }
 }
@@ -61,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import org.graalvm.options.OptionCategory;
@@ -2469,6 +2470,23 @@ public abstract class TruffleLanguage<C> {
             }
         }
 
+        /**
+         * Submits a {@link ThreadLocalAction thread local action} to threads of the context of this
+         * environment. Shortcut for {@link TruffleContext#submitThreadLocal(Thread[],
+         * ThreadLocalAction) getContext().submitThreadLocal(threads, action)}.
+         *
+         * @param threads the threads to perform the action on, or <code>null</code> for all
+         *            active threads of the context
+         * @param action the action to perform
+         * @return a future that completes when the action was performed on all threads
+         * @since 20.1
+         */
+        @TruffleBoundary
+        public Future<Void> submitThreadLocal(Thread[] threads, ThreadLocalAction action) {
+            checkDisposed();
+            return getContext().submitThreadLocal(threads, action);
+        }
+
         /**
          * Returns <code>true</code> if this {@link org.graalvm.polyglot.Context} is being
          * pre-initialized. For a given {@link Env environment}, the return value of this method
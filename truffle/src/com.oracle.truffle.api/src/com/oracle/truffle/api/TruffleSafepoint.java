@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Safepoints allow guest language threads to cooperatively perform {@link ThreadLocalAction thread
+ * local actions} submitted by other threads. A thread performs pending actions whenever it reaches a
+ * safepoint {@link #poll(Node) poll}. Truffle polls safepoints automatically whenever a
+ * {@link RootNode} is called and for every iteration of a {@link LoopNode}. Languages only need to
+ * poll manually in long running code that neither calls nor loops, for example in builtins that
+ * block or run in a tight Java loop.
+ * <p>
+ * If no action is pending, a poll in compiled code reduces to a memory load and a branch that is
+ * unlikely to be taken.
+ *
+ * @see ThreadLocalAction
+ * @since 20.1
+ */
+public final class TruffleSafepoint {
+
+    private TruffleSafepoint() {
+    }
+
+    /**
+     * Polls a safepoint at the provided location. If thread local actions of the entered context
+     * are pending for the current thread, they are performed before this method returns.
+     * Exceptions thrown by an action are thrown from this method.
+     *
+     * @param location the node of the safepoint or <code>null</code> if the location is not known
+     * @since 20.1
+     */
+    public static void poll(Node location) {
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, ThreadLocalHandshake.isPending())) {
+            ThreadLocalHandshake.processCurrent(location);
+        }
+    }
+
+    /**
+     * Enables or disables thread local actions with {@link ThreadLocalAction#hasSideEffects() side
+     * effects} for the current thread. While disabled, such actions stay pending until side
+     * effects are allowed again and the next safepoint is polled. Actions without side effects are
+     * still performed. Languages disable side effects for code that must not be interrupted, for
+     * example while holding internal locks.
+     *
+     * @param enabled <code>true</code> to allow actions with side effects
+     * @return <code>true</code> if side effects were allowed before this call
+     * @throws IllegalStateException if no context is entered on the current thread
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public static boolean setAllowSideEffects(boolean enabled) {
+        ThreadLocalHandshake handshake = ThreadLocalHandshake.current();
+        if (handshake == null) {
+            throw new IllegalStateException("No context is entered on the current thread.");
+        }
+        return handshake.setAllowSideEffects(enabled);
+    }
+}
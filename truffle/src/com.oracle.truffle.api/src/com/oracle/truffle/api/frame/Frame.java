@@ -43,6 +43,11 @@ package com.oracle.truffle.api.frame;
 /**
  * Represents a frame containing values of local variables of the guest language. Instances of this
  * type must not be stored in a field or cast to {@link java.lang.Object}.
+ * <p>
+ * Local variables are either accessed through {@link FrameSlot frame slots} or, for the indexed
+ * slots declared with {@link FrameDescriptor#newBuilder()}, through their <code>int</code> index.
+ * Indexed slots of kind {@link FrameSlotKind#Static} are accessed with the <code>Static</code>
+ * accessors, which do not read or write type tags.
  * 
  * @since 0.8 or earlier
  */
@@ -256,4 +261,425 @@ public interface Frame {
      * @since 0.8 or earlier
      */
     boolean isDouble(FrameSlot slot);
+
+    /**
+     * Returns the current type tag of the indexed slot at the given index. The tag is the
+     * {@link FrameSlotKind#tag} of the kind of the last value written to the slot.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default byte getTag(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type {@link Object}.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type {@link Object}
+     * @since 20.1
+     */
+    default Object getObject(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type {@link Object}.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setObject(int slot, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type {@link Object}.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isObject(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type byte.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type byte
+     * @since 20.1
+     */
+    default byte getByte(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type byte.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setByte(int slot, byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type byte.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isByte(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type boolean.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type boolean
+     * @since 20.1
+     */
+    default boolean getBoolean(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type boolean.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setBoolean(int slot, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type boolean.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isBoolean(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type int.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type int
+     * @since 20.1
+     */
+    default int getInt(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type int.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setInt(int slot, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type int.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isInt(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type long.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type long
+     * @since 20.1
+     */
+    default long getLong(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type long.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setLong(int slot, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type long.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isLong(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type float.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type float
+     * @since 20.1
+     */
+    default float getFloat(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type float.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setFloat(int slot, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type float.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isFloat(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type double.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type double
+     * @since 20.1
+     */
+    default double getDouble(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type double.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setDouble(int slot, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the indexed slot at the given index holds a value of type double.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean isDouble(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of any type.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot or the default value if unset
+     * @since 20.1
+     */
+    default Object getValue(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type {@link Object} from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setObjectStatic(int, Object)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default Object getObjectStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type {@link Object} to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setObjectStatic(int slot, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type byte from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setByteStatic(int, byte)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default byte getByteStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type byte to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setByteStatic(int slot, byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type boolean from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setBooleanStatic(int, boolean)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default boolean getBooleanStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type boolean to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setBooleanStatic(int slot, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type int from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setIntStatic(int, int)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default int getIntStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type int to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setIntStatic(int slot, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type long from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setLongStatic(int, long)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default long getLongStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type long to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setLongStatic(int slot, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type float from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setFloatStatic(int, float)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default float getFloatStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type float to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setFloatStatic(int slot, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads a value of type double from a {@link FrameSlotKind#Static static} slot. No type tag is
+     * checked, so the slot must have been last written with {@link #setDoubleStatic(int, double)},
+     * otherwise the result is undefined.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default double getDoubleStatic(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a value of type double to a {@link FrameSlotKind#Static static} slot without updating
+     * any type tag.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setDoubleStatic(int slot, double value) {
+        throw new UnsupportedOperationException();
+    }
 }
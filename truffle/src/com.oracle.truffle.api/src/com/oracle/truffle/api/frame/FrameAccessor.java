@@ -56,5 +56,10 @@ final class FrameAccessor extends Accessor {
         protected boolean getMaterializeCalled(FrameDescriptor descriptor) {
             return descriptor.materializeCalled;
         }
+
+        @Override
+        protected boolean isStaticLayout(FrameDescriptor descriptor) {
+            return descriptor.staticLayout;
+        }
     }
 }
@@ -42,6 +42,7 @@ package com.oracle.truffle.api.frame;
 
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -57,11 +58,19 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.impl.TVMCI;
+import com.oracle.truffle.api.nodes.RootNode;
 
 /**
  * Descriptor of the slots of frame objects. Multiple frame instances are associated with one such
  * descriptor. The FrameDescriptor is thread-safe.
+ * <p>
+ * A descriptor can contain two kinds of slots. <em>Indexed slots</em> are declared up front with a
+ * {@link #newBuilder() builder} and are accessed with the index based methods of {@link Frame},
+ * for example {@link Frame#getInt(int)}. Their number is fixed when the descriptor is built, so the
+ * frame layout never changes for them. {@link FrameSlot Frame slots} can be added at any time and
+ * use the indices after the indexed slots.
  *
  * @since 0.8 or earlier
  */
@@ -75,6 +84,16 @@ public final class FrameDescriptor implements Cloneable {
     @CompilationFinal private volatile int size;
     private final Object lock;
 
+    @CompilationFinal(dimensions = 1) private final byte[] indexedSlotTags;
+    private final Object[] indexedSlotNames;
+    private final Object[] indexedSlotInfos;
+    /**
+     * <code>true</code> if all indexed slots were declared as {@link FrameSlotKind#Static static}
+     * slots. Frames of such descriptors do not need a tag for any indexed slot, which is used by
+     * the runtime to omit the tag array. Read by the runtime via {@link TVMCI}.
+     */
+    final boolean staticLayout;
+
     /**
      * Flag that can be used by the runtime to track that {@link Frame#materialize()} was called on
      * a frame that has this descriptor. Since the flag is not public API, access is encapsulated
@@ -85,6 +104,8 @@ public final class FrameDescriptor implements Cloneable {
     boolean materializeCalled;
 
     private static final String NEVER_PART_OF_COMPILATION_MESSAGE = "interpreter-only. includes hashmap operations.";
+    private static final byte[] EMPTY_BYTE_ARRAY = {};
+    private static final Object[] EMPTY_OBJECT_ARRAY = {};
 
     /**
      * Constructs empty descriptor. The {@link #getDefaultValue()} is <code>null</code>.
@@ -106,11 +127,27 @@ public final class FrameDescriptor implements Cloneable {
     }
 
     private FrameDescriptor(Object defaultValue, Object lock) {
+        this(defaultValue, lock, EMPTY_BYTE_ARRAY, EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY);
+    }
+
+    private FrameDescriptor(Object defaultValue, Object lock, byte[] indexedSlotTags, Object[] indexedSlotNames, Object[] indexedSlotInfos) {
         CompilerAsserts.neverPartOfCompilation("do not create a FrameDescriptor from compiled code");
         this.defaultValue = defaultValue;
         this.slots = new ArrayList<>();
         this.identifierToSlotMap = EconomicMap.create();
         this.lock = lock == null ? this : lock;
+        this.indexedSlotTags = indexedSlotTags;
+        this.indexedSlotNames = indexedSlotNames;
+        this.indexedSlotInfos = indexedSlotInfos;
+        this.size = indexedSlotTags.length;
+        boolean allStatic = indexedSlotTags.length > 0;
+        for (byte tag : indexedSlotTags) {
+            if (tag != FrameSlotKind.Static.tag) {
+                allStatic = false;
+                break;
+            }
+        }
+        this.staticLayout = allStatic;
         newVersion(this);
     }
 
@@ -353,6 +390,83 @@ public final class FrameDescriptor implements Cloneable {
         }
     }
 
+    /**
+     * Returns the number of indexed slots declared with the {@link #newBuilder() builder}. Indexed
+     * slots use the indices from <code>0</code> to <code>getNumberOfSlots() - 1</code>.
+     *
+     * @since 20.1
+     */
+    public int getNumberOfSlots() {
+        return indexedSlotTags.length;
+    }
+
+    /**
+     * Returns the current kind of the indexed slot at the given index.
+     *
+     * @param slot the index of the slot
+     * @throws ArrayIndexOutOfBoundsException if the index is not an indexed slot
+     * @since 20.1
+     */
+    public FrameSlotKind getSlotKind(int slot) {
+        return FrameSlotKind.fromTag(indexedSlotTags[slot]);
+    }
+
+    /**
+     * Changes the kind of the indexed slot at the given index. Like
+     * {@link #setFrameSlotKind(FrameSlot, FrameSlotKind)} this is done on the <em>slow path</em>
+     * and invalidates the {@link #getVersion() version} of this descriptor. The kind of
+     * {@link FrameSlotKind#Static static} slots is fixed when the descriptor is built and cannot be
+     * changed.
+     *
+     * @param slot the index of the slot
+     * @param kind the new kind of the slot
+     * @throws IllegalArgumentException if either the old or the new kind is
+     *             {@link FrameSlotKind#Static}
+     * @since 20.1
+     */
+    public void setSlotKind(int slot, FrameSlotKind kind) {
+        if (indexedSlotTags[slot] != kind.tag) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            setSlotKindSlow(slot, kind);
+        }
+    }
+
+    private void setSlotKindSlow(int slot, FrameSlotKind kind) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        if (kind == FrameSlotKind.Static || indexedSlotTags[slot] == FrameSlotKind.Static.tag) {
+            throw new IllegalArgumentException("The kind of static slots is fixed when the frame descriptor is built.");
+        }
+        synchronized (lock) {
+            if (indexedSlotTags[slot] != kind.tag) { // recheck under lock
+                invalidateVersion(this);
+                indexedSlotTags[slot] = kind.tag;
+                newVersion(this);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the indexed slot at the given index, as passed to
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    public Object getSlotName(int slot) {
+        return indexedSlotNames[slot];
+    }
+
+    /**
+     * Returns the info of the indexed slot at the given index, as passed to
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    public Object getSlotInfo(int slot) {
+        return indexedSlotInfos[slot];
+    }
+
     /**
      * Returns the size of an array which is needed for storing all the frame slots. (The number may
      * be bigger than the number of slots, if some slots are removed.)
@@ -467,7 +581,9 @@ public final class FrameDescriptor implements Cloneable {
     /**
      * Deeper copy of the descriptor. Copies all slots in the descriptor, but only their
      * {@linkplain FrameSlot#getIdentifier() identifier} and {@linkplain FrameSlot#getInfo() info}
-     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}!
+     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}! Indexed slots
+     * keep their name and info, only {@link FrameSlotKind#Static static} indexed slots keep their
+     * kind.
      *
      * @return new instance of a descriptor with copies of values from this one
      * @since 0.8 or earlier
@@ -475,7 +591,11 @@ public final class FrameDescriptor implements Cloneable {
     public FrameDescriptor copy() {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         synchronized (lock) {
-            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue);
+            byte[] clonedTags = new byte[indexedSlotTags.length];
+            for (int i = 0; i < clonedTags.length; i++) {
+                clonedTags[i] = indexedSlotTags[i] == FrameSlotKind.Static.tag ? FrameSlotKind.Static.tag : FrameSlotKind.Illegal.tag;
+            }
+            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue, null, clonedTags, indexedSlotNames, indexedSlotInfos);
             for (int i = 0; i < slots.size(); i++) {
                 FrameSlot slot = slots.get(i);
                 clonedFrameDescriptor.addFrameSlot(slot.getIdentifier(), slot.getInfo(), FrameSlotKind.Illegal);
@@ -583,4 +703,135 @@ public final class FrameDescriptor implements Cloneable {
             return sb.toString();
         }
     }
+
+    /**
+     * Creates a new builder for a frame descriptor with indexed slots. The number and the order of
+     * the indexed slots is fixed once the descriptor is built, which allows the runtime to use a
+     * static frame layout for them.
+     *
+     * Example usage: {@link FrameDescriptorSnippets.CounterRootNode#execute}
+     *
+     * @since 20.1
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for frame descriptors with indexed slots.
+     *
+     * @see FrameDescriptor#newBuilder()
+     * @since 20.1
+     */
+    public static final class Builder {
+
+        private Object defaultValue;
+        private byte[] tags = new byte[8];
+        private Object[] names = new Object[8];
+        private Object[] infos = new Object[8];
+        private int count;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the {@link FrameDescriptor#getDefaultValue() default value} of the built descriptor.
+         *
+         * @since 20.1
+         */
+        public Builder defaultValue(Object value) {
+            this.defaultValue = value;
+            return this;
+        }
+
+        /**
+         * Adds an indexed slot and returns its index.
+         *
+         * @param kind the initial kind of the slot, must not be <code>null</code>
+         * @param name the name of the slot, may be <code>null</code>
+         * @param info additional information for the slot, may be <code>null</code>
+         * @since 20.1
+         */
+        public int addSlot(FrameSlotKind kind, Object name, Object info) {
+            Objects.requireNonNull(kind, "kind");
+            ensureCapacity(1);
+            int index = count++;
+            tags[index] = kind.tag;
+            names[index] = name;
+            infos[index] = info;
+            return index;
+        }
+
+        /**
+         * Adds <code>count</code> consecutive indexed slots without name and info and returns the
+         * index of the first one.
+         *
+         * @param slots the number of slots to add
+         * @param kind the initial kind of the slots, must not be <code>null</code>
+         * @since 20.1
+         */
+        public int addSlots(int slots, FrameSlotKind kind) {
+            Objects.requireNonNull(kind, "kind");
+            if (slots < 0) {
+                throw new IllegalArgumentException("the number of slots must not be negative");
+            }
+            ensureCapacity(slots);
+            int first = count;
+            Arrays.fill(tags, first, first + slots, kind.tag);
+            count += slots;
+            return first;
+        }
+
+        private void ensureCapacity(int additional) {
+            int required = count + additional;
+            if (required > tags.length) {
+                int newLength = Math.max(required, tags.length * 2);
+                tags = Arrays.copyOf(tags, newLength);
+                names = Arrays.copyOf(names, newLength);
+                infos = Arrays.copyOf(infos, newLength);
+            }
+        }
+
+        /**
+         * Builds the frame descriptor. The builder can be used to build further descriptors.
+         *
+         * @since 20.1
+         */
+        public FrameDescriptor build() {
+            if (count == 0) {
+                return new FrameDescriptor(defaultValue);
+            }
+            return new FrameDescriptor(defaultValue, null, Arrays.copyOf(tags, count), Arrays.copyOf(names, count), Arrays.copyOf(infos, count));
+        }
+    }
+}
+
+class FrameDescriptorSnippets {
+
+    // BEGIN: FrameDescriptorSnippets.CounterRootNode#execute
+    static final class CounterRootNode extends RootNode {
+
+        private final int counterSlot;
+
+        CounterRootNode(TruffleLanguage<?> language, FrameDescriptor.Builder builder) {
+            this(language, builder, builder.addSlot(FrameSlotKind.Static, "counter", null));
+        }
+
+        private CounterRootNode(TruffleLanguage<?> language, FrameDescriptor.Builder builder, int counterSlot) {
+            super(language, builder.build());
+            this.counterSlot = counterSlot;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            frame.setLongStatic(counterSlot, 0L);
+            for (Object argument : frame.getArguments()) {
+                if (argument != null) {
+                    frame.setLongStatic(counterSlot, frame.getLongStatic(counterSlot) + 1);
+                }
+            }
+            return frame.getLongStatic(counterSlot);
+        }
+    }
+    // END: FrameDescriptorSnippets.CounterRootNode#execute
 }
@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.api.frame;
 
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
 /** @since 0.8 or earlier */
 public enum FrameSlotKind {
     /** @since 0.8 or earlier */
@@ -57,7 +59,16 @@ public enum FrameSlotKind {
     /** @since 0.8 or earlier */
     Boolean,
     /** @since 0.8 or earlier */
-    Byte;
+    Byte,
+    /**
+     * A slot that is only accessed through the static accessors, for example
+     * {@link Frame#getLongStatic(int)} or {@link Frame#setObjectStatic(int, Object)}. Static slots
+     * carry no type tag, so the runtime does not need to maintain a tag entry for them. The type of
+     * the value stored in a static slot must be known statically at each access.
+     *
+     * @since 20.1
+     */
+    Static;
 
     /** @since 0.8 or earlier */
     public final byte tag;
@@ -66,4 +77,10 @@ public enum FrameSlotKind {
     FrameSlotKind() {
         this.tag = (byte) ordinal();
     }
+
+    @CompilationFinal(dimensions = 1) private static final FrameSlotKind[] VALUES = values();
+
+    static FrameSlotKind fromTag(byte tag) {
+        return VALUES[tag];
+    }
 }
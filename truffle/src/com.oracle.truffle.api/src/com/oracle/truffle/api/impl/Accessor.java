@@ -309,6 +309,10 @@ public abstract class Accessor {
 
         public abstract TruffleContext getParentContext(Object polyglotContext);
 
+        public abstract Thread[] getActiveThreads(Object polyglotContext);
+
+        public abstract TruffleContext getCurrentTruffleContext();
+
         public abstract boolean isCreateThreadAllowed(Object polyglotLanguageContext);
 
         public final Thread createThread(Object polyglotLanguageContext, Runnable runnable, Object innerContextImpl, ThreadGroup group) {
@@ -462,6 +466,10 @@ public abstract class Accessor {
 
         public abstract TruffleContext createTruffleContext(Object impl);
 
+        public abstract boolean hasQueuedThreadLocalActions(TruffleContext context);
+
+        public abstract void dropThreadLocalActions(TruffleContext context, Thread thread);
+
         public abstract void postInitEnv(Env env);
 
         public abstract Object evalInContext(Source source, Node node, MaterializedFrame frame);
@@ -655,6 +663,8 @@ public abstract class Accessor {
         protected abstract void markMaterializeCalled(FrameDescriptor descriptor);
 
         protected abstract boolean getMaterializeCalled(FrameDescriptor descriptor);
+
+        protected abstract boolean isStaticLayout(FrameDescriptor descriptor);
     }
 
     public abstract static class IOSupport {
@@ -45,6 +45,7 @@ import static com.oracle.truffle.api.impl.DefaultTruffleRuntime.getRuntime;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.TruffleRuntime;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.impl.Accessor.CallInlined;
 import com.oracle.truffle.api.impl.Accessor.CallProfiled;
 import com.oracle.truffle.api.nodes.Node;
@@ -82,6 +83,7 @@ public final class DefaultCallTarget implements RootCallTarget {
         final DefaultVirtualFrame frame = new DefaultVirtualFrame(getRootNode().getFrameDescriptor(), args);
         getRuntime().pushFrame(frame, this, callNode);
         try {
+            TruffleSafepoint.poll(getRootNode());
             return getRootNode().execute(frame);
         } catch (Throwable t) {
             getRuntime().getTvmci().onThrowable(callNode, this, t, frame);
@@ -99,6 +101,7 @@ public final class DefaultCallTarget implements RootCallTarget {
         final DefaultVirtualFrame frame = new DefaultVirtualFrame(getRootNode().getFrameDescriptor(), args);
         getRuntime().pushFrame(frame, this, null);
         try {
+            TruffleSafepoint.poll(getRootNode());
             return getRootNode().execute(frame);
         } catch (Throwable t) {
             getRuntime().getTvmci().onThrowable(null, this, t, frame);
@@ -184,4 +184,189 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
     public boolean isDouble(FrameSlot slot) {
         return wrapped.isDouble(slot);
     }
+
+    @Override
+    public byte getTag(int slot) {
+        return wrapped.getTag(slot);
+    }
+
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        return wrapped.getObject(slot);
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        wrapped.setObject(slot, value);
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return wrapped.isObject(slot);
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        return wrapped.getByte(slot);
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        wrapped.setByte(slot, value);
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return wrapped.isByte(slot);
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        return wrapped.getBoolean(slot);
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        wrapped.setBoolean(slot, value);
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return wrapped.isBoolean(slot);
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        return wrapped.getInt(slot);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        wrapped.setInt(slot, value);
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return wrapped.isInt(slot);
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        return wrapped.getLong(slot);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        wrapped.setLong(slot, value);
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return wrapped.isLong(slot);
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        return wrapped.getFloat(slot);
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        wrapped.setFloat(slot, value);
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return wrapped.isFloat(slot);
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        return wrapped.getDouble(slot);
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        wrapped.setDouble(slot, value);
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return wrapped.isDouble(slot);
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        return wrapped.getValue(slot);
+    }
+
+    @Override
+    public Object getObjectStatic(int slot) {
+        return wrapped.getObjectStatic(slot);
+    }
+
+    @Override
+    public void setObjectStatic(int slot, Object value) {
+        wrapped.setObjectStatic(slot, value);
+    }
+
+    @Override
+    public byte getByteStatic(int slot) {
+        return wrapped.getByteStatic(slot);
+    }
+
+    @Override
+    public void setByteStatic(int slot, byte value) {
+        wrapped.setByteStatic(slot, value);
+    }
+
+    @Override
+    public boolean getBooleanStatic(int slot) {
+        return wrapped.getBooleanStatic(slot);
+    }
+
+    @Override
+    public void setBooleanStatic(int slot, boolean value) {
+        wrapped.setBooleanStatic(slot, value);
+    }
+
+    @Override
+    public int getIntStatic(int slot) {
+        return wrapped.getIntStatic(slot);
+    }
+
+    @Override
+    public void setIntStatic(int slot, int value) {
+        wrapped.setIntStatic(slot, value);
+    }
+
+    @Override
+    public long getLongStatic(int slot) {
+        return wrapped.getLongStatic(slot);
+    }
+
+    @Override
+    public void setLongStatic(int slot, long value) {
+        wrapped.setLongStatic(slot, value);
+    }
+
+    @Override
+    public float getFloatStatic(int slot) {
+        return wrapped.getFloatStatic(slot);
+    }
+
+    @Override
+    public void setFloatStatic(int slot, float value) {
+        wrapped.setFloatStatic(slot, value);
+    }
+
+    @Override
+    public double getDoubleStatic(int slot) {
+        return wrapped.getDoubleStatic(slot);
+    }
+
+    @Override
+    public void setDoubleStatic(int slot, double value) {
+        wrapped.setDoubleStatic(slot, value);
+    }
 }
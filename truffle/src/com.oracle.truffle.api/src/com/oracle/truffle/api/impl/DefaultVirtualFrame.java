@@ -190,13 +190,30 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return slotIndex;
     }
 
+    private int checkIndex(int slotIndex) {
+        if (slotIndex >= tags.length) {
+            if (!resize()) {
+                throw new IllegalArgumentException(String.format("The frame slot '%s' is not known by the frame descriptor.", slotIndex));
+            }
+        }
+        return slotIndex;
+    }
+
     private void verifySet(FrameSlot slot, FrameSlotKind accessKind) {
-        int slotIndex = getSlotIndexChecked(slot);
+        verifySet(getFrameSlotIndex(slot), accessKind);
+    }
+
+    private void verifySet(int slot, FrameSlotKind accessKind) {
+        int slotIndex = checkIndex(slot);
         tags[slotIndex] = (byte) accessKind.ordinal();
     }
 
     private void verifyGet(FrameSlot slot, FrameSlotKind accessKind) throws FrameSlotTypeException {
-        int slotIndex = getSlotIndexChecked(slot);
+        verifyGet(getFrameSlotIndex(slot), accessKind);
+    }
+
+    private void verifyGet(int slot, FrameSlotKind accessKind) throws FrameSlotTypeException {
+        int slotIndex = checkIndex(slot);
         byte tag = tags[slotIndex];
         if (accessKind == FrameSlotKind.Object ? tag != 0 : tag != accessKind.ordinal()) {
             throw new FrameSlotTypeException();
@@ -259,4 +276,203 @@ final class DefaultVirtualFrame implements VirtualFrame {
     public boolean isDouble(FrameSlot slot) {
         return getTag(slot) == FrameSlotKind.Double.ordinal();
     }
+
+    @Override
+    public byte getTag(int slot) {
+        return tags[checkIndex(slot)];
+    }
+
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Object);
+        return locals[slot];
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        verifySet(slot, FrameSlotKind.Object);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return getTag(slot) == FrameSlotKind.Object.ordinal();
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Byte);
+        return (byte) locals[slot];
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        verifySet(slot, FrameSlotKind.Byte);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return getTag(slot) == FrameSlotKind.Byte.ordinal();
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Boolean);
+        return (boolean) locals[slot];
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        verifySet(slot, FrameSlotKind.Boolean);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return getTag(slot) == FrameSlotKind.Boolean.ordinal();
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Int);
+        return (int) locals[slot];
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        verifySet(slot, FrameSlotKind.Int);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return getTag(slot) == FrameSlotKind.Int.ordinal();
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Long);
+        return (long) locals[slot];
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        verifySet(slot, FrameSlotKind.Long);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return getTag(slot) == FrameSlotKind.Long.ordinal();
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Float);
+        return (float) locals[slot];
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        verifySet(slot, FrameSlotKind.Float);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return getTag(slot) == FrameSlotKind.Float.ordinal();
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        verifyGet(slot, FrameSlotKind.Double);
+        return (double) locals[slot];
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        verifySet(slot, FrameSlotKind.Double);
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return getTag(slot) == FrameSlotKind.Double.ordinal();
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        return locals[checkIndex(slot)];
+    }
+
+    @Override
+    public Object getObjectStatic(int slot) {
+        return locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setObjectStatic(int slot, Object value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public byte getByteStatic(int slot) {
+        return (byte) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setByteStatic(int slot, byte value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public boolean getBooleanStatic(int slot) {
+        return (boolean) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setBooleanStatic(int slot, boolean value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public int getIntStatic(int slot) {
+        return (int) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setIntStatic(int slot, int value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public long getLongStatic(int slot) {
+        return (long) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setLongStatic(int slot, long value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public float getFloatStatic(int slot) {
+        return (float) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setFloatStatic(int slot, float value) {
+        locals[checkIndex(slot)] = value;
+    }
+
+    @Override
+    public double getDoubleStatic(int slot) {
+        return (double) locals[checkIndex(slot)];
+    }
+
+    @Override
+    public void setDoubleStatic(int slot, double value) {
+        locals[checkIndex(slot)] = value;
+    }
 }
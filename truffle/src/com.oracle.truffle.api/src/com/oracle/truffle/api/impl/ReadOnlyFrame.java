@@ -114,6 +114,228 @@ class ReadOnlyFrame implements Frame {
         throw newReadonlyAssertionError();
     }
 
+    @Override
+    @TruffleBoundary
+    public byte getTag(int slot) {
+        return delegate.getTag(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        return delegate.getObject(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setObject(int slot, Object value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isObject(int slot) {
+        return delegate.isObject(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        return delegate.getByte(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setByte(int slot, byte value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isByte(int slot) {
+        return delegate.isByte(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        return delegate.getBoolean(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setBoolean(int slot, boolean value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isBoolean(int slot) {
+        return delegate.isBoolean(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public int getInt(int slot) throws FrameSlotTypeException {
+        return delegate.getInt(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setInt(int slot, int value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isInt(int slot) {
+        return delegate.isInt(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public long getLong(int slot) throws FrameSlotTypeException {
+        return delegate.getLong(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setLong(int slot, long value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isLong(int slot) {
+        return delegate.isLong(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        return delegate.getFloat(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setFloat(int slot, float value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isFloat(int slot) {
+        return delegate.isFloat(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        return delegate.getDouble(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setDouble(int slot, double value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean isDouble(int slot) {
+        return delegate.isDouble(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public Object getValue(int slot) {
+        return delegate.getValue(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public Object getObjectStatic(int slot) {
+        return delegate.getObjectStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setObjectStatic(int slot, Object value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte getByteStatic(int slot) {
+        return delegate.getByteStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setByteStatic(int slot, byte value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean getBooleanStatic(int slot) {
+        return delegate.getBooleanStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setBooleanStatic(int slot, boolean value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public int getIntStatic(int slot) {
+        return delegate.getIntStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setIntStatic(int slot, int value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public long getLongStatic(int slot) {
+        return delegate.getLongStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setLongStatic(int slot, long value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public float getFloatStatic(int slot) {
+        return delegate.getFloatStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setFloatStatic(int slot, float value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public double getDoubleStatic(int slot) {
+        return delegate.getDoubleStatic(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setDoubleStatic(int slot, double value) {
+        throw newReadonlyAssertionError();
+    }
+
     private static AssertionError newReadonlyAssertionError() {
         return new AssertionError("Unexpected write access.");
     }
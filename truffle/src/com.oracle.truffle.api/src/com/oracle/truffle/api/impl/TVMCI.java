@@ -190,6 +190,15 @@ public abstract class TVMCI {
         return TVMCIAccessor.framesAccess().getMaterializeCalled(descriptor);
     }
 
+    /**
+     * Accessor for non-public state in {@link FrameDescriptor}.
+     *
+     * @since 20.1
+     */
+    protected boolean isFrameStaticLayout(FrameDescriptor descriptor) {
+        return TVMCIAccessor.framesAccess().isStaticLayout(descriptor);
+    }
+
     /**
      * Accessor for non-public API in {@link RootNode}.
      *
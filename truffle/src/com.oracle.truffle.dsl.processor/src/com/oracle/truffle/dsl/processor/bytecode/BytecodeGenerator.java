@@ -0,0 +1,725 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.dsl.processor.bytecode;
+
+import static com.oracle.truffle.dsl.processor.generator.GeneratorUtils.createClass;
+import static com.oracle.truffle.dsl.processor.java.ElementUtils.modifiers;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import com.oracle.truffle.dsl.processor.AnnotationProcessor;
+import com.oracle.truffle.dsl.processor.ProcessorContext;
+import com.oracle.truffle.dsl.processor.bytecode.OperationData.OperationSpecialization;
+import com.oracle.truffle.dsl.processor.generator.CodeTypeElementFactory;
+import com.oracle.truffle.dsl.processor.java.ElementUtils;
+import com.oracle.truffle.dsl.processor.java.model.CodeAnnotationMirror;
+import com.oracle.truffle.dsl.processor.java.model.CodeAnnotationValue;
+import com.oracle.truffle.dsl.processor.java.model.CodeExecutableElement;
+import com.oracle.truffle.dsl.processor.java.model.CodeTree;
+import com.oracle.truffle.dsl.processor.java.model.CodeTreeBuilder;
+import com.oracle.truffle.dsl.processor.java.model.CodeTypeElement;
+import com.oracle.truffle.dsl.processor.java.model.CodeTypeMirror;
+import com.oracle.truffle.dsl.processor.java.model.CodeVariableElement;
+
+/**
+ * Generates a bytecode interpreter for a {@link BytecodeData} model. The generated root node keeps
+ * the bytecodes, the constants and the specialization state of each operation instruction in
+ * compilation final arrays and interprets them in a merge exploded loop, so partial evaluation
+ * folds the dispatch away. Locals and the operand stack are mapped to indexed frame slots, locals
+ * first.
+ */
+public class BytecodeGenerator extends CodeTypeElementFactory<BytecodeData> {
+
+    private static final String LOAD_CONSTANT = "LOAD_CONSTANT";
+    private static final String LOAD_ARGUMENT = "LOAD_ARGUMENT";
+    private static final String LOAD_LOCAL = "LOAD_LOCAL";
+    private static final String STORE_LOCAL = "STORE_LOCAL";
+    private static final String POP = "POP";
+    private static final String BRANCH = "BRANCH";
+    private static final String BRANCH_FALSE = "BRANCH_FALSE";
+    private static final String RETURN = "RETURN";
+
+    private static final List<String> BUILTINS = Arrays.asList(LOAD_CONSTANT, LOAD_ARGUMENT, LOAD_LOCAL, STORE_LOCAL, POP, BRANCH, BRANCH_FALSE, RETURN);
+
+    /*
+     * Primitive kinds that have typed frame accessors. Values of other types are stored boxed.
+     */
+    private static final Map<TypeKind, String> FRAME_KINDS = new LinkedHashMap<>();
+    static {
+        FRAME_KINDS.put(TypeKind.BOOLEAN, "Boolean");
+        FRAME_KINDS.put(TypeKind.BYTE, "Byte");
+        FRAME_KINDS.put(TypeKind.INT, "Int");
+        FRAME_KINDS.put(TypeKind.LONG, "Long");
+        FRAME_KINDS.put(TypeKind.FLOAT, "Float");
+        FRAME_KINDS.put(TypeKind.DOUBLE, "Double");
+    }
+
+    private ProcessorContext context;
+    private BytecodeData model;
+
+    @Override
+    public List<CodeTypeElement> create(ProcessorContext context1, AnnotationProcessor<?> processor, BytecodeData model1) {
+        this.context = context1;
+        this.model = model1;
+        if (model.hasErrors()) {
+            return Collections.emptyList();
+        }
+
+        TypeElement templateType = model.getTemplateType();
+        Set<Modifier> genModifiers = templateType.getModifiers().contains(PUBLIC) ? modifiers(PUBLIC, FINAL) : modifiers(FINAL);
+        CodeTypeElement genClass = createClass(model, null, genModifiers, createGenTypeName(model), templateType.asType());
+
+        int opcode = 1;
+        for (String builtin : BUILTINS) {
+            genClass.add(createOpcode(builtin, opcode++));
+        }
+        for (OperationData operation : model.getOperations()) {
+            genClass.add(createOpcode(createOpcodeName(operation), opcode++));
+        }
+
+        CodeVariableElement bc = genClass.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), arrayOf(context.getType(short.class)), "bc"));
+        setCompilationFinalArray(bc);
+        CodeVariableElement constants = genClass.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), arrayOf(context.getType(Object.class)), "constants"));
+        setCompilationFinalArray(constants);
+        CodeVariableElement state = genClass.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), arrayOf(context.getType(int.class)), "state"));
+        setCompilationFinalArray(state);
+        genClass.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), context.getType(int.class), "stackBase"));
+
+        genClass.add(createConstructor(genClass));
+        genClass.add(createExecute());
+        genClass.add(createExecuteBytecode());
+        for (OperationData operation : model.getOperations()) {
+            genClass.add(createExecuteOperation(operation));
+            genClass.add(createExecuteAndSpecialize(operation));
+        }
+        genClass.add(createPushConstant());
+        genClass.add(createCopySlot());
+        Set<TypeKind> operandKinds = collectOperandKinds();
+        for (Map.Entry<TypeKind, String> kind : FRAME_KINDS.entrySet()) {
+            if (operandKinds.contains(kind.getKey())) {
+                genClass.add(createIsOperand(kind.getValue(), kind.getKey()));
+                genClass.add(createAsOperand(kind.getValue(), kind.getKey()));
+            }
+        }
+
+        CodeTypeElement label = genClass.add(createLabel());
+        CodeTypeElement builder = genClass.add(createBuilder(genClass, label));
+
+        CodeExecutableElement newBuilder = genClass.add(new CodeExecutableElement(modifiers(PUBLIC, STATIC), builder.asType(), "newBuilder"));
+        newBuilder.createBuilder().startReturn().startNew(builder.asType()).end().end();
+
+        return Arrays.asList(genClass);
+    }
+
+    private Set<TypeKind> collectOperandKinds() {
+        Set<TypeKind> kinds = EnumSet.of(TypeKind.BOOLEAN);
+        for (OperationData operation : model.getOperations()) {
+            for (OperationSpecialization specialization : operation.getSpecializations()) {
+                for (VariableElement parameter : specialization.getMethod().getParameters()) {
+                    kinds.add(parameter.asType().getKind());
+                }
+            }
+        }
+        kinds.retainAll(FRAME_KINDS.keySet());
+        return kinds;
+    }
+
+    private CodeVariableElement createOpcode(String name, int value) {
+        CodeVariableElement constant = new CodeVariableElement(modifiers(PRIVATE, STATIC, FINAL), context.getType(short.class), name);
+        constant.createInitBuilder().string(String.valueOf(value));
+        return constant;
+    }
+
+    private CodeExecutableElement createConstructor(CodeTypeElement genClass) {
+        CodeExecutableElement constructor = new CodeExecutableElement(modifiers(PRIVATE), null, genClass.getSimpleName().toString());
+        constructor.addParameter(new CodeVariableElement(model.getConstructor().getParameters().get(0).asType(), "language"));
+        constructor.addParameter(new CodeVariableElement(types.FrameDescriptor, "frameDescriptor"));
+        constructor.addParameter(new CodeVariableElement(arrayOf(context.getType(short.class)), "bc"));
+        constructor.addParameter(new CodeVariableElement(arrayOf(context.getType(Object.class)), "constants"));
+        constructor.addParameter(new CodeVariableElement(context.getType(int.class), "stateCount"));
+        constructor.addParameter(new CodeVariableElement(context.getType(int.class), "stackBase"));
+        CodeTreeBuilder b = constructor.createBuilder();
+        b.startStatement().startSuperCall().string("language").string("frameDescriptor").end().end();
+        b.statement("this.bc = bc");
+        b.statement("this.constants = constants");
+        b.statement("this.state = new int[stateCount]");
+        b.statement("this.stackBase = stackBase");
+        return constructor;
+    }
+
+    private CodeExecutableElement createExecute() {
+        CodeExecutableElement execute = new CodeExecutableElement(modifiers(PUBLIC), context.getType(Object.class), "execute");
+        execute.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        execute.createBuilder().startReturn().startCall("executeBytecode").string("frame").end().end();
+        return execute;
+    }
+
+    private CodeExecutableElement createExecuteBytecode() {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), context.getType(Object.class), "executeBytecode");
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        CodeAnnotationMirror explodeLoop = new CodeAnnotationMirror(types.ExplodeLoop);
+        explodeLoop.setElementValue(explodeLoop.findExecutableElement("kind"), new CodeAnnotationValue(ElementUtils.findVariableElement(types.ExplodeLoop_LoopExplosionKind, "MERGE_EXPLODE")));
+        method.addAnnotationMirror(explodeLoop);
+
+        CodeTreeBuilder b = method.createBuilder();
+        b.declaration(context.getType(int.class), "bci", "0");
+        b.declaration(context.getType(int.class), "sp", "stackBase");
+        b.startWhile().string("true").end().startBlock();
+        b.startStatement().startStaticCall(types.CompilerAsserts, "partialEvaluationConstant").string("bci").end().end();
+        b.startStatement().startStaticCall(types.CompilerAsserts, "partialEvaluationConstant").string("sp").end().end();
+        b.startSwitch().string("bc[bci]").end().startBlock();
+
+        b.startCase().string(LOAD_CONSTANT).end().startCaseBlock();
+        b.statement("pushConstant(frame, sp, constants[bc[bci + 1]])");
+        b.statement("sp++");
+        b.statement("bci += 2");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(LOAD_ARGUMENT).end().startCaseBlock();
+        b.statement("frame.setObject(sp, frame.getArguments()[bc[bci + 1]])");
+        b.statement("sp++");
+        b.statement("bci += 2");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(LOAD_LOCAL).end().startCaseBlock();
+        b.statement("copySlot(frame, bc[bci + 1], sp)");
+        b.statement("sp++");
+        b.statement("bci += 2");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(STORE_LOCAL).end().startCaseBlock();
+        b.statement("copySlot(frame, sp - 1, bc[bci + 1])");
+        b.statement("sp--");
+        b.statement("bci += 2");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(POP).end().startCaseBlock();
+        b.statement("sp--");
+        b.statement("bci += 1");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(BRANCH).end().startCaseBlock();
+        b.statement("bci = bc[bci + 1]");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(BRANCH_FALSE).end().startCaseBlock();
+        b.startIf().string("asBooleanOperand(frame, sp - 1)").end().startBlock();
+        b.statement("bci += 2");
+        b.end().startElseBlock();
+        b.statement("bci = bc[bci + 1]");
+        b.end();
+        b.statement("sp--");
+        b.statement("continue");
+        b.end();
+
+        b.startCase().string(RETURN).end().startCaseBlock();
+        b.startReturn().string("frame.getValue(sp - 1)").end();
+        b.end();
+
+        for (OperationData operation : model.getOperations()) {
+            int operandCount = operation.getOperandCount();
+            b.startCase().string(createOpcodeName(operation)).end().startCaseBlock();
+            b.startStatement().startCall(createExecuteName(operation)).string("frame").string("sp").string("bc[bci + 1]").end().end();
+            if (operandCount == 0) {
+                b.statement("sp++");
+            } else if (operandCount > 1) {
+                b.statement("sp -= " + (operandCount - 1));
+            }
+            b.statement("bci += 2");
+            b.statement("continue");
+            b.end();
+        }
+
+        b.caseDefault().startCaseBlock();
+        b.startStatement().startStaticCall(types.CompilerDirectives, "transferToInterpreter").end().end();
+        b.startThrow().startNew(context.getType(AssertionError.class)).string("\"Invalid opcode \" + bc[bci]").end().end();
+        b.end();
+
+        b.end(); // switch
+        b.end(); // while
+        return method;
+    }
+
+    private CodeExecutableElement createExecuteOperation(OperationData operation) {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), createExecuteName(operation));
+        addOperationParameters(method);
+        CodeTreeBuilder b = method.createBuilder();
+        b.declaration(context.getType(int.class), "state", "this.state[stateIndex]");
+        for (OperationSpecialization specialization : operation.getSpecializations()) {
+            String bit = createBit(specialization);
+            b.startIf().string("(state & ", bit, ") != 0");
+            for (CodeTree check : createTypeChecks(operation, specialization)) {
+                b.string(" && ").tree(check);
+            }
+            b.end().startBlock();
+            boolean rewrite = !specialization.getRewriteOn().isEmpty();
+            if (rewrite) {
+                b.startTryBlock();
+            }
+            b.tree(createSpecializationCall(operation, specialization));
+            b.returnStatement();
+            if (rewrite) {
+                b.end().startCatchBlock(specialization.getRewriteOn().toArray(new TypeMirror[0]), "ex");
+                b.startStatement().startStaticCall(types.CompilerDirectives, "transferToInterpreterAndInvalidate").end().end();
+                b.statement("this.state[stateIndex] = (this.state[stateIndex] & ~" + bit + ") | (" + bit + " << 16)");
+                b.end();
+            }
+            b.end();
+        }
+        b.startStatement().startStaticCall(types.CompilerDirectives, "transferToInterpreterAndInvalidate").end().end();
+        b.startStatement().startCall(createExecuteAndSpecializeName(operation)).string("frame").string("sp").string("stateIndex").end().end();
+        return method;
+    }
+
+    private CodeExecutableElement createExecuteAndSpecialize(OperationData operation) {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), createExecuteAndSpecializeName(operation));
+        addOperationParameters(method);
+        CodeTreeBuilder b = method.createBuilder();
+        b.declaration(context.getType(int.class), "state", "this.state[stateIndex]");
+        boolean reachable = true;
+        for (OperationSpecialization specialization : operation.getSpecializations()) {
+            String bit = createBit(specialization);
+            boolean rewrite = !specialization.getRewriteOn().isEmpty();
+            List<CodeTree> checks = createTypeChecks(operation, specialization);
+            boolean guarded = rewrite || !checks.isEmpty();
+            if (guarded) {
+                b.startIf();
+                String sep = "";
+                if (rewrite) {
+                    b.string("(state & (", bit, " << 16)) == 0");
+                    sep = " && ";
+                }
+                for (CodeTree check : checks) {
+                    b.string(sep).tree(check);
+                    sep = " && ";
+                }
+                b.end().startBlock();
+            }
+            b.statement("state = state | " + bit);
+            b.statement("this.state[stateIndex] = state");
+            if (rewrite) {
+                b.startTryBlock();
+            }
+            b.tree(createSpecializationCall(operation, specialization));
+            if (guarded) {
+                b.returnStatement();
+            }
+            if (rewrite) {
+                b.end().startCatchBlock(specialization.getRewriteOn().toArray(new TypeMirror[0]), "ex");
+                b.statement("state = (state & ~" + bit + ") | (" + bit + " << 16)");
+                b.statement("this.state[stateIndex] = state");
+                b.end();
+            }
+            if (guarded) {
+                b.end();
+            } else {
+                // the parser guarantees that no specialization follows an unguarded one
+                reachable = false;
+                break;
+            }
+        }
+        if (reachable) {
+            int operandCount = operation.getOperandCount();
+            b.startThrow().startNew(types.UnsupportedSpecializationException).string("this");
+            b.startGroup().string("new ").type(types.Node).string("[" + operandCount + "]").end();
+            for (int i = 0; i < operandCount; i++) {
+                b.string("frame.getValue(" + operandSlot(operandCount, i) + ")");
+            }
+            b.end().end();
+        }
+        return method;
+    }
+
+    private void addOperationParameters(CodeExecutableElement method) {
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "sp"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "stateIndex"));
+    }
+
+    private List<CodeTree> createTypeChecks(OperationData operation, OperationSpecialization specialization) {
+        List<CodeTree> checks = new ArrayList<>();
+        int operandCount = operation.getOperandCount();
+        for (int i = 0; i < operandCount; i++) {
+            TypeMirror type = specialization.getMethod().getParameters().get(i).asType();
+            String slot = operandSlot(operandCount, i);
+            CodeTreeBuilder b = CodeTreeBuilder.createBuilder();
+            String kind = FRAME_KINDS.get(type.getKind());
+            if (kind != null) {
+                b.string("is" + kind + "Operand(frame, " + slot + ")");
+            } else if (ElementUtils.isObject(type)) {
+                continue;
+            } else {
+                b.string("frame.getValue(" + slot + ")").instanceOf(ElementUtils.boxType(context, ElementUtils.eraseGenericTypes(type)));
+            }
+            checks.add(b.build());
+        }
+        return checks;
+    }
+
+    private CodeTree createSpecializationCall(OperationData operation, OperationSpecialization specialization) {
+        int operandCount = operation.getOperandCount();
+        CodeTreeBuilder call = CodeTreeBuilder.createBuilder();
+        call.startStaticCall(operation.getType().asType(), specialization.getMethod().getSimpleName().toString());
+        for (int i = 0; i < operandCount; i++) {
+            TypeMirror type = specialization.getMethod().getParameters().get(i).asType();
+            String slot = operandSlot(operandCount, i);
+            String kind = FRAME_KINDS.get(type.getKind());
+            if (kind != null) {
+                call.string("as" + kind + "Operand(frame, " + slot + ")");
+            } else if (ElementUtils.isObject(type)) {
+                call.string("frame.getValue(" + slot + ")");
+            } else {
+                call.startGroup().cast(ElementUtils.eraseGenericTypes(type)).string("frame.getValue(" + slot + ")").end();
+            }
+        }
+        call.end();
+
+        String resultKind = FRAME_KINDS.get(specialization.getReturnType().getKind());
+        CodeTreeBuilder b = CodeTreeBuilder.createBuilder();
+        b.startStatement().startCall("frame", "set" + (resultKind != null ? resultKind : "Object"));
+        b.string(operandSlot(operandCount, 0));
+        b.tree(call.build());
+        b.end().end();
+        return b.build();
+    }
+
+    private CodeExecutableElement createPushConstant() {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE, STATIC), context.getType(void.class), "pushConstant");
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "slot"));
+        method.addParameter(new CodeVariableElement(context.getType(Object.class), "value"));
+        CodeTreeBuilder b = method.createBuilder();
+        boolean elseIf = false;
+        for (Map.Entry<TypeKind, String> kind : FRAME_KINDS.entrySet()) {
+            TypeMirror primitive = context.getEnvironment().getTypeUtils().getPrimitiveType(kind.getKey());
+            elseIf = b.startIf(elseIf);
+            b.string("value").instanceOf(ElementUtils.boxType(context, primitive));
+            b.end().startBlock();
+            b.startStatement().startCall("frame", "set" + kind.getValue()).string("slot").startGroup().cast(primitive).string("value").end().end().end();
+            b.end();
+        }
+        b.startElseBlock();
+        b.statement("frame.setObject(slot, value)");
+        b.end();
+        return method;
+    }
+
+    private CodeExecutableElement createCopySlot() {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE, STATIC), context.getType(void.class), "copySlot");
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "from"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "to"));
+        CodeTreeBuilder b = method.createBuilder();
+        b.startTryBlock();
+        boolean elseIf = false;
+        for (String kind : FRAME_KINDS.values()) {
+            elseIf = b.startIf(elseIf);
+            b.string("frame.is" + kind + "(from)");
+            b.end().startBlock();
+            b.statement("frame.set" + kind + "(to, frame.get" + kind + "(from))");
+            b.end();
+        }
+        b.startElseBlock();
+        b.statement("frame.setObject(to, frame.getValue(from))");
+        b.end();
+        b.end().startCatchBlock(types.FrameSlotTypeException, "e");
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).end().end();
+        b.end();
+        return method;
+    }
+
+    private CodeExecutableElement createIsOperand(String kind, TypeKind typeKind) {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE, STATIC), context.getType(boolean.class), "is" + kind + "Operand");
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "slot"));
+        TypeMirror boxed = ElementUtils.boxType(context, context.getEnvironment().getTypeUtils().getPrimitiveType(typeKind));
+        CodeTreeBuilder b = method.createBuilder();
+        b.startReturn().string("frame.is" + kind + "(slot) || frame.getValue(slot)").instanceOf(boxed).end();
+        return method;
+    }
+
+    private CodeExecutableElement createAsOperand(String kind, TypeKind typeKind) {
+        TypeMirror primitive = context.getEnvironment().getTypeUtils().getPrimitiveType(typeKind);
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE, STATIC), primitive, "as" + kind + "Operand");
+        method.addParameter(new CodeVariableElement(types.VirtualFrame, "frame"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "slot"));
+        CodeTreeBuilder b = method.createBuilder();
+        b.startIf().string("frame.is" + kind + "(slot)").end().startBlock();
+        b.startTryBlock();
+        b.startReturn().string("frame.get" + kind + "(slot)").end();
+        b.end().startCatchBlock(types.FrameSlotTypeException, "e");
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).end().end();
+        b.end();
+        b.end();
+        b.startReturn().cast(primitive).string("frame.getValue(slot)").end();
+        return method;
+    }
+
+    private CodeTypeElement createLabel() {
+        CodeTypeElement label = createClass(model, null, modifiers(PUBLIC, STATIC, FINAL), "Label", null);
+        label.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), context.getType(int.class), "index"));
+        label.add(new CodeVariableElement(modifiers(PRIVATE), context.getType(int.class), "target", "-1"));
+        label.add(new CodeVariableElement(modifiers(PRIVATE), context.getType(int.class), "stackHeight", "-1"));
+        CodeExecutableElement constructor = label.add(new CodeExecutableElement(modifiers(PRIVATE), null, "Label"));
+        constructor.addParameter(new CodeVariableElement(context.getType(int.class), "index"));
+        constructor.createBuilder().statement("this.index = index");
+        return label;
+    }
+
+    private CodeTypeElement createBuilder(CodeTypeElement genClass, CodeTypeElement label) {
+        CodeTypeElement builder = createClass(model, null, modifiers(PUBLIC, STATIC, FINAL), "Builder", null);
+        TypeMirror intType = context.getType(int.class);
+        TypeMirror labelType = label.asType();
+        TypeMirror constantsType = new CodeTypeMirror.DeclaredCodeTypeMirror(context.getTypeElement(ArrayList.class), Arrays.asList(context.getType(Object.class)));
+        TypeMirror labelsType = new CodeTypeMirror.DeclaredCodeTypeMirror(context.getTypeElement(ArrayList.class), Arrays.asList(labelType));
+
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), arrayOf(context.getType(short.class)), "bc", "new short[16]"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), intType, "bci"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), constantsType, "constants", "new ArrayList<>()"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), labelsType, "labels", "new ArrayList<>()"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), intType, "localCount"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), intType, "stackHeight"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), intType, "maxStackHeight"));
+        builder.add(new CodeVariableElement(modifiers(PRIVATE), intType, "stateCount"));
+
+        builder.add(new CodeExecutableElement(modifiers(PRIVATE), null, "Builder"));
+
+        CodeExecutableElement method;
+        CodeTreeBuilder b;
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), intType, "createLocal"));
+        method.createBuilder().startReturn().string("localCount++").end();
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), labelType, "createLabel"));
+        b = method.createBuilder();
+        b.startStatement().type(labelType).string(" label = ").startNew(labelType).string("labels.size()").end().end();
+        b.statement("labels.add(label)");
+        b.startReturn().string("label").end();
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitLabel", new CodeVariableElement(labelType, "label")));
+        b = method.createBuilder();
+        b.startIf().string("label.target != -1").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).doubleQuote("The label was already emitted.").end().end();
+        b.end();
+        b.statement("label.target = bci");
+        b.startIf().string("label.stackHeight == -1").end().startBlock();
+        b.statement("label.stackHeight = stackHeight");
+        b.end().startElseBlock();
+        b.statement("stackHeight = label.stackHeight");
+        b.end();
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitLoadConstant", new CodeVariableElement(context.getType(Object.class), "value")));
+        b = method.createBuilder();
+        b.statement("stack(0, 1)");
+        b.statement("emit(" + LOAD_CONSTANT + ", constants.size())");
+        b.statement("constants.add(value)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitLoadArgument", new CodeVariableElement(intType, "index")));
+        b = method.createBuilder();
+        b.statement("stack(0, 1)");
+        b.statement("emit(" + LOAD_ARGUMENT + ", index)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitLoadLocal", new CodeVariableElement(intType, "local")));
+        b = method.createBuilder();
+        b.statement("checkLocal(local)");
+        b.statement("stack(0, 1)");
+        b.statement("emit(" + LOAD_LOCAL + ", local)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitStoreLocal", new CodeVariableElement(intType, "local")));
+        b = method.createBuilder();
+        b.statement("checkLocal(local)");
+        b.statement("stack(1, 0)");
+        b.statement("emit(" + STORE_LOCAL + ", local)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitPop"));
+        b = method.createBuilder();
+        b.statement("stack(1, 0)");
+        b.statement("emit(" + POP + ")");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitBranch", new CodeVariableElement(labelType, "label")));
+        b = method.createBuilder();
+        b.statement("emit(" + BRANCH + ", label.index)");
+        b.statement("branch(label)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitBranchFalse", new CodeVariableElement(labelType, "label")));
+        b = method.createBuilder();
+        b.statement("stack(1, 0)");
+        b.statement("emit(" + BRANCH_FALSE + ", label.index)");
+        b.statement("branch(label)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emitReturn"));
+        b = method.createBuilder();
+        b.statement("stack(1, 0)");
+        b.statement("emit(" + RETURN + ")");
+
+        for (OperationData operation : model.getOperations()) {
+            method = builder.add(new CodeExecutableElement(modifiers(PUBLIC), context.getType(void.class), "emit" + ElementUtils.firstLetterUpperCase(operation.getName())));
+            b = method.createBuilder();
+            b.statement("stack(" + operation.getOperandCount() + ", 1)");
+            b.statement("emit(" + createOpcodeName(operation) + ", stateCount++)");
+        }
+
+        builder.add(createBuild(genClass, labelType));
+
+        method = builder.add(new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "branch", new CodeVariableElement(labelType, "label")));
+        b = method.createBuilder();
+        b.startIf().string("label.stackHeight == -1").end().startBlock();
+        b.statement("label.stackHeight = stackHeight");
+        b.end().startElseIf().string("label.stackHeight != stackHeight").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).doubleQuote("Inconsistent operand stack height at branch target.").end().end();
+        b.end();
+
+        method = builder.add(new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "checkLocal", new CodeVariableElement(intType, "local")));
+        b = method.createBuilder();
+        b.startIf().string("local < 0 || local >= localCount").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalArgumentException.class)).string("\"Invalid local \" + local + \".\"").end().end();
+        b.end();
+
+        method = builder.add(new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "stack", new CodeVariableElement(intType, "pop"), new CodeVariableElement(intType, "push")));
+        b = method.createBuilder();
+        b.startIf().string("stackHeight < pop").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).doubleQuote("Operand stack underflow.").end().end();
+        b.end();
+        b.statement("stackHeight += push - pop");
+        b.statement("maxStackHeight = Math.max(maxStackHeight, stackHeight)");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "emit", new CodeVariableElement(context.getType(short.class), "value")));
+        b = method.createBuilder();
+        b.startIf().string("bci == bc.length").end().startBlock();
+        b.startStatement().string("bc = ").startStaticCall(context.getType(Arrays.class), "copyOf").string("bc").string("bc.length * 2").end().end();
+        b.end();
+        b.statement("bc[bci++] = value");
+
+        method = builder.add(new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "emit", new CodeVariableElement(context.getType(short.class), "opcode"),
+                        new CodeVariableElement(intType, "operand")));
+        b = method.createBuilder();
+        b.startIf().string("operand < 0 || operand > Short.MAX_VALUE").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).string("\"Bytecode operand out of range: \" + operand + \".\"").end().end();
+        b.end();
+        b.statement("emit(opcode)");
+        b.statement("emit((short) operand)");
+
+        return builder;
+    }
+
+    private CodeExecutableElement createBuild(CodeTypeElement genClass, TypeMirror labelType) {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PUBLIC), model.getTemplateType().asType(), "build");
+        method.addParameter(new CodeVariableElement(model.getConstructor().getParameters().get(0).asType(), "language"));
+        CodeTreeBuilder b = method.createBuilder();
+        b.startStatement().string("short[] code = ").startStaticCall(context.getType(Arrays.class), "copyOf").string("bc").string("bci").end().end();
+        b.lineComment("resolve branch targets, only pop and return have no operand");
+        b.startFor().string("int i = 0; i < code.length; i += code[i] == " + POP + " || code[i] == " + RETURN + " ? 1 : 2").end().startBlock();
+        b.startIf().string("code[i] == " + BRANCH + " || code[i] == " + BRANCH_FALSE).end().startBlock();
+        b.startStatement().type(labelType).string(" label = labels.get(code[i + 1])").end();
+        b.startIf().string("label.target == -1").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).doubleQuote("A branch target label was not emitted.").end().end();
+        b.end().startElseIf().string("label.target > Short.MAX_VALUE").end().startBlock();
+        b.startThrow().startNew(context.getType(IllegalStateException.class)).doubleQuote("Branch target out of range.").end().end();
+        b.end();
+        b.statement("code[i + 1] = (short) label.target");
+        b.end();
+        b.end();
+        b.declaration(types.FrameDescriptor_Builder, "descriptor", b.create().startStaticCall(types.FrameDescriptor, "newBuilder").end().build());
+        b.startStatement().startCall("descriptor", "addSlots").string("localCount + maxStackHeight").staticReference(types.FrameSlotKind, "Illegal").end().end();
+        b.startReturn().startNew(genClass.asType()).string("language").string("descriptor.build()").string("code").string("constants.toArray()").string("stateCount").string("localCount").end().end();
+        return method;
+    }
+
+    private ArrayType arrayOf(TypeMirror componentType) {
+        return context.getEnvironment().getTypeUtils().getArrayType(componentType);
+    }
+
+    private void setCompilationFinalArray(CodeVariableElement field) {
+        CodeAnnotationMirror annotation = new CodeAnnotationMirror(types.CompilerDirectives_CompilationFinal);
+        annotation.setElementValue(annotation.findExecutableElement("dimensions"), new CodeAnnotationValue(1));
+        field.getAnnotationMirrors().add(annotation);
+    }
+
+    private static String operandSlot(int operandCount, int operandIndex) {
+        int offset = operandCount - operandIndex;
+        return offset == 0 ? "sp" : "sp - " + offset;
+    }
+
+    private static String createBit(OperationSpecialization specialization) {
+        return "0b" + Integer.toBinaryString(1 << specialization.getIndex());
+    }
+
+    private static String createOpcodeName(OperationData operation) {
+        return ElementUtils.createConstantName(operation.getName());
+    }
+
+    private static String createExecuteName(OperationData operation) {
+        return "execute" + ElementUtils.firstLetterUpperCase(operation.getName());
+    }
+
+    private static String createExecuteAndSpecializeName(OperationData operation) {
+        return "executeAndSpecialize" + ElementUtils.firstLetterUpperCase(operation.getName());
+    }
+
+    static String createGenTypeName(BytecodeData model) {
+        return ElementUtils.firstLetterUpperCase(model.getTemplateType().getSimpleName().toString()) + "Gen";
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.dsl.processor.bytecode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import com.oracle.truffle.dsl.processor.TruffleTypes;
+import com.oracle.truffle.dsl.processor.bytecode.OperationData.OperationSpecialization;
+import com.oracle.truffle.dsl.processor.java.ElementUtils;
+import com.oracle.truffle.dsl.processor.java.compiler.CompilerFactory;
+import com.oracle.truffle.dsl.processor.parser.AbstractParser;
+
+public class BytecodeParser extends AbstractParser<BytecodeData> {
+
+    /**
+     * Operations are limited to 16 specializations, the upper half of the state word is used for
+     * excluded specializations.
+     */
+    static final int MAX_SPECIALIZATIONS = 16;
+
+    private static final Set<String> BUILTIN_NAMES = new HashSet<>(Arrays.asList("LoadConstant", "LoadArgument", "LoadLocal", "StoreLocal", "Pop", "Branch", "BranchFalse", "Return", "Label", "Builder"));
+    private static final List<String> UNSUPPORTED_ATTRIBUTES = Arrays.asList("replaces", "guards", "assumptions", "limit", "insertBefore");
+
+    @Override
+    protected BytecodeData parse(Element element, List<AnnotationMirror> mirrors) {
+        if (mirrors.isEmpty()) {
+            return null;
+        }
+        TypeElement type = (TypeElement) element;
+        BytecodeData model = new BytecodeData(type, mirrors.iterator().next());
+
+        if (type.getKind() != ElementKind.CLASS || !ElementUtils.isAssignable(type.asType(), types.RootNode)) {
+            model.addError("Bytecode root nodes must be classes that extend %s.", ElementUtils.getQualifiedName(types.RootNode));
+            return model;
+        }
+        if (!type.getModifiers().contains(Modifier.ABSTRACT)) {
+            model.addError("Bytecode root nodes must be abstract.");
+            return model;
+        }
+        if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE && !type.getModifiers().contains(Modifier.STATIC)) {
+            model.addError("Inner bytecode root nodes must be static.");
+            return model;
+        }
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            model.addError("Bytecode root nodes must not be private.");
+            return model;
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (!constructor.getModifiers().contains(Modifier.PRIVATE) && parameters.size() == 2 &&
+                            isTruffleLanguage(parameters.get(0).asType()) &&
+                            ElementUtils.typeEquals(parameters.get(1).asType(), types.FrameDescriptor)) {
+                model.setConstructor(constructor);
+                break;
+            }
+        }
+        if (model.getConstructor() == null) {
+            model.addError("Bytecode root nodes must declare a non-private constructor with parameters (%s, %s).",
+                            ElementUtils.getSimpleName(types.TruffleLanguage), ElementUtils.getSimpleName(types.FrameDescriptor));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().toString().equals("execute") && method.getParameters().size() == 1 &&
+                            !method.getModifiers().contains(Modifier.ABSTRACT)) {
+                model.addError(method, "The execute method of bytecode root nodes is generated and must not be implemented.");
+            }
+        }
+
+        for (TypeElement operationType : ElementFilter.typesIn(CompilerFactory.getCompiler(type).getEnclosedElementsInDeclarationOrder(type))) {
+            if (ElementUtils.findAnnotationMirror(operationType, types.GenerateBytecode_Operation) == null) {
+                continue;
+            }
+            model.getOperations().add(parseOperation(model, operationType));
+        }
+
+        if (!model.hasErrors() && model.getOperations().isEmpty()) {
+            model.addError("The bytecode root node does not declare any operations. Use static nested classes annotated with @%s to declare operations.",
+                            ElementUtils.getSimpleName(types.GenerateBytecode_Operation));
+        }
+        return model;
+    }
+
+    private OperationData parseOperation(BytecodeData model, TypeElement type) {
+        OperationData operation = new OperationData(model, type);
+        if (!type.getModifiers().contains(Modifier.STATIC) || type.getModifiers().contains(Modifier.PRIVATE)) {
+            operation.addError("Operations must be static and not private.");
+            return operation;
+        }
+        if (BUILTIN_NAMES.contains(operation.getName())) {
+            operation.addError("The operation name '%s' is reserved for a built-in instruction.", operation.getName());
+            return operation;
+        }
+
+        ExecutableElement generic = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(CompilerFactory.getCompiler(type).getEnclosedElementsInDeclarationOrder(type))) {
+            AnnotationMirror specialization = ElementUtils.findAnnotationMirror(method, types.Specialization);
+            if (specialization == null) {
+                continue;
+            }
+            List<TypeMirror> rewriteOn = ElementUtils.getAnnotationValueList(TypeMirror.class, specialization, "rewriteOn");
+            OperationSpecialization operationSpecialization = new OperationSpecialization(method, operation.getSpecializations().size(), rewriteOn);
+            if (!operation.getSpecializations().isEmpty() && operation.getOperandCount() != method.getParameters().size()) {
+                operationSpecialization.addError("All specializations of an operation must declare the same number of parameters.");
+            }
+            operation.getSpecializations().add(operationSpecialization);
+
+            if (generic != null) {
+                operationSpecialization.addError("The specialization is not reachable. It is shadowed by the specialization %s that accepts all operands.", generic.getSimpleName());
+                continue;
+            }
+            if (!method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)) {
+                operationSpecialization.addError("Operation specializations must be static and not private.");
+                continue;
+            }
+            if (ElementUtils.isVoid(method.getReturnType())) {
+                operationSpecialization.addError("Operation specializations must return a value.");
+                continue;
+            }
+            for (String attribute : UNSUPPORTED_ATTRIBUTES) {
+                if (ElementUtils.getAnnotationValue(specialization, attribute, false) != null) {
+                    operationSpecialization.addError("The %s attribute is not supported for operation specializations.", attribute);
+                }
+            }
+            for (VariableElement parameter : method.getParameters()) {
+                TypeMirror parameterType = parameter.asType();
+                if (!parameter.getAnnotationMirrors().isEmpty()) {
+                    operationSpecialization.addError("Annotated parameters are not supported for operation specializations.");
+                } else if (!parameterType.getKind().isPrimitive() && parameterType.getKind() != TypeKind.DECLARED) {
+                    operationSpecialization.addError("Invalid parameter type %s. Only primitive and declared types are supported.", ElementUtils.getSimpleName(parameterType));
+                } else if (ElementUtils.isAssignable(parameterType, types.Frame)) {
+                    operationSpecialization.addError("Frame parameters are not supported for operation specializations.");
+                }
+            }
+            if (rewriteOn.isEmpty() && acceptsAllOperands(method)) {
+                generic = method;
+            }
+        }
+
+        if (operation.getSpecializations().isEmpty()) {
+            operation.addError("Operations must declare at least one static @%s method.", ElementUtils.getSimpleName(types.Specialization));
+        } else if (operation.getSpecializations().size() > MAX_SPECIALIZATIONS) {
+            operation.addError("Operations must not declare more than %s specializations.", MAX_SPECIALIZATIONS);
+        }
+        return operation;
+    }
+
+    private static boolean acceptsAllOperands(ExecutableElement method) {
+        for (VariableElement parameter : method.getParameters()) {
+            if (!ElementUtils.isObject(parameter.asType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTruffleLanguage(TypeMirror type) {
+        TypeElement element = ElementUtils.castTypeElement(type);
+        return element != null && ElementUtils.getQualifiedName(element).equals(TruffleTypes.TruffleLanguage_Name);
+    }
+
+    @Override
+    public DeclaredType getAnnotationType() {
+        return types.GenerateBytecode;
+    }
+
+}
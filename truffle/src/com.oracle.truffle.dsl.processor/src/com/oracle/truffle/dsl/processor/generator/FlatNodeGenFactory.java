@@ -806,6 +806,10 @@ public class FlatNodeGenFactory {
             }
         }
 
+        if (primaryNode) {
+            createInlinedCacheFields(clazz);
+        }
+
         for (SpecializationData specialization : reachableSpecializations) {
             List<CodeVariableElement> fields = new ArrayList<>();
             boolean useSpecializationClass = useSpecializationClass(specialization);
@@ -990,6 +994,64 @@ public class FlatNodeGenFactory {
         return type.getKind() == TypeKind.ARRAY && isAssignable(((ArrayType) type).getComponentType(), types.NodeInterface);
     }
 
+    /*
+     * Inlined caches store their specialization state in int fields of this node. Each inlined
+     * cache gets a range of bits in one of these fields and a static final inlined node instance
+     * that is shared between all instances of this node.
+     */
+    private void createInlinedCacheFields(CodeTypeElement clazz) {
+        int fieldIndex = -1;
+        int offset = Integer.SIZE;
+        String stateClassName = null;
+        for (SpecializationData specialization : reachableSpecializations) {
+            for (CacheExpression cache : specialization.getCaches()) {
+                if (!cache.isInlinedNode()) {
+                    continue;
+                }
+                int bits = InlinedNodeGenFactory.computeStateBits(cache.getInlinedNode());
+                if (offset + bits > Integer.SIZE) {
+                    fieldIndex++;
+                    offset = 0;
+                    String fieldName = "inline_state_" + fieldIndex + "_";
+                    clazz.add(createNodeField(PRIVATE, context.getType(int.class), fieldName, types.CompilerDirectives_CompilationFinal));
+                    stateClassName = "InlineState" + fieldIndex;
+                    clazz.add(createInlineStateClass(clazz, stateClassName, fieldName));
+                }
+                CodeVariableElement inlined = new CodeVariableElement(modifiers(PRIVATE, STATIC, FINAL), cache.getParameter().getType(), createInlinedCacheName(specialization, cache));
+                CodeTreeBuilder init = inlined.createInitBuilder();
+                init.startStaticCall(NodeCodeGenerator.nodeType(cache.getInlinedNode()), "inline");
+                init.startNew(stateClassName).string(String.valueOf(offset)).string(String.valueOf(bits)).end();
+                init.end();
+                clazz.add(inlined);
+                offset += bits;
+            }
+        }
+    }
+
+    private CodeTypeElement createInlineStateClass(CodeTypeElement clazz, String className, String fieldName) {
+        CodeTypeElement stateClass = GeneratorUtils.createClass(node, null, modifiers(PRIVATE, STATIC, FINAL), className, types.InlineSupport_StateField);
+        CodeExecutableElement constructor = stateClass.add(new CodeExecutableElement(modifiers(), null, className));
+        constructor.addParameter(new CodeVariableElement(context.getType(int.class), "offset"));
+        constructor.addParameter(new CodeVariableElement(context.getType(int.class), "length"));
+        constructor.createBuilder().startStatement().startSuperCall().string("offset").string("length").end().end();
+
+        CodeExecutableElement getBits = stateClass.add(new CodeExecutableElement(modifiers(Modifier.PROTECTED), context.getType(int.class), "getBits"));
+        getBits.addParameter(new CodeVariableElement(types.Node, "node"));
+        getBits.getAnnotationMirrors().add(new CodeAnnotationMirror(context.getDeclaredType(Override.class)));
+        getBits.createBuilder().startReturn().string("((", clazz.getSimpleName().toString(), ") node).", fieldName).end();
+
+        CodeExecutableElement setBits = stateClass.add(new CodeExecutableElement(modifiers(Modifier.PROTECTED), context.getType(void.class), "setBits"));
+        setBits.addParameter(new CodeVariableElement(types.Node, "node"));
+        setBits.addParameter(new CodeVariableElement(context.getType(int.class), "value"));
+        setBits.getAnnotationMirrors().add(new CodeAnnotationMirror(context.getDeclaredType(Override.class)));
+        setBits.createBuilder().startStatement().string("((", clazz.getSimpleName().toString(), ") node).", fieldName, " = value").end();
+        return stateClass;
+    }
+
+    private static String createInlinedCacheName(SpecializationData specialization, CacheExpression cache) {
+        return "INLINED_" + ElementUtils.createConstantName(specialization.getId()) + "_" + ElementUtils.createConstantName(cache.getParameter().getLocalName()) + "_";
+    }
+
     private static void setFieldCompilationFinal(CodeVariableElement field, int dimensions) {
         if (field.getModifiers().contains(Modifier.FINAL) && dimensions <= 0) {
             // no need for the compilation final annotation.
@@ -4104,6 +4166,8 @@ public class FlatNodeGenFactory {
             } else {
                 tree = CodeTreeBuilder.singleString("this." + cache.getMergedLibraryIdentifier());
             }
+        } else if (cache.isInlinedNode() && !frameState.getMode().isUncached()) {
+            tree = CodeTreeBuilder.singleString(createInlinedCacheName(specialization, cache));
         } else if (cache.isCachedContext() || cache.isCachedLanguage()) {
             String fieldName = createElementReferenceName(cache);
             CodeTreeBuilder builder = CodeTreeBuilder.createBuilder();
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.dsl.processor.generator;
+
+import static com.oracle.truffle.dsl.processor.java.ElementUtils.modifiers;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+import com.oracle.truffle.dsl.processor.ProcessorContext;
+import com.oracle.truffle.dsl.processor.TruffleTypes;
+import com.oracle.truffle.dsl.processor.expression.DSLExpression.Variable;
+import com.oracle.truffle.dsl.processor.java.ElementUtils;
+import com.oracle.truffle.dsl.processor.java.model.CodeAnnotationMirror;
+import com.oracle.truffle.dsl.processor.java.model.CodeExecutableElement;
+import com.oracle.truffle.dsl.processor.java.model.CodeTree;
+import com.oracle.truffle.dsl.processor.java.model.CodeTreeBuilder;
+import com.oracle.truffle.dsl.processor.java.model.CodeTypeElement;
+import com.oracle.truffle.dsl.processor.java.model.CodeTypeMirror.ArrayCodeTypeMirror;
+import com.oracle.truffle.dsl.processor.java.model.CodeVariableElement;
+import com.oracle.truffle.dsl.processor.model.ExecutableTypeData;
+import com.oracle.truffle.dsl.processor.model.GuardExpression;
+import com.oracle.truffle.dsl.processor.model.NodeData;
+import com.oracle.truffle.dsl.processor.model.Parameter;
+import com.oracle.truffle.dsl.processor.model.SpecializationData;
+import com.oracle.truffle.dsl.processor.model.SpecializationThrowsData;
+
+/**
+ * Generates the inlined version of a node annotated with {@code GenerateInline}. The inlined node
+ * is a shared instance of the node type that keeps no state itself. Its specialization state is
+ * read from and written to the inlining target passed as first argument of every execute method,
+ * using the {@code StateField} the inlined instance was created with. Each specialization owns one
+ * active bit, in specialization order. Specializations that may be excluded by rewriteOn or
+ * replaces own one additional exclude bit after all active bits.
+ */
+public class InlinedNodeGenFactory {
+
+    private static final String INLINED_NODE = "Inlined";
+    private static final String STATE_FIELD = "state_";
+    private static final String STATE_LOCAL = "state_0";
+
+    private final ProcessorContext context;
+    private final TruffleTypes types;
+    private final NodeData node;
+    private final List<SpecializationData> specializations;
+    private final Map<SpecializationData, Integer> excludeBits = new HashMap<>();
+
+    public InlinedNodeGenFactory(ProcessorContext context, NodeData node) {
+        this.context = context;
+        this.types = context.getTypes();
+        this.node = node;
+        this.specializations = getInlinedSpecializations(node);
+        int bit = specializations.size();
+        for (SpecializationData specialization : specializations) {
+            if (isExcludable(specialization)) {
+                excludeBits.put(specialization, bit++);
+            }
+        }
+    }
+
+    public static List<SpecializationData> getInlinedSpecializations(NodeData node) {
+        List<SpecializationData> specializations = new ArrayList<>();
+        for (SpecializationData specialization : node.getSpecializations()) {
+            if (specialization.isSpecialized() && specialization.isReachable()) {
+                specializations.add(specialization);
+            }
+        }
+        return specializations;
+    }
+
+    /**
+     * Returns the number of state bits an inlined instance of the node requires.
+     */
+    public static int computeStateBits(NodeData node) {
+        int bits = 0;
+        for (SpecializationData specialization : getInlinedSpecializations(node)) {
+            bits += isExcludable(specialization) ? 2 : 1;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns <code>true</code> if the specialization can be called with the parameter types of an
+     * execute method and its return type is assignable to the return type of the execute method.
+     */
+    public static boolean isCompatible(SpecializationData specialization, ExecutableElement method) {
+        if (!ElementUtils.isAssignable(specialization.getReturnType().getType(), method.getReturnType())) {
+            return false;
+        }
+        List<Parameter> parameters = getSignatureParameters(specialization);
+        if (parameters.size() != method.getParameters().size()) {
+            return false;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            TypeMirror sourceType = method.getParameters().get(i).asType();
+            TypeMirror targetType = parameters.get(i).getType();
+            if (!ElementUtils.isAssignable(sourceType, targetType) && !needsTypeCheck(sourceType, targetType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isExcludable(SpecializationData specialization) {
+        return !specialization.getExceptions().isEmpty() || !specialization.getExcludedBy().isEmpty();
+    }
+
+    private static boolean needsTypeCheck(TypeMirror sourceType, TypeMirror targetType) {
+        return !ElementUtils.isPrimitive(sourceType) && !ElementUtils.isAssignable(sourceType, targetType) && ElementUtils.isAssignable(targetType, sourceType);
+    }
+
+    private static List<Parameter> getSignatureParameters(SpecializationData specialization) {
+        List<Parameter> parameters = new ArrayList<>();
+        for (Parameter parameter : specialization.getSignatureParameters()) {
+            parameters.add(parameter);
+        }
+        return parameters;
+    }
+
+    public void create(CodeTypeElement clazz) {
+        clazz.add(createInlineMethod());
+        clazz.add(createInlinedNode());
+    }
+
+    private CodeExecutableElement createInlineMethod() {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PUBLIC, STATIC), node.getTemplateType().asType(), "inline");
+        method.addParameter(new CodeVariableElement(types.InlineSupport_StateField, "state"));
+        method.createBuilder().startReturn().startNew(INLINED_NODE).string("state").end().end();
+        return method;
+    }
+
+    private CodeTypeElement createInlinedNode() {
+        CodeTypeElement inlined = GeneratorUtils.createClass(node, null, modifiers(PRIVATE, STATIC, FINAL), INLINED_NODE, node.getTemplateType().asType());
+        inlined.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), types.InlineSupport_StateField, STATE_FIELD));
+
+        CodeExecutableElement constructor = inlined.add(new CodeExecutableElement(modifiers(PRIVATE), null, INLINED_NODE));
+        constructor.addParameter(new CodeVariableElement(types.InlineSupport_StateField, "state"));
+        constructor.createBuilder().statement("this." + STATE_FIELD + " = state");
+
+        for (ExecutableTypeData executableType : node.getExecutableTypes()) {
+            ExecutableElement method = executableType.getMethod();
+            if (method == null || !method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            List<SpecializationData> compatible = new ArrayList<>();
+            for (SpecializationData specialization : specializations) {
+                if (isCompatible(specialization, method)) {
+                    compatible.add(specialization);
+                }
+            }
+            inlined.add(createExecute(method, compatible));
+            inlined.add(createExecuteAndSpecialize(method, compatible));
+        }
+        if (!excludeBits.isEmpty()) {
+            inlined.add(createExclude());
+        }
+
+        // inlined nodes are shared between all inlining targets
+        CodeExecutableElement isAdoptable = CodeExecutableElement.cloneNoAnnotations(ElementUtils.findExecutableElement(types.Node, "isAdoptable"));
+        isAdoptable.createBuilder().returnFalse();
+        inlined.add(isAdoptable);
+        return inlined;
+    }
+
+    private CodeExecutableElement createExecute(ExecutableElement executeMethod, List<SpecializationData> compatible) {
+        CodeExecutableElement method = CodeExecutableElement.cloneNoAnnotations(executeMethod);
+        method.getModifiers().remove(Modifier.ABSTRACT);
+        method.getAnnotationMirrors().add(new CodeAnnotationMirror(context.getDeclaredType(Override.class)));
+        String target = getInliningTarget(executeMethod);
+
+        CodeTreeBuilder builder = method.createBuilder();
+        builder.declaration(context.getType(int.class), STATE_LOCAL, "this." + STATE_FIELD + ".get(" + target + ")");
+        for (SpecializationData specialization : compatible) {
+            List<CodeTree> checks = new ArrayList<>();
+            checks.add(CodeTreeBuilder.singleString("(" + STATE_LOCAL + " & " + formatMask(1 << specializations.indexOf(specialization)) + ") != 0 /* is-active " +
+                            specialization.getMethodName() + " */"));
+            List<CodeTree> values = createValues(builder, specialization, executeMethod, checks);
+            builder.startIf().tree(combineConditions(checks)).end().startBlock();
+            builder.tree(createDeclarations(specialization, executeMethod));
+            int guards = startGuards(builder, specialization, executeMethod);
+            createCallSpecialization(builder, executeMethod, specialization, values, true);
+            builder.end(guards);
+            builder.end();
+        }
+        builder.tree(GeneratorUtils.createTransferToInterpreterAndInvalidate());
+        builder.tree(createCallExecuteAndSpecialize(executeMethod));
+        return method;
+    }
+
+    private CodeExecutableElement createExecuteAndSpecialize(ExecutableElement executeMethod, List<SpecializationData> compatible) {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), executeMethod.getReturnType(), createExecuteAndSpecializeName(executeMethod));
+        for (VariableElement parameter : executeMethod.getParameters()) {
+            method.addParameter(new CodeVariableElement(parameter.asType(), parameter.getSimpleName().toString()));
+        }
+        String target = getInliningTarget(executeMethod);
+
+        CodeTreeBuilder builder = method.createBuilder();
+        builder.declaration(context.getType(Lock.class), "lock", "getLock()");
+        builder.declaration(context.getType(boolean.class), "hasLock", "true");
+        builder.statement("lock.lock()");
+        builder.startTryBlock();
+        builder.declaration(context.getType(int.class), STATE_LOCAL, "this." + STATE_FIELD + ".get(" + target + ")");
+        boolean reachable = true;
+        for (SpecializationData specialization : compatible) {
+            List<CodeTree> checks = new ArrayList<>();
+            Integer excludeBit = excludeBits.get(specialization);
+            if (excludeBit != null) {
+                checks.add(CodeTreeBuilder.singleString("(" + STATE_LOCAL + " & " + formatMask(1 << excludeBit) + ") == 0 /* is-not-excluded " +
+                                specialization.getMethodName() + " */"));
+            }
+            List<CodeTree> values = createValues(builder, specialization, executeMethod, checks);
+            boolean guarded = !checks.isEmpty() || !specialization.getGuards().isEmpty();
+            if (!checks.isEmpty()) {
+                builder.startIf().tree(combineConditions(checks)).end().startBlock();
+            }
+            builder.tree(createDeclarations(specialization, executeMethod));
+            int guards = startGuards(builder, specialization, executeMethod);
+
+            int set = 1 << specializations.indexOf(specialization);
+            int clear = 0;
+            for (SpecializationData replaced : specialization.getReplaces()) {
+                if (replaced != specialization && specializations.contains(replaced)) {
+                    clear |= 1 << specializations.indexOf(replaced);
+                    if (excludeBits.containsKey(replaced)) {
+                        set |= 1 << excludeBits.get(replaced);
+                    }
+                }
+            }
+            if (clear != 0) {
+                builder.startStatement().string(STATE_LOCAL, " = (", STATE_LOCAL, " & ~", formatMask(clear), ") | ", formatMask(set)).end();
+            } else {
+                builder.startStatement().string(STATE_LOCAL, " = ", STATE_LOCAL, " | ", formatMask(set)).end();
+            }
+            builder.startStatement().string("this.", STATE_FIELD, ".set(", target, ", ", STATE_LOCAL, ")").end();
+            builder.statement("lock.unlock()");
+            builder.statement("hasLock = false");
+            createCallSpecialization(builder, executeMethod, specialization, values, false);
+            builder.end(guards);
+            if (!checks.isEmpty()) {
+                builder.end();
+            }
+            if (!guarded) {
+                // no specialization can follow a specialization that accepts all values
+                reachable = false;
+                break;
+            }
+        }
+        if (reachable) {
+            builder.startThrow().startNew(types.UnsupportedSpecializationException).string("this");
+            builder.startNewArray(new ArrayCodeTypeMirror(types.Node), null);
+            for (int i = 0; i < executeMethod.getParameters().size(); i++) {
+                builder.string("null");
+            }
+            builder.end();
+            for (VariableElement parameter : executeMethod.getParameters()) {
+                builder.string(parameter.getSimpleName().toString());
+            }
+            builder.end().end();
+        }
+        builder.end().startFinallyBlock();
+        builder.startIf().string("hasLock").end().startBlock();
+        builder.statement("lock.unlock()");
+        builder.end();
+        builder.end();
+        return method;
+    }
+
+    private CodeExecutableElement createExclude() {
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), context.getType(void.class), "exclude");
+        method.addParameter(new CodeVariableElement(types.Node, "inliningTarget"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "activeBit"));
+        method.addParameter(new CodeVariableElement(context.getType(int.class), "excludeBit"));
+        CodeTreeBuilder builder = method.createBuilder();
+        builder.declaration(context.getType(Lock.class), "lock", "getLock()");
+        builder.statement("lock.lock()");
+        builder.startTryBlock();
+        builder.declaration(context.getType(int.class), STATE_LOCAL, "this." + STATE_FIELD + ".get(inliningTarget)");
+        builder.statement("this." + STATE_FIELD + ".set(inliningTarget, (" + STATE_LOCAL + " & ~activeBit) | excludeBit)");
+        builder.end().startFinallyBlock();
+        builder.statement("lock.unlock()");
+        builder.end();
+        return method;
+    }
+
+    /*
+     * Adds the type checks required to call the specialization to checks and returns the values
+     * passed to the specialization.
+     */
+    private List<CodeTree> createValues(CodeTreeBuilder parent, SpecializationData specialization, ExecutableElement executeMethod, List<CodeTree> checks) {
+        List<CodeTree> values = new ArrayList<>();
+        List<Parameter> parameters = getSignatureParameters(specialization);
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement source = executeMethod.getParameters().get(i);
+            String name = source.getSimpleName().toString();
+            TypeMirror targetType = parameters.get(i).getType();
+            if (needsTypeCheck(source.asType(), targetType)) {
+                checks.add(TypeSystemCodeGenerator.check(node.getTypeSystem(), targetType, CodeTreeBuilder.singleString(name)));
+                values.add(parent.create().string(name + "_").build());
+            } else {
+                values.add(parent.create().string(name).build());
+            }
+        }
+        return values;
+    }
+
+    private CodeTree createDeclarations(SpecializationData specialization, ExecutableElement executeMethod) {
+        CodeTreeBuilder builder = CodeTreeBuilder.createBuilder();
+        List<Parameter> parameters = getSignatureParameters(specialization);
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement source = executeMethod.getParameters().get(i);
+            String name = source.getSimpleName().toString();
+            TypeMirror targetType = parameters.get(i).getType();
+            if (needsTypeCheck(source.asType(), targetType)) {
+                builder.declaration(targetType, name + "_", TypeSystemCodeGenerator.cast(node.getTypeSystem(), targetType, name));
+            }
+        }
+        return builder.build();
+    }
+
+    /*
+     * Opens an if block for the guards of the specialization and returns the number of blocks to
+     * close.
+     */
+    private int startGuards(CodeTreeBuilder builder, SpecializationData specialization, ExecutableElement executeMethod) {
+        if (specialization.getGuards().isEmpty()) {
+            return 0;
+        }
+        List<Parameter> parameters = getSignatureParameters(specialization);
+        List<CodeTree> conditions = new ArrayList<>();
+        for (GuardExpression guard : specialization.getGuards()) {
+            Map<Variable, CodeTree> bindings = new HashMap<>();
+            for (Variable variable : guard.getExpression().findBoundVariables()) {
+                Parameter parameter = specialization.findByVariable(variable.getResolvedVariable());
+                int index = parameters.indexOf(parameter);
+                if (index >= 0) {
+                    VariableElement source = executeMethod.getParameters().get(index);
+                    String name = source.getSimpleName().toString();
+                    if (needsTypeCheck(source.asType(), parameter.getType())) {
+                        name = name + "_";
+                    }
+                    bindings.put(variable, CodeTreeBuilder.singleString(name));
+                }
+            }
+            conditions.add(DSLExpressionGenerator.write(guard.getExpression(), null, bindings));
+        }
+        builder.startIf().tree(combineConditions(conditions)).end().startBlock();
+        return 1;
+    }
+
+    private void createCallSpecialization(CodeTreeBuilder builder, ExecutableElement executeMethod, SpecializationData specialization, List<CodeTree> values, boolean fastPath) {
+        List<SpecializationThrowsData> exceptions = specialization.getExceptions();
+        if (!exceptions.isEmpty()) {
+            builder.startTryBlock();
+        }
+        CodeTreeBuilder call = builder.create();
+        ExecutableElement specializationMethod = specialization.getMethod();
+        if (specializationMethod.getModifiers().contains(Modifier.STATIC)) {
+            call.startStaticCall(node.getTemplateType().asType(), specializationMethod.getSimpleName().toString());
+        } else {
+            call.startCall("this", specializationMethod.getSimpleName().toString());
+        }
+        call.trees(values.toArray(new CodeTree[0]));
+        call.end();
+        if (ElementUtils.isVoid(executeMethod.getReturnType())) {
+            builder.statement(call.build());
+            builder.returnStatement();
+        } else {
+            builder.startReturn().tree(call.build()).end();
+        }
+        if (!exceptions.isEmpty()) {
+            TypeMirror[] exceptionTypes = new TypeMirror[exceptions.size()];
+            for (int i = 0; i < exceptionTypes.length; i++) {
+                exceptionTypes[i] = exceptions.get(i).getJavaClass();
+            }
+            builder.end().startCatchBlock(exceptionTypes, "ex");
+            if (fastPath) {
+                builder.tree(GeneratorUtils.createTransferToInterpreterAndInvalidate());
+            }
+            builder.startStatement().startCall("exclude").string(getInliningTarget(executeMethod));
+            builder.string(formatMask(1 << specializations.indexOf(specialization)));
+            builder.string(formatMask(1 << excludeBits.get(specialization)));
+            builder.end().end();
+            builder.tree(createCallExecuteAndSpecialize(executeMethod));
+            builder.end();
+        }
+    }
+
+    private CodeTree createCallExecuteAndSpecialize(ExecutableElement executeMethod) {
+        CodeTreeBuilder builder = CodeTreeBuilder.createBuilder();
+        CodeTreeBuilder call = builder.create();
+        call.startCall(createExecuteAndSpecializeName(executeMethod));
+        for (VariableElement parameter : executeMethod.getParameters()) {
+            call.string(parameter.getSimpleName().toString());
+        }
+        call.end();
+        if (ElementUtils.isVoid(executeMethod.getReturnType())) {
+            builder.statement(call.build());
+            builder.returnStatement();
+        } else {
+            builder.startReturn().tree(call.build()).end();
+        }
+        return builder.build();
+    }
+
+    private static CodeTree combineConditions(List<CodeTree> conditions) {
+        CodeTreeBuilder builder = CodeTreeBuilder.createBuilder();
+        String sep = "";
+        for (CodeTree condition : conditions) {
+            builder.string(sep).tree(condition);
+            sep = " && ";
+        }
+        return builder.build();
+    }
+
+    private static String getInliningTarget(ExecutableElement executeMethod) {
+        return executeMethod.getParameters().get(0).getSimpleName().toString();
+    }
+
+    private static String createExecuteAndSpecializeName(ExecutableElement executeMethod) {
+        return executeMethod.getSimpleName().toString() + "AndSpecialize";
+    }
+
+    private static String formatMask(int mask) {
+        return "0b" + Integer.toBinaryString(mask);
+    }
+
+}
@@ -279,6 +279,9 @@ public class NodeCodeGenerator extends CodeTypeElementFactory<NodeData> {
         }
 
         type = new FlatNodeGenFactory(context, GeneratorMode.DEFAULT, node, libraryConstants).create(type);
+        if (node.isGenerateInline()) {
+            new InlinedNodeGenFactory(context, node).create(type);
+        }
 
         return Arrays.asList(type);
     }
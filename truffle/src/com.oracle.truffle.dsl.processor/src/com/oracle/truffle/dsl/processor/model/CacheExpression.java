@@ -70,6 +70,7 @@ public final class CacheExpression extends MessageContainer {
     private boolean requiresBoundary;
     private String sharedGroup;
     private boolean mergedLibrary;
+    private NodeData inlinedNode;
 
     private TypeMirror languageType;
     private TypeMirror referenceType;
@@ -86,6 +87,7 @@ public final class CacheExpression extends MessageContainer {
         copy.uncachedExpression = this.uncachedExpression;
         copy.alwaysInitialized = this.alwaysInitialized;
         copy.sharedGroup = this.sharedGroup;
+        copy.inlinedNode = this.inlinedNode;
         return copy;
     }
 
@@ -235,6 +237,22 @@ public final class CacheExpression extends MessageContainer {
         return mergedLibrary;
     }
 
+    public void setInlinedNode(NodeData inlinedNode) {
+        this.inlinedNode = inlinedNode;
+    }
+
+    /**
+     * Returns the parsed cached node type if the cache is inlined into the generated node, else
+     * <code>null</code>.
+     */
+    public NodeData getInlinedNode() {
+        return inlinedNode;
+    }
+
+    public boolean isInlinedNode() {
+        return inlinedNode != null;
+    }
+
     public String getMergedLibraryIdentifier() {
         DSLExpression identifierExpression = getDefaultExpression().reduce(new DSLExpressionReducer() {
 
@@ -86,6 +86,7 @@ public class NodeData extends Template implements Comparable<NodeData> {
     private boolean isUncachable;
     private boolean isNodeBound;
     private boolean generateUncached;
+    private boolean generateInline;
     private Set<String> allowedCheckedExceptions;
     private Map<CacheExpression, String> sharedCaches = Collections.emptyMap();
 
@@ -140,6 +141,17 @@ public class NodeData extends Template implements Comparable<NodeData> {
         return generateUncached;
     }
 
+    public void setGenerateInline(boolean generateInline) {
+        this.generateInline = generateInline;
+    }
+
+    /**
+     * Returns true if the generation of an inlinable version was requested.
+     */
+    public boolean isGenerateInline() {
+        return generateInline;
+    }
+
     /**
      * Returns true if the node is uncachable. It is uncachable if it does not require any state to
      * be implemented. For example inline caches are uncachable.
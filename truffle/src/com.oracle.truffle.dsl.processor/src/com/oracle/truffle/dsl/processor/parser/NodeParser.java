@@ -114,6 +114,7 @@ import com.oracle.truffle.dsl.processor.expression.DSLExpression.Negate;
 import com.oracle.truffle.dsl.processor.expression.DSLExpression.Variable;
 import com.oracle.truffle.dsl.processor.expression.DSLExpressionResolver;
 import com.oracle.truffle.dsl.processor.expression.InvalidExpressionException;
+import com.oracle.truffle.dsl.processor.generator.InlinedNodeGenFactory;
 import com.oracle.truffle.dsl.processor.generator.NodeCodeGenerator;
 import com.oracle.truffle.dsl.processor.generator.NodeFactoryFactory;
 import com.oracle.truffle.dsl.processor.java.ElementUtils;
@@ -160,6 +161,7 @@ public final class NodeParser extends AbstractParser<NodeData> {
     }
 
     private boolean nodeOnly;
+    private boolean inlineOnly;
     private final ParseMode mode;
     private final TypeMirror exportLibraryType;
     private final TypeElement exportDeclarationType;
@@ -338,6 +340,8 @@ public final class NodeParser extends AbstractParser<NodeData> {
             return node;  // error sync point
         }
         initializeUncachable(node);
+        initializeInlinable(node);
+        initializeInlinedCaches(node);
 
         if (mode == ParseMode.DEFAULT) {
             boolean emitWarnings = Boolean.parseBoolean(System.getProperty("truffle.dsl.cacheSharingWarningsEnabled", "false"));
@@ -671,6 +675,102 @@ public final class NodeParser extends AbstractParser<NodeData> {
         node.setUncachable(uncachable);
     }
 
+    private void initializeInlinable(NodeData node) {
+        if (!node.isGenerateInline()) {
+            return;
+        }
+        AnnotationMirror generateInline = findAnnotationMirror(node.getTemplateType().getAnnotationMirrors(), types.GenerateInline);
+        String annotationName = types.GenerateInline.asElement().getSimpleName().toString();
+
+        if (!node.getChildren().isEmpty() || !node.getFields().isEmpty()) {
+            node.addError(generateInline, null, "Failed to generate code for @%s: The node must not declare any node children or node fields. " +
+                            "Pass all values as execute method arguments to resolve this.", annotationName);
+        }
+
+        TypeElement type = node.getTemplateType();
+        while (type != null && !ElementUtils.typeEquals(type.asType(), types.Node)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    node.addError(generateInline, null, "Failed to generate code for @%s: The node must not declare any instance variables. " +
+                                    "Found instance variable %s.%s. Remove instance variable to resolve this.",
+                                    annotationName, getSimpleName(field.getEnclosingElement().asType()), field.getSimpleName().toString());
+                    break;
+                }
+            }
+            type = ElementUtils.getSuperType(type);
+        }
+
+        boolean defaultConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(node.getTemplateType().getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                defaultConstructor = true;
+                break;
+            }
+        }
+        if (!defaultConstructor) {
+            node.addError(generateInline, null, "Failed to generate code for @%s: The node must declare a non-private constructor without parameters.", annotationName);
+        }
+
+        for (ExecutableTypeData executableType : node.getExecutableTypes()) {
+            ExecutableElement method = executableType.getMethod();
+            if (method == null || !executableType.isAbstract()) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (executableType.getFrameParameter() != null || method.isVarArgs() || executableType.hasUnexpectedValue() || parameters.size() != node.getExecutionCount() ||
+                            parameters.isEmpty() || !typeEquals(parameters.get(0).asType(), types.Node)) {
+                node.addError(generateInline, null, "Failed to generate code for @%s: The execute method %s is not supported. " +
+                                "Inlined execute methods must not declare a frame, variable arguments or throw %s, and must take the %s inlining target as first of %s argument(s).",
+                                annotationName, ElementUtils.createReferenceName(method), getSimpleName(types.UnexpectedResultException),
+                                getSimpleName(types.Node), node.getExecutionCount());
+            }
+        }
+
+        for (SpecializationData specialization : node.getSpecializations()) {
+            if (specialization.isFallback() && specialization.getMethod() != null) {
+                specialization.addError("Failed to generate code for @%s: Inlined nodes must not declare a @%s specialization.", annotationName,
+                                getSimpleName(types.Fallback));
+            }
+            if (!specialization.isSpecialized() || !specialization.isReachable()) {
+                continue;
+            }
+            for (CacheExpression cache : specialization.getCaches()) {
+                cache.addError("Failed to generate code for @%s: Inlined nodes must not declare cached values. " +
+                                "Pass the value as an execute method argument to resolve this.", annotationName);
+            }
+            if (!specialization.getAssumptionExpressions().isEmpty()) {
+                specialization.addError("Failed to generate code for @%s: Inlined nodes must not declare assumptions.", annotationName);
+            }
+        }
+
+        int bits = InlinedNodeGenFactory.computeStateBits(node);
+        if (bits > 32) {
+            node.addError(generateInline, null, "Failed to generate code for @%s: The node requires %s state bits but at most 32 bits are supported. " +
+                            "Reduce the number of specializations to resolve this.", annotationName, bits);
+        }
+    }
+
+    /*
+     * Inlined caches get initialized once per parent node class and are therefore not stored in a
+     * field. If the specialization may have multiple instances, every instance would need its own
+     * state bits, so the cache is allocated as a regular cached node instead.
+     */
+    private static void initializeInlinedCaches(NodeData node) {
+        for (SpecializationData specialization : node.getSpecializations()) {
+            boolean multipleInstances = specialization.hasMultipleInstances();
+            for (CacheExpression cache : specialization.getCaches()) {
+                if (!cache.isInlinedNode()) {
+                    continue;
+                }
+                if (multipleInstances) {
+                    cache.setInlinedNode(null);
+                } else {
+                    cache.setAlwaysInitialized(true);
+                }
+            }
+        }
+    }
+
     private static void initializeFallbackReachability(NodeData node) {
         TruffleTypes types = ProcessorContext.getInstance().getTypes();
         List<SpecializationData> specializations = node.getSpecializations();
@@ -1020,7 +1120,9 @@ public final class NodeParser extends AbstractParser<NodeData> {
         } else {
             generateUncached = false;
         }
-        return new NodeData(context, templateType, typeSystem, useNodeFactory, generateUncached);
+        NodeData node = new NodeData(context, templateType, typeSystem, useNodeFactory, generateUncached);
+        node.setGenerateInline(findAnnotationMirror(templateType, types.GenerateInline) != null);
+        return node;
 
     }
 
@@ -2403,6 +2505,16 @@ public final class NodeParser extends AbstractParser<NodeData> {
             parser.nodeOnly = true; // make sure we cannot have cycles
             TypeElement element = ElementUtils.castTypeElement(parameter.getType());
             if (!nodeOnly) {
+                if (mode == ParseMode.DEFAULT && !inlineOnly && findAnnotationMirror(element, types.GenerateInline) != null &&
+                                getAnnotationValue(cachedAnnotation, "value", false) == null && cache.getDimensions() == -1 && cache.getSharedGroup() == null) {
+                    // inlined nodes do not use cached parameters, so the full parse cannot cycle
+                    NodeParser inlineParser = NodeParser.createDefaultParser();
+                    inlineParser.inlineOnly = true;
+                    NodeData inlinedNode = inlineParser.parse(element, false);
+                    if (inlinedNode != null && inlinedNode.isGenerateInline() && !inlinedNode.hasErrors()) {
+                        cache.setInlinedNode(inlinedNode);
+                    }
+                }
                 NodeData parsedNode = parser.parse(element);
                 if (parsedNode != null) {
                     List<CodeExecutableElement> executables = NodeFactoryFactory.createFactoryMethods(parsedNode, ElementFilter.constructorsIn(element.getEnclosedElements()));
@@ -40,6 +40,14 @@
  */
 package com.oracle.truffle.object.basic.test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.oracle.truffle.api.object.Layout;
@@ -91,4 +99,41 @@ public class ShapeTest {
                         "\"a\":int@0" +
                         "\n}", shapeWithExtArray);
     }
+
+    @Test
+    public void testConcurrentTransitions() throws Exception {
+        Layout layout = new DefaultLayoutFactory().createLayout(Layout.newLayout());
+        int threads = 8;
+        int properties = 16;
+        for (int iteration = 0; iteration < 10; iteration++) {
+            Shape rootShape = layout.createShape(new ObjectType());
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<List<Shape>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    List<Shape> shapes = new ArrayList<>();
+                    Shape shape = rootShape;
+                    for (int p = 0; p < properties; p++) {
+                        shape = shape.defineProperty("p" + p, p, 0);
+                        shapes.add(shape);
+                    }
+                    // diverging transitions from the same parent
+                    shapes.add(rootShape.defineProperty("q" + (threadIndex % 4), 0, 0));
+                    return shapes;
+                }));
+            }
+            List<Shape> expected = futures.get(0).get();
+            for (int t = 0; t < threads; t++) {
+                List<Shape> actual = futures.get(t).get();
+                // all threads must agree on the successor of every transition
+                for (int p = 0; p < properties; p++) {
+                    Assert.assertSame(expected.get(p), actual.get(p));
+                }
+                Assert.assertSame(futures.get(t % 4).get().get(properties), actual.get(properties));
+            }
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
 }
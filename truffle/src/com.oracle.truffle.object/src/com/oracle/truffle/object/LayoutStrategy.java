@@ -228,8 +228,7 @@ public abstract class LayoutStrategy {
                 newShape = applyTransition(newShape, previous, true);
             }
 
-            shape.addIndirectTransition(transition, newShape);
-            return newShape;
+            return shape.addIndirectTransitionIfAbsentOrGet(transition, newShape);
         } else {
             return null;
         }
@@ -258,7 +257,7 @@ public abstract class LayoutStrategy {
 
         assert newProperty.isSame(newShape.getProperty(newProperty.getKey())) : newShape.getProperty(newProperty.getKey());
 
-        shape.addDirectTransition(replacePropertyTransition, newShape);
+        newShape = shape.addDirectTransitionIfAbsentOrGet(replacePropertyTransition, newShape);
         if (!shape.isValid()) {
             newShape.invalidateValidAssumption();
             return ensureValid ? ensureValid(newShape) : newShape;
@@ -284,7 +283,7 @@ public abstract class LayoutStrategy {
         ShapeImpl oldShape = ensureSpace(shape, property.getLocation());
 
         ShapeImpl newShape = ShapeImpl.makeShapeWithAddedProperty(oldShape, addTransition);
-        oldShape.addDirectTransition(addTransition, newShape);
+        newShape = oldShape.addDirectTransitionIfAbsentOrGet(addTransition, newShape);
         if (!oldShape.isValid()) {
             newShape.invalidateValidAssumption();
             return ensureValid ? ensureValid(newShape) : newShape;
@@ -333,8 +332,7 @@ public abstract class LayoutStrategy {
 
         ShapeImpl oldShape = ensureSpace(shape, layout.getPrimitiveArrayLocation());
         ShapeImpl newShape = ShapeImpl.makeShapeWithPrimitiveExtensionArray(oldShape, transition);
-        oldShape.addDirectTransition(transition, newShape);
-        return newShape;
+        return oldShape.addDirectTransitionIfAbsentOrGet(transition, newShape);
     }
 
     /**
@@ -134,12 +134,12 @@ public abstract class ShapeImpl extends Shape {
      * Shape transition map; lazily initialized. One of:
      * <ol>
      * <li>{@code null}: empty map
-     * <li>{@link Map.Entry}: immutable single entry map
-     * <li>{@link Map}: mutable multiple entry map
+     * <li>{@link StrongKeyWeakValueEntry}: immutable single entry map
+     * <li>{@link TransitionMap}: concurrent multiple entry map
      * </ol>
      *
      * @see #queryTransition(Transition)
-     * @see #addTransitionInternal(Transition, ShapeImpl)
+     * @see #addTransitionIfAbsentOrGet(Transition, ShapeImpl)
      */
     private volatile Object transitionMap;
 
@@ -322,22 +322,40 @@ public abstract class ShapeImpl extends Shape {
 
     /** @since 0.17 or earlier */
     public final void addDirectTransition(Transition transition, ShapeImpl next) {
-        assert next.getParent() == this && transition.isDirect();
-        addTransitionInternal(transition, next);
+        addDirectTransitionIfAbsentOrGet(transition, next);
     }
 
     /** @since 0.17 or earlier */
     public final void addIndirectTransition(Transition transition, ShapeImpl next) {
+        addIndirectTransitionIfAbsentOrGet(transition, next);
+    }
+
+    /**
+     * Adds a direct transition unless another thread has added an equal transition concurrently.
+     *
+     * @return the successor shape of the transition, either {@code next} or the existing one
+     */
+    final ShapeImpl addDirectTransitionIfAbsentOrGet(Transition transition, ShapeImpl next) {
+        assert next.getParent() == this && transition.isDirect();
+        return addTransitionIfAbsentOrGet(transition, next);
+    }
+
+    /**
+     * Adds an indirect transition unless another thread has added an equal transition
+     * concurrently.
+     *
+     * @return the successor shape of the transition, either {@code next} or the existing one
+     */
+    final ShapeImpl addIndirectTransitionIfAbsentOrGet(Transition transition, ShapeImpl next) {
         assert !isShared();
         assert next.getParent() != this && !transition.isDirect();
-        addTransitionInternal(transition, next);
+        return addTransitionIfAbsentOrGet(transition, next);
     }
 
-    private void addTransitionInternal(Transition transition, ShapeImpl successor) {
-        Object prev;
-        Object next;
-        do {
-            prev = TRANSITION_MAP_UPDATER.get(this);
+    private ShapeImpl addTransitionIfAbsentOrGet(Transition transition, ShapeImpl successor) {
+        for (;;) {
+            Object prev = TRANSITION_MAP_UPDATER.get(this);
+            Object next;
             if (prev == null) {
                 invalidateLeafAssumption();
                 next = newSingleEntry(transition, successor);
@@ -345,45 +363,38 @@ public abstract class ShapeImpl extends Shape {
                 StrongKeyWeakValueEntry<Transition, ShapeImpl> entry = asSingleEntry(prev);
                 Transition exTra = entry.getKey();
                 ShapeImpl exSucc = entry.getValue();
-                if (exSucc != null) {
-                    next = newTransitionMap(exTra, exSucc, transition, successor);
-                } else {
+                if (exSucc == null) {
                     next = newSingleEntry(transition, successor);
+                } else if (exTra.equals(transition)) {
+                    return exSucc;
+                } else {
+                    next = newTransitionMap(exTra, exSucc, transition, successor);
                 }
             } else {
-                next = addToTransitionMap(transition, successor, prev);
+                assert isTransitionMap(prev);
+                // the map is never replaced once installed, so no compare and set is needed
+                return asTransitionMap(prev).putIfAbsent(transition, successor);
             }
-            if (prev == next) {
-                break;
+            if (TRANSITION_MAP_UPDATER.compareAndSet(this, prev, next)) {
+                return successor;
             }
-        } while (!TRANSITION_MAP_UPDATER.compareAndSet(this, prev, next));
+        }
     }
 
     private static Object newTransitionMap(Transition firstTransition, ShapeImpl firstShape, Transition secondTransition, ShapeImpl secondShape) {
-        Map<Transition, ShapeImpl> map = newTransitionMap();
-        map.put(firstTransition, firstShape);
-        map.put(secondTransition, secondShape);
-        return map;
-    }
-
-    private static Object addToTransitionMap(Transition transition, ShapeImpl successor, Object prevMap) {
-        assert isTransitionMap(prevMap);
-        Map<Transition, ShapeImpl> map = asTransitionMap(prevMap);
-        map.put(transition, successor);
+        TransitionMap<Transition, ShapeImpl> map = new TransitionMap<>();
+        map.putIfAbsent(firstTransition, firstShape);
+        map.putIfAbsent(secondTransition, secondShape);
         return map;
     }
 
-    private static Map<Transition, ShapeImpl> newTransitionMap() {
-        return new TransitionMap<>();
-    }
-
     @SuppressWarnings("unchecked")
-    private static Map<Transition, ShapeImpl> asTransitionMap(Object map) {
-        return (Map<Transition, ShapeImpl>) map;
+    private static TransitionMap<Transition, ShapeImpl> asTransitionMap(Object map) {
+        return (TransitionMap<Transition, ShapeImpl>) map;
     }
 
     private static boolean isTransitionMap(Object trans) {
-        return trans instanceof Map<?, ?>;
+        return trans instanceof TransitionMap<?, ?>;
     }
 
     private static Object newSingleEntry(Transition transition, ShapeImpl successor) {
@@ -428,8 +439,7 @@ public abstract class ShapeImpl extends Shape {
             }
         } else {
             assert isTransitionMap(trans);
-            Map<Transition, ShapeImpl> map = asTransitionMap(trans);
-            map.forEach(consumer);
+            asTransitionMap(trans).forEach(consumer);
         }
     }
 
@@ -447,8 +457,7 @@ public abstract class ShapeImpl extends Shape {
             }
         } else {
             assert isTransitionMap(trans);
-            Map<Transition, ShapeImpl> map = asTransitionMap(trans);
-            return map.get(transition);
+            return asTransitionMap(trans).get(transition);
         }
     }
 
@@ -518,8 +527,7 @@ public abstract class ShapeImpl extends Shape {
 
         shapeCloneCount.inc();
 
-        newParent.addDirectTransition(from.transitionFromParent, newShape);
-        return newShape;
+        return newParent.addDirectTransitionIfAbsentOrGet(from.transitionFromParent, newShape);
     }
 
     /** @since 0.17 or earlier */
@@ -965,8 +973,7 @@ public abstract class ShapeImpl extends Shape {
         }
 
         ShapeImpl newShape = createShape(layout, sharedData, this, newObjectType, propertyMap, transition, allocator(), flags);
-        addDirectTransition(transition, newShape);
-        return newShape;
+        return addDirectTransitionIfAbsentOrGet(transition, newShape);
     }
 
     @TruffleBoundary
@@ -980,8 +987,7 @@ public abstract class ShapeImpl extends Shape {
 
         int newFlags = newObjectFlags | (flags & ~OBJECT_FLAGS_MASK);
         ShapeImpl newShape = createShape(layout, sharedData, this, objectType, propertyMap, transition, allocator(), newFlags);
-        addDirectTransition(transition, newShape);
-        return newShape;
+        return addDirectTransitionIfAbsentOrGet(transition, newShape);
     }
 
     /** @since 0.17 or earlier */
@@ -1062,8 +1068,7 @@ public abstract class ShapeImpl extends Shape {
         }
 
         ShapeImpl newShape = createShape(layout, sharedData, this, objectType, propertyMap, transition, allocator(), flags | SHARED_SHAPE);
-        addDirectTransition(transition, newShape);
-        return newShape;
+        return addDirectTransitionIfAbsentOrGet(transition, newShape);
     }
 
     /** Bits available to API users. */
@@ -42,58 +42,49 @@ package com.oracle.truffle.object;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
-import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
-import org.graalvm.collections.EconomicMap;
-import org.graalvm.collections.MapCursor;
-
 /**
- * A synchronized hash map with weakly referenced values. Cleared value references are expunged only
- * when the map is mutated.
+ * A concurrent hash map with weakly referenced values. Lookups and insertions do not lock. Cleared
+ * value references are expunged only when the map is mutated.
  */
-final class TransitionMap<K, V> implements Map<K, V> {
-    private final EconomicMap<K, StrongKeyWeakValueEntry<K, V>> map;
+final class TransitionMap<K, V> {
+    private final ConcurrentHashMap<K, StrongKeyWeakValueEntry<K, V>> map;
     private final ReferenceQueue<V> queue;
 
     TransitionMap() {
-        this.map = EconomicMap.create();
+        this.map = new ConcurrentHashMap<>();
         this.queue = new ReferenceQueue<>();
     }
 
-    @Override
-    public boolean containsKey(Object key) {
-        return get(key) != null;
-    }
-
-    private V getValue(StrongKeyWeakValueEntry<K, V> entry) {
+    V get(K key) {
+        StrongKeyWeakValueEntry<K, V> entry = map.get(key);
         return entry == null ? null : entry.get();
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public V get(Object key) {
-        synchronized (queue) {
-            return getValue(map.get((K) key));
-        }
-    }
-
-    @Override
-    public V put(K key, V value) {
-        synchronized (queue) {
-            expungeStaleEntries();
-            return getValue(map.put(key, new StrongKeyWeakValueEntry<>(key, value, queue)));
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public V remove(Object key) {
-        synchronized (queue) {
-            expungeStaleEntries();
-            return getValue(map.removeKey((K) key));
+    /**
+     * Associates the value with the key unless the key is already mapped to a value that has not
+     * been garbage collected.
+     *
+     * @return the value now associated with the key, i.e. either the existing or the given value
+     */
+    V putIfAbsent(K key, V value) {
+        expungeStaleEntries();
+        StrongKeyWeakValueEntry<K, V> newEntry = new StrongKeyWeakValueEntry<>(key, value, queue);
+        for (;;) {
+            StrongKeyWeakValueEntry<K, V> existing = map.putIfAbsent(key, newEntry);
+            if (existing == null) {
+                return value;
+            }
+            V existingValue = existing.get();
+            if (existingValue != null) {
+                return existingValue;
+            }
+            if (map.replace(key, existing, newEntry)) {
+                return value;
+            }
         }
     }
 
@@ -101,68 +92,18 @@ final class TransitionMap<K, V> implements Map<K, V> {
     private void expungeStaleEntries() {
         for (Reference<? extends V> x; (x = queue.poll()) != null;) {
             StrongKeyWeakValueEntry<K, V> ex = (StrongKeyWeakValueEntry<K, V>) x;
-            if (map.get(ex.getKey()) == ex) {
-                map.removeKey(ex.getKey());
+            if (map.remove(ex.getKey(), ex)) {
                 ShapeImpl.shapeCacheExpunged.inc();
             }
         }
     }
 
-    @Override
-    public void clear() {
-        synchronized (queue) {
-            while (queue.poll() != null) {
-                // clear out ref queue.
-            }
-            map.clear();
-        }
-    }
-
-    @Override
-    public void forEach(BiConsumer<? super K, ? super V> consumer) {
-        synchronized (queue) {
-            MapCursor<K, StrongKeyWeakValueEntry<K, V>> cursor = map.getEntries();
-            while (cursor.advance()) {
-                V value = cursor.getValue().get();
-                if (value != null) {
-                    consumer.accept(cursor.getKey(), value);
-                }
+    void forEach(BiConsumer<? super K, ? super V> consumer) {
+        for (Map.Entry<K, StrongKeyWeakValueEntry<K, V>> entry : map.entrySet()) {
+            V value = entry.getValue().get();
+            if (value != null) {
+                consumer.accept(entry.getKey(), value);
             }
         }
     }
-
-    @Override
-    public int size() {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public void putAll(Map<? extends K, ? extends V> m) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public boolean isEmpty() {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public boolean containsValue(Object value) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Set<K> keySet() {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Collection<V> values() {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Set<Entry<K, V>> entrySet() {
-        throw new UnsupportedOperationException();
-    }
 }
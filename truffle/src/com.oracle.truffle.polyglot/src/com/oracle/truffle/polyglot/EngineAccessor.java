@@ -659,6 +659,17 @@ final class EngineAccessor extends Accessor {
             }
         }
 
+        @Override
+        public Thread[] getActiveThreads(Object polyglotContext) {
+            return ((PolyglotContextImpl) polyglotContext).getActiveThreads();
+        }
+
+        @Override
+        public TruffleContext getCurrentTruffleContext() {
+            PolyglotContextImpl context = PolyglotContextImpl.currentNotEntered();
+            return context == null ? null : context.truffleContext;
+        }
+
         @Override
         public Object enterInternalContext(Object polyglotLanguageContext) {
             PolyglotContextImpl context = ((PolyglotContextImpl) polyglotLanguageContext);
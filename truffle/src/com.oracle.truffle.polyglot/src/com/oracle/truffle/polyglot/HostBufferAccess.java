@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.polyglot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+
+/**
+ * Implements the interop buffer messages for host objects that are byte arrays or
+ * {@link ByteBuffer byte buffers}. Byte buffers are accessed with absolute indices only, so neither
+ * their position nor their byte order is changed by interop accesses.
+ */
+final class HostBufferAccess {
+
+    private HostBufferAccess() {
+    }
+
+    static boolean isBuffer(Object obj) {
+        return obj instanceof byte[] || obj instanceof ByteBuffer;
+    }
+
+    @TruffleBoundary
+    static boolean isWritable(Object obj) {
+        if (obj instanceof byte[]) {
+            return true;
+        }
+        return !((ByteBuffer) obj).isReadOnly();
+    }
+
+    @TruffleBoundary
+    static long getSize(Object obj) {
+        if (obj instanceof byte[]) {
+            return ((byte[]) obj).length;
+        }
+        return ((ByteBuffer) obj).limit();
+    }
+
+    private static ByteBuffer asByteBuffer(Object obj) {
+        if (obj instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) obj);
+        }
+        return (ByteBuffer) obj;
+    }
+
+    private static int checkOffset(Object obj, long byteOffset, int length) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > getSize(obj) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        return (int) byteOffset;
+    }
+
+    @TruffleBoundary
+    static byte readByte(Object obj, long byteOffset) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Byte.BYTES);
+        if (obj instanceof byte[]) {
+            return ((byte[]) obj)[index];
+        }
+        return ((ByteBuffer) obj).get(index);
+    }
+
+    @TruffleBoundary
+    static void writeByte(Object obj, long byteOffset, byte value) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Byte.BYTES);
+        if (obj instanceof byte[]) {
+            ((byte[]) obj)[index] = value;
+        } else {
+            ((ByteBuffer) obj).put(index, value);
+        }
+    }
+
+    @TruffleBoundary
+    static short readShort(Object obj, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Short.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        short value = buffer.getShort(index);
+        return buffer.order() == order ? value : Short.reverseBytes(value);
+    }
+
+    @TruffleBoundary
+    static void writeShort(Object obj, ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Short.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        buffer.putShort(index, buffer.order() == order ? value : Short.reverseBytes(value));
+    }
+
+    @TruffleBoundary
+    static int readInt(Object obj, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Integer.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        int value = buffer.getInt(index);
+        return buffer.order() == order ? value : Integer.reverseBytes(value);
+    }
+
+    @TruffleBoundary
+    static void writeInt(Object obj, ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Integer.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        buffer.putInt(index, buffer.order() == order ? value : Integer.reverseBytes(value));
+    }
+
+    @TruffleBoundary
+    static long readLong(Object obj, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Long.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        long value = buffer.getLong(index);
+        return buffer.order() == order ? value : Long.reverseBytes(value);
+    }
+
+    @TruffleBoundary
+    static void writeLong(Object obj, ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        int index = checkOffset(obj, byteOffset, Long.BYTES);
+        ByteBuffer buffer = asByteBuffer(obj);
+        buffer.putLong(index, buffer.order() == order ? value : Long.reverseBytes(value));
+    }
+
+    static float readFloat(Object obj, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Float.intBitsToFloat(readInt(obj, order, byteOffset));
+    }
+
+    static void writeFloat(Object obj, ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        writeInt(obj, order, byteOffset, Float.floatToRawIntBits(value));
+    }
+
+    static double readDouble(Object obj, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readLong(obj, order, byteOffset));
+    }
+
+    static void writeDouble(Object obj, ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        writeLong(obj, order, byteOffset, Double.doubleToRawLongBits(value));
+    }
+
+    @TruffleBoundary
+    static void read(Object obj, long byteOffset, byte[] destination, int destinationOffset, int length) throws InvalidBufferOffsetException {
+        if (destinationOffset < 0 || length < 0 || destinationOffset > destination.length - length) {
+            throw InvalidBufferOffsetException.create(destinationOffset, length);
+        }
+        int index = checkOffset(obj, byteOffset, length);
+        if (obj instanceof byte[]) {
+            System.arraycopy(obj, index, destination, destinationOffset, length);
+        } else {
+            ByteBuffer buffer = ((ByteBuffer) obj).duplicate();
+            buffer.position(index);
+            buffer.get(destination, destinationOffset, length);
+        }
+    }
+
+    @TruffleBoundary
+    static void write(Object obj, long byteOffset, byte[] source, int sourceOffset, int length) throws InvalidBufferOffsetException {
+        if (sourceOffset < 0 || length < 0 || sourceOffset > source.length - length) {
+            throw InvalidBufferOffsetException.create(sourceOffset, length);
+        }
+        int index = checkOffset(obj, byteOffset, length);
+        if (obj instanceof byte[]) {
+            System.arraycopy(source, sourceOffset, obj, index, length);
+        } else {
+            ByteBuffer buffer = ((ByteBuffer) obj).duplicate();
+            buffer.position(index);
+            buffer.put(source, sourceOffset, length);
+        }
+    }
+}
@@ -41,6 +41,7 @@
 package com.oracle.truffle.polyglot;
 
 import java.lang.reflect.Array;
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -49,7 +50,10 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 import com.oracle.truffle.api.CompilerDirectives;
@@ -57,14 +61,18 @@ import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Exclusive;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnknownKeyException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -618,6 +626,449 @@ final class HostObject implements TruffleObject {
         return ((List<?>) obj).size();
     }
 
+    /*
+     * Buffer messages check the array access flag directly instead of caching it in a shared node,
+     * which would add state bits to every buffer message of the exported library.
+     */
+    boolean isBuffer() {
+        return getHostClassCache().isArrayAccess() && HostBufferAccess.isBuffer(obj);
+    }
+
+    @ExportMessage
+    boolean hasBufferElements() {
+        return isBuffer();
+    }
+
+    @ExportMessage
+    boolean isBufferWritable() throws UnsupportedMessageException {
+        if (isBuffer()) {
+            return HostBufferAccess.isWritable(obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    long getBufferSize() throws UnsupportedMessageException {
+        if (isBuffer()) {
+            return HostBufferAccess.getSize(obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    byte readBufferByte(long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readByte(obj, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferByte(long byteOffset, byte value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeByte(obj, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    short readBufferShort(ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readShort(obj, order, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferShort(ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeShort(obj, order, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    int readBufferInt(ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readInt(obj, order, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferInt(ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeInt(obj, order, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    long readBufferLong(ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readLong(obj, order, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferLong(ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeLong(obj, order, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    float readBufferFloat(ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readFloat(obj, order, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeFloat(obj, order, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    double readBufferDouble(ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            return HostBufferAccess.readDouble(obj, order, byteOffset);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.writeDouble(obj, order, byteOffset, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer()) {
+            HostBufferAccess.read(obj, byteOffset, destination, destinationOffset, length);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (isBuffer() && HostBufferAccess.isWritable(obj)) {
+            HostBufferAccess.write(obj, byteOffset, source, sourceOffset, length);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    boolean hasIterator(@Shared("isIterable") @Cached IsIterableNode isIterable) {
+        return isIterable.execute(this);
+    }
+
+    @ExportMessage
+    Object getIterator(@Shared("isIterable") @Cached IsIterableNode isIterable,
+                    @Shared("toGuest") @Cached ToGuestValueNode toGuest) throws UnsupportedMessageException {
+        if (isIterable.execute(this)) {
+            return toGuest.execute(languageContext, boundaryIterator((Iterable<?>) obj));
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static Iterator<?> boundaryIterator(Iterable<?> iterable) {
+        return iterable.iterator();
+    }
+
+    @ExportMessage
+    boolean isIterator(@Shared("isIterator") @Cached IsIteratorNode isIterator) {
+        return isIterator.execute(this);
+    }
+
+    @ExportMessage
+    boolean hasIteratorNextElement(@Shared("isIterator") @Cached IsIteratorNode isIterator) throws UnsupportedMessageException {
+        if (isIterator.execute(this)) {
+            return boundaryHasNext((Iterator<?>) obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static boolean boundaryHasNext(Iterator<?> iterator) {
+        return iterator.hasNext();
+    }
+
+    @ExportMessage
+    Object getIteratorNextElement(@Shared("isIterator") @Cached IsIteratorNode isIterator,
+                    @Shared("toGuest") @Cached ToGuestValueNode toGuest,
+                    @Exclusive @Cached BranchProfile stopIteration) throws UnsupportedMessageException, StopIterationException {
+        if (isIterator.execute(this)) {
+            try {
+                return toGuest.execute(languageContext, boundaryNext((Iterator<?>) obj));
+            } catch (NoSuchElementException e) {
+                stopIteration.enter();
+                throw StopIterationException.create();
+            }
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static Object boundaryNext(Iterator<?> iterator) throws NoSuchElementException {
+        return iterator.next();
+    }
+
+    @ExportMessage
+    boolean hasHashEntries(@Shared("isMap") @Cached IsMapNode isMap) {
+        return isMap.execute(this);
+    }
+
+    @ExportMessage
+    long getHashSize(@Shared("isMap") @Cached IsMapNode isMap) throws UnsupportedMessageException {
+        if (isMap.execute(this)) {
+            return getMapSize();
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    int getMapSize() {
+        return ((Map<?, ?>) obj).size();
+    }
+
+    @ExportMessage(name = "isHashEntryReadable")
+    @ExportMessage(name = "isHashEntryModifiable")
+    @ExportMessage(name = "isHashEntryRemovable")
+    boolean isHashEntryExisting(Object key,
+                    @Shared("isMap") @Cached IsMapNode isMap,
+                    @Shared("toHost") @Cached ToHostNode toHost) {
+        if (isMap.execute(this)) {
+            Object hostKey;
+            try {
+                hostKey = toHost.execute(key, Object.class, null, languageContext, true);
+            } catch (PolyglotEngineException e) {
+                return false;
+            }
+            return boundaryContainsKey((Map<?, ?>) obj, hostKey);
+        }
+        return false;
+    }
+
+    @ExportMessage
+    boolean isHashEntryInsertable(Object key,
+                    @Shared("isMap") @Cached IsMapNode isMap,
+                    @Shared("toHost") @Cached ToHostNode toHost) {
+        return isMap.execute(this) && !isHashEntryExisting(key, isMap, toHost);
+    }
+
+    @TruffleBoundary
+    private static boolean boundaryContainsKey(Map<?, ?> map, Object hostKey) {
+        return map.containsKey(hostKey);
+    }
+
+    @ExportMessage
+    Object readHashValue(Object key,
+                    @Shared("isMap") @Cached IsMapNode isMap,
+                    @Shared("toHost") @Cached ToHostNode toHost,
+                    @Shared("toGuest") @Cached ToGuestValueNode toGuest,
+                    @Shared("unknownKey") @Cached BranchProfile unknownKey) throws UnsupportedMessageException, UnknownKeyException {
+        if (!isMap.execute(this)) {
+            throw UnsupportedMessageException.create();
+        }
+        Object hostKey = toHostKey(key, toHost, unknownKey);
+        Map<?, ?> map = (Map<?, ?>) obj;
+        Object value = boundaryGet(map, hostKey);
+        if (value == null && !boundaryContainsKey(map, hostKey)) {
+            unknownKey.enter();
+            throw UnknownKeyException.create(key);
+        }
+        return toGuest.execute(languageContext, value);
+    }
+
+    @TruffleBoundary
+    private static Object boundaryGet(Map<?, ?> map, Object hostKey) {
+        return map.get(hostKey);
+    }
+
+    @ExportMessage
+    void writeHashEntry(Object key, Object value,
+                    @Shared("isMap") @Cached IsMapNode isMap,
+                    @Shared("toHost") @Cached ToHostNode toHost,
+                    @Shared("unknownKey") @Cached BranchProfile unknownKey) throws UnsupportedMessageException, UnknownKeyException, UnsupportedTypeException {
+        if (!isMap.execute(this)) {
+            throw UnsupportedMessageException.create();
+        }
+        Object hostKey = toHostKey(key, toHost, unknownKey);
+        Object hostValue;
+        try {
+            hostValue = toHost.execute(value, Object.class, null, languageContext, true);
+        } catch (PolyglotEngineException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw UnsupportedTypeException.create(new Object[]{value}, e.e.getMessage());
+        }
+        boundaryPut(obj, hostKey, hostValue);
+    }
+
+    @TruffleBoundary
+    @SuppressWarnings("unchecked")
+    private static void boundaryPut(Object map, Object hostKey, Object hostValue) throws UnsupportedMessageException {
+        try {
+            ((Map<Object, Object>) map).put(hostKey, hostValue);
+        } catch (UnsupportedOperationException e) {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    void removeHashEntry(Object key,
+                    @Shared("isMap") @Cached IsMapNode isMap,
+                    @Shared("toHost") @Cached ToHostNode toHost,
+                    @Shared("unknownKey") @Cached BranchProfile unknownKey) throws UnsupportedMessageException, UnknownKeyException {
+        if (!isMap.execute(this)) {
+            throw UnsupportedMessageException.create();
+        }
+        Object hostKey = toHostKey(key, toHost, unknownKey);
+        if (!boundaryRemove((Map<?, ?>) obj, hostKey)) {
+            unknownKey.enter();
+            throw UnknownKeyException.create(key);
+        }
+    }
+
+    @TruffleBoundary
+    private static boolean boundaryRemove(Map<?, ?> map, Object hostKey) throws UnsupportedMessageException {
+        try {
+            if (!map.containsKey(hostKey)) {
+                return false;
+            }
+            map.remove(hostKey);
+            return true;
+        } catch (UnsupportedOperationException e) {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    private Object toHostKey(Object key, ToHostNode toHost, BranchProfile unknownKey) throws UnknownKeyException {
+        try {
+            return toHost.execute(key, Object.class, null, languageContext, true);
+        } catch (PolyglotEngineException e) {
+            unknownKey.enter();
+            throw UnknownKeyException.create(key);
+        }
+    }
+
+    @ExportMessage
+    Object getHashEntriesIterator(@Shared("isMap") @Cached IsMapNode isMap) throws UnsupportedMessageException {
+        if (isMap.execute(this)) {
+            return new HashEntriesIterator(boundaryEntriesIterator((Map<?, ?>) obj));
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static Iterator<? extends Map.Entry<?, ?>> boundaryEntriesIterator(Map<?, ?> map) {
+        return map.entrySet().iterator();
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    final class HashEntriesIterator implements TruffleObject {
+
+        private final Iterator<? extends Map.Entry<?, ?>> entries;
+
+        HashEntriesIterator(Iterator<? extends Map.Entry<?, ?>> entries) {
+            this.entries = entries;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isIterator() {
+            return true;
+        }
+
+        @ExportMessage
+        boolean hasIteratorNextElement() {
+            return boundaryHasNext(entries);
+        }
+
+        @ExportMessage
+        Object getIteratorNextElement(@Cached ToGuestValueNode toGuest,
+                        @Cached BranchProfile stopIteration) throws StopIterationException {
+            Map.Entry<?, ?> entry;
+            try {
+                entry = (Map.Entry<?, ?>) boundaryNext(entries);
+            } catch (NoSuchElementException e) {
+                stopIteration.enter();
+                throw StopIterationException.create();
+            }
+            return new HashEntryArray(toGuest.execute(languageContext, boundaryGetKey(entry)), toGuest.execute(languageContext, boundaryGetValue(entry)));
+        }
+    }
+
+    @TruffleBoundary
+    private static Object boundaryGetKey(Map.Entry<?, ?> entry) {
+        return entry.getKey();
+    }
+
+    @TruffleBoundary
+    private static Object boundaryGetValue(Map.Entry<?, ?> entry) {
+        return entry.getValue();
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    static final class HashEntryArray implements TruffleObject {
+
+        private final Object key;
+        private final Object value;
+
+        HashEntryArray(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean hasArrayElements() {
+            return true;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        long getArraySize() {
+            return 2;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isArrayElementReadable(long idx) {
+            return idx == 0 || idx == 1;
+        }
+
+        @ExportMessage
+        Object readArrayElement(long idx,
+                        @Cached BranchProfile exception) throws InvalidArrayIndexException {
+            if (idx == 0) {
+                return key;
+            } else if (idx == 1) {
+                return value;
+            }
+            exception.enter();
+            throw InvalidArrayIndexException.create(idx);
+        }
+    }
+
     @ExportMessage
     boolean isNull() {
         return obj == null;
@@ -1490,4 +1941,46 @@ final class HostObject implements TruffleObject {
         }
 
     }
+
+    @GenerateUncached
+    abstract static class IsIterableNode extends Node {
+
+        public abstract boolean execute(HostObject receiver);
+
+        @Specialization
+        public boolean doDefault(HostObject receiver,
+                        @Cached(value = "receiver.getHostClassCache().isListAccess()", allowUncached = true) boolean isListAccess) {
+            assert receiver.getHostClassCache().isListAccess() == isListAccess;
+            return isListAccess && receiver.obj instanceof Iterable;
+        }
+
+    }
+
+    @GenerateUncached
+    abstract static class IsIteratorNode extends Node {
+
+        public abstract boolean execute(HostObject receiver);
+
+        @Specialization
+        public boolean doDefault(HostObject receiver,
+                        @Cached(value = "receiver.getHostClassCache().isListAccess()", allowUncached = true) boolean isListAccess) {
+            assert receiver.getHostClassCache().isListAccess() == isListAccess;
+            return isListAccess && receiver.obj instanceof Iterator;
+        }
+
+    }
+
+    @GenerateUncached
+    abstract static class IsMapNode extends Node {
+
+        public abstract boolean execute(HostObject receiver);
+
+        @Specialization
+        public boolean doDefault(HostObject receiver,
+                        @Cached(value = "receiver.getHostClassCache().isListAccess()", allowUncached = true) boolean isListAccess) {
+            assert receiver.getHostClassCache().isListAccess() == isListAccess;
+            return isListAccess && receiver.obj instanceof Map;
+        }
+
+    }
 }
@@ -85,6 +85,7 @@ import com.oracle.truffle.api.impl.Accessor.CastUnsafe;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.LanguageInfo;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.polyglot.HostLanguage.HostContext;
 import com.oracle.truffle.polyglot.PolyglotEngineImpl.CancelExecution;
@@ -580,6 +581,11 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         return info;
     }
 
+    @TruffleBoundary
+    void dropThreadLocalActions() {
+        EngineAccessor.LANGUAGE.dropThreadLocalActions(truffleContext, Thread.currentThread());
+    }
+
     private void initializeNewThread(Thread thread) {
         for (PolyglotLanguageContext context : contexts) {
             if (context.isInitialized()) {
@@ -735,7 +741,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     void checkClosed() {
         if (invalid && closingThread != Thread.currentThread()) {
             // try closing if this is the last thread
-            throw new CancelExecution(null, invalidMessage);
+            throw new CancelExecution((Node) null, invalidMessage);
         }
         if (closed) {
             throw PolyglotEngineException.illegalState("The Context is already closed.");
@@ -964,6 +970,27 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         }
     }
 
+    /**
+     * Like {@link #waitForClose()} but gives up after the given timeout. Returns
+     * <code>true</code> if the context was closed.
+     */
+    boolean waitForClose(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!closeImpl(false, true, true)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                synchronized (this) {
+                    wait(Math.min(remaining, 10));
+                }
+            } catch (InterruptedException e) {
+            }
+        }
+        return true;
+    }
+
     boolean isSingleThreaded() {
         return singleThreaded.isValid();
     }
@@ -982,6 +1009,25 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         return false;
     }
 
+    synchronized Thread[] getActiveThreads() {
+        return collectActiveThreads(true);
+    }
+
+    synchronized Thread[] getActiveOtherThreads() {
+        return collectActiveThreads(false);
+    }
+
+    private Thread[] collectActiveThreads(boolean includeCurrent) {
+        assert Thread.holdsLock(this);
+        List<Thread> activeThreads = new ArrayList<>();
+        for (PolyglotThreadInfo seenTinfo : threads.values()) {
+            if (seenTinfo.isActive() && (includeCurrent || !seenTinfo.isCurrent())) {
+                activeThreads.add(seenTinfo.getThread());
+            }
+        }
+        return activeThreads.toArray(new Thread[0]);
+    }
+
     PolyglotThreadInfo getFirstActiveOtherThread(boolean includePolyglotThread) {
         assert Thread.holdsLock(this);
         // send enters and leaves into a lock by setting the lastThread to null.
@@ -1410,6 +1456,22 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         }
     }
 
+    synchronized long getBytesAllocated() {
+        long bytesAllocated = 0;
+        Collection<PolyglotThreadInfo> polyglotThreads = getSeenThreads().values();
+        for (PolyglotThreadInfo threadInfo : polyglotThreads) {
+            bytesAllocated += threadInfo.getBytesAllocated();
+        }
+        return bytesAllocated;
+    }
+
+    synchronized void resetAllocation() {
+        Collection<PolyglotThreadInfo> polyglotThreads = getSeenThreads().values();
+        for (PolyglotThreadInfo threadInfo : polyglotThreads) {
+            threadInfo.resetAllocation();
+        }
+    }
+
     PolyglotThreadInfo getCachedThreadInfo(boolean isConstant) {
         return isConstant ? constantCurrentThreadInfo : currentThreadInfo;
     }
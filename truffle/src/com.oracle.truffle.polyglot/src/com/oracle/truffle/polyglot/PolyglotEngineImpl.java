@@ -63,6 +63,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.logging.Handler;
@@ -88,6 +89,7 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.InstrumentInfo;
+import com.oracle.truffle.api.ThreadLocalAction;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleException;
 import com.oracle.truffle.api.TruffleFile;
@@ -162,6 +164,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     final Assumption singleThreadPerContext = Truffle.getRuntime().createAssumption("Single thread per context of an engine.");
     final Assumption noInnerContexts = Truffle.getRuntime().createAssumption("No inner contexts.");
     final Assumption noThreadTimingNeeded = Truffle.getRuntime().createAssumption("No enter timing needed.");
+    final Assumption noThreadAllocationTrackingNeeded = Truffle.getRuntime().createAssumption("No enter allocation tracking needed.");
     final Assumption noPriorityChangeNeeded = Truffle.getRuntime().createAssumption("No priority change needed.");
 
     volatile OptionDescriptors allOptions;
@@ -1182,6 +1185,8 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     }
 
     final class CancelHandler {
+        private static final long SAFEPOINT_CANCEL_TIMEOUT_MILLIS = 100;
+
         private final Instrumenter instrumenter;
         private volatile EventBinding<?> cancellationBinding;
         private int cancellationUsers;
@@ -1199,18 +1204,52 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
                 }
             }
             if (cancelling) {
-                enableCancel();
+                /*
+                 * Cancel at the next safepoint first. This does not require to deoptimize and
+                 * instrument all code. Only if the threads do not reach a safepoint in time, for
+                 * example because they run code that does not poll, we fall back to instrumenting
+                 * all statements.
+                 */
+                List<Future<Void>> cancelActions = new ArrayList<>();
+                for (PolyglotContextImpl context : localContexts) {
+                    Thread[] threads = context.getActiveOtherThreads();
+                    if (threads.length > 0 && context.truffleContext != null) {
+                        cancelActions.add(context.truffleContext.submitThreadLocal(threads, new CancelAction()));
+                    }
+                }
                 try {
                     for (PolyglotContextImpl context : localContexts) {
                         context.sendInterrupt();
                     }
-                    for (PolyglotContextImpl context : localContexts) {
-                        context.waitForClose();
+                    if (!waitForClose(localContexts, SAFEPOINT_CANCEL_TIMEOUT_MILLIS)) {
+                        enableCancel();
+                        try {
+                            for (PolyglotContextImpl context : localContexts) {
+                                context.sendInterrupt();
+                            }
+                            for (PolyglotContextImpl context : localContexts) {
+                                context.waitForClose();
+                            }
+                        } finally {
+                            disableCancel();
+                        }
                     }
                 } finally {
-                    disableCancel();
+                    for (Future<Void> action : cancelActions) {
+                        action.cancel(false);
+                    }
+                }
+            }
+        }
+
+        private boolean waitForClose(List<PolyglotContextImpl> localContexts, long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            for (PolyglotContextImpl context : localContexts) {
+                if (!context.waitForClose(Math.max(deadline - System.currentTimeMillis(), 0))) {
+                    return false;
                 }
             }
+            return true;
         }
 
         synchronized void enableCancel() {
@@ -1254,6 +1293,25 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         }
     }
 
+    /**
+     * Cancels the execution of the current thread at the next safepoint if its context is being
+     * cancelled or was invalidated.
+     */
+    static final class CancelAction extends ThreadLocalAction {
+
+        CancelAction() {
+            super(true, false);
+        }
+
+        @Override
+        protected void perform(Access access) {
+            PolyglotContextImpl context = PolyglotContextImpl.currentNotEntered();
+            if (context != null && (context.invalid || context.cancelling)) {
+                throw new CancelExecution(access.getLocation(), context.invalidMessage);
+            }
+        }
+    }
+
     @SuppressWarnings("serial")
     static final class CancelExecution extends ThreadDeath implements TruffleException {
 
@@ -1261,7 +1319,11 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         private final String cancelMessage;
 
         CancelExecution(EventContext context, String cancelMessage) {
-            this.node = context != null ? context.getInstrumentedNode() : null;
+            this(context != null ? context.getInstrumentedNode() : null, cancelMessage);
+        }
+
+        CancelExecution(Node node, String cancelMessage) {
+            this.node = node;
             this.cancelMessage = cancelMessage;
         }
 
@@ -1595,7 +1657,11 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
             if (singleThreadPerContext.isValid()) {
                 CompilerDirectives.transferToInterpreter();
             }
-            polyglotContext.leaveThreadChanged();
+            info = polyglotContext.leaveThreadChanged();
+        }
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, !info.isEntered() && LANGUAGE.hasQueuedThreadLocalActions(polyglotContext.truffleContext))) {
+            // the thread no longer performs actions queued for it
+            polyglotContext.dropThreadLocalActions();
         }
         PolyglotContextImpl.getSingleContextState().getContextThreadLocal().set(prev);
     }
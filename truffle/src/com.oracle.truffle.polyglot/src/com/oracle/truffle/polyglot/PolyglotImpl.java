@@ -128,10 +128,10 @@ public final class PolyglotImpl extends AbstractPolyglotImpl {
 
     @Override
     public Object buildLimits(long statementLimit, Predicate<org.graalvm.polyglot.Source> statementLimitSourceFilter,
-                    Duration timeLimit, Duration timeLimitAccuracy,
+                    Duration timeLimit, Duration timeLimitAccuracy, long allocationLimit, Duration allocationLimitAccuracy,
                     Consumer<ResourceLimitEvent> onLimit) {
         try {
-            return new PolyglotLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, onLimit);
+            return new PolyglotLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, allocationLimit, allocationLimitAccuracy, onLimit);
         } catch (Throwable t) {
             throw PolyglotImpl.guestToHostException(this, t);
         }
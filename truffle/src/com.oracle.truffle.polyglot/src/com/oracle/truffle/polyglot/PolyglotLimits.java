@@ -41,6 +41,7 @@
 package com.oracle.truffle.polyglot;
 
 import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.util.TimerTask;
@@ -90,13 +91,18 @@ final class PolyglotLimits {
     final Predicate<Source> statementLimitSourcePredicate;
     final Duration timeLimit;
     final Duration timeAccuracy;
+    final long allocationLimit;
+    final Duration allocationAccuracy;
     final Consumer<ResourceLimitEvent> onEvent;
 
-    PolyglotLimits(long statementLimit, Predicate<Source> statementLimitSourcePredicate, Duration timeLimit, Duration timeAccuracy, Consumer<ResourceLimitEvent> onEvent) {
+    PolyglotLimits(long statementLimit, Predicate<Source> statementLimitSourcePredicate, Duration timeLimit, Duration timeAccuracy, long allocationLimit, Duration allocationAccuracy,
+                    Consumer<ResourceLimitEvent> onEvent) {
         this.statementLimit = statementLimit;
         this.statementLimitSourcePredicate = statementLimitSourcePredicate;
         this.timeLimit = timeLimit;
         this.timeAccuracy = timeAccuracy;
+        this.allocationLimit = allocationLimit;
+        this.allocationAccuracy = allocationAccuracy;
         this.onEvent = onEvent;
     }
 
@@ -106,6 +112,9 @@ final class PolyglotLimits {
             if (limits != null && limits.timeLimit != null) {
                 context.resetTiming();
             }
+            if (limits != null && limits.allocationLimit != 0) {
+                context.resetAllocation();
+            }
             context.statementCounter = context.statementLimit;
             context.volatileStatementCounter.set(context.statementLimit);
         }
@@ -224,19 +233,27 @@ final class PolyglotLimits {
 
     }
 
-    static final class TimeLimitChecker extends TimerTask {
+    /**
+     * Periodically checks a limit of a context. If the limit is exceeded, the context is
+     * invalidated immediately and closed on a separate cancel thread.
+     */
+    abstract static class LimitChecker extends TimerTask {
 
         private final WeakReference<PolyglotContextImpl> context;
-        private final long timeLimitNS;
         private final EngineLimits limits;
         private FutureTask<?> cancelResult;
 
-        TimeLimitChecker(PolyglotContextImpl context, EngineLimits limits) {
+        LimitChecker(PolyglotContextImpl context, EngineLimits limits) {
             this.context = new WeakReference<>(context);
-            this.timeLimitNS = context.config.limits.timeLimit.toNanos();
             this.limits = limits;
         }
 
+        /**
+         * Returns the cancel message if the limit of the context is exceeded, else
+         * <code>null</code>.
+         */
+        abstract String checkLimit(PolyglotContextImpl c);
+
         @Override
         public void run() {
             PolyglotContextImpl c = this.context.get();
@@ -253,12 +270,9 @@ final class PolyglotLimits {
                 cancel();
                 return;
             }
-            long timeActiveNS = c.getTimeActive();
-            if (timeActiveNS > timeLimitNS) {
-                if (!c.invalid) {
-                    String message = String.format("Time resource limit of %sms exceeded. Time executed %sms.",
-                                    c.config.limits.timeLimit.toMillis(),
-                                    Duration.ofNanos(timeActiveNS).toMillis());
+            if (!c.invalid) {
+                String message = checkLimit(c);
+                if (message != null) {
                     boolean invalidated = c.invalidate(message);
                     /*
                      * We immediately set the context invalid so it can no longer be entered. The
@@ -282,6 +296,47 @@ final class PolyglotLimits {
         }
     }
 
+    static final class TimeLimitChecker extends LimitChecker {
+
+        private final long timeLimitNS;
+
+        TimeLimitChecker(PolyglotContextImpl context, EngineLimits limits) {
+            super(context, limits);
+            this.timeLimitNS = context.config.limits.timeLimit.toNanos();
+        }
+
+        @Override
+        String checkLimit(PolyglotContextImpl c) {
+            long timeActiveNS = c.getTimeActive();
+            if (timeActiveNS > timeLimitNS) {
+                return String.format("Time resource limit of %sms exceeded. Time executed %sms.",
+                                c.config.limits.timeLimit.toMillis(),
+                                Duration.ofNanos(timeActiveNS).toMillis());
+            }
+            return null;
+        }
+    }
+
+    static final class AllocationLimitChecker extends LimitChecker {
+
+        private final long allocationLimit;
+
+        AllocationLimitChecker(PolyglotContextImpl context, EngineLimits limits) {
+            super(context, limits);
+            this.allocationLimit = context.config.limits.allocationLimit;
+        }
+
+        @Override
+        String checkLimit(PolyglotContextImpl c) {
+            long bytesAllocated = c.getBytesAllocated();
+            if (bytesAllocated > allocationLimit) {
+                return String.format("Allocation resource limit of %s bytes exceeded. Bytes allocated %s.",
+                                allocationLimit, bytesAllocated);
+            }
+            return null;
+        }
+    }
+
     /**
      * Resource limit related data for each engine. Lazily constructed.
      */
@@ -335,6 +390,35 @@ final class PolyglotLimits {
                     throw PolyglotEngineException.unsupported("ThreadMXBean.getCurrentThreadCpuTime() is not supported or enabled by the host VM but required for time limits.", cause);
                 }
             }
+
+            if (limits != null && limits.allocationLimit != 0) {
+                long bytes = -1;
+                RuntimeException cause = null;
+                if (!TruffleOptions.AOT) {
+                    try {
+                        bytes = getCurrentThreadAllocatedBytes();
+                    } catch (UnsupportedOperationException e) {
+                        // fallthrough not supported
+                        cause = e;
+                    } catch (LinkageError e) {
+                        // fallthrough jdk.management not available
+                    }
+                }
+                if (bytes == -1) {
+                    throw PolyglotEngineException.unsupported("ThreadMXBean.getThreadAllocatedBytes(long) is not supported or enabled by the host VM but required for allocation limits.",
+                                    cause);
+                }
+            }
+        }
+
+        private static long getCurrentThreadAllocatedBytes() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return -1;
+            }
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+            return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
         }
 
         void initialize(PolyglotLimits limits, PolyglotContextImpl context) {
@@ -389,6 +473,12 @@ final class PolyglotLimits {
                 long accuracy = Math.max(10, limits.timeAccuracy.toMillis());
                 getLimitTimer().scheduleAtFixedRate(task, accuracy, accuracy, TimeUnit.MILLISECONDS);
             }
+            if (limits.allocationLimit != 0) {
+                engine.noThreadAllocationTrackingNeeded.invalidate();
+                AllocationLimitChecker task = new AllocationLimitChecker(context, this);
+                long accuracy = Math.max(10, limits.allocationAccuracy.toMillis());
+                getLimitTimer().scheduleAtFixedRate(task, accuracy, accuracy, TimeUnit.MILLISECONDS);
+            }
 
             reset(context);
         }
@@ -58,8 +58,10 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnknownKeyException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -67,9 +69,12 @@ import com.oracle.truffle.polyglot.PolyglotLanguageContext.ToGuestValueNode;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.ContainsKeyNodeGen;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.EntrySetNodeGen;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.GetNodeGen;
+import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.HashEntriesIteratorNodeGen;
+import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.HashIteratorNextNodeGen;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.PutNodeGen;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.RemoveBooleanNodeGen;
 import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.RemoveNodeGen;
+import com.oracle.truffle.polyglot.PolyglotMapFactory.CacheFactory.SizeNodeGen;
 
 class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
 
@@ -319,6 +324,109 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
         }
     }
 
+    /**
+     * Entry set of a guest value with {@link InteropLibrary#hasHashEntries(Object) hash entries}.
+     * Entries are fetched one by one from the guest hash entries iterator, so no key array is
+     * materialized.
+     */
+    private final class HashEntries extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new HashEntriesIterator(cache.hashEntriesIterator.call(languageContext, guestObject));
+        }
+
+        @Override
+        public int size() {
+            return (int) cache.size.call(languageContext, guestObject);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Entry) {
+                Entry<?, ?> e = (Entry<?, ?>) o;
+                return containsKey(e.getKey()) && Objects.equals(get(e.getKey()), e.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            if (o instanceof Entry) {
+                Entry<Object, Object> e = (Entry<Object, Object>) o;
+                return (boolean) cache.removeBoolean.call(languageContext, guestObject, e.getKey(), e.getValue());
+            } else {
+                return false;
+            }
+        }
+
+        private final class HashEntriesIterator implements Iterator<Entry<K, V>> {
+
+            private final Object iterator;
+            private Object next;
+            private boolean fetched;
+            private K currentKey;
+            private boolean hasCurrentEntry;
+
+            HashEntriesIterator(Object iterator) {
+                this.iterator = iterator;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (!fetched) {
+                    next = cache.hashIteratorNext.call(languageContext, guestObject, iterator);
+                    fetched = true;
+                }
+                return next != STOP_ITERATION;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Entry<K, V> next() {
+                if (hasNext()) {
+                    currentKey = (K) next;
+                    next = null;
+                    fetched = false;
+                    hasCurrentEntry = true;
+                    return new EntryImpl(currentKey);
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+
+            @Override
+            public void remove() {
+                if (hasCurrentEntry) {
+                    PolyglotMap.this.remove(currentKey);
+                    hasCurrentEntry = false;
+                } else {
+                    throw new IllegalStateException("No current entry.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Returned by the hash iterator call target if the guest iterator is exhausted. Host keys can
+     * be <code>null</code>, so <code>null</code> cannot be used as the marker.
+     */
+    static final Object STOP_ITERATION = new Object();
+
+    /**
+     * Holds a guest iterator on the host side. Host to guest calls must not return guest objects
+     * directly.
+     */
+    static final class GuestIterator {
+
+        final Object iterator;
+
+        GuestIterator(Object iterator) {
+            this.iterator = iterator;
+        }
+    }
+
     private final class EntryImpl implements Entry<K, V> {
         private final K key;
 
@@ -363,6 +471,9 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
         final CallTarget remove;
         final CallTarget removeBoolean;
         final CallTarget containsKey;
+        final CallTarget size;
+        final CallTarget hashEntriesIterator;
+        final CallTarget hashIteratorNext;
         final CallTarget apply;
 
         Cache(Class<?> receiverClass, Class<?> keyClass, Class<?> valueClass, Type valueType) {
@@ -378,6 +489,9 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
             this.put = initializeCall(PutNodeGen.create(this));
             this.remove = initializeCall(RemoveNodeGen.create(this));
             this.removeBoolean = initializeCall(RemoveBooleanNodeGen.create(this));
+            this.size = initializeCall(SizeNodeGen.create(this));
+            this.hashEntriesIterator = initializeCall(HashEntriesIteratorNodeGen.create(this));
+            this.hashIteratorNext = initializeCall(HashIteratorNextNodeGen.create(this));
             this.apply = initializeCall(new Apply(this));
         }
 
@@ -471,9 +585,12 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
             @Specialization(limit = "LIMIT")
             @SuppressWarnings("unused")
             protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
-                            @CachedLibrary("receiver") InteropLibrary interop) {
+                            @CachedLibrary("receiver") InteropLibrary interop,
+                            @Cached ToGuestValueNode toGuest) {
                 Object key = args[ARGUMENT_OFFSET];
-                if (cache.memberKey && interop.hasMembers(receiver)) {
+                if (interop.hasHashEntries(receiver)) {
+                    return interop.isHashEntryReadable(receiver, toGuest.execute(languageContext, key));
+                } else if (cache.memberKey && interop.hasMembers(receiver)) {
                     if (isObjectKey(key)) {
                         return interop.isMemberReadable(receiver, ((String) key));
                     }
@@ -509,7 +626,9 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                 long elemSize = 0;
                 PolyglotMap<Object, Object> originalMap = (PolyglotMap<Object, Object>) args[ARGUMENT_OFFSET];
 
-                if (cache.memberKey && interop.hasMembers(receiver)) {
+                if (interop.hasHashEntries(receiver)) {
+                    return originalMap.new HashEntries();
+                } else if (cache.memberKey && interop.hasMembers(receiver)) {
                     Object truffleKeys;
                     try {
                         truffleKeys = interop.getMembers(receiver);
@@ -551,11 +670,14 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
             @SuppressWarnings("unused")
             protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
                             @CachedLibrary("receiver") InteropLibrary interop,
-                            @Cached ToHostNode toHost) {
+                            @Cached ToHostNode toHost,
+                            @Cached ToGuestValueNode toGuest) {
                 Object key = args[ARGUMENT_OFFSET];
                 Object result;
                 try {
-                    if (cache.memberKey && interop.hasMembers(receiver)) {
+                    if (interop.hasHashEntries(receiver)) {
+                        result = interop.readHashValue(receiver, toGuest.execute(languageContext, key));
+                    } else if (cache.memberKey && interop.hasMembers(receiver)) {
                         if (isObjectKey(key)) {
                             result = interop.readMember(receiver, ((String) key));
                         } else {
@@ -570,7 +692,7 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                     } else {
                         return null;
                     }
-                } catch (UnknownIdentifierException | InvalidArrayIndexException | UnsupportedMessageException e) {
+                } catch (UnknownIdentifierException | InvalidArrayIndexException | UnknownKeyException | UnsupportedMessageException e) {
                     return null;
                 }
                 return toHost.execute(result, cache.valueClass, cache.valueType, languageContext, true);
@@ -596,7 +718,10 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                 Object key = args[ARGUMENT_OFFSET];
                 Object guestValue = toGuest.execute(languageContext, args[ARGUMENT_OFFSET + 1]);
                 try {
-                    if (cache.memberKey && interop.hasMembers(receiver)) {
+                    if (interop.hasHashEntries(receiver)) {
+                        interop.writeHashEntry(receiver, toGuest.execute(languageContext, key), guestValue);
+                        return null;
+                    } else if (cache.memberKey && interop.hasMembers(receiver)) {
                         if (isObjectKey(key)) {
                             interop.writeMember(receiver, ((String) key), guestValue);
                             return null;
@@ -613,7 +738,7 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                     } else {
                         throw HostInteropErrors.invalidMapIdentifier(languageContext, receiver, cache.keyClass, cache.valueType, key);
                     }
-                } catch (UnknownIdentifierException | InvalidArrayIndexException e) {
+                } catch (UnknownIdentifierException | InvalidArrayIndexException | UnknownKeyException e) {
                     CompilerDirectives.transferToInterpreter();
                     throw HostInteropErrors.invalidMapIdentifier(languageContext, receiver, cache.keyClass, cache.valueType, key);
                 } catch (UnsupportedMessageException e) {
@@ -640,10 +765,14 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
             @Specialization(limit = "LIMIT")
             @SuppressWarnings("unused")
             protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
-                            @CachedLibrary("receiver") InteropLibrary interop) {
+                            @CachedLibrary("receiver") InteropLibrary interop,
+                            @Cached ToGuestValueNode toGuest) {
                 Object key = args[ARGUMENT_OFFSET];
                 try {
-                    if (cache.memberKey && interop.hasMembers(receiver)) {
+                    if (interop.hasHashEntries(receiver)) {
+                        interop.removeHashEntry(receiver, toGuest.execute(languageContext, key));
+                        return null;
+                    } else if (cache.memberKey && interop.hasMembers(receiver)) {
                         if (isObjectKey(key)) {
                             interop.removeMember(receiver, ((String) key));
                             return null;
@@ -661,7 +790,7 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                     } else {
                         return null;
                     }
-                } catch (UnknownIdentifierException | InvalidArrayIndexException e) {
+                } catch (UnknownIdentifierException | InvalidArrayIndexException | UnknownKeyException e) {
                     return null;
                 } catch (UnsupportedMessageException e) {
                     CompilerDirectives.transferToInterpreter();
@@ -685,11 +814,21 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
             @Specialization(limit = "LIMIT")
             @SuppressWarnings("unused")
             protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
-                            @CachedLibrary("receiver") InteropLibrary interop) {
+                            @CachedLibrary("receiver") InteropLibrary interop,
+                            @Cached ToGuestValueNode toGuest,
+                            @Cached ToHostNode toHost) {
                 Object key = args[ARGUMENT_OFFSET];
                 Object expectedValue = args[ARGUMENT_OFFSET + 1];
                 try {
-                    if (cache.memberKey && interop.hasMembers(receiver)) {
+                    if (interop.hasHashEntries(receiver)) {
+                        Object guestKey = toGuest.execute(languageContext, key);
+                        Object readValue = toHost.execute(interop.readHashValue(receiver, guestKey), cache.valueClass, cache.valueType, languageContext, true);
+                        if (!equalsBoundary(expectedValue, readValue)) {
+                            return false;
+                        }
+                        interop.removeHashEntry(receiver, guestKey);
+                        return true;
+                    } else if (cache.memberKey && interop.hasMembers(receiver)) {
                         if (isObjectKey(key)) {
                             String member = (String) key;
                             Object readValue = interop.readMember(receiver, member);
@@ -716,7 +855,7 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
                     } else {
                         return false;
                     }
-                } catch (UnknownIdentifierException | InvalidArrayIndexException e) {
+                } catch (UnknownIdentifierException | InvalidArrayIndexException | UnknownKeyException e) {
                     return false;
                 } catch (UnsupportedMessageException e) {
                     CompilerDirectives.transferToInterpreter();
@@ -731,6 +870,88 @@ class PolyglotMap<K, V> extends AbstractMap<K, V> implements HostWrapper {
 
         }
 
+        abstract static class SizeNode extends PolyglotMapNode {
+
+            SizeNode(Cache cache) {
+                super(cache);
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "size";
+            }
+
+            @Specialization(limit = "LIMIT")
+            @SuppressWarnings("unused")
+            protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
+                            @CachedLibrary("receiver") InteropLibrary interop) {
+                try {
+                    long size = interop.getHashSize(receiver);
+                    return (int) Math.min(size, Integer.MAX_VALUE);
+                } catch (UnsupportedMessageException e) {
+                    CompilerDirectives.transferToInterpreter();
+                    throw HostInteropErrors.mapUnsupported(languageContext, receiver, cache.keyClass, cache.valueType, "size");
+                }
+            }
+        }
+
+        abstract static class HashEntriesIteratorNode extends PolyglotMapNode {
+
+            HashEntriesIteratorNode(Cache cache) {
+                super(cache);
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "iterator";
+            }
+
+            @Specialization(limit = "LIMIT")
+            @SuppressWarnings("unused")
+            protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
+                            @CachedLibrary("receiver") InteropLibrary interop) {
+                try {
+                    return new GuestIterator(interop.getHashEntriesIterator(receiver));
+                } catch (UnsupportedMessageException e) {
+                    CompilerDirectives.transferToInterpreter();
+                    throw HostInteropErrors.mapUnsupported(languageContext, receiver, cache.keyClass, cache.valueType, "iterator");
+                }
+            }
+        }
+
+        abstract static class HashIteratorNextNode extends PolyglotMapNode {
+
+            HashIteratorNextNode(Cache cache) {
+                super(cache);
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "next";
+            }
+
+            @Specialization
+            @SuppressWarnings("unused")
+            protected Object doCached(PolyglotLanguageContext languageContext, Object receiver, Object[] args,
+                            @CachedLibrary(limit = "LIMIT") InteropLibrary iterators,
+                            @CachedLibrary(limit = "LIMIT") InteropLibrary entries,
+                            @Cached ToHostNode toHost) {
+                Object iterator = ((GuestIterator) args[ARGUMENT_OFFSET]).iterator;
+                try {
+                    if (!iterators.hasIteratorNextElement(iterator)) {
+                        return STOP_ITERATION;
+                    }
+                    Object entry = iterators.getIteratorNextElement(iterator);
+                    return toHost.execute(entries.readArrayElement(entry, 0), cache.keyClass, null, languageContext, true);
+                } catch (StopIterationException e) {
+                    return STOP_ITERATION;
+                } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+                    CompilerDirectives.transferToInterpreter();
+                    throw HostInteropErrors.mapUnsupported(languageContext, receiver, cache.keyClass, cache.valueType, "next");
+                }
+            }
+        }
+
         private static class Apply extends PolyglotMapNode {
 
             @Child private PolyglotExecuteNode apply = PolyglotExecuteNodeGen.create();
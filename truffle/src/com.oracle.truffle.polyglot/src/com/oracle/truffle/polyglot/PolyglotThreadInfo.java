@@ -60,6 +60,8 @@ final class PolyglotThreadInfo {
     volatile boolean cancelled;
     private volatile long lastEntered;
     private volatile long timeExecuted;
+    private volatile long lastEnteredAllocated;
+    private volatile long bytesAllocated;
     private boolean deprioritized;
 
     private static volatile ThreadMXBean threadBean;
@@ -87,6 +89,9 @@ final class PolyglotThreadInfo {
         if (!engine.noThreadTimingNeeded.isValid() && count == 1) {
             lastEntered = getTime();
         }
+        if (!engine.noThreadAllocationTrackingNeeded.isValid() && count == 1) {
+            lastEnteredAllocated = getAllocatedBytes();
+        }
 
     }
 
@@ -117,12 +122,41 @@ final class PolyglotThreadInfo {
         return totalTime;
     }
 
+    void resetAllocation() {
+        if (enteredCount > 0) {
+            lastEnteredAllocated = getAllocatedBytes();
+        }
+        this.bytesAllocated = 0;
+    }
+
+    long getBytesAllocated() {
+        long totalBytes = bytesAllocated;
+        long last = this.lastEnteredAllocated;
+        if (last > 0) {
+            totalBytes += getAllocatedBytes() - last;
+        }
+        return totalBytes;
+    }
+
+    /*
+     * Returns the total number of bytes the thread allocated since it was started, as reported by
+     * the host VM. Only the difference between two samples is meaningful.
+     */
     @TruffleBoundary
-    private long getTime() {
+    private long getAllocatedBytes() {
         Thread t = getThread();
         if (t == null) {
-            return timeExecuted;
+            return lastEnteredAllocated;
+        }
+        long bytes = ((com.sun.management.ThreadMXBean) getThreadBean()).getThreadAllocatedBytes(t.getId());
+        if (bytes == -1) {
+            // not supported or disabled; validated when the limits are created
+            return lastEnteredAllocated;
         }
+        return bytes;
+    }
+
+    private static ThreadMXBean getThreadBean() {
         ThreadMXBean bean = threadBean;
         if (bean == null) {
             /*
@@ -131,7 +165,16 @@ final class PolyglotThreadInfo {
              */
             threadBean = bean = ManagementFactory.getThreadMXBean();
         }
-        long time = bean.getThreadCpuTime(t.getId());
+        return bean;
+    }
+
+    @TruffleBoundary
+    private long getTime() {
+        Thread t = getThread();
+        if (t == null) {
+            return timeExecuted;
+        }
+        long time = getThreadBean().getThreadCpuTime(t.getId());
         if (time == -1) {
             return TimeUnit.MILLISECONDS.convert(System.currentTimeMillis(), TimeUnit.NANOSECONDS);
         }
@@ -153,6 +196,12 @@ final class PolyglotThreadInfo {
             this.lastEntered = 0;
             this.timeExecuted += getTime() - last;
         }
+        if (!engine.noThreadAllocationTrackingNeeded.isValid() && count == 0) {
+            long last = this.lastEnteredAllocated;
+            long current = getAllocatedBytes();
+            this.lastEnteredAllocated = 0;
+            this.bytesAllocated += current - last;
+        }
         if (!engine.noPriorityChangeNeeded.isValid() && deprioritized && count == 0) {
             raisePriority();
             deprioritized = false;
@@ -160,6 +209,10 @@ final class PolyglotThreadInfo {
 
     }
 
+    boolean isEntered() {
+        return enteredCount > 0;
+    }
+
     boolean isLastActive() {
         assert Thread.currentThread() == getThread();
         return getThread() != null && enteredCount == 1 && !cancelled;
@@ -274,7 +274,7 @@ abstract class ToHostNode extends Node {
             } else if (targetType == List.class) {
                 return interop.hasArrayElements(value);
             } else if (targetType == Map.class) {
-                return interop.hasMembers(value);
+                return interop.hasMembers(value) || interop.hasHashEntries(value);
             } else if (targetType.isArray()) {
                 return interop.hasArrayElements(value);
             } else if (targetType == LocalDate.class) {
@@ -350,7 +350,7 @@ abstract class ToHostNode extends Node {
                     return result;
                 }
                 // fallthrough
-            } else if (interop.hasMembers(value)) {
+            } else if (interop.hasMembers(value) || interop.hasHashEntries(value)) {
                 return asJavaObject(value, Map.class, null, false, languageContext);
             } else if (interop.hasArrayElements(value)) {
                 return asJavaObject(value, List.class, null, false, languageContext);
@@ -410,12 +410,13 @@ abstract class ToHostNode extends Node {
         } else if (targetType == Map.class) {
             Class<?> keyClazz = getGenericParameterType(genericType, 0).clazz;
             TypeAndClass<?> valueType = getGenericParameterType(genericType, 1);
-            if (!isSupportedMapKeyType(keyClazz)) {
+            boolean hasHashEntries = interop.hasHashEntries(value);
+            if (!hasHashEntries && !isSupportedMapKeyType(keyClazz)) {
                 throw newInvalidKeyTypeException(keyClazz);
             }
             boolean hasSize = (Number.class.isAssignableFrom(keyClazz)) && interop.hasArrayElements(value);
             boolean hasKeys = (keyClazz == Object.class || keyClazz == String.class) && interop.hasMembers(value);
-            if (hasKeys || hasSize) {
+            if (hasHashEntries || hasKeys || hasSize) {
                 boolean implementsFunction = shouldImplementFunction(value, interop);
                 obj = PolyglotMap.create(languageContext, value, implementsFunction, keyClazz, valueType.clazz, valueType.type);
             } else {
@@ -92,6 +92,20 @@ public class UnsafeWasmMemory extends WasmMemory {
         unsafe.copyMemory(startAddress + src, startAddress + dst, n);
     }
 
+    @Override
+    public void copyToArray(Node node, long src, byte[] dst, int dstOffset, int length) {
+        WasmTracing.trace("memcopy from = %d, to array, n = %d", src, length);
+        validateAddress(node, src, length);
+        unsafe.copyMemory(null, startAddress + src, dst, Unsafe.ARRAY_BYTE_BASE_OFFSET + dstOffset, length);
+    }
+
+    @Override
+    public void copyFromArray(Node node, byte[] src, int srcOffset, long dst, int length) {
+        WasmTracing.trace("memcopy from array, to = %d, n = %d", dst, length);
+        validateAddress(node, dst, length);
+        unsafe.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET + srcOffset, null, startAddress + dst, length);
+    }
+
     @Override
     public void clear() {
         unsafe.setMemory(startAddress, byteSize(), (byte) 0);
@@ -42,6 +42,7 @@ package org.graalvm.wasm.memory;
 
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
@@ -50,6 +51,8 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 
+import java.nio.ByteOrder;
+
 import static com.oracle.truffle.api.CompilerDirectives.transferToInterpreter;
 
 @ExportLibrary(InteropLibrary.class)
@@ -61,6 +64,18 @@ public abstract class WasmMemory implements TruffleObject {
 
     public abstract void copy(Node node, long src, long dst, long n);
 
+    /**
+     * Copies {@code length} bytes starting at memory address {@code src} into the array
+     * {@code dst}, starting at index {@code dstOffset}.
+     */
+    public abstract void copyToArray(Node node, long src, byte[] dst, int dstOffset, int length);
+
+    /**
+     * Copies {@code length} bytes from the array {@code src}, starting at index {@code srcOffset},
+     * into memory starting at address {@code dst}.
+     */
+    public abstract void copyFromArray(Node node, byte[] src, int srcOffset, long dst, int length);
+
     /**
      * The size of the memory, measured in number of pages.
      */
@@ -237,4 +252,117 @@ public abstract class WasmMemory implements TruffleObject {
         }
         store_i32_8(null, address, rawValue);
     }
+
+    private void checkBufferOffset(long byteOffset, long length) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > byteSize() - length) {
+            transferToInterpreter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+    }
+
+    @ExportMessage
+    final boolean hasBufferElements() {
+        return true;
+    }
+
+    @ExportMessage
+    final boolean isBufferWritable() {
+        return true;
+    }
+
+    @ExportMessage
+    final long getBufferSize() {
+        return byteSize();
+    }
+
+    @ExportMessage
+    final byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Byte.BYTES);
+        return (byte) load_i32_8s(null, byteOffset);
+    }
+
+    @ExportMessage
+    final void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Byte.BYTES);
+        store_i32_8(null, byteOffset, value);
+    }
+
+    @ExportMessage
+    final short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Short.BYTES);
+        short value = (short) load_i32_16s(null, byteOffset);
+        return order == ByteOrder.LITTLE_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    @ExportMessage
+    final void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Short.BYTES);
+        store_i32_16(null, byteOffset, order == ByteOrder.LITTLE_ENDIAN ? value : Short.reverseBytes(value));
+    }
+
+    @ExportMessage
+    final int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Integer.BYTES);
+        int value = load_i32(null, byteOffset);
+        return order == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    @ExportMessage
+    final void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Integer.BYTES);
+        store_i32(null, byteOffset, order == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value));
+    }
+
+    @ExportMessage
+    final long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Long.BYTES);
+        long value = load_i64(null, byteOffset);
+        return order == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    @ExportMessage
+    final void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        checkBufferOffset(byteOffset, Long.BYTES);
+        store_i64(null, byteOffset, order == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    @ExportMessage
+    final float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Float.intBitsToFloat(readBufferInt(order, byteOffset));
+    }
+
+    @ExportMessage
+    final void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        writeBufferInt(order, byteOffset, Float.floatToRawIntBits(value));
+    }
+
+    @ExportMessage
+    final double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readBufferLong(order, byteOffset));
+    }
+
+    @ExportMessage
+    final void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        writeBufferLong(order, byteOffset, Double.doubleToRawLongBits(value));
+    }
+
+    @ExportMessage
+    final void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) throws InvalidBufferOffsetException {
+        if (destinationOffset < 0 || length < 0 || destinationOffset > destination.length - length) {
+            transferToInterpreter();
+            throw new IndexOutOfBoundsException();
+        }
+        checkBufferOffset(byteOffset, length);
+        copyToArray(null, byteOffset, destination, destinationOffset, length);
+    }
+
+    @ExportMessage
+    final void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) throws InvalidBufferOffsetException {
+        if (sourceOffset < 0 || length < 0 || sourceOffset > source.length - length) {
+            transferToInterpreter();
+            throw new IndexOutOfBoundsException();
+        }
+        checkBufferOffset(byteOffset, length);
+        copyFromArray(null, source, sourceOffset, byteOffset, length);
+    }
 }